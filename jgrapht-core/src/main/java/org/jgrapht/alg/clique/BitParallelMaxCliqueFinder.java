@@ -0,0 +1,350 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.traverse.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Exact branch and bound algorithm computing a
+ * <a href="http://mathworld.wolfram.com/MaximumClique.html">maximum cardinality clique</a> of a
+ * graph.
+ *
+ * <p>
+ * The algorithm grows a clique $C$ together with the set $P$ of vertices which are adjacent to all
+ * vertices of $C$. A greedy coloring of $P$ gives an upper bound on the size of any clique in $P$,
+ * since the vertices of a clique have pairwise different colors. The vertices of $P$ are branched
+ * on in decreasing order of their colors, and a branch is pruned as soon as the size of $C$ plus
+ * the color of the vertex does not exceed the size of the largest clique found so far. Vertices
+ * whose color is too small to ever improve the current solution are not branched on at all. This
+ * is the algorithm of Tomita and Seki, see
+ * <ul>
+ * <li>E. Tomita and T. Seki. An Efficient Branch-and-Bound Algorithm for Finding a Maximum Clique.
+ * Discrete Mathematics and Theoretical Computer Science, LNCS 2731, 278--289, 2003.</li>
+ * </ul>
+ *
+ * <p>
+ * The sets and the adjacency matrix of the graph are represented as bitsets, so that computing
+ * the candidate set of a branch and coloring a candidate set operate on whole words, as described
+ * in
+ * <ul>
+ * <li>P. San Segundo, D. Rodríguez-Losada and A. Jiménez. An exact bit-parallel algorithm for the
+ * maximum clique problem. Computers &amp; Operations Research 38(2), 571--581, 2011.</li>
+ * </ul>
+ * The vertices are numbered in reverse degeneracy ordering, such that the vertices of the densest
+ * part of the graph are colored first. The adjacency matrix uses $O(n^2)$ bits of memory. The
+ * running time is exponential in the worst case, but the algorithm is fast on many dense graphs
+ * where enumerating all maximal cliques is not feasible.
+ *
+ * <p>
+ * If an executor is provided, the branches of the top level of the search are processed in
+ * parallel, sharing the size of the largest clique found so far. In this case the returned clique
+ * may differ between runs, its size does not. It is up to a user of this algorithm to handle the
+ * creation and termination of the provided {@code executor}. For utility methods to manage a
+ * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+ *
+ * <p>
+ * Self-loops and multiple edges are ignored. All the methods in this class are invoked in a lazy
+ * fashion, meaning that computations are only started once the method gets invoked.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ChordalGraphMaxCliqueFinder
+ * @see DegeneracyBronKerboschCliqueFinder
+ */
+public class BitParallelMaxCliqueFinder<V, E>
+    implements
+    CliqueAlgorithm<V>
+{
+    private final Graph<V, E> graph;
+    private final ThreadPoolExecutor executor;
+
+    private Clique<V> maximumClique;
+
+    // the bitset adjacency matrix over the vertex numbering
+    private List<V> vertices;
+    private long[][] adjacency;
+    private int words;
+
+    // the largest clique found so far
+    private volatile int bestSize;
+    private int[] bestClique;
+
+    /**
+     * Constructs a new maximum clique finder.
+     *
+     * @param graph the input graph; must be undirected
+     */
+    public BitParallelMaxCliqueFinder(Graph<V, E> graph)
+    {
+        this(graph, null);
+    }
+
+    /**
+     * Constructs a new maximum clique finder.
+     *
+     * @param graph the input graph; must be undirected
+     * @param executor the executor used to process the top level branches in parallel, or null
+     *        to compute the clique sequentially
+     */
+    public BitParallelMaxCliqueFinder(Graph<V, E> graph, ThreadPoolExecutor executor)
+    {
+        this.graph = GraphTests.requireUndirected(graph);
+        this.executor = executor;
+    }
+
+    /**
+     * Returns a <a href="http://mathworld.wolfram.com/MaximumClique.html">maximum cardinality
+     * clique</a> of the graph.
+     *
+     * @return a maximum clique of the graph
+     */
+    @Override
+    public Clique<V> getClique()
+    {
+        lazyComputeMaximumClique();
+        return maximumClique;
+    }
+
+    /**
+     * Lazily computes some maximum clique of the {@code graph}.
+     */
+    private void lazyComputeMaximumClique()
+    {
+        if (maximumClique != null) {
+            return;
+        }
+        init();
+        int n = vertices.size();
+        bestSize = 0;
+        bestClique = new int[0];
+
+        // color all vertices, the branches are processed in decreasing order of their colors
+        long[] all = new long[words];
+        for (int v = 0; v < n; v++) {
+            all[v >>> 6] |= 1L << v;
+        }
+        int[] order = new int[n];
+        int[] colors = new int[n];
+        new Search().color(all, 1, order, colors);
+        int[] position = new int[n];
+        for (int k = 0; k < n; k++) {
+            position[order[k]] = k;
+        }
+
+        // a branch can be skipped once its color bound does not exceed the best clique size
+        ConcurrencyUtil.forEachIndex(executor, n, () -> {
+            Search search = new Search();
+            return i -> {
+                int k = n - 1 - i;
+                if (colors[k] > bestSize) {
+                    search.branch(order[k], k, position);
+                }
+            };
+        });
+
+        Set<V> clique = CollectionUtil.newLinkedHashSetWithExpectedSize(bestClique.length);
+        for (int v : bestClique) {
+            clique.add(vertices.get(v));
+        }
+        maximumClique = new CliqueImpl<>(clique);
+        adjacency = null;
+    }
+
+    /**
+     * Number the vertices in reverse degeneracy ordering and build the adjacency matrix.
+     */
+    private void init()
+    {
+        List<V> ordering = new ArrayList<>(graph.vertexSet().size());
+        new DegeneracyOrderingIterator<>(graph).forEachRemaining(ordering::add);
+        Collections.reverse(ordering);
+        Map<V, Integer> index = new VertexToIntegerMapping<>(ordering).getVertexMap();
+
+        int n = ordering.size();
+        vertices = ordering;
+        words = (n + 63) >>> 6;
+        adjacency = new long[n][words];
+        for (E e : graph.edgeSet()) {
+            int u = index.get(graph.getEdgeSource(e));
+            int v = index.get(graph.getEdgeTarget(e));
+            if (u != v) {
+                adjacency[u][v >>> 6] |= 1L << v;
+                adjacency[v][u >>> 6] |= 1L << u;
+            }
+        }
+    }
+
+    private synchronized void updateBest(int[] clique, int size)
+    {
+        if (size > bestSize) {
+            bestClique = Arrays.copyOf(clique, size);
+            bestSize = size;
+        }
+    }
+
+    /**
+     * The working memory of one thread.
+     */
+    private class Search
+    {
+        private final int[] clique = new int[vertices.size()];
+        private final long[] uncolored = new long[words];
+        private final long[] colorClass = new long[words];
+
+        // candidate sets, colored vertices and their colors of every level of the recursion
+        private final List<long[]> levelCandidates = new ArrayList<>();
+        private final List<int[]> levelOrder = new ArrayList<>();
+        private final List<int[]> levelColors = new ArrayList<>();
+
+        /**
+         * Search the cliques which contain vertex $v$ and otherwise only vertices which precede
+         * $v$ in the coloring order of the top level.
+         *
+         * @param v the vertex
+         * @param k the position of $v$ in the coloring order
+         * @param position the positions of all vertices in the coloring order
+         */
+        void branch(int v, int k, int[] position)
+        {
+            long[] candidates = level(1);
+            Arrays.fill(candidates, 0L);
+            long[] neighbors = adjacency[v];
+            boolean empty = true;
+            for (int w = 0; w < words; w++) {
+                long bits = neighbors[w];
+                while (bits != 0) {
+                    long bit = bits & -bits;
+                    bits ^= bit;
+                    if (position[(w << 6) + Long.numberOfTrailingZeros(bit)] < k) {
+                        candidates[w] |= bit;
+                        empty = false;
+                    }
+                }
+            }
+            clique[0] = v;
+            if (empty) {
+                updateBest(clique, 1);
+            } else {
+                expand(1);
+            }
+        }
+
+        /**
+         * Extend the current clique by the vertices of the candidate set of its level.
+         *
+         * @param size the size of the current clique, which is also the level
+         */
+        private void expand(int size)
+        {
+            long[] candidates = levelCandidates.get(size);
+            int[] order = levelOrder.get(size);
+            int[] colors = levelColors.get(size);
+            int stored = color(candidates, Math.max(1, bestSize - size + 1), order, colors);
+
+            for (int k = stored - 1; k >= 0; k--) {
+                if (size + colors[k] <= bestSize) {
+                    return;
+                }
+                int v = order[k];
+                long[] neighbors = adjacency[v];
+                long[] newCandidates = level(size + 1);
+                boolean empty = true;
+                for (int w = 0; w < words; w++) {
+                    newCandidates[w] = candidates[w] & neighbors[w];
+                    empty &= newCandidates[w] == 0;
+                }
+                clique[size] = v;
+                if (empty) {
+                    updateBest(clique, size + 1);
+                } else {
+                    expand(size + 1);
+                }
+                candidates[v >>> 6] &= ~(1L << v);
+            }
+        }
+
+        /**
+         * Get the candidate set of a level, allocating the arrays of the level if necessary.
+         */
+        private long[] level(int size)
+        {
+            while (levelCandidates.size() <= size) {
+                levelCandidates.add(new long[words]);
+                levelOrder.add(new int[vertices.size()]);
+                levelColors.add(new int[vertices.size()]);
+            }
+            return levelCandidates.get(size);
+        }
+
+        /**
+         * Greedily color the vertices of a set, always coloring the vertex with the smallest
+         * number next. The vertices with color at least {@code minColor} are stored in order of
+         * their colors.
+         *
+         * @param set the vertices to color
+         * @param minColor the smallest color which is stored
+         * @param order the colored vertices, ordered by their colors
+         * @param colors the colors, starting at $1$
+         * @return the number of stored vertices
+         */
+        int color(long[] set, int minColor, int[] order, int[] colors)
+        {
+            long[] uncolored = this.uncolored;
+            long[] colorClass = this.colorClass;
+            System.arraycopy(set, 0, uncolored, 0, words);
+            int count = 0;
+            int color = 1;
+            int first = 0;
+            while (true) {
+                while (first < words && uncolored[first] == 0) {
+                    first++;
+                }
+                if (first == words) {
+                    return count;
+                }
+                System.arraycopy(uncolored, first, colorClass, first, words - first);
+                for (int w = first; w < words; w++) {
+                    while (colorClass[w] != 0) {
+                        long bit = colorClass[w] & -colorClass[w];
+                        int v = (w << 6) + Long.numberOfTrailingZeros(bit);
+                        uncolored[w] ^= bit;
+                        colorClass[w] ^= bit;
+                        // remove the neighbors, only words not yet processed matter
+                        long[] neighbors = adjacency[v];
+                        for (int j = w; j < words; j++) {
+                            colorClass[j] &= ~neighbors[j];
+                        }
+                        if (color >= minColor) {
+                            order[count] = v;
+                            colors[count] = color;
+                            count++;
+                        }
+                    }
+                }
+                color++;
+            }
+        }
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.traverse.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Bron-Kerbosch maximal clique enumeration algorithm with pivot and degeneracy ordering, which
+ * streams the cliques and solves the subproblems in parallel.
+ *
+ * <p>
+ * Like {@link DegeneracyBronKerboschCliqueFinder} the algorithm processes the vertices in a
+ * degeneracy ordering, and for every vertex $v$ enumerates the maximal cliques which contain $v$
+ * and otherwise only vertices after $v$ in the ordering, using the pivoting rule of Tomita et al.
+ * The algorithm is described in
+ * <ul>
+ * <li>David Eppstein, Maarten Löffler and Darren Strash. Listing All Maximal Cliques in Sparse
+ * Graphs in Near-Optimal Time. Algorithms and Computation: 21st International Symposium (ISSAC),
+ * 403--414, 2010.</li>
+ * </ul>
+ *
+ * <p>
+ * and has running time $O(d n 3^{d/3})$ where $n$ is the number of vertices of the graph and $d$ is
+ * the degeneracy of the graph.
+ *
+ * <p>
+ * In contrast to the other implementations, which compute all maximal cliques before returning
+ * them, this implementation reports every clique as soon as it is found. The {@link #iterator()}
+ * solves the subproblem of one vertex at a time and only stores the cliques of this subproblem,
+ * while {@link #forEachClique(Consumer)} passes the cliques directly to a consumer without storing
+ * them at all. The subproblem of a vertex $v$ is restricted to the neighbors of $v$, which are
+ * numbered locally. The candidate sets $P$ and $X$ of the recursion are represented as bitsets
+ * over the local numbering and the adjacency of the neighborhood as a bitset for each neighbor.
+ * Neighbors before $v$ in the ordering which are not adjacent to any neighbor after $v$ are not
+ * part of the local numbering, since they only affect whether $\{v\}$ is a maximal clique. The
+ * bitsets of a subproblem use $O(k^2)$ bits of memory where $k$ is the size of the local
+ * neighborhood.
+ *
+ * <p>
+ * If an executor is provided, {@link #forEachClique(Consumer)} solves the subproblems of different
+ * vertices in parallel. In this case the consumer is invoked concurrently from different threads
+ * and must be thread-safe. It is up to a user of this algorithm to handle the creation and
+ * termination of the provided {@code executor}. For utility methods to manage a
+ * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see DegeneracyBronKerboschCliqueFinder
+ */
+public class ParallelDegeneracyBronKerboschCliqueFinder<V, E>
+    implements
+    MaximalCliqueEnumerationAlgorithm<V, E>
+{
+    private final Graph<V, E> graph;
+    private final ThreadPoolExecutor executor;
+
+    // vertices in degeneracy ordering and their neighbors, computed lazily
+    private List<V> vertices;
+    private int[][] neighbors;
+
+    /**
+     * Constructs a new clique finder.
+     *
+     * @param graph the input graph; must be simple
+     */
+    public ParallelDegeneracyBronKerboschCliqueFinder(Graph<V, E> graph)
+    {
+        this(graph, null);
+    }
+
+    /**
+     * Constructs a new clique finder.
+     *
+     * @param graph the input graph; must be simple
+     * @param executor the executor which is used by {@link #forEachClique(Consumer)}, or null to
+     *        enumerate the cliques sequentially
+     */
+    public ParallelDegeneracyBronKerboschCliqueFinder(
+        Graph<V, E> graph, ThreadPoolExecutor executor)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.executor = executor;
+    }
+
+    /**
+     * Returns an iterator over all maximal cliques. The cliques are computed while iterating.
+     *
+     * @return an iterator over all maximal cliques
+     * @throws IllegalArgumentException if the graph is not simple
+     */
+    @Override
+    public Iterator<Set<V>> iterator()
+    {
+        lazyInit();
+        return new CliqueIterator();
+    }
+
+    /**
+     * Enumerate all maximal cliques and pass every clique to a consumer as soon as it is found. If
+     * an executor was provided, the consumer is invoked concurrently from different threads.
+     *
+     * @param consumer the consumer of the cliques
+     * @throws IllegalArgumentException if the graph is not simple
+     */
+    public void forEachClique(Consumer<Set<V>> consumer)
+    {
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        lazyInit();
+        ConcurrencyUtil.forEachIndex(executor, vertices.size(), () -> {
+            Subproblem subproblem = new Subproblem();
+            return i -> subproblem.solve(i, consumer);
+        });
+    }
+
+    /**
+     * Compute the degeneracy ordering and the integer indexed adjacency lists.
+     */
+    private void lazyInit()
+    {
+        if (vertices != null) {
+            return;
+        }
+        if (!GraphTests.isSimple(graph)) {
+            throw new IllegalArgumentException("Graph must be simple");
+        }
+        List<V> ordering = new ArrayList<>(graph.vertexSet().size());
+        new DegeneracyOrderingIterator<>(graph).forEachRemaining(ordering::add);
+        Map<V, Integer> index = new VertexToIntegerMapping<>(ordering).getVertexMap();
+
+        int n = ordering.size();
+        int[][] adjacency = new int[n][];
+        for (int i = 0; i < n; i++) {
+            V v = ordering.get(i);
+            Set<E> edges = graph.edgesOf(v);
+            int[] row = new int[edges.size()];
+            int k = 0;
+            for (E e : edges) {
+                row[k++] = index.get(Graphs.getOppositeVertex(graph, e, v));
+            }
+            adjacency[i] = row;
+        }
+        this.neighbors = adjacency;
+        this.vertices = ordering;
+    }
+
+    /**
+     * The working memory of one thread, which solves the subproblems of single vertices.
+     */
+    private class Subproblem
+    {
+        // local index of every vertex, or -1 if the vertex is not in the current neighborhood
+        private final int[] localIndex;
+        private final int[] localVertices;
+        private final int[] clique;
+        private long[][] adjacency;
+        private int root;
+        private Consumer<Set<V>> consumer;
+
+        Subproblem()
+        {
+            int n = vertices.size();
+            this.localIndex = new int[n];
+            Arrays.fill(localIndex, -1);
+            this.localVertices = new int[n];
+            this.clique = new int[n];
+        }
+
+        /**
+         * Enumerate the maximal cliques which contain vertex $i$ and otherwise only vertices after
+         * $i$ in the degeneracy ordering.
+         *
+         * @param i the vertex
+         * @param consumer the consumer of the cliques
+         */
+        void solve(int i, Consumer<Set<V>> consumer)
+        {
+            int[] row = neighbors[i];
+            int p = 0;
+            for (int w : row) {
+                if (w > i) {
+                    localIndex[w] = p;
+                    localVertices[p++] = w;
+                }
+            }
+            if (p == 0) {
+                if (row.length == 0) {
+                    consumer.accept(Collections.singleton(vertices.get(i)));
+                }
+                return;
+            }
+
+            // earlier neighbors which are adjacent to a later neighbor
+            int k = p;
+            for (int w : row) {
+                if (w < i) {
+                    for (int u : neighbors[w]) {
+                        int l = localIndex[u];
+                        if (l >= 0 && l < p) {
+                            localVertices[k++] = w;
+                            break;
+                        }
+                    }
+                }
+            }
+            for (int l = p; l < k; l++) {
+                localIndex[localVertices[l]] = l;
+            }
+
+            int words = (k + 63) >>> 6;
+            adjacency = new long[k][words];
+            for (int l = 0; l < k; l++) {
+                long[] bits = adjacency[l];
+                for (int u : neighbors[localVertices[l]]) {
+                    int m = localIndex[u];
+                    if (m >= 0) {
+                        bits[m >>> 6] |= 1L << m;
+                    }
+                }
+            }
+            for (int l = 0; l < k; l++) {
+                localIndex[localVertices[l]] = -1;
+            }
+
+            long[] candidates = new long[words];
+            long[] excluded = new long[words];
+            for (int l = 0; l < k; l++) {
+                if (l < p) {
+                    candidates[l >>> 6] |= 1L << l;
+                } else {
+                    excluded[l >>> 6] |= 1L << l;
+                }
+            }
+            this.root = i;
+            this.consumer = consumer;
+            findCliques(candidates, excluded, 0);
+            this.adjacency = null;
+            this.consumer = null;
+        }
+
+        /**
+         * The recursion of the Bron-Kerbosch algorithm with pivot. The arrays of the candidate and
+         * excluded sets are owned by this invocation and are modified.
+         *
+         * @param candidates the local vertices which can extend the current clique
+         * @param excluded the local vertices which have already been used to extend the clique
+         * @param size the number of local vertices in the current clique
+         */
+        private void findCliques(long[] candidates, long[] excluded, int size)
+        {
+            int words = candidates.length;
+            if (isEmpty(candidates)) {
+                if (isEmpty(excluded)) {
+                    reportClique(size);
+                }
+                return;
+            }
+
+            // choose the pivot with the most neighbors in the candidate set
+            int pivot = -1;
+            int max = -1;
+            for (int w = 0; w < words; w++) {
+                long union = candidates[w] | excluded[w];
+                while (union != 0) {
+                    int u = (w << 6) + Long.numberOfTrailingZeros(union);
+                    union &= union - 1;
+                    int count = intersectionSize(candidates, adjacency[u]);
+                    if (count > max) {
+                        max = count;
+                        pivot = u;
+                    }
+                }
+            }
+
+            long[] pivotNeighbors = adjacency[pivot];
+            for (int w = 0; w < words; w++) {
+                long remaining = candidates[w] & ~pivotNeighbors[w];
+                while (remaining != 0) {
+                    long bit = remaining & -remaining;
+                    remaining ^= bit;
+                    int v = (w << 6) + Long.numberOfTrailingZeros(bit);
+                    long[] vNeighbors = adjacency[v];
+                    long[] newCandidates = new long[words];
+                    long[] newExcluded = new long[words];
+                    for (int j = 0; j < words; j++) {
+                        newCandidates[j] = candidates[j] & vNeighbors[j];
+                        newExcluded[j] = excluded[j] & vNeighbors[j];
+                    }
+                    clique[size] = v;
+                    findCliques(newCandidates, newExcluded, size + 1);
+                    candidates[w] ^= bit;
+                    excluded[w] |= bit;
+                }
+            }
+        }
+
+        private void reportClique(int size)
+        {
+            Set<V> result = CollectionUtil.newHashSetWithExpectedSize(size + 1);
+            result.add(vertices.get(root));
+            for (int j = 0; j < size; j++) {
+                result.add(vertices.get(localVertices[clique[j]]));
+            }
+            consumer.accept(result);
+        }
+    }
+
+    private static boolean isEmpty(long[] bits)
+    {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int intersectionSize(long[] a, long[] b)
+    {
+        int count = 0;
+        for (int w = 0; w < a.length; w++) {
+            count += Long.bitCount(a[w] & b[w]);
+        }
+        return count;
+    }
+
+    /**
+     * Iterator which solves the subproblems of the vertices one at a time.
+     */
+    private class CliqueIterator
+        implements
+        Iterator<Set<V>>
+    {
+        private final Subproblem subproblem = new Subproblem();
+        private final Deque<Set<V>> buffer = new ArrayDeque<>();
+        private int next = 0;
+
+        @Override
+        public boolean hasNext()
+        {
+            while (buffer.isEmpty() && next < vertices.size()) {
+                subproblem.solve(next++, buffer::add);
+            }
+            return !buffer.isEmpty();
+        }
+
+        @Override
+        public Set<V> next()
+        {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.poll();
+        }
+    }
+}
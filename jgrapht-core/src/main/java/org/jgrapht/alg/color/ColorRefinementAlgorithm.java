@@ -121,8 +121,7 @@ public class ColorRefinementAlgorithm<V, E>
         int n = graph.vertexSet().size();
         Set<Integer> adjacentColors = CollectionUtil.newLinkedHashSetWithExpectedSize(n);
 
-        rep(refiningColor, rep, adjacentColors);
-		// calculate color degree and update maxColorDegree
+        // calculate color degree and update maxColorDegree
         for (V v : rep.colorClasses.get(refiningColor)) {
             Set<V> inNeighborhood = graph
                 .incomingEdgesOf(v).stream().map(e -> Graphs.getOppositeVertex(graph, e, v))
@@ -134,37 +133,29 @@ public class ColorRefinementAlgorithm<V, E>
                     rep.positiveDegreeColorClasses.get(rep.coloring.get(w)).add(w);
                 }
                 adjacentColors.add(rep.coloring.get(w));
+                if (rep.colorDegree.get(w) > rep.maxColorDegree[rep.coloring.get(w)]) {
+                    rep.maxColorDegree[rep.coloring.get(w)] = rep.colorDegree.get(w);
+                }
+            }
+        }
+
+        // calculate minColorDegree
+        for (Integer c : adjacentColors) {
+            if (rep.colorClasses.get(c).size() != rep.positiveDegreeColorClasses.get(c).size()) {
+                rep.minColorDegree[c] = 0;
+            } else {
+                rep.minColorDegree[c] = rep.maxColorDegree[c];
+                for (V v : rep.positiveDegreeColorClasses.get(c)) {
+                    if (rep.colorDegree.get(v) < rep.minColorDegree[c]) {
+                        rep.minColorDegree[c] = rep.colorDegree.get(v);
+                    }
+                }
             }
         }
 
         return adjacentColors;
     }
 
-	private void rep(int refiningColor, ColorRefinementAlgorithm<V, E>.ColoringRepresentation rep,
-			Set<Integer> adjacentColors) {
-		for (V v : rep.colorClasses.get(refiningColor)) {
-			Set<V> inNeighborhood = graph.incomingEdgesOf(v).stream().map(e -> Graphs.getOppositeVertex(graph, e, v))
-					.collect(Collectors.toSet());
-			for (V w : inNeighborhood) {
-				if (rep.colorDegree.get(w) > rep.maxColorDegree[rep.coloring.get(w)]) {
-					rep.maxColorDegree[rep.coloring.get(w)] = rep.colorDegree.get(w);
-				}
-			}
-		}
-		for (Integer c : adjacentColors) {
-			if (rep.colorClasses.get(c).size() != rep.positiveDegreeColorClasses.get(c).size()) {
-				rep.minColorDegree[c] = 0;
-			} else {
-				rep.minColorDegree[c] = rep.maxColorDegree[c];
-				for (V v : rep.positiveDegreeColorClasses.get(c)) {
-					if (rep.colorDegree.get(v) < rep.minColorDegree[c]) {
-						rep.minColorDegree[c] = rep.colorDegree.get(v);
-					}
-				}
-			}
-		}
-	}
-
     /**
      * Helper method that cleanups the internal representation of color degrees for a new iteration.
      *
@@ -0,0 +1,492 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.color;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Color refinement algorithm, also known as the 1-dimensional Weisfeiler-Leman algorithm, which
+ * works on an integer representation of the graph and can use several threads.
+ *
+ * <p>
+ * The algorithm computes the same coarsest stable coloring refining a given coloring
+ * <code>alpha</code> as the {@link ColorRefinementAlgorithm}, i.e. the coarsest partition of the
+ * vertices such that two vertices of the same color have the same number of neighbors of every
+ * color. For directed graphs the outgoing neighbors are considered. The coloring is canonical:
+ * for isomorphic graphs and colorings <code>alpha</code>, every isomorphism maps the color of each
+ * vertex to the same color.
+ *
+ * <p>
+ * The graph is stored in compressed adjacency arrays and the color classes are stored as
+ * contiguous ranges of a single vertex array. The algorithm proceeds in rounds. In every round,
+ * the sorted colors of the neighbors of every vertex in a color class which may split are computed,
+ * the vertices of the class are sorted by these signatures and the class is split into the ranges
+ * of equal signatures. Only the classes which contain a neighbor of a vertex whose color changed in
+ * the previous round may split. If an executor is provided, the signatures are computed and
+ * sorted in parallel. It is up to a user of this algorithm to handle the creation and termination
+ * of the provided {@code executor}. For utility methods to manage a {@code ThreadPoolExecutor} see
+ * {@link ConcurrencyUtil}.
+ *
+ * <p>
+ * The method {@link #getColorHistograms(int)} computes the features of the Weisfeiler-Lehman
+ * subtree kernel described in
+ * <ul>
+ * <li>N. Shervashidze, P. Schweitzer, E. J. van Leeuwen, K. Mehlhorn and K. M. Borgwardt.
+ * Weisfeiler-Lehman Graph Kernels. Journal of Machine Learning Research 12, 2539--2561,
+ * 2011.</li>
+ * </ul>
+ * Instead of compressing the labels of each iteration with a dictionary shared by all graphs, the
+ * labels are 64-bit hashes of the previous label of a vertex and the sorted labels of its
+ * neighbors. Therefore, the histograms of different graphs can be computed independently and
+ * compared directly, at the cost of a negligible probability of hash collisions.
+ *
+ * <p>
+ * Multiple edges are considered as a single edge. A self-loop makes a vertex its own neighbor.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ColorRefinementAlgorithm
+ */
+public class ParallelColorRefinementAlgorithm<V, E>
+    implements
+    VertexColoringAlgorithm<V>
+{
+    private static final int CHUNK_SIZE = 1024;
+
+    private final Graph<V, E> graph;
+    private final Coloring<V> alpha;
+    private final ThreadPoolExecutor executor;
+
+    // the neighbors and the vertices having a vertex as neighbor, in compressed arrays
+    private List<V> vertices;
+    private int[] initialColors;
+    private int[] start;
+    private int[] neighbors;
+    private int[] reverseStart;
+    private int[] reverseNeighbors;
+
+    private Coloring<V> coloring;
+
+    /**
+     * Construct a new coloring algorithm.
+     *
+     * @param graph the input graph
+     */
+    public ParallelColorRefinementAlgorithm(Graph<V, E> graph)
+    {
+        this(graph, null, null);
+    }
+
+    /**
+     * Construct a new coloring algorithm.
+     *
+     * @param graph the input graph
+     * @param executor the executor used to compute the signatures in parallel, or null to compute
+     *        them sequentially
+     */
+    public ParallelColorRefinementAlgorithm(Graph<V, E> graph, ThreadPoolExecutor executor)
+    {
+        this(graph, null, executor);
+    }
+
+    /**
+     * Construct a new coloring algorithm.
+     *
+     * @param graph the input graph
+     * @param alpha the coloring on the graph to be refined, or null to start with a single color
+     * @param executor the executor used to compute the signatures in parallel, or null to compute
+     *        them sequentially
+     */
+    public ParallelColorRefinementAlgorithm(
+        Graph<V, E> graph, Coloring<V> alpha, ThreadPoolExecutor executor)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        if (alpha != null && !isAlphaConsistent(alpha, graph)) {
+            throw new IllegalArgumentException(
+                "alpha is not a valid surjective l-coloring for the given graph.");
+        }
+        this.alpha = alpha;
+        this.executor = executor;
+    }
+
+    /**
+     * Calculates a canonical surjective k-coloring of the given graph such that the classes of the
+     * coloring form the coarsest stable partition that refines alpha.
+     *
+     * @return the calculated coloring
+     */
+    @Override
+    public Coloring<V> getColoring()
+    {
+        if (coloring == null) {
+            init();
+            coloring = refine();
+        }
+        return coloring;
+    }
+
+    /**
+     * Computes the color histograms of the Weisfeiler-Lehman subtree kernel. The labels of
+     * iteration $0$ are derived from the colors of alpha. The label of a vertex in iteration $i+1$
+     * is a hash of its label in iteration $i$ and the sorted labels of its neighbors in iteration
+     * $i$. The labels are comparable across graphs, so the subtree kernel of two graphs is the sum
+     * over all iterations of the dot products of their histograms.
+     *
+     * @param iterations the number of iterations
+     * @return a list of {@code iterations + 1} histograms, which map each label of an iteration to
+     *         the number of vertices with that label
+     */
+    public List<Map<Long, Integer>> getColorHistograms(int iterations)
+    {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Number of iterations must be non-negative");
+        }
+        init();
+        int n = vertices.size();
+        long[] labels = new long[n];
+        for (int v = 0; v < n; v++) {
+            labels[v] = mix(initialColors[v]);
+        }
+
+        List<Map<Long, Integer>> histograms = new ArrayList<>(iterations + 1);
+        histograms.add(histogram(labels));
+        long[] next = new long[n];
+        for (int i = 0; i < iterations; i++) {
+            long[] current = labels;
+            long[] result = next;
+            forEachChunk(n, (from, to) -> {
+                long[] buffer = new long[0];
+                for (int v = from; v < to; v++) {
+                    int degree = start[v + 1] - start[v];
+                    if (buffer.length < degree) {
+                        buffer = new long[degree];
+                    }
+                    for (int k = 0; k < degree; k++) {
+                        buffer[k] = current[neighbors[start[v] + k]];
+                    }
+                    Arrays.sort(buffer, 0, degree);
+                    long hash = mix(current[v]);
+                    for (int k = 0; k < degree; k++) {
+                        hash = mix(hash * 31 + buffer[k]);
+                    }
+                    result[v] = mix(hash + degree);
+                }
+            });
+            next = labels;
+            labels = result;
+            histograms.add(histogram(labels));
+        }
+        return histograms;
+    }
+
+    /**
+     * Build the integer representation of the graph.
+     */
+    private void init()
+    {
+        if (vertices != null) {
+            return;
+        }
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        vertices = mapping.getIndexList();
+        Map<V, Integer> index = mapping.getVertexMap();
+        int n = vertices.size();
+
+        initialColors = new int[n];
+        if (alpha != null) {
+            Map<V, Integer> colors = alpha.getColors();
+            for (int v = 0; v < n; v++) {
+                initialColors[v] = colors.get(vertices.get(v));
+            }
+        }
+
+        // distinct (outgoing) neighbors of every vertex
+        start = new int[n + 1];
+        int[][] lists = new int[n][];
+        for (int v = 0; v < n; v++) {
+            V vertex = vertices.get(v);
+            Set<E> edges = graph.outgoingEdgesOf(vertex);
+            int[] list = new int[edges.size()];
+            int k = 0;
+            for (E e : edges) {
+                list[k++] = index.get(Graphs.getOppositeVertex(graph, e, vertex));
+            }
+            Arrays.sort(list);
+            int distinct = 0;
+            for (int i = 0; i < k; i++) {
+                if (i == 0 || list[i] != list[i - 1]) {
+                    list[distinct++] = list[i];
+                }
+            }
+            lists[v] = list;
+            start[v + 1] = start[v] + distinct;
+        }
+        neighbors = new int[start[n]];
+        reverseStart = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            System.arraycopy(lists[v], 0, neighbors, start[v], start[v + 1] - start[v]);
+            for (int i = start[v]; i < start[v + 1]; i++) {
+                reverseStart[neighbors[i] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            reverseStart[v + 1] += reverseStart[v];
+        }
+        reverseNeighbors = new int[start[n]];
+        int[] position = Arrays.copyOf(reverseStart, n);
+        for (int v = 0; v < n; v++) {
+            for (int i = start[v]; i < start[v + 1]; i++) {
+                reverseNeighbors[position[neighbors[i]]++] = v;
+            }
+        }
+    }
+
+    /**
+     * Compute the coarsest stable refinement of the initial coloring.
+     */
+    private Coloring<V> refine()
+    {
+        int n = vertices.size();
+        int[] colors = Arrays.copyOf(initialColors, n);
+        int numColors = alpha == null ? Math.min(n, 1) : alpha.getNumberColors();
+
+        // the color classes are the ranges [cellStart[c], cellEnd[c]) of the vertex array
+        int[] order = new int[n];
+        int[] cellStart = new int[n + 1];
+        int[] cellEnd = new int[n];
+        for (int v = 0; v < n; v++) {
+            cellStart[colors[v] + 1]++;
+        }
+        for (int c = 0; c < numColors; c++) {
+            cellStart[c + 1] += cellStart[c];
+            cellEnd[c] = cellStart[c];
+        }
+        for (int v = 0; v < n; v++) {
+            order[cellEnd[colors[v]]++] = v;
+        }
+
+        int[] signatures = new int[neighbors.length];
+        long[] hashes = new long[n];
+        int[] tmp = new int[n];
+        boolean[] dirty = new boolean[n];
+        List<Integer> dirtyCells = new ArrayList<>();
+        for (int c = 0; c < numColors; c++) {
+            if (cellEnd[c] - cellStart[c] > 1) {
+                dirtyCells.add(c);
+            }
+        }
+
+        while (!dirtyCells.isEmpty()) {
+            int[] cells = dirtyCells.stream().mapToInt(Integer::intValue).sorted().toArray();
+            dirtyCells.clear();
+
+            // compute the signatures and sort the vertices of every cell by their signatures
+            int[] currentColors = colors;
+            forEachChunk(cells.length, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int c = cells[i];
+                    for (int p = cellStart[c]; p < cellEnd[c]; p++) {
+                        int v = order[p];
+                        long hash = 0;
+                        for (int k = start[v]; k < start[v + 1]; k++) {
+                            signatures[k] = currentColors[neighbors[k]];
+                        }
+                        Arrays.sort(signatures, start[v], start[v + 1]);
+                        for (int k = start[v]; k < start[v + 1]; k++) {
+                            hash = hash * 31 + signatures[k];
+                        }
+                        hashes[v] = mix(hash + start[v + 1] - start[v]);
+                    }
+                    sort(order, tmp, cellStart[c], cellEnd[c], signatures, hashes);
+                }
+            });
+
+            // split the cells, the first range of every cell keeps its color
+            List<Integer> changed = new ArrayList<>();
+            for (int c : cells) {
+                int end = cellEnd[c];
+                int color = c;
+                for (int p = cellStart[c] + 1; p < end; p++) {
+                    if (compare(order[p - 1], order[p], signatures, hashes) != 0) {
+                        cellEnd[color] = p;
+                        color = numColors++;
+                        cellStart[color] = p;
+                    }
+                    if (color != c) {
+                        colors[order[p]] = color;
+                        changed.add(order[p]);
+                    }
+                }
+                cellEnd[color] = end;
+            }
+
+            // the cells containing a vertex with a neighbor whose color changed may split
+            for (int u : changed) {
+                for (int k = reverseStart[u]; k < reverseStart[u + 1]; k++) {
+                    int c = colors[reverseNeighbors[k]];
+                    if (!dirty[c] && cellEnd[c] - cellStart[c] > 1) {
+                        dirty[c] = true;
+                        dirtyCells.add(c);
+                    }
+                }
+            }
+            for (int c : dirtyCells) {
+                dirty[c] = false;
+            }
+        }
+
+        Map<V, Integer> result = CollectionUtil.newHashMapWithExpectedSize(n);
+        for (int v = 0; v < n; v++) {
+            result.put(vertices.get(v), colors[v]);
+        }
+        return new ColoringImpl<>(result, numColors);
+    }
+
+    /**
+     * Sort a range of vertices by their signatures using merge sort.
+     */
+    private void sort(int[] a, int[] tmp, int from, int to, int[] signatures, long[] hashes)
+    {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sort(a, tmp, from, mid, signatures, hashes);
+        sort(a, tmp, mid, to, signatures, hashes);
+        if (compare(a[mid - 1], a[mid], signatures, hashes) <= 0) {
+            return;
+        }
+        System.arraycopy(a, from, tmp, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || i < mid && compare(tmp[i], tmp[j], signatures, hashes) <= 0) {
+                a[k] = tmp[i++];
+            } else {
+                a[k] = tmp[j++];
+            }
+        }
+    }
+
+    /**
+     * Compare the signatures of two vertices, first by their hashes and then lexicographically.
+     */
+    private int compare(int u, int v, int[] signatures, long[] hashes)
+    {
+        int cmp = Long.compare(hashes[u], hashes[v]);
+        if (cmp != 0) {
+            return cmp;
+        }
+        cmp = Integer.compare(start[u + 1] - start[u], start[v + 1] - start[v]);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return Arrays.compare(
+            signatures, start[u], start[u + 1], signatures, start[v], start[v + 1]);
+    }
+
+    private static Map<Long, Integer> histogram(long[] labels)
+    {
+        long[] sorted = labels.clone();
+        Arrays.sort(sorted);
+        Map<Long, Integer> histogram = new LinkedHashMap<>();
+        int i = 0;
+        while (i < sorted.length) {
+            int j = i + 1;
+            while (j < sorted.length && sorted[j] == sorted[i]) {
+                j++;
+            }
+            histogram.put(sorted[i], j - i);
+            i = j;
+        }
+        return histogram;
+    }
+
+    /**
+     * The finalizer of the SplitMix64 generator, which spreads the bits of a value.
+     */
+    private static long mix(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Run a task on consecutive chunks of the range $[0, count)$, in parallel if an executor is
+     * available.
+     *
+     * @param count the size of the range
+     * @param task the task
+     */
+    private void forEachChunk(int count, RangeTask task)
+    {
+        if (executor == null || count <= CHUNK_SIZE) {
+            task.run(0, count);
+            return;
+        }
+        int numChunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        ConcurrencyUtil.forEachIndex(executor, numChunks, () -> chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            task.run(from, Math.min(count, from + CHUNK_SIZE));
+        });
+    }
+
+    /**
+     * Checks whether alpha is a valid surjective l-coloring for the given graph
+     *
+     * @param alpha the surjective l-coloring to be checked
+     * @param graph the graph that is colored by alpha
+     * @return whether alpha is a valid surjective l-coloring for the given graph
+     */
+    private static <V, E> boolean isAlphaConsistent(Coloring<V> alpha, Graph<V, E> graph)
+    {
+        Map<V, Integer> colors = alpha.getColors();
+        int numberColors = alpha.getNumberColors();
+        if (colors.size() != graph.vertexSet().size()) {
+            return false;
+        }
+        boolean[] used = new boolean[Math.max(numberColors, 0)];
+        int usedColors = 0;
+        for (V v : graph.vertexSet()) {
+            Integer color = colors.get(v);
+            if (color == null || color < 0 || color >= numberColors) {
+                return false;
+            }
+            if (!used[color]) {
+                used[color] = true;
+                usedColors++;
+            }
+        }
+        return usedColors == numberColors;
+    }
+
+    /**
+     * A task processing a range of indices.
+     */
+    private interface RangeTask
+    {
+        void run(int from, int to);
+    }
+}
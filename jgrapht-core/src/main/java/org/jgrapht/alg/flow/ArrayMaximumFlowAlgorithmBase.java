@@ -0,0 +1,236 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+
+import java.util.*;
+
+/**
+ * Base class of the maximum flow algorithms which operate on a {@link ResidualNetwork}. The
+ * subclasses only compute the flow, the flow map and the minimum cut are derived from the residual
+ * network.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+abstract class ArrayMaximumFlowAlgorithmBase<V, E>
+    implements
+    MaximumFlowAlgorithm<V, E>,
+    MinimumSTCutAlgorithm<V, E>
+{
+    final ResidualNetwork<V, E> residualNetwork;
+    final double epsilon;
+
+    final int n;
+    final int[] start;
+    final int[] head;
+    final int[] reverse;
+    final double[] residual;
+
+    private V source;
+    private V sink;
+    private double maxFlowValue = -1;
+    private Map<E, Double> flowMap;
+    private Set<V> sourcePartition;
+    private Set<V> sinkPartition;
+    private Set<E> cutEdges;
+
+    /**
+     * Construct a new maximum flow algorithm.
+     *
+     * @param network the network
+     * @param epsilon tolerance used when deciding whether an arc of the residual network is
+     *        saturated while computing the minimum cut
+     * @throws IllegalArgumentException if the network contains edges with negative capacity
+     */
+    ArrayMaximumFlowAlgorithmBase(Graph<V, E> network, double epsilon)
+    {
+        if (epsilon <= 0) {
+            throw new IllegalArgumentException("Epsilon must be positive!");
+        }
+        this.epsilon = epsilon;
+        this.residualNetwork = new ResidualNetwork<>(network);
+        this.n = residualNetwork.n;
+        this.start = residualNetwork.start;
+        this.head = residualNetwork.head;
+        this.reverse = residualNetwork.reverse;
+        this.residual = residualNetwork.residual;
+    }
+
+    /**
+     * Compute a maximum flow in the residual network, starting from the zero flow.
+     *
+     * @param s the index of the source
+     * @param t the index of the sink
+     * @return the value of the maximum flow
+     */
+    abstract double computeMaximumFlow(int s, int t);
+
+    /**
+     * Saturate all arcs leaving a vertex, except loops, and add the flow to the excess of their
+     * heads.
+     *
+     * @param s the vertex
+     * @param excess the excess of the vertices
+     */
+    void saturateOutgoingArcs(int s, double[] excess)
+    {
+        for (int a = start[s]; a < start[s + 1]; a++) {
+            int w = head[a];
+            double delta = residual[a];
+            if (w != s && delta > 0d) {
+                residual[a] = 0d;
+                residual[reverse[a]] += delta;
+                excess[w] += delta;
+            }
+        }
+    }
+
+    @Override
+    public MaximumFlow<E> getMaximumFlow(V source, V sink)
+    {
+        calculateMaximumFlow(source, sink);
+        return new MaximumFlowImpl<>(maxFlowValue, getFlowMap());
+    }
+
+    @Override
+    public double getMaximumFlowValue(V source, V sink)
+    {
+        return calculateMaximumFlow(source, sink);
+    }
+
+    /**
+     * Sets current source to <code>source</code>, current sink to <code>sink</code>, then
+     * calculates maximum flow from <code>source</code> to <code>sink</code>. Note, that
+     * <code>source</code> and <code>sink</code> must be vertices of the <code>
+     * network</code> passed to the constructor, and they must be different.
+     *
+     * @param source source vertex
+     * @param sink sink vertex
+     * @return the value of the maximum flow
+     */
+    public double calculateMaximumFlow(V source, V sink)
+    {
+        int s = residualNetwork.indexOf(source, "Network does not contain source!");
+        int t = residualNetwork.indexOf(sink, "Network does not contain sink!");
+        if (s == t) {
+            throw new IllegalArgumentException("Source is equal to sink!");
+        }
+        this.source = source;
+        this.sink = sink;
+        this.flowMap = null;
+        this.sourcePartition = null;
+        this.sinkPartition = null;
+        this.cutEdges = null;
+
+        residualNetwork.reset();
+        maxFlowValue = computeMaximumFlow(s, t);
+        return maxFlowValue;
+    }
+
+    /**
+     * Returns current source vertex, or <code>null</code> if there was no <code>
+     * calculateMaximumFlow</code> calls.
+     *
+     * @return current source
+     */
+    public V getCurrentSource()
+    {
+        return source;
+    }
+
+    /**
+     * Returns current sink vertex, or <code>null</code> if there was no <code>
+     * calculateMaximumFlow</code> calls.
+     *
+     * @return current sink
+     */
+    public V getCurrentSink()
+    {
+        return sink;
+    }
+
+    /**
+     * Returns maximum flow value, that was calculated during last <code>
+     * calculateMaximumFlow</code> call.
+     *
+     * @return maximum flow value
+     */
+    public double getMaximumFlowValue()
+    {
+        return maxFlowValue;
+    }
+
+    @Override
+    public Map<E, Double> getFlowMap()
+    {
+        if (flowMap == null) {
+            flowMap = Collections.unmodifiableMap(residualNetwork.flowMap());
+        }
+        return flowMap;
+    }
+
+    @Override
+    public V getFlowDirection(E e)
+    {
+        return residualNetwork.flowDirection(e);
+    }
+
+    @Override
+    public double calculateMinCut(V source, V sink)
+    {
+        return calculateMaximumFlow(source, sink);
+    }
+
+    @Override
+    public double getCutCapacity()
+    {
+        return maxFlowValue;
+    }
+
+    @Override
+    public Set<V> getSourcePartition()
+    {
+        if (sourcePartition == null) {
+            sourcePartition = residualNetwork
+                .reachableFrom(residualNetwork.vertexIndex.get(source), epsilon);
+        }
+        return sourcePartition;
+    }
+
+    @Override
+    public Set<V> getSinkPartition()
+    {
+        if (sinkPartition == null) {
+            sinkPartition = new LinkedHashSet<>(residualNetwork.vertices);
+            sinkPartition.removeAll(getSourcePartition());
+        }
+        return sinkPartition;
+    }
+
+    @Override
+    public Set<E> getCutEdges()
+    {
+        if (cutEdges == null) {
+            cutEdges = residualNetwork.cutEdges(getSourcePartition());
+        }
+        return cutEdges;
+    }
+}
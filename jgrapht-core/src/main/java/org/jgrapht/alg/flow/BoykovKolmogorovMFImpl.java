@@ -190,6 +190,64 @@ public class BoykovKolmogorovMFImpl<V, E>
 
         currentSource = getVertexExtension(source);
         currentSink = getVertexExtension(sink);
+
+        run();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This is the case for example in interactive image segmentation, where the capacities of a
+     * few edges are changed between two consecutive computations.
+     *
+     * @throws IllegalStateException {@inheritDoc}
+     * @throws IllegalArgumentException {@inheritDoc}
+     */
+    @Override
+    public void updateEdgeCapacity(E edge)
+    {
+        updateCapacity(edge);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The flow trees are rebuilt from scratch.
+     *
+     * @throws IllegalStateException {@inheritDoc}
+     */
+    @Override
+    public MaximumFlow<E> recomputeMaximumFlow()
+    {
+        if (currentSource == null) {
+            throw new IllegalStateException("No maximum flow has been computed yet!");
+        }
+        for (V v : network.vertexSet()) {
+            VertexExtension vertex = getVertexExtension(v);
+            vertex.parentEdge = null;
+            vertex.treeStatus = VertexTreeStatus.FREE_VERTEX;
+            vertex.timestamp = FREE_NODE_TIMESTAMP;
+            vertex.distance = 0;
+            vertex.active = false;
+        }
+        activeVertices.clear();
+        orphans.clear();
+        childOrphans.clear();
+        maxFlow = null;
+        sourcePartition = null;
+        sinkPartition = null;
+        cutEdges = null;
+
+        run();
+        maxFlow = composeFlow();
+        return new MaximumFlowImpl<>(maxFlowValue, maxFlow);
+    }
+
+    /**
+     * Runs the main algorithm loop starting from the current flow, with all vertices being free.
+     */
+    private void run()
+    {
         currentTimestamp = INITIAL_TIMESTAMP;
 
         augmentShortPaths(currentSource, currentSink);
@@ -317,25 +375,27 @@ public class BoykovKolmogorovMFImpl<V, E>
 
                 // the logic for processing sink tree vertices is symmetrical
                 for (AnnotatedFlowEdge edge : activeVertex.getOutgoing()) {
+                    AnnotatedFlowEdge inverseEdge = edge.getInverse();
 
-                    if (edge.hasCapacity()) {
-                        VertexExtension source = edge.getSource();
+                    if (inverseEdge.hasCapacity()) {
+                        VertexExtension source = inverseEdge.getSource();
 
                         if (source.isSourceTreeVertex()) {
 
                             if (DEBUG) {
-                                System.out.printf("Bounding edge = %s\n\n", edge);
+                                System.out.printf("Bounding edge = %s\n\n", inverseEdge);
                             }
 
-                            return edge;
+                            return inverseEdge;
                         } else if (source.isFreeVertex()) {
                             if (DEBUG) {
                                 System.out
                                     .printf(
-                                        "Growing sink tree: %s -> %s\n\n", source.prototype, edge);
+                                        "Growing sink tree: %s -> %s\n\n", source.prototype,
+                                        inverseEdge);
                             }
 
-                            source.parentEdge = edge;
+                            source.parentEdge = inverseEdge;
                             source.treeStatus = VertexTreeStatus.SINK_TREE_VERTEX;
                             source.distance = activeVertex.distance + 1;
                             source.timestamp = activeVertex.timestamp;
@@ -344,7 +404,7 @@ public class BoykovKolmogorovMFImpl<V, E>
                             assert source.isSinkTreeVertex();
 
                             if (isCloserToTerminal(activeVertex, source)) {
-                                source.parentEdge = edge;
+                                source.parentEdge = inverseEdge;
                                 source.distance = activeVertex.distance + 1;
                                 source.timestamp = activeVertex.timestamp;
                             }
@@ -470,11 +530,12 @@ public class BoykovKolmogorovMFImpl<V, E>
     private void adopt()
     {
         while (!orphans.isEmpty() || !childOrphans.isEmpty()) {
-            BoykovKolmogorovMFImpl<V, E>.VertexExtension currentVertex = currentVertex();
-			// child orphans take precedence
+            VertexExtension currentVertex;
+            // child orphans take precedence
             if (childOrphans.isEmpty()) {
-                orphans.remove(orphans.size() - 1);
+                currentVertex = orphans.remove(orphans.size() - 1);
             } else {
+                currentVertex = childOrphans.removeLast();
             }
 
             if (currentVertex.isSourceTreeVertex()) {
@@ -510,8 +571,11 @@ public class BoykovKolmogorovMFImpl<V, E>
                     currentVertex.treeStatus = VertexTreeStatus.FREE_VERTEX;
 
                     for (AnnotatedFlowEdge edge : currentVertex.getOutgoing()) {
-                        BoykovKolmogorovMFImpl<V, E>.VertexExtension targetVertex = targetVertex(edge);
-						if (targetVertex.isSourceTreeVertex()) {
+                        VertexExtension targetVertex = edge.getTarget();
+                        if (targetVertex.isSourceTreeVertex()) {
+                            if (edge.getInverse().hasCapacity()) {
+                                makeActive(targetVertex);
+                            }
                             if (targetVertex.parentEdge == edge) {
                                 // target vertex is a child of the current vertex
                                 targetVertex.makeOrphan();
@@ -593,27 +657,6 @@ public class BoykovKolmogorovMFImpl<V, E>
         }
     }
 
-	private BoykovKolmogorovMFImpl<V, E>.VertexExtension currentVertex() {
-		VertexExtension currentVertex;
-		if (childOrphans.isEmpty()) {
-			currentVertex = orphans.get(orphans.size() - 1);
-		} else {
-			currentVertex = childOrphans.removeLast();
-		}
-		return currentVertex;
-	}
-
-	private BoykovKolmogorovMFImpl<V, E>.VertexExtension targetVertex(
-			MaximumFlowAlgorithmBase<V, E>.AnnotatedFlowEdge edge) {
-		VertexExtension targetVertex = edge.getTarget();
-		if (targetVertex.isSourceTreeVertex()) {
-			if (edge.getInverse().hasCapacity()) {
-				makeActive(targetVertex);
-			}
-		}
-		return targetVertex;
-	}
-
     /**
      * Initializes a new algorithm iteration.
      */
@@ -709,7 +752,7 @@ public class BoykovKolmogorovMFImpl<V, E>
 
             if (currentVertex.parentEdge == null) {
                 return false;
-            } else if (wasCheckedInThisIteration(vertex)) {
+            } else if (wasCheckedInThisIteration(currentVertex)) {
                 distance += currentVertex.distance;
                 break;
             }
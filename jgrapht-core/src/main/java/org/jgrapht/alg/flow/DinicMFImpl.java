@@ -109,6 +109,39 @@ public class DinicMFImpl<V, E>
         return new MaximumFlowImpl<>(maxFlowValue, maxFlow);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException {@inheritDoc}
+     * @throws IllegalArgumentException {@inheritDoc}
+     */
+    @Override
+    public void updateEdgeCapacity(E edge)
+    {
+        updateCapacity(edge);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException {@inheritDoc}
+     */
+    @Override
+    public MaximumFlow<E> recomputeMaximumFlow()
+    {
+        if (currentSource == null) {
+            throw new IllegalStateException("No maximum flow has been computed yet!");
+        }
+        maxFlow = null;
+        sourcePartition = null;
+        sinkPartition = null;
+        cutEdges = null;
+
+        dinic();
+        maxFlow = composeFlow();
+        return new MaximumFlowImpl<>(maxFlowValue, maxFlow);
+    }
+
     /**
      * Assigns source to currentSource and sink to currentSink. Afterwards invokes dinic() method to
      * calculate the maximum flow in the network using Dinic algorithm with scaling.
@@ -22,6 +22,8 @@ import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.graph.*;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 
 /**
  * This class computes an Equivalent Flow Tree (EFT) using the algorithm proposed by Dan Gusfield.
@@ -43,12 +45,21 @@ import java.util.*;
  *
  *
  * <p>
+ * The minimum cuts can be computed in parallel by providing a {@code ThreadPoolExecutor}. In this
+ * case the cuts of several vertices are computed speculatively, each thread using its own instance
+ * of the minimum cut algorithm, see {@link GusfieldMinimumCuts}. It is up to a user of this
+ * algorithm to handle the creation and termination of the provided {@code executor}. For utility
+ * methods to manage a {@code ThreadPoolExecutor} see {@link org.jgrapht.util.ConcurrencyUtil}.
+ *
+ * <p>
  * Note: this class performs calculations in a lazy manner. The EFT is not calculated until the
  * first invocation of {@link GusfieldEquivalentFlowTree#getMaximumFlowValue(Object, Object)} or
  * {@link GusfieldEquivalentFlowTree#getEquivalentFlowTree()}. Moreover, this class <em>only</em>
  * calculates the value of the maximum flow between a source-destination pair; it does not calculate
  * the corresponding flow per edge. If you need to know the exact flow through an edge, use one of
- * the alternative {@link MaximumFlowAlgorithm} implementations.
+ * the alternative {@link MaximumFlowAlgorithm} implementations. The matrix of the flow values of
+ * all pairs of vertices, which requires $O(n^2)$ memory, is only computed on the first invocation
+ * of {@link GusfieldEquivalentFlowTree#getMaximumFlowValue(Object, Object)}.
  *
  * <p>
  * Warning: EFTs do not allow you to calculate minimum cuts for all pairs of vertex! For that,
@@ -70,14 +81,15 @@ public class GusfieldEquivalentFlowTree<V, E>
 
     /* Number of vertices in the graph */
     private final int n;
-    /* Algorithm used to computed the Maximum s-t flows */
-    private final MinimumSTCutAlgorithm<V, E> minimumSTCutAlgorithm;
+    /* Computes the minimum s-t cuts, possibly in parallel */
+    private final GusfieldMinimumCuts<V, E> minimumCuts;
 
     /* Data structures for computations */
     private List<V> vertexList = new ArrayList<>();
     private Map<V, Integer> indexMap = new HashMap<>();
     private int[] p; // See vector p in the paper description
     private int[] neighbors;
+    private double[] neighborFlowValues;
 
     /* Matrix containing the flow values for every s-t pair */
     private double[][] flowMatrix = null;
@@ -114,15 +126,49 @@ public class GusfieldEquivalentFlowTree<V, E>
      */
     public GusfieldEquivalentFlowTree(
         Graph<V, E> network, MinimumSTCutAlgorithm<V, E> minimumSTCutAlgorithm)
+    {
+        this(network, () -> minimumSTCutAlgorithm, null);
+    }
+
+    /**
+     * Constructs a new GusfieldEquivalentFlowTree instance which computes the minimum cuts in
+     * parallel using the {@link PushRelabelMFImpl}.
+     *
+     * @param network input graph
+     * @param epsilon precision
+     * @param executor executor which is used to compute the minimum cuts in parallel, or null to
+     *        compute them sequentially
+     */
+    public GusfieldEquivalentFlowTree(
+        Graph<V, E> network, double epsilon, ThreadPoolExecutor executor)
+    {
+        this(network, () -> new PushRelabelMFImpl<>(network, epsilon), executor);
+    }
+
+    /**
+     * Constructs a new GusfieldEquivalentFlowTree instance which computes the minimum cuts in
+     * parallel. The supplier is invoked once for every thread, the algorithms it returns must not
+     * be shared between threads.
+     *
+     * @param network input graph
+     * @param minimumSTCutAlgorithmSupplier supplier of the algorithms used to compute the minimum
+     *        $s-t$ cuts
+     * @param executor executor which is used to compute the minimum cuts in parallel, or null to
+     *        compute them sequentially
+     */
+    public GusfieldEquivalentFlowTree(
+        Graph<V, E> network, Supplier<MinimumSTCutAlgorithm<V, E>> minimumSTCutAlgorithmSupplier,
+        ThreadPoolExecutor executor)
     {
         GraphTests.requireUndirected(network);
         this.n = network.vertexSet().size();
         if (n < 2)
             throw new IllegalArgumentException("Graph must have at least 2 vertices");
-        this.minimumSTCutAlgorithm = minimumSTCutAlgorithm;
         vertexList.addAll(network.vertexSet());
         for (int i = 0; i < vertexList.size(); i++)
             indexMap.put(vertexList.get(i), i);
+        this.minimumCuts = new GusfieldMinimumCuts<>(
+            vertexList, indexMap, minimumSTCutAlgorithmSupplier, executor);
     }
 
     /**
@@ -130,23 +176,30 @@ public class GusfieldEquivalentFlowTree<V, E>
      */
     private void calculateEquivalentFlowTree()
     {
-        flowMatrix = new double[n][n];
-        p = new int[n];
+        int[] p = new int[n];
         neighbors = new int[n];
+        neighborFlowValues = new double[n];
 
-        for (int s = 1; s < n; s++) {
-            int t = p[s];
+        // sourcePartition is the set X in the paper
+        minimumCuts.computeCuts(p, (s, t, flowValue, sourcePartition) -> {
             neighbors[s] = t;
-            double flowValue =
-                minimumSTCutAlgorithm.calculateMinCut(vertexList.get(s), vertexList.get(t));
-            Set<V> sourcePartition = minimumSTCutAlgorithm.getSourcePartition(); // Set X in the
-                                                                                 // paper
-            for (int i = s; i < n; i++)
-                if (sourcePartition.contains(vertexList.get(i)) && p[i] == t)
+            neighborFlowValues[s] = flowValue;
+            for (int i : sourcePartition)
+                if (i >= s && p[i] == t)
                     p[i] = s;
+        });
+        this.p = p;
+    }
 
-            // populate the flow matrix
-            flowMatrix[s][t] = flowMatrix[t][s] = flowValue;
+    /**
+     * Computes the flow values of all pairs of vertices
+     */
+    private void calculateFlowMatrix()
+    {
+        flowMatrix = new double[n][n];
+        for (int s = 1; s < n; s++) {
+            int t = neighbors[s];
+            flowMatrix[s][t] = flowMatrix[t][s] = neighborFlowValues[s];
             for (int i = 0; i < s; i++)
                 if (i != t)
                     flowMatrix[s][i] =
@@ -171,7 +224,7 @@ public class GusfieldEquivalentFlowTree<V, E>
         for (int i = 1; i < n; i++) {
             DefaultWeightedEdge e =
                 equivalentFlowTree.addEdge(vertexList.get(i), vertexList.get(neighbors[i]));
-            equivalentFlowTree.setEdgeWeight(e, flowMatrix[i][neighbors[i]]);
+            equivalentFlowTree.setEdgeWeight(e, neighborFlowValues[i]);
         }
         return equivalentFlowTree;
     }
@@ -209,6 +262,8 @@ public class GusfieldEquivalentFlowTree<V, E>
 
         if (p == null) // Lazy invocation of the algorithm
             this.calculateEquivalentFlowTree();
+        if (flowMatrix == null)
+            this.calculateFlowMatrix();
         return flowMatrix[indexMap.get(source)][indexMap.get(sink)];
     }
 
@@ -23,6 +23,8 @@ import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.graph.*;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 
 /**
  * This class computes a Gomory-Hu tree (GHT) using the algorithm proposed by Dan Gusfield. For a
@@ -46,12 +48,21 @@ import java.util.*;
  *
  *
  * <p>
+ * The minimum cuts can be computed in parallel by providing a {@code ThreadPoolExecutor}. In this
+ * case the cuts of several vertices are computed speculatively, each thread using its own instance
+ * of the minimum cut algorithm, see {@link GusfieldMinimumCuts}. It is up to a user of this
+ * algorithm to handle the creation and termination of the provided {@code executor}. For utility
+ * methods to manage a {@code ThreadPoolExecutor} see {@link org.jgrapht.util.ConcurrencyUtil}.
+ *
+ * <p>
  * Note: this class performs calculations in a lazy manner. The GHT is not calculated until the
  * first invocation of {@link GusfieldGomoryHuCutTree#getMaximumFlowValue(Object, Object)} or
  * {@link GusfieldGomoryHuCutTree#getGomoryHuTree()}. Moreover, this class <em>only</em> calculates
  * the value of the maximum flow between a source-destination pair; it does not calculate the
  * corresponding flow per edge. If you need to know the exact flow through an edge, use one of the
- * alternative {@link MaximumFlowAlgorithm} implementations.
+ * alternative {@link MaximumFlowAlgorithm} implementations. The matrix of the flow values of all
+ * pairs of vertices, which requires $O(n^2)$ memory, is only computed on the first invocation of
+ * {@link GusfieldGomoryHuCutTree#getMaximumFlowValue(Object, Object)}.
  *
  * <p>
  * In contrast to an Equivalent Flow Tree ({@link GusfieldEquivalentFlowTree}), Gomory-Hu trees also
@@ -75,14 +86,17 @@ public class GusfieldGomoryHuCutTree<V, E>
     private final Graph<V, E> network;
     /* Number of vertices in the graph */
     private final int n;
-    /* Algorithm used to computed the Maximum $s-t$ flows */
-    private final MinimumSTCutAlgorithm<V, E> minimumSTCutAlgorithm;
+    /* Computes the minimum $s-t$ cuts, possibly in parallel */
+    private final GusfieldMinimumCuts<V, E> minimumCuts;
 
     /* Data structures for computations */
     private List<V> vertexList = new ArrayList<>();
     private Map<V, Integer> indexMap = new HashMap<>();
     private int[] p; // See vector p in the paper description
     private double[] fl; // See vector fl in the paper description
+    /* The neighbor of every vertex when its cut was computed and the value of the cut */
+    private int[] cutTarget;
+    private double[] cutValue;
 
     /* Matrix containing the flow values for every $s-t$ pair */
     private double[][] flowMatrix = null;
@@ -121,15 +135,48 @@ public class GusfieldGomoryHuCutTree<V, E>
      */
     public GusfieldGomoryHuCutTree(
         Graph<V, E> network, MinimumSTCutAlgorithm<V, E> minimumSTCutAlgorithm)
+    {
+        this(network, () -> minimumSTCutAlgorithm, null);
+    }
+
+    /**
+     * Constructs a new GusfieldGomoryHuCutTree instance which computes the minimum cuts in
+     * parallel using the {@link PushRelabelMFImpl}.
+     *
+     * @param network input graph
+     * @param epsilon precision
+     * @param executor executor which is used to compute the minimum cuts in parallel, or null to
+     *        compute them sequentially
+     */
+    public GusfieldGomoryHuCutTree(Graph<V, E> network, double epsilon, ThreadPoolExecutor executor)
+    {
+        this(network, () -> new PushRelabelMFImpl<>(network, epsilon), executor);
+    }
+
+    /**
+     * Constructs a new GusfieldGomoryHuCutTree instance which computes the minimum cuts in
+     * parallel. The supplier is invoked once for every thread, the algorithms it returns must not
+     * be shared between threads.
+     *
+     * @param network input graph
+     * @param minimumSTCutAlgorithmSupplier supplier of the algorithms used to compute the minimum
+     *        s-t cuts
+     * @param executor executor which is used to compute the minimum cuts in parallel, or null to
+     *        compute them sequentially
+     */
+    public GusfieldGomoryHuCutTree(
+        Graph<V, E> network, Supplier<MinimumSTCutAlgorithm<V, E>> minimumSTCutAlgorithmSupplier,
+        ThreadPoolExecutor executor)
     {
         this.network = GraphTests.requireUndirected(network);
         this.n = network.vertexSet().size();
         if (n < 2)
             throw new IllegalArgumentException("Graph must have at least 2 vertices");
-        this.minimumSTCutAlgorithm = minimumSTCutAlgorithm;
         vertexList.addAll(network.vertexSet());
         for (int i = 0; i < vertexList.size(); i++)
             indexMap.put(vertexList.get(i), i);
+        this.minimumCuts = new GusfieldMinimumCuts<>(
+            vertexList, indexMap, minimumSTCutAlgorithmSupplier, executor);
     }
 
     /**
@@ -137,30 +184,44 @@ public class GusfieldGomoryHuCutTree<V, E>
      */
     private void calculateGomoryHuTree()
     {
-        flowMatrix = new double[n][n];
-        p = new int[n];
+        int[] p = new int[n];
         fl = new double[n];
-
-        for (int s = 1; s < n; s++) {
-            int t = p[s];
-            double flowValue =
-                minimumSTCutAlgorithm.calculateMinCut(vertexList.get(s), vertexList.get(t));
-            Set<V> sourcePartition = minimumSTCutAlgorithm.getSourcePartition(); // Set X in the
-                                                                                 // paper
+        cutTarget = new int[n];
+        cutValue = new double[n];
+        boolean[] inSourcePartition = new boolean[n];
+
+        // sourcePartition is the set X in the paper
+        minimumCuts.computeCuts(p, (s, t, flowValue, sourcePartition) -> {
+            cutTarget[s] = t;
+            cutValue[s] = flowValue;
             fl[s] = flowValue;
 
-            for (int i = 0; i < n; i++)
-                if (i != s && sourcePartition.contains(vertexList.get(i)) && p[i] == t)
+            for (int i : sourcePartition) {
+                inSourcePartition[i] = true;
+                if (i != s && p[i] == t)
                     p[i] = s;
-            if (sourcePartition.contains(vertexList.get(p[t]))) {
+            }
+            if (inSourcePartition[p[t]]) {
                 p[s] = p[t];
                 p[t] = s;
                 fl[s] = fl[t];
                 fl[t] = flowValue;
             }
+            for (int i : sourcePartition)
+                inSourcePartition[i] = false;
+        });
+        this.p = p;
+    }
 
-            // populate the flow matrix
-            flowMatrix[s][t] = flowMatrix[t][s] = flowValue;
+    /**
+     * Computes the flow values of all pairs of vertices
+     */
+    private void calculateFlowMatrix()
+    {
+        flowMatrix = new double[n][n];
+        for (int s = 1; s < n; s++) {
+            int t = cutTarget[s];
+            flowMatrix[s][t] = flowMatrix[t][s] = cutValue[s];
             for (int i = 0; i < s; i++)
                 if (i != t)
                     flowMatrix[s][i] =
@@ -229,6 +290,8 @@ public class GusfieldGomoryHuCutTree<V, E>
 
         if (p == null) // Lazy invocation of the algorithm
             this.calculateGomoryHuTree();
+        if (flowMatrix == null)
+            this.calculateFlowMatrix();
         return flowMatrix[indexMap.get(source)][indexMap.get(sink)];
     }
 
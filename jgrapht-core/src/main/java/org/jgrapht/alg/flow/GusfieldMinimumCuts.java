@@ -0,0 +1,169 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Computes the minimum $s-t$ cuts of Gusfield's algorithms, which is used by
+ * {@link GusfieldGomoryHuCutTree} and {@link GusfieldEquivalentFlowTree}.
+ *
+ * <p>
+ * Both algorithms process the vertices $s = 1, \dots, n-1$ in order and compute a minimum cut
+ * between $s$ and its current tree neighbor $p[s]$, which depends on the cuts of all previous
+ * vertices. The cuts are therefore computed speculatively: the cuts of a window of vertices are
+ * computed in parallel, each one for the tree neighbor the vertex has at that time, and afterwards
+ * they are applied in order. A cut is only applied if the tree neighbor of its vertex has not
+ * changed in the meantime, otherwise it is computed again in the next window. If the minimum cut
+ * algorithms are deterministic the result is the same as that of the sequential algorithm. Since
+ * the cuts of most vertices separate only a small part of the graph, few tree neighbors change and
+ * few cuts have to be recomputed. This is the parallel variant of Gusfield's algorithm described
+ * in: <i>J. Cohen, L. A. Rodrigues, F. Silva, R. Carmo, A. Guedes, E. P. Duarte Jr. Parallel
+ * Implementations of Gusfield's Cut Tree Algorithm. In Algorithms and Architectures for Parallel
+ * Processing (ICA3PP 2011), 258--269, 2011.</i>
+ *
+ * <p>
+ * Every thread uses its own instance of the minimum cut algorithm.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+final class GusfieldMinimumCuts<V, E>
+{
+    // number of speculatively computed cuts per thread
+    private static final int WINDOW_FACTOR = 2;
+
+    private final List<V> vertexList;
+    private final Map<V, Integer> indexMap;
+    private final Supplier<MinimumSTCutAlgorithm<V, E>> minimumSTCutAlgorithmSupplier;
+    private final ThreadPoolExecutor executor;
+    private final List<MinimumSTCutAlgorithm<V, E>> minimumSTCutAlgorithms = new ArrayList<>();
+
+    /**
+     * Applies a minimum cut to the tree.
+     */
+    interface CutHandler
+    {
+        /**
+         * Apply a minimum cut.
+         *
+         * @param s the vertex
+         * @param t the tree neighbor of the vertex
+         * @param flowValue the capacity of the cut
+         * @param sourcePartition the indices of the vertices on the side of $s$
+         */
+        void apply(int s, int t, double flowValue, int[] sourcePartition);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param vertexList the vertices
+     * @param indexMap the indices of the vertices
+     * @param minimumSTCutAlgorithmSupplier supplier of the minimum cut algorithms, invoked once for
+     *        every thread
+     * @param executor the executor, or null to compute the cuts sequentially
+     */
+    GusfieldMinimumCuts(
+        List<V> vertexList, Map<V, Integer> indexMap,
+        Supplier<MinimumSTCutAlgorithm<V, E>> minimumSTCutAlgorithmSupplier,
+        ThreadPoolExecutor executor)
+    {
+        this.vertexList = vertexList;
+        this.indexMap = indexMap;
+        this.minimumSTCutAlgorithmSupplier =
+            Objects.requireNonNull(minimumSTCutAlgorithmSupplier, "Supplier cannot be null");
+        this.executor = executor;
+    }
+
+    /**
+     * Compute the cuts of all vertices $s = 1, \dots, n-1$ in order. The cut of $s$ separates $s$
+     * from $p[s]$, where $p$ is the state of the tree after the cuts of all previous vertices have
+     * been applied.
+     *
+     * @param p the tree neighbors, which are modified by the handler
+     * @param handler the handler which applies the cuts
+     */
+    void computeCuts(int[] p, CutHandler handler)
+    {
+        int n = vertexList.size();
+        int numThreads = executor == null ? 1 : Math.max(1, executor.getMaximumPoolSize());
+        int window = numThreads == 1 ? 1 : WINDOW_FACTOR * numThreads;
+
+        // the computed cuts, which are valid as long as the tree neighbor is unchanged
+        int[] target = new int[n];
+        Arrays.fill(target, -1);
+        double[] flowValue = new double[n];
+        int[][] sourcePartition = new int[n][];
+
+        int s = 1;
+        while (s < n) {
+            int end = Math.min(n, s + window);
+            List<Integer> pending = new ArrayList<>();
+            for (int i = s; i < end; i++) {
+                if (target[i] != p[i]) {
+                    target[i] = p[i];
+                    pending.add(i);
+                }
+            }
+            // every thread uses its own minimum cut algorithm
+            AtomicInteger nextThread = new AtomicInteger();
+            ConcurrencyUtil.forEachIndex(executor, pending.size(), () -> {
+                MinimumSTCutAlgorithm<V, E> algorithm =
+                    getMinimumSTCutAlgorithm(nextThread.getAndIncrement());
+                return k -> {
+                    int i = pending.get(k);
+                    flowValue[i] =
+                        algorithm.calculateMinCut(vertexList.get(i), vertexList.get(target[i]));
+                    sourcePartition[i] = indicesOf(algorithm.getSourcePartition());
+                };
+            });
+
+            // the cut of the first vertex of the window is always valid
+            do {
+                handler.apply(s, target[s], flowValue[s], sourcePartition[s]);
+                sourcePartition[s] = null;
+                s++;
+            } while (s < end && target[s] == p[s]);
+        }
+    }
+
+    private int[] indicesOf(Set<V> vertices)
+    {
+        int[] result = new int[vertices.size()];
+        int k = 0;
+        for (V v : vertices) {
+            result[k++] = indexMap.get(v);
+        }
+        return result;
+    }
+
+    private synchronized MinimumSTCutAlgorithm<V, E> getMinimumSTCutAlgorithm(int thread)
+    {
+        while (minimumSTCutAlgorithms.size() <= thread) {
+            minimumSTCutAlgorithms.add(minimumSTCutAlgorithmSupplier.get());
+        }
+        return minimumSTCutAlgorithms.get(thread);
+    }
+}
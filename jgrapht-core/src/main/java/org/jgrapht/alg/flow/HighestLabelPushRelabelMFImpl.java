@@ -0,0 +1,302 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+
+import java.util.*;
+
+/**
+ * Highest-label <a href="https://en.wikipedia.org/wiki/Push%E2%80%93relabel_maximum_flow_algorithm">
+ * push-relabel</a> maximum flow algorithm operating on flat arrays.
+ *
+ * <p>
+ * In contrast to {@link PushRelabelMFImpl}, which works on extension objects for every vertex and
+ * edge, this implementation stores the residual network in compressed sparse row format with the
+ * arcs of every edge paired with their reverse arcs, and keeps labels, excesses and current arcs in
+ * primitive arrays. Active vertices are kept in buckets indexed by their label and the active
+ * vertex with the highest label is discharged first. The implementation uses the global
+ * relabeling heuristic, which periodically recomputes the exact distance labels using a backward
+ * breadth-first search from the sink, and the gap heuristic, which removes all vertices above a
+ * label which no vertex has anymore. The running time is $O(V^2\sqrt{E})$. For more details see:
+ * <ul>
+ * <li>B. V. Cherkassky and A. V. Goldberg. On Implementing the Push-Relabel Method for the Maximum
+ * Flow Problem. Algorithmica 19, 390--410, 1997.</li>
+ * </ul>
+ *
+ * <p>
+ * The algorithm first computes a maximum preflow. The minimum cut and the value of the maximum
+ * flow are known after this phase. In a second phase the excess which could not reach the sink is
+ * returned to the source, again using push-relabel operations, in order to obtain a flow.
+ *
+ * <p>
+ * The network is converted to the array representation once, in the constructor. Subsequent
+ * changes to the network are not reflected by this algorithm. Both directed and undirected
+ * networks, including multigraphs, are supported.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class HighestLabelPushRelabelMFImpl<V, E>
+    extends
+    ArrayMaximumFlowAlgorithmBase<V, E>
+{
+    // constants of the global relabeling frequency, as suggested by Cherkassky and Goldberg
+    private static final int ALPHA = 6;
+    private static final int BETA = 12;
+    private static final double GLOBAL_RELABEL_FREQUENCY = 0.5;
+
+    private final int[] label;
+    private final double[] excess;
+    private final int[] current;
+    private final int[] queue;
+
+    // active vertices in singly linked lists indexed by their label
+    private final int[] activeFirst;
+    private final int[] activeNext;
+    private int maxActive;
+
+    // all vertices with label less than n, in doubly linked lists indexed by their label
+    private final int[] bucketFirst;
+    private final int[] bucketNext;
+    private final int[] bucketPrevious;
+    private int maxLabel;
+
+    // relabeling work since the last global relabeling
+    private long work;
+
+    /**
+     * Construct a new push-relabel algorithm.
+     *
+     * @param network the network
+     * @throws IllegalArgumentException if the network contains edges with negative capacity
+     */
+    public HighestLabelPushRelabelMFImpl(Graph<V, E> network)
+    {
+        this(network, MaximumFlowAlgorithmBase.DEFAULT_EPSILON);
+    }
+
+    /**
+     * Construct a new push-relabel algorithm.
+     *
+     * @param network the network
+     * @param epsilon tolerance used when deciding whether an arc of the residual network is
+     *        saturated while computing the minimum cut
+     * @throws IllegalArgumentException if the network contains edges with negative capacity
+     */
+    public HighestLabelPushRelabelMFImpl(Graph<V, E> network, double epsilon)
+    {
+        super(network, epsilon);
+        this.label = new int[n];
+        this.excess = new double[n];
+        this.current = new int[n];
+        this.queue = new int[n];
+        this.activeFirst = new int[n];
+        this.activeNext = new int[n];
+        this.bucketFirst = new int[n];
+        this.bucketNext = new int[n];
+        this.bucketPrevious = new int[n];
+    }
+
+    @Override
+    double computeMaximumFlow(int s, int t)
+    {
+        Arrays.fill(excess, 0d);
+        saturateOutgoingArcs(s, excess);
+
+        // compute a maximum preflow
+        run(t, s);
+        double maxFlowValue = excess[t];
+
+        // return the excess to the source
+        run(s, t);
+
+        return maxFlowValue;
+    }
+
+    /**
+     * Discharge all active vertices, towards the root. Only vertices from which the root can be
+     * reached in the residual network take part, all other vertices keep their excess.
+     *
+     * @param root the vertex which receives the excess
+     * @param excluded the vertex which never becomes active
+     */
+    private void run(int root, int excluded)
+    {
+        globalRelabel(root, excluded);
+        double globalRelabelThreshold = ALPHA * (double) n + residualNetwork.numArcs / 2d;
+
+        while (maxActive >= 0) {
+            int v = activeFirst[maxActive];
+            if (v == -1) {
+                maxActive--;
+                continue;
+            }
+            activeFirst[maxActive] = activeNext[v];
+            discharge(v, root);
+
+            if (work * GLOBAL_RELABEL_FREQUENCY > globalRelabelThreshold) {
+                globalRelabel(root, excluded);
+            }
+        }
+    }
+
+    /**
+     * Discharge an active vertex, i.e. push its excess along admissible arcs and relabel it until
+     * it has no excess left or it cannot reach the root anymore.
+     *
+     * @param v the vertex
+     * @param root the vertex which receives the excess
+     */
+    private void discharge(int v, int root)
+    {
+        double e = excess[v];
+        while (true) {
+            int d = label[v];
+            int end = start[v + 1];
+            int a = current[v];
+            for (; a < end; a++) {
+                double r = residual[a];
+                if (r > 0d) {
+                    int w = head[a];
+                    if (label[w] == d - 1) {
+                        double delta = e < r ? e : r;
+                        residual[a] = r - delta;
+                        residual[reverse[a]] += delta;
+                        if (excess[w] == 0d && w != root) {
+                            activeNext[w] = activeFirst[d - 1];
+                            activeFirst[d - 1] = w;
+                            if (d - 1 > maxActive) {
+                                maxActive = d - 1;
+                            }
+                        }
+                        excess[w] += delta;
+                        e -= delta;
+                        if (e == 0d) {
+                            break;
+                        }
+                    }
+                }
+            }
+            if (e == 0d) {
+                excess[v] = 0d;
+                current[v] = a;
+                return;
+            }
+
+            // relabel
+            int newLabel = n;
+            int newCurrent = start[v];
+            for (a = start[v]; a < end; a++) {
+                if (residual[a] > 0d && label[head[a]] + 1 < newLabel) {
+                    newLabel = label[head[a]] + 1;
+                    newCurrent = a;
+                }
+            }
+            work += BETA + end - start[v];
+
+            removeFromBucket(v, d);
+            if (bucketFirst[d] == -1) {
+                // gap, no vertex above d can reach the root
+                for (int l = d + 1; l <= maxLabel; l++) {
+                    for (int w = bucketFirst[l]; w != -1; w = bucketNext[w]) {
+                        label[w] = n;
+                    }
+                    bucketFirst[l] = -1;
+                }
+                maxLabel = d - 1;
+                newLabel = n;
+            }
+            if (newLabel >= n) {
+                label[v] = n;
+                excess[v] = e;
+                return;
+            }
+            label[v] = newLabel;
+            current[v] = newCurrent;
+            addToBucket(v, newLabel);
+        }
+    }
+
+    /**
+     * Compute the exact distance labels towards the root using a backward breadth-first search in
+     * the residual network, and rebuild the buckets.
+     *
+     * @param root the root
+     * @param excluded the vertex which is not labeled
+     */
+    private void globalRelabel(int root, int excluded)
+    {
+        Arrays.fill(label, n);
+        Arrays.fill(activeFirst, -1);
+        Arrays.fill(bucketFirst, -1);
+        maxActive = -1;
+        maxLabel = -1;
+        work = 0;
+
+        label[root] = 0;
+        int queueEnd = 0;
+        queue[queueEnd++] = root;
+        for (int i = 0; i < queueEnd; i++) {
+            int w = queue[i];
+            int d = label[w];
+            current[w] = start[w];
+            addToBucket(w, d);
+            if (w != root && excess[w] > 0d) {
+                activeNext[w] = activeFirst[d];
+                activeFirst[d] = w;
+                maxActive = d;
+            }
+            for (int a = start[w]; a < start[w + 1]; a++) {
+                int u = head[a];
+                if (label[u] == n && u != excluded && residual[reverse[a]] > 0d) {
+                    label[u] = d + 1;
+                    queue[queueEnd++] = u;
+                }
+            }
+        }
+    }
+
+    private void addToBucket(int v, int d)
+    {
+        int first = bucketFirst[d];
+        bucketNext[v] = first;
+        bucketPrevious[v] = -1;
+        if (first != -1) {
+            bucketPrevious[first] = v;
+        }
+        bucketFirst[d] = v;
+        if (d > maxLabel) {
+            maxLabel = d;
+        }
+    }
+
+    private void removeFromBucket(int v, int d)
+    {
+        int next = bucketNext[v];
+        int previous = bucketPrevious[v];
+        if (previous == -1) {
+            bucketFirst[d] = next;
+        } else {
+            bucketNext[previous] = next;
+        }
+        if (next != -1) {
+            bucketPrevious[next] = previous;
+        }
+    }
+}
@@ -229,6 +229,41 @@ public abstract class MaximumFlowAlgorithmBase<V, E>
         }
     }
 
+    /**
+     * Updates the capacity of {@code edge} to its current weight in the network. The flow of the
+     * last invocation is kept, only if the flow on the edge exceeds the new capacity the surplus is
+     * cancelled along paths carrying flow. Afterwards {@link #recomputeMaximumFlow()} computes the
+     * maximum flow between the same source and sink starting from this flow, which is usually much
+     * faster than a computation from scratch when only a few capacities have changed.
+     * <p>
+     * Only the capacities of the edges may change between the computations, vertices and edges
+     * must not be added or removed.
+     *
+     * @param edge the edge whose weight in the network has changed
+     * @throws IllegalStateException if no maximum flow has been computed yet
+     * @throws IllegalArgumentException if the network does not contain the edge or its new
+     *         capacity is negative
+     * @throws UnsupportedOperationException if the algorithm does not support capacity updates
+     */
+    public void updateEdgeCapacity(E edge)
+    {
+        throw new UnsupportedOperationException("Capacity updates are not supported!");
+    }
+
+    /**
+     * Recomputes the maximum flow between the source and the sink of the last invocation, starting
+     * from its flow.
+     *
+     * @return the maximum flow
+     * @throws IllegalStateException if no maximum flow has been computed yet
+     * @throws UnsupportedOperationException if the algorithm does not support capacity updates
+     * @see #updateEdgeCapacity(Object)
+     */
+    public MaximumFlow<E> recomputeMaximumFlow()
+    {
+        throw new UnsupportedOperationException("Capacity updates are not supported!");
+    }
+
     /**
      * Create a map which specifies for each edge in the input map the amount of flow that flows
      * through it
@@ -251,6 +286,179 @@ public abstract class MaximumFlowAlgorithmBase<V, E>
         return maxFlow;
     }
 
+    /**
+     * Change the capacity of an edge to its current weight in the network, keeping the flow of
+     * the last computation. The flow on the edge is reduced if it exceeds the new capacity. The
+     * resulting surplus at the tail of the edge and the resulting deficit at the head of the edge
+     * are removed by cancelling flow along paths which carry positive flow, first from the source,
+     * the sink or the head of the edge to the tail, then from the head to the source or the sink.
+     * Afterwards the flow is feasible again, its value is updated and the residual network can be
+     * used as the starting point for another computation.
+     *
+     * @param e the edge
+     * @throws IllegalStateException if no flow has been computed yet
+     * @throws IllegalArgumentException if the edge is not in the network or its new capacity is
+     *         negative
+     */
+    protected void updateCapacity(E e)
+    {
+        if (edgeExtensionManager == null) {
+            throw new IllegalStateException("No maximum flow has been computed yet!");
+        }
+        if (!network.containsEdge(e)) {
+            throw new IllegalArgumentException("Network does not contain edge!");
+        }
+        double capacity = network.getEdgeWeight(e);
+        if (comparator.compare(capacity, 0.0) < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative!");
+        }
+
+        AnnotatedFlowEdge edge = edgeExtensionManager.getExtension(e);
+        AnnotatedFlowEdge inverseEdge = edge.getInverse();
+        // original capacities of both directions and the net flow in the direction of the edge
+        double edgeCapacity = capacity;
+        double inverseCapacity = directedGraph ? inverseEdge.capacity - edge.flow : capacity;
+        double flow = edge.flow - inverseEdge.flow;
+        boolean forward = flow >= 0;
+
+        double surplus = 0;
+        if (flow > edgeCapacity) {
+            surplus = flow - edgeCapacity;
+            flow = edgeCapacity;
+        } else if (-flow > inverseCapacity) {
+            surplus = -flow - inverseCapacity;
+            flow = -inverseCapacity;
+        }
+
+        if (flow >= 0) {
+            edge.flow = flow;
+            edge.capacity = edgeCapacity;
+            inverseEdge.flow = 0;
+            inverseEdge.capacity = inverseCapacity + flow;
+        } else {
+            inverseEdge.flow = -flow;
+            inverseEdge.capacity = inverseCapacity;
+            edge.flow = 0;
+            edge.capacity = edgeCapacity - flow;
+        }
+
+        if (comparator.compare(surplus, 0.0) > 0) {
+            if (forward) {
+                cancelSurplus(edge.getSource(), edge.getTarget(), surplus);
+            } else {
+                cancelSurplus(inverseEdge.getSource(), inverseEdge.getTarget(), surplus);
+            }
+        }
+
+        maxFlowValue = 0;
+        for (AnnotatedFlowEdge edgeOfSource : vertexExtensionManager
+            .getExtension(source).getOutgoing())
+        {
+            maxFlowValue += edgeOfSource.flow - edgeOfSource.getInverse().flow;
+        }
+        maxFlow = null;
+        sourcePartition = null;
+        sinkPartition = null;
+        cutEdges = null;
+    }
+
+    /**
+     * Remove an excess at one vertex and a deficit of the same amount at another vertex by
+     * cancelling flow along paths with positive flow. Excesses and deficits at the source and the
+     * sink are allowed.
+     */
+    private void cancelSurplus(
+        VertexExtensionBase excessVertex, VertexExtensionBase deficitVertex, double amount)
+    {
+        VertexExtensionBase s = vertexExtensionManager.getExtension(source);
+        VertexExtensionBase t = vertexExtensionManager.getExtension(sink);
+
+        double excess = excessVertex == s || excessVertex == t ? 0 : amount;
+        double deficit = deficitVertex == s || deficitVertex == t ? 0 : amount;
+        while (comparator.compare(excess, 0.0) > 0) {
+            Set<VertexExtensionBase> targets = new HashSet<>(Arrays.asList(s, t));
+            if (comparator.compare(deficit, 0.0) > 0) {
+                targets.add(deficitVertex);
+            }
+            List<AnnotatedFlowEdge> path = findFlowPath(excessVertex, targets, false);
+            if (path == null) {
+                break;
+            }
+            double cancelled = cancelFlow(path, excess);
+            excess -= cancelled;
+            if (path.get(0).getSource() == deficitVertex) {
+                deficit -= cancelled;
+            }
+        }
+        while (comparator.compare(deficit, 0.0) > 0) {
+            List<AnnotatedFlowEdge> path =
+                findFlowPath(deficitVertex, new HashSet<>(Arrays.asList(s, t)), true);
+            if (path == null) {
+                break;
+            }
+            deficit -= cancelFlow(path, deficit);
+        }
+    }
+
+    /**
+     * Find a path of edges with positive flow between a vertex and one of the target vertices
+     * using a breadth-first search. The path leaves the vertex if {@code forward} is true,
+     * otherwise it enters the vertex. The edges of the path are returned in the direction of the
+     * flow, or null if there is no such path.
+     */
+    private List<AnnotatedFlowEdge> findFlowPath(
+        VertexExtensionBase start, Set<VertexExtensionBase> targets, boolean forward)
+    {
+        Map<VertexExtensionBase, AnnotatedFlowEdge> pathEdge = new HashMap<>();
+        Queue<VertexExtensionBase> queue = new ArrayDeque<>();
+        pathEdge.put(start, null);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            VertexExtensionBase v = queue.poll();
+            for (AnnotatedFlowEdge edge : v.getOutgoing()) {
+                AnnotatedFlowEdge flowEdge = forward ? edge : edge.getInverse();
+                VertexExtensionBase u = edge.getTarget();
+                if (comparator.compare(flowEdge.flow, 0.0) <= 0 || pathEdge.containsKey(u)) {
+                    continue;
+                }
+                pathEdge.put(u, flowEdge);
+                if (targets.contains(u)) {
+                    LinkedList<AnnotatedFlowEdge> path = new LinkedList<>();
+                    for (VertexExtensionBase w = u; w != start;) {
+                        AnnotatedFlowEdge pe = pathEdge.get(w);
+                        if (forward) {
+                            path.addFirst(pe);
+                            w = pe.getSource();
+                        } else {
+                            path.addLast(pe);
+                            w = pe.getTarget();
+                        }
+                    }
+                    return path;
+                }
+                queue.add(u);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cancel the bottleneck flow of a path, but not more than a given amount.
+     *
+     * @return the cancelled flow
+     */
+    private double cancelFlow(List<AnnotatedFlowEdge> path, double amount)
+    {
+        double cancelled = amount;
+        for (AnnotatedFlowEdge edge : path) {
+            cancelled = Math.min(cancelled, edge.flow);
+        }
+        for (AnnotatedFlowEdge edge : path) {
+            pushFlowThrough(edge.getInverse(), cancelled);
+        }
+        return cancelled;
+    }
+
     class VertexExtensionBase
         implements
         Extension
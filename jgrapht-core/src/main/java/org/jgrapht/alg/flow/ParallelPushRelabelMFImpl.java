@@ -0,0 +1,375 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.lang.invoke.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Parallel synchronous <a href="https://en.wikipedia.org/wiki/Push%E2%80%93relabel_maximum_flow_algorithm">
+ * push-relabel</a> maximum flow algorithm.
+ *
+ * <p>
+ * The algorithm proceeds in synchronous rounds in which all active vertices are processed
+ * concurrently. Every round consists of a push phase and a relabel phase. In the push phase every
+ * active vertex pushes its excess along the admissible arcs of the residual network, using the
+ * labels of the previous round. Since an arc and its reverse arc can never both be admissible,
+ * every pair of arcs is modified by at most one thread and no locks are needed. The excess which
+ * is received by a vertex is collected separately using atomic additions and becomes available in
+ * the next round. In the relabel phase every vertex which still has excess is relabeled, again
+ * using the labels of the previous round, which keeps the labeling valid. The global relabeling
+ * heuristic is performed with a parallel breadth-first search whenever the relabeling work
+ * exceeds a threshold. For more details see:
+ * <ul>
+ * <li>N. Baumstark, G. Blelloch and J. Shun. Efficient Implementation of a Synchronous Parallel
+ * Push-Relabel Algorithm. In Proceedings of the 23rd European Symposium on Algorithms (ESA'15),
+ * 106--117, 2015.</li>
+ * </ul>
+ *
+ * <p>
+ * Like {@link HighestLabelPushRelabelMFImpl} the algorithm operates on a residual network stored in
+ * flat arrays, which is built once in the constructor, and computes a maximum preflow first. The
+ * excess which cannot reach the sink is afterwards returned to the source in the same manner.
+ * Rounds with only a few active vertices are processed by the calling thread.
+ *
+ * <p>
+ * The {@code executor} can be {@code null}, which will indicate that the algorithm is executed
+ * sequentially. It is up to a user of this algorithm to handle the creation and termination of the
+ * provided {@code executor}. For utility methods to manage a {@code ThreadPoolExecutor} see
+ * {@link ConcurrencyUtil}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ParallelPushRelabelMFImpl<V, E>
+    extends
+    ArrayMaximumFlowAlgorithmBase<V, E>
+{
+    private static final VarHandle DOUBLE_ARRAY =
+        MethodHandles.arrayElementVarHandle(double[].class);
+    private static final VarHandle INT_ARRAY = MethodHandles.arrayElementVarHandle(int[].class);
+
+    // rounds with fewer active vertices are processed by the calling thread
+    private static final int SEQUENTIAL_THRESHOLD = 512;
+    // number of vertices claimed by a thread at once
+    private static final int CHUNK_SIZE = 64;
+
+    // constants of the global relabeling frequency
+    private static final int ALPHA = 6;
+    private static final int BETA = 12;
+    private static final double GLOBAL_RELABEL_FREQUENCY = 0.5;
+
+    private final ThreadPoolExecutor executor;
+    private final Worker[] workers;
+
+    private final int[] label;
+    private final int[] newLabel;
+    private final double[] excess;
+    private final double[] addedExcess;
+    private final int[] current;
+    private final int[] marked;
+    private int round;
+
+    private int[] active;
+    private int[] nextActive;
+    private int activeCount;
+
+    /**
+     * Construct a new parallel push-relabel algorithm.
+     *
+     * @param network the network
+     * @param executor executor which will be used to process the vertices in parallel
+     * @throws IllegalArgumentException if the network contains edges with negative capacity
+     */
+    public ParallelPushRelabelMFImpl(Graph<V, E> network, ThreadPoolExecutor executor)
+    {
+        this(network, MaximumFlowAlgorithmBase.DEFAULT_EPSILON, executor);
+    }
+
+    /**
+     * Construct a new parallel push-relabel algorithm.
+     *
+     * @param network the network
+     * @param epsilon tolerance used when deciding whether an arc of the residual network is
+     *        saturated while computing the minimum cut
+     * @param executor executor which will be used to process the vertices in parallel
+     * @throws IllegalArgumentException if the network contains edges with negative capacity
+     */
+    public ParallelPushRelabelMFImpl(
+        Graph<V, E> network, double epsilon, ThreadPoolExecutor executor)
+    {
+        super(network, epsilon);
+        this.executor = executor;
+        int numWorkers = executor == null ? 1 : Math.max(1, executor.getMaximumPoolSize());
+        this.workers = new Worker[numWorkers];
+        for (int i = 0; i < numWorkers; i++) {
+            workers[i] = new Worker();
+        }
+
+        this.label = new int[n];
+        this.newLabel = new int[n];
+        this.excess = new double[n];
+        this.addedExcess = new double[n];
+        this.current = new int[n];
+        this.marked = new int[n];
+        this.active = new int[n];
+        this.nextActive = new int[n];
+    }
+
+    @Override
+    double computeMaximumFlow(int s, int t)
+    {
+        Arrays.fill(excess, 0d);
+        Arrays.fill(addedExcess, 0d);
+        Arrays.fill(marked, 0);
+        round = 0;
+        saturateOutgoingArcs(s, excess);
+
+        // compute a maximum preflow
+        run(t, s);
+        double maxFlowValue = excess[t];
+
+        // return the excess to the source
+        run(s, t);
+
+        return maxFlowValue;
+    }
+
+    /**
+     * Process all active vertices in rounds, until no vertex from which the root can be reached in
+     * the residual network has excess left.
+     *
+     * @param root the vertex which receives the excess
+     * @param excluded the vertex which never becomes active
+     */
+    private void run(int root, int excluded)
+    {
+        double globalRelabelThreshold = ALPHA * (double) n + residualNetwork.numArcs / 2d;
+        globalRelabel(root, excluded);
+
+        while (activeCount > 0) {
+            round++;
+            forEach(activeCount, (worker, i) -> push(active[i], root, worker));
+            forEach(activeCount, (worker, i) -> relabel(active[i], worker));
+
+            // apply the new labels and collect the active vertices of the next round
+            int count = 0;
+            for (int i = 0; i < activeCount; i++) {
+                int v = active[i];
+                label[v] = newLabel[v];
+                if (excess[v] > 0d && label[v] < n && marked[v] != round) {
+                    marked[v] = round;
+                    nextActive[count++] = v;
+                }
+            }
+            long work = 0;
+            for (Worker worker : workers) {
+                for (int i = 0; i < worker.size; i++) {
+                    int v = worker.vertices[i];
+                    excess[v] += addedExcess[v];
+                    addedExcess[v] = 0d;
+                    if (label[v] < n) {
+                        nextActive[count++] = v;
+                    }
+                }
+                worker.size = 0;
+                work += worker.work;
+            }
+            excess[root] += addedExcess[root];
+            addedExcess[root] = 0d;
+
+            int[] tmp = active;
+            active = nextActive;
+            nextActive = tmp;
+            activeCount = count;
+
+            if (work * GLOBAL_RELABEL_FREQUENCY > globalRelabelThreshold) {
+                globalRelabel(root, excluded);
+            }
+        }
+    }
+
+    /**
+     * Push the excess of a vertex along admissible arcs. The labels are not modified during the
+     * push phase, thus the arc from $v$ to $w$ and its reverse arc cannot be admissible at the same
+     * time and they are modified only by the thread processing $v$.
+     */
+    private void push(int v, int root, Worker worker)
+    {
+        double e = excess[v];
+        int d = label[v];
+        int end = start[v + 1];
+        int a = current[v];
+        for (; a < end; a++) {
+            int w = head[a];
+            if (label[w] == d - 1) {
+                double r = residual[a];
+                if (r > 0d) {
+                    double delta = e < r ? e : r;
+                    residual[a] = r - delta;
+                    residual[reverse[a]] += delta;
+                    addExcess(w, delta);
+                    if (w != root && mark(w)) {
+                        worker.add(w);
+                    }
+                    e -= delta;
+                    if (e == 0d) {
+                        break;
+                    }
+                }
+            }
+        }
+        excess[v] = e;
+        current[v] = a;
+    }
+
+    /**
+     * Compute the new label of a vertex which still has excess, using the labels of the previous
+     * round.
+     */
+    private void relabel(int v, Worker worker)
+    {
+        if (excess[v] == 0d) {
+            newLabel[v] = label[v];
+            return;
+        }
+        int end = start[v + 1];
+        int l = n;
+        int c = start[v];
+        for (int a = start[v]; a < end; a++) {
+            if (residual[a] > 0d && label[head[a]] + 1 < l) {
+                l = label[head[a]] + 1;
+                c = a;
+            }
+        }
+        newLabel[v] = Math.min(l, n);
+        current[v] = c;
+        worker.work += BETA + end - start[v];
+    }
+
+    /**
+     * Compute the exact distance labels towards the root using a parallel backward breadth-first
+     * search in the residual network, and collect the active vertices.
+     */
+    private void globalRelabel(int root, int excluded)
+    {
+        Arrays.fill(label, n);
+        label[root] = 0;
+
+        // the vertices in the order they are discovered, the frontier is the range [begin, end)
+        int[] order = nextActive;
+        order[0] = root;
+        int begin = 0;
+        int end = 1;
+        int d = 0;
+        while (begin < end) {
+            int frontierStart = begin;
+            int nextLabel = ++d;
+            forEach(end - begin, (worker, i) -> {
+                int w = order[frontierStart + i];
+                for (int a = start[w]; a < start[w + 1]; a++) {
+                    int u = head[a];
+                    if (u != excluded && label[u] == n && residual[reverse[a]] > 0d
+                        && INT_ARRAY.compareAndSet(label, u, n, nextLabel))
+                    {
+                        worker.add(u);
+                    }
+                }
+            });
+            begin = end;
+            for (Worker worker : workers) {
+                System.arraycopy(worker.vertices, 0, order, end, worker.size);
+                end += worker.size;
+                worker.size = 0;
+            }
+        }
+
+        activeCount = 0;
+        for (int v = 0; v < n; v++) {
+            current[v] = start[v];
+            if (v != root && label[v] < n && excess[v] > 0d) {
+                active[activeCount++] = v;
+            }
+        }
+        for (Worker worker : workers) {
+            worker.work = 0;
+        }
+    }
+
+    private void addExcess(int v, double delta)
+    {
+        double old;
+        do {
+            old = (double) DOUBLE_ARRAY.getVolatile(addedExcess, v);
+        } while (!DOUBLE_ARRAY.compareAndSet(addedExcess, v, old, old + delta));
+    }
+
+    /**
+     * Mark a vertex as active in the next round.
+     *
+     * @return true if the vertex was not marked before
+     */
+    private boolean mark(int v)
+    {
+        int m = (int) INT_ARRAY.getVolatile(marked, v);
+        return m != round && INT_ARRAY.compareAndSet(marked, v, m, round);
+    }
+
+    /**
+     * Apply a task to the indices $0$ to {@code count - 1}, in parallel if there are enough of
+     * them. The indices are claimed in chunks and every thread uses its own worker.
+     */
+    private void forEach(int count, ObjIntConsumer<Worker> task)
+    {
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        AtomicInteger nextWorker = new AtomicInteger();
+        ConcurrencyUtil.forEachIndex(count < SEQUENTIAL_THRESHOLD ? null : executor, chunks, () -> {
+            Worker worker = workers[nextWorker.getAndIncrement()];
+            return chunk -> {
+                int end = Math.min(count, (chunk + 1) * CHUNK_SIZE);
+                for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                    task.accept(worker, i);
+                }
+            };
+        });
+    }
+
+    /**
+     * Thread local state, the vertices discovered by a thread and its relabeling work.
+     */
+    private static final class Worker
+    {
+        int[] vertices = new int[16];
+        int size;
+        long work;
+
+        void add(int v)
+        {
+            if (size == vertices.length) {
+                vertices = Arrays.copyOf(vertices, 2 * size);
+            }
+            vertices[size++] = v;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * Integer indexed residual network of a flow network, which is used by the array based maximum
+ * flow algorithms.
+ *
+ * <p>
+ * The vertices are numbered from $0$ to $n-1$ and the arcs are stored in compressed sparse row
+ * format, that is the arcs leaving vertex $v$ have the indices {@code start[v]} to
+ * {@code start[v + 1] - 1}. Every edge of the network is represented by a pair of arcs, a forward
+ * arc and a reverse arc, and {@code reverse[a]} is the index of the arc paired with arc $a$. For
+ * directed networks the reverse arc has capacity zero, for undirected networks both arcs have the
+ * capacity of the edge. Parallel and anti-parallel edges are represented by separate pairs of
+ * arcs.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+final class ResidualNetwork<V, E>
+{
+    final Graph<V, E> network;
+    final boolean directed;
+    final List<V> vertices;
+    final Map<V, Integer> vertexIndex;
+    final List<E> edges;
+
+    final int n;
+    final int numArcs;
+    final int[] start;
+    final int[] head;
+    final int[] reverse;
+    final double[] capacity;
+    final double[] residual;
+
+    // the forward arc of each edge
+    private final int[] edgeArc;
+    // lazily created, only needed to find the flow direction of an edge
+    private Map<E, Integer> edgeIndex;
+
+    /**
+     * Build the residual network of a flow network. The residual capacities are initialized with
+     * the capacities, i.e. to a zero flow.
+     *
+     * @param network the flow network
+     * @throws IllegalArgumentException if the network contains edges with negative capacity
+     */
+    ResidualNetwork(Graph<V, E> network)
+    {
+        this.network = Objects.requireNonNull(network, "Network cannot be null");
+        this.directed = network.getType().isDirected();
+
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(network.vertexSet());
+        this.vertices = mapping.getIndexList();
+        this.vertexIndex = mapping.getVertexMap();
+        this.edges = new ArrayList<>(network.edgeSet());
+        this.n = vertices.size();
+        this.numArcs = 2 * edges.size();
+
+        int m = edges.size();
+        int[] tail = new int[m];
+        int[] target = new int[m];
+        this.start = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            E e = edges.get(i);
+            tail[i] = vertexIndex.get(network.getEdgeSource(e));
+            target[i] = vertexIndex.get(network.getEdgeTarget(e));
+            start[tail[i] + 1]++;
+            start[target[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            start[v + 1] += start[v];
+        }
+
+        this.head = new int[numArcs];
+        this.reverse = new int[numArcs];
+        this.capacity = new double[numArcs];
+        this.edgeArc = new int[m];
+        int[] position = Arrays.copyOf(start, n);
+        for (int i = 0; i < m; i++) {
+            double c = network.getEdgeWeight(edges.get(i));
+            if (c < 0d) {
+                throw new IllegalArgumentException("Capacity must be non-negative!");
+            }
+            int a = position[tail[i]]++;
+            int r = position[target[i]]++;
+            head[a] = target[i];
+            head[r] = tail[i];
+            reverse[a] = r;
+            reverse[r] = a;
+            capacity[a] = c;
+            capacity[r] = directed ? 0d : c;
+            edgeArc[i] = a;
+        }
+        this.residual = capacity.clone();
+    }
+
+    /**
+     * Get the index of a vertex.
+     *
+     * @param v the vertex
+     * @param message the message of the exception if the vertex is not in the network
+     * @return the index of the vertex
+     * @throws IllegalArgumentException if the vertex is not in the network
+     */
+    int indexOf(V v, String message)
+    {
+        Integer index = vertexIndex.get(v);
+        if (index == null) {
+            throw new IllegalArgumentException(message);
+        }
+        return index;
+    }
+
+    /**
+     * Reset the residual capacities to the zero flow.
+     */
+    void reset()
+    {
+        System.arraycopy(capacity, 0, residual, 0, numArcs);
+    }
+
+    /**
+     * Get the flow on an edge.
+     *
+     * @param i the index of the edge
+     * @return the flow on the edge, which is non-negative
+     */
+    double flow(int i)
+    {
+        int a = edgeArc[i];
+        double flow = capacity[a] - residual[a];
+        return directed ? Math.max(0d, flow) : Math.abs(flow);
+    }
+
+    /**
+     * Create the mapping from the edges to the current flow.
+     *
+     * @return the flow map
+     */
+    Map<E, Double> flowMap()
+    {
+        Map<E, Double> flowMap = new HashMap<>(Math.max(16, 2 * edges.size()));
+        for (int i = 0; i < edges.size(); i++) {
+            flowMap.put(edges.get(i), flow(i));
+        }
+        return flowMap;
+    }
+
+    /**
+     * Get the vertex where the current flow leaves an edge.
+     *
+     * @param e the edge
+     * @return the vertex where the flow leaves the edge
+     */
+    V flowDirection(E e)
+    {
+        if (!network.containsEdge(e)) {
+            throw new IllegalArgumentException(
+                "Cannot query the flow on an edge which does not exist in the input graph!");
+        }
+        if (directed) {
+            return network.getEdgeTarget(e);
+        }
+        if (edgeIndex == null) {
+            edgeIndex = new HashMap<>();
+            for (int i = 0; i < edges.size(); i++) {
+                edgeIndex.put(edges.get(i), i);
+            }
+        }
+        int a = edgeArc[edgeIndex.get(e)];
+        return capacity[a] - residual[a] > 0d ? vertices.get(head[a])
+            : vertices.get(head[reverse[a]]);
+    }
+
+    /**
+     * Compute the vertices which are reachable from a vertex using arcs with residual capacity
+     * larger than {@code epsilon}.
+     *
+     * @param s the vertex
+     * @param epsilon the tolerance
+     * @return the reachable vertices
+     */
+    Set<V> reachableFrom(int s, double epsilon)
+    {
+        Set<V> result = new LinkedHashSet<>();
+        boolean[] visited = new boolean[n];
+        int[] queue = new int[n];
+        int queueEnd = 0;
+        queue[queueEnd++] = s;
+        visited[s] = true;
+        for (int i = 0; i < queueEnd; i++) {
+            int v = queue[i];
+            result.add(vertices.get(v));
+            for (int a = start[v]; a < start[v + 1]; a++) {
+                int w = head[a];
+                if (!visited[w] && residual[a] > epsilon) {
+                    visited[w] = true;
+                    queue[queueEnd++] = w;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compute the edges of a cut. For directed networks only the edges from the source partition
+     * to the sink partition are returned.
+     *
+     * @param sourcePartition the source partition
+     * @return the cut edges
+     */
+    Set<E> cutEdges(Set<V> sourcePartition)
+    {
+        Set<E> cutEdges = new LinkedHashSet<>();
+        for (E e : edges) {
+            boolean sourceSide = sourcePartition.contains(network.getEdgeSource(e));
+            boolean targetSide = sourcePartition.contains(network.getEdgeTarget(e));
+            if (directed ? sourceSide && !targetSide : sourceSide ^ targetSide) {
+                cutEdges.add(e);
+            }
+        }
+        return cutEdges;
+    }
+}
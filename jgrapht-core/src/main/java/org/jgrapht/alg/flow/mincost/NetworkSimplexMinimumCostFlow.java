@@ -0,0 +1,547 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow.mincost;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * This class computes a solution to a
+ * <a href="https://en.wikipedia.org/wiki/Minimum-cost_flow_problem"> minimum cost flow problem</a>
+ * using the primal <a href="https://en.wikipedia.org/wiki/Network_simplex_algorithm">network
+ * simplex algorithm</a>. Like {@link CapacityScalingMinimumCostFlow}, this class computes a
+ * <i>b-flow</i> of minimum cost, i.e. for each node $v$ in the network the sum of all outgoing
+ * flows minus the sum of all incoming flows is equal to the node supply $b_v$. The problem is
+ * specified by a {@link MinimumCostFlowProblem}, the arc costs can be negative.
+ * <p>
+ * The algorithm maintains a spanning tree of the network, extended by an artificial root node
+ * which is connected to every node by an artificial arc. Every iteration selects a non-tree arc
+ * which violates the reduced cost optimality conditions, sends as much flow as possible along the
+ * cycle which the arc forms with the tree and replaces a blocking arc of the cycle in the tree by
+ * the entering arc. The tree is kept strongly feasible, which prevents cycling. The entering arcs
+ * are selected using the block search pivot rule, which scans the arcs in blocks of size about
+ * $\sqrt{m}$ and picks the most violating arc of the first block which contains a violating arc.
+ * Nodes, arcs and the spanning tree are stored in primitive arrays indexed by integers. This
+ * algorithm is usually much faster than the capacity scaling algorithm, especially on networks
+ * with large capacities. For more information see:
+ * <ul>
+ * <li>K. Ahuja, Ravindra &amp; L. Magnanti, Thomas &amp; Orlin, James. (1993). Network Flows.</li>
+ * <li>P. Kovács. Minimum-cost flow algorithms: an experimental evaluation. Optimization Methods
+ * and Software 30, 94--127, 2015.</li>
+ * </ul>
+ * <p>
+ * The running time is not polynomial in the worst case, in practice the number of iterations is
+ * small compared to the number of arcs. An arc with capacity greater than or equal to
+ * {@link CapacityScalingMinimumCostFlow#CAP_INF} is considered to be an infinite capacity arc. If
+ * the network contains a cycle of negative cost which consists of infinite capacity arcs only,
+ * the problem is unbounded and an exception is thrown. The computations are exact as long as the
+ * arc costs are integers and the magnitudes of all sums of costs along paths are less than
+ * $2^{53}$. Undirected flow networks are not supported.
+ *
+ * @param <V> graph vertex type
+ * @param <E> graph edge type
+ * @see MinimumCostFlowProblem
+ * @see MinimumCostFlowAlgorithm
+ */
+public class NetworkSimplexMinimumCostFlow<V, E>
+    implements
+    MinimumCostFlowAlgorithm<V, E>
+{
+    private static final long INF = Long.MAX_VALUE;
+    private static final int MIN_BLOCK_SIZE = 10;
+
+    // arc states, the sign is the direction in which the flow on the arc can be changed
+    private static final int STATE_UPPER = -1;
+    private static final int STATE_TREE = 0;
+    private static final int STATE_LOWER = 1;
+
+    // directions of the arcs connecting the nodes to their parents
+    private static final int DIR_UP = 1;
+    private static final int DIR_DOWN = -1;
+
+    private MinimumCostFlowProblem<V, E> problem;
+    private MinimumCostFlow<E> minimumCostFlow;
+    private List<V> graphVertices;
+    private List<E> graphEdges;
+
+    // number of nodes without the root, number of arcs without the artificial arcs
+    private int n;
+    private int m;
+    private int root;
+
+    // arcs
+    private int[] source;
+    private int[] target;
+    private long[] capacity;
+    private double[] cost;
+    private long[] flow;
+    private int[] state;
+
+    // nodes and the spanning tree
+    private double[] potential;
+    private int[] parent;
+    private int[] pred;
+    private int[] predDirection;
+    private int[] depth;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int[] previousSibling;
+    private int[] stack;
+
+    // pivot state
+    private int blockSize;
+    private int nextArc;
+    private int inArc;
+    private int join;
+    private int uIn;
+    private int vIn;
+    private int uOut;
+    private long delta;
+
+    /**
+     * Constructs a new instance of the algorithm.
+     */
+    public NetworkSimplexMinimumCostFlow()
+    {
+    }
+
+    /**
+     * Returns mapping from edge to flow value through this particular edge
+     *
+     * @return maximum flow mapping, or null if a MinimumCostFlowProblem has not yet been solved.
+     */
+    @Override
+    public Map<E, Double> getFlowMap()
+    {
+        return minimumCostFlow == null ? null : this.minimumCostFlow.getFlowMap();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getFlowDirection(E edge)
+    {
+        return problem.getGraph().getEdgeTarget(edge);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the network is undirected, if the problem has no
+     *         feasible solution or if it is unbounded
+     */
+    @Override
+    public MinimumCostFlow<E> getMinimumCostFlow(
+        final MinimumCostFlowProblem<V, E> minimumCostFlowProblem)
+    {
+        this.problem = Objects.requireNonNull(minimumCostFlowProblem);
+        if (problem.getGraph().getType().isUndirected()) {
+            throw new IllegalArgumentException(
+                "The algorithm doesn't support undirected flow networks");
+        }
+        minimumCostFlow = null;
+        init();
+        while (findEnteringArc()) {
+            findJoinNode();
+            boolean change = findLeavingArc();
+            if (delta == INF) {
+                throw new IllegalArgumentException(
+                    "The problem is unbounded due to a negative cycle of infinite capacity arcs");
+            }
+            changeFlow(change);
+            if (change) {
+                updateTree();
+            }
+        }
+        minimumCostFlow = finish();
+        return minimumCostFlow;
+    }
+
+    /**
+     * Returns solution to the dual linear program formulated on the network. Serves as a
+     * certificate of optimality.
+     * <p>
+     * It is represented as a mapping from graph nodes to their potentials (dual variables). Reduced
+     * cost of a arc $(a, b)$ is defined as $cost((a, b)) + potential(b) - potential(a)$. According
+     * to the reduced cost optimality conditions, a feasible solution to the minimum cost flow
+     * problem is optimal if and only if reduced cost of every non-saturated arc is greater than or
+     * equal to $0$ and the reduced cost of every arc with positive flow is less than or equal to
+     * $0$.
+     *
+     * @return solution to the dual linear program formulated on the network, or null if a
+     *         MinimumCostFlowProblem has not yet been solved.
+     */
+    public Map<V, Double> getDualSolution()
+    {
+        if (minimumCostFlow == null)
+            return null;
+
+        Map<V, Double> dualVariables = CollectionUtil.newHashMapWithExpectedSize(n);
+        for (int i = 0; i < n; i++) {
+            dualVariables.put(graphVertices.get(i), -potential[i]);
+        }
+        return dualVariables;
+    }
+
+    /**
+     * Converts the flow network into the array representation, validates the arc capacities and
+     * costs and builds the initial spanning tree. In the initial tree every node is a child of the
+     * artificial root. A node with non-negative supply sends its supply to the root on an arc of
+     * cost $0$, a node with negative supply receives its demand from the root on an arc of a cost
+     * which is larger than the cost of any path in the network. Thus the artificial arcs carry no
+     * flow in an optimal solution if the problem is feasible.
+     */
+    private void init()
+    {
+        Graph<V, E> graph = problem.getGraph();
+        n = graph.vertexSet().size();
+        m = graph.edgeSet().size();
+        root = n;
+        int numArcs = m + n;
+
+        graphVertices = new ArrayList<>(graph.vertexSet());
+        graphEdges = new ArrayList<>(graph.edgeSet());
+        Map<V, Integer> index = CollectionUtil.newHashMapWithExpectedSize(n);
+        for (int i = 0; i < n; i++) {
+            index.put(graphVertices.get(i), i);
+        }
+
+        source = new int[numArcs];
+        target = new int[numArcs];
+        capacity = new long[numArcs];
+        cost = new double[numArcs];
+        flow = new long[numArcs];
+        state = new int[numArcs];
+        long[] supply = new long[n];
+
+        long supplySum = 0;
+        for (int i = 0; i < n; i++) {
+            supply[i] = problem.getNodeSupply().apply(graphVertices.get(i));
+            supplySum += supply[i];
+        }
+        if (supplySum != 0) {
+            throw new IllegalArgumentException("Total node supply isn't equal to 0");
+        }
+
+        double maxCost = 0;
+        for (int e = 0; e < m; e++) {
+            E edge = graphEdges.get(e);
+            int upperCap = problem.getArcCapacityUpperBounds().apply(edge);
+            int lowerCap = problem.getArcCapacityLowerBounds().apply(edge);
+            double arcCost = problem.getArcCosts().apply(edge);
+            if (upperCap < 0) {
+                throw new IllegalArgumentException("Negative edge capacities are not allowed");
+            } else if (lowerCap > upperCap) {
+                throw new IllegalArgumentException(
+                    "Lower edge capacity must not exceed upper edge capacity");
+            } else if (lowerCap >= CapacityScalingMinimumCostFlow.CAP_INF) {
+                throw new IllegalArgumentException(
+                    "The problem is unbounded due to the infinite lower capacity");
+            } else if (!Double.isFinite(arcCost)) {
+                throw new IllegalArgumentException(
+                    "Specified flow network contains an edge of infinite cost");
+            }
+
+            source[e] = index.get(graph.getEdgeSource(edge));
+            target[e] = index.get(graph.getEdgeTarget(edge));
+            // substitute the flow f by f - lowerCap
+            supply[source[e]] -= lowerCap;
+            supply[target[e]] += lowerCap;
+            capacity[e] =
+                upperCap >= CapacityScalingMinimumCostFlow.CAP_INF ? INF : upperCap - lowerCap;
+            cost[e] = arcCost;
+            state[e] = STATE_LOWER;
+            maxCost = Math.max(maxCost, Math.abs(arcCost));
+        }
+        double artificialCost = (maxCost + 1) * (n + 1);
+
+        potential = new double[n + 1];
+        parent = new int[n + 1];
+        pred = new int[n + 1];
+        predDirection = new int[n + 1];
+        depth = new int[n + 1];
+        firstChild = new int[n + 1];
+        nextSibling = new int[n + 1];
+        previousSibling = new int[n + 1];
+        stack = new int[n + 1];
+        Arrays.fill(firstChild, -1);
+
+        parent[root] = -1;
+        pred[root] = -1;
+        for (int u = 0, e = m; u < n; u++, e++) {
+            parent[u] = root;
+            pred[u] = e;
+            depth[u] = 1;
+            previousSibling[u] = u - 1;
+            nextSibling[u] = u + 1 < n ? u + 1 : -1;
+            capacity[e] = INF;
+            state[e] = STATE_TREE;
+            if (supply[u] >= 0) {
+                predDirection[u] = DIR_UP;
+                source[e] = u;
+                target[e] = root;
+                flow[e] = supply[u];
+                cost[e] = 0;
+                potential[u] = 0;
+            } else {
+                predDirection[u] = DIR_DOWN;
+                source[e] = root;
+                target[e] = u;
+                flow[e] = -supply[u];
+                cost[e] = artificialCost;
+                potential[u] = artificialCost;
+            }
+        }
+        firstChild[root] = n > 0 ? 0 : -1;
+
+        blockSize = Math.max((int) Math.sqrt(m), MIN_BLOCK_SIZE);
+        nextArc = 0;
+    }
+
+    /**
+     * Finds the entering arc using the block search pivot rule.
+     *
+     * @return true if an arc violating the optimality conditions was found, false if the current
+     *         solution is optimal
+     */
+    private boolean findEnteringArc()
+    {
+        double min = 0;
+        int count = blockSize;
+        int e = nextArc;
+        for (int i = 0; i < m; i++) {
+            double c = state[e] * (cost[e] + potential[source[e]] - potential[target[e]]);
+            if (c < min) {
+                min = c;
+                inArc = e;
+            }
+            if (++e == m) {
+                e = 0;
+            }
+            if (--count == 0) {
+                if (min < 0) {
+                    break;
+                }
+                count = blockSize;
+            }
+        }
+        nextArc = e;
+        return min < 0;
+    }
+
+    /**
+     * Finds the join node, the node where the tree paths from the endpoints of the entering arc
+     * meet.
+     */
+    private void findJoinNode()
+    {
+        int u = source[inArc];
+        int v = target[inArc];
+        while (u != v) {
+            if (depth[u] >= depth[v]) {
+                u = parent[u];
+            } else {
+                v = parent[v];
+            }
+        }
+        join = u;
+    }
+
+    /**
+     * Finds the leaving arc of the cycle formed by the entering arc and the tree. To keep the tree
+     * strongly feasible, the last blocking arc in the direction of the cycle starting at the join
+     * node is selected.
+     *
+     * @return true if the leaving arc differs from the entering arc
+     */
+    private boolean findLeavingArc()
+    {
+        int first, second;
+        if (state[inArc] == STATE_LOWER) {
+            first = source[inArc];
+            second = target[inArc];
+        } else {
+            first = target[inArc];
+            second = source[inArc];
+        }
+        delta = capacity[inArc];
+        int result = 0;
+
+        // search the cycle from the first node to the join node
+        for (int u = first; u != join; u = parent[u]) {
+            long d = residual(u, DIR_DOWN);
+            if (d < delta) {
+                delta = d;
+                uOut = u;
+                result = 1;
+            }
+        }
+        // search the cycle from the second node to the join node
+        for (int u = second; u != join; u = parent[u]) {
+            long d = residual(u, DIR_UP);
+            if (d <= delta) {
+                delta = d;
+                uOut = u;
+                result = 2;
+            }
+        }
+
+        if (result == 1) {
+            uIn = first;
+            vIn = second;
+        } else {
+            uIn = second;
+            vIn = first;
+        }
+        return result != 0;
+    }
+
+    /**
+     * Returns how much the flow on the arc connecting a node to its parent can be changed, if the
+     * flow is increased on arcs with the given direction and decreased on the others.
+     */
+    private long residual(int u, int increasingDirection)
+    {
+        int e = pred[u];
+        if (predDirection[u] != increasingDirection) {
+            return flow[e];
+        }
+        return capacity[e] == INF ? INF : capacity[e] - flow[e];
+    }
+
+    /**
+     * Augments the flow along the cycle and updates the states of the entering and the leaving
+     * arc.
+     */
+    private void changeFlow(boolean change)
+    {
+        if (delta > 0) {
+            long value = state[inArc] * delta;
+            flow[inArc] += value;
+            for (int u = source[inArc]; u != join; u = parent[u]) {
+                flow[pred[u]] -= predDirection[u] * value;
+            }
+            for (int u = target[inArc]; u != join; u = parent[u]) {
+                flow[pred[u]] += predDirection[u] * value;
+            }
+        }
+        if (change) {
+            state[inArc] = STATE_TREE;
+            int outArc = pred[uOut];
+            state[outArc] = flow[outArc] == 0 ? STATE_LOWER : STATE_UPPER;
+        } else {
+            state[inArc] = -state[inArc];
+        }
+    }
+
+    /**
+     * Replaces the leaving arc by the entering arc. The subtree which is cut off by removing the
+     * leaving arc is re-rooted at {@code uIn} and attached to {@code vIn}, afterwards the depths
+     * and potentials of its nodes are updated.
+     */
+    private void updateTree()
+    {
+        // reverse the path from uIn to uOut
+        int node = uIn;
+        int newParent = vIn;
+        int newPred = inArc;
+        int newDirection = uIn == source[inArc] ? DIR_UP : DIR_DOWN;
+        while (true) {
+            int oldParent = parent[node];
+            int oldPred = pred[node];
+            int oldDirection = predDirection[node];
+            removeChild(oldParent, node);
+            parent[node] = newParent;
+            pred[node] = newPred;
+            predDirection[node] = newDirection;
+            addChild(newParent, node);
+            if (node == uOut) {
+                break;
+            }
+            newParent = node;
+            newPred = oldPred;
+            newDirection = -oldDirection;
+            node = oldParent;
+        }
+
+        // the reduced cost of the entering arc becomes zero
+        double sigma = potential[vIn] - potential[uIn]
+            + (predDirection[uIn] == DIR_UP ? -cost[inArc] : cost[inArc]);
+        int top = 0;
+        stack[top++] = uIn;
+        while (top > 0) {
+            int u = stack[--top];
+            potential[u] += sigma;
+            depth[u] = depth[parent[u]] + 1;
+            for (int c = firstChild[u]; c != -1; c = nextSibling[c]) {
+                stack[top++] = c;
+            }
+        }
+    }
+
+    private void removeChild(int p, int u)
+    {
+        int previous = previousSibling[u];
+        int next = nextSibling[u];
+        if (previous == -1) {
+            firstChild[p] = next;
+        } else {
+            nextSibling[previous] = next;
+        }
+        if (next != -1) {
+            previousSibling[next] = previous;
+        }
+    }
+
+    private void addChild(int p, int u)
+    {
+        int first = firstChild[p];
+        nextSibling[u] = first;
+        previousSibling[u] = -1;
+        if (first != -1) {
+            previousSibling[first] = u;
+        }
+        firstChild[p] = u;
+    }
+
+    /**
+     * Checks the feasibility of the computed solution and creates the solution object.
+     */
+    private MinimumCostFlow<E> finish()
+    {
+        for (int e = m; e < m + n; e++) {
+            if (flow[e] > 0) {
+                throw new IllegalArgumentException(
+                    "Specified flow network problem has no feasible solution");
+            }
+        }
+        Map<E, Double> flowMap = CollectionUtil.newHashMapWithExpectedSize(m);
+        double totalCost = 0;
+        for (int e = 0; e < m; e++) {
+            E edge = graphEdges.get(e);
+            double flowOnArc = flow[e] + problem.getArcCapacityLowerBounds().apply(edge);
+            flowMap.put(edge, flowOnArc);
+            totalCost += flowOnArc * cost[e];
+        }
+        return new MinimumCostFlowImpl<>(totalCost, flowMap);
+    }
+}
@@ -43,6 +43,37 @@ public interface ManyToManyShortestPathsAlgorithm<V, E>
      */
     ManyToManyShortestPaths<V, E> getManyToManyPaths(Set<V> sources, Set<V> targets);
 
+    /**
+     * Computes the weights of the shortest paths from all vertices in {@code sources} to all
+     * vertices in {@code targets}. Entry $(i, j)$ of the returned matrix is the weight of the
+     * shortest path from the $i$-th source to the $j$-th target, or
+     * {@link Double#POSITIVE_INFINITY} if no such path exists.
+     *
+     * <p>
+     * The default implementation delegates to {@link #getManyToManyPaths(Set, Set)}.
+     * Implementations are encouraged to override this method in order to compute the weights
+     * without storing the shortest paths, which makes large matrices considerably cheaper.
+     *
+     * @param sources list of source vertices
+     * @param targets list of target vertices
+     * @return the matrix of shortest path weights
+     */
+    default double[][] getManyToManyWeights(List<V> sources, List<V> targets)
+    {
+        Objects.requireNonNull(sources, "sources cannot be null!");
+        Objects.requireNonNull(targets, "targets cannot be null!");
+
+        ManyToManyShortestPaths<V, E> paths =
+            getManyToManyPaths(new HashSet<>(sources), new HashSet<>(targets));
+        double[][] weights = new double[sources.size()][targets.size()];
+        for (int i = 0; i < sources.size(); i++) {
+            for (int j = 0; j < targets.size(); j++) {
+                weights[i][j] = paths.getWeight(sources.get(i), targets.get(j));
+            }
+        }
+        return weights;
+    }
+
     /**
      * A set of paths from all sources vertices to all target vertices.
      *
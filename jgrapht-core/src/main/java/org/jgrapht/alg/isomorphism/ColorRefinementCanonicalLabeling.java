@@ -0,0 +1,589 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.color.*;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.util.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Computes a canonical labeling of a graph using individualization and refinement, the technique
+ * used by nauty and Traces, see
+ * <ul>
+ * <li>B. D. McKay and A. Piperno. Practical graph isomorphism, II. Journal of Symbolic Computation
+ * 60, 94--112, 2014.</li>
+ * </ul>
+ *
+ * <p>
+ * A canonical labeling numbers the vertices $0, \dots, n-1$ such that two graphs are isomorphic if
+ * and only if relabeling their vertices by their canonical labelings yields the same graph. This
+ * graph is encoded by the {@link Certificate} of a graph, which implements {@code equals},
+ * {@code hashCode} and {@code compareTo}. Isomorphism classes of many graphs can thus be found
+ * with a hash map from certificates to graphs instead of testing all pairs of graphs.
+ *
+ * <p>
+ * The labeling is computed as follows. The initial vertex coloring is refined to its coarsest
+ * stable refinement, as computed by the {@link ColorRefinementAlgorithm}, except that in directed
+ * graphs two vertices of the same color are separated if they differ in the colors of their
+ * out-neighbors or of their in-neighbors. If the refined coloring is not
+ * discrete, a non-singleton color class of minimum size is chosen and, for every vertex of the
+ * class, the vertex is individualized by giving it a new color and the coloring is refined again.
+ * The leaves of this search tree are discrete colorings, which are labelings of the graph. The
+ * canonical labeling is the leaf whose relabeled graph is lexicographically smallest. Whenever
+ * two leaves yield the same relabeled graph, they induce an automorphism of the graph. The
+ * automorphisms are used to skip subtrees which are images of subtrees already explored.
+ *
+ * <p>
+ * The running time is exponential in the worst case, but the search tree is small for most
+ * graphs, since color refinement alone produces a discrete coloring for almost all graphs and
+ * automorphism pruning handles the common kinds of symmetry. This class is intended for
+ * deduplicating many small or medium sized graphs.
+ *
+ * <p>
+ * An initial coloring of the vertices can be provided to compute canonical labelings of vertex
+ * labeled graphs. The colors are part of the certificate, so the certificates of two graphs are
+ * equal if and only if there is an isomorphism between the graphs preserving the colors. Multiple
+ * edges and self-loops are supported, edge labels and edge weights are ignored. Mixed graphs are
+ * not supported.
+ *
+ * @param <V> the type of the vertices
+ * @param <E> the type of the edges
+ */
+public class ColorRefinementCanonicalLabeling<V, E>
+{
+    private final Graph<V, E> graph;
+    private final Coloring<V> alpha;
+
+    // the graph over the vertex numbering
+    private List<V> vertices;
+    private int[] alphaColors;
+    private int[] sources;
+    private int[] targets;
+    private boolean directed;
+
+    // the neighbors of every vertex, in directed graphs twice the neighbor plus one for in-arcs
+    private int[] adjacentStart;
+    private int[] adjacent;
+
+    // the state of the search
+    private int[] path;
+    private int[] firstLabels;
+    private int[] firstPath;
+    private long[] firstCode;
+    private int[] bestLabels;
+    private int[] bestPath;
+    private long[] bestCode;
+    private List<int[]> automorphisms;
+
+    private Map<V, Integer> labeling;
+    private List<V> ordering;
+    private Certificate certificate;
+
+    /**
+     * Construct a new canonical labeling algorithm.
+     *
+     * @param graph the input graph
+     */
+    public ColorRefinementCanonicalLabeling(Graph<V, E> graph)
+    {
+        this(graph, null);
+    }
+
+    /**
+     * Construct a new canonical labeling algorithm for a vertex colored graph.
+     *
+     * @param graph the input graph
+     * @param alpha the coloring of the vertices, or null if the vertices are not colored
+     */
+    public ColorRefinementCanonicalLabeling(Graph<V, E> graph, Coloring<V> alpha)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        if (graph.getType().isMixed()) {
+            throw new IllegalArgumentException("mixed graphs not supported");
+        }
+        this.alpha = alpha;
+    }
+
+    /**
+     * Returns the canonical labeling, which maps every vertex to its label in $0, \dots, n-1$.
+     *
+     * @return the canonical labeling
+     */
+    public Map<V, Integer> getCanonicalLabeling()
+    {
+        lazyCompute();
+        return labeling;
+    }
+
+    /**
+     * Returns the vertices ordered by their canonical labels.
+     *
+     * @return the vertices ordered by their canonical labels
+     */
+    public List<V> getCanonicalOrdering()
+    {
+        lazyCompute();
+        return ordering;
+    }
+
+    /**
+     * Returns the certificate of the graph. The certificates of two graphs are equal if and only if
+     * the graphs are isomorphic.
+     *
+     * @return the certificate of the graph
+     */
+    public Certificate getCertificate()
+    {
+        lazyCompute();
+        return certificate;
+    }
+
+    /**
+     * Returns an isomorphism from the graph of this algorithm to the graph of another algorithm,
+     * which maps every vertex to the vertex with the same canonical label.
+     *
+     * @param other the canonical labeling of the other graph
+     * @return an isomorphism, or null if the graphs are not isomorphic
+     */
+    public IsomorphicGraphMapping<V, E> getIsomorphism(
+        ColorRefinementCanonicalLabeling<V, E> other)
+    {
+        if (!getCertificate().equals(other.getCertificate())) {
+            return null;
+        }
+        List<V> otherOrdering = other.getCanonicalOrdering();
+        int n = ordering.size();
+        Map<V, V> forward = CollectionUtil.newHashMapWithExpectedSize(n);
+        Map<V, V> backward = CollectionUtil.newHashMapWithExpectedSize(n);
+        for (int i = 0; i < n; i++) {
+            forward.put(ordering.get(i), otherOrdering.get(i));
+            backward.put(otherOrdering.get(i), ordering.get(i));
+        }
+        return new IsomorphicGraphMapping<>(forward, backward, graph, other.graph);
+    }
+
+    private void lazyCompute()
+    {
+        if (certificate != null) {
+            return;
+        }
+
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        vertices = mapping.getIndexList();
+        Map<V, Integer> index = mapping.getVertexMap();
+        int n = vertices.size();
+        directed = graph.getType().isDirected();
+
+        int m = graph.edgeSet().size();
+        sources = new int[m];
+        targets = new int[m];
+        int k = 0;
+        for (E e : graph.edgeSet()) {
+            sources[k] = index.get(graph.getEdgeSource(e));
+            targets[k] = index.get(graph.getEdgeTarget(e));
+            k++;
+        }
+        adjacentStart = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            adjacentStart[sources[e] + 1]++;
+            adjacentStart[targets[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            adjacentStart[v + 1] += adjacentStart[v];
+        }
+        adjacent = new int[2 * m];
+        int[] position = Arrays.copyOf(adjacentStart, n);
+        for (int e = 0; e < m; e++) {
+            int u = sources[e];
+            int v = targets[e];
+            adjacent[position[u]++] = directed ? 2 * v : v;
+            adjacent[position[v]++] = directed ? 2 * u + 1 : u;
+        }
+
+        alphaColors = new int[n];
+        if (alpha != null) {
+            for (int i = 0; i < n; i++) {
+                alphaColors[i] = alpha.getColors().get(vertices.get(i));
+            }
+        }
+
+        path = new int[n];
+        automorphisms = new ArrayList<>();
+        search(refine(alphaColors), 0);
+
+        labeling = CollectionUtil.newHashMapWithExpectedSize(n);
+        Object[] ordered = new Object[n];
+        for (int v = 0; v < n; v++) {
+            labeling.put(vertices.get(v), bestLabels[v]);
+            ordered[bestLabels[v]] = vertices.get(v);
+        }
+        @SuppressWarnings("unchecked") List<V> orderedList = (List<V>) Arrays.asList(ordered);
+        ordering = Collections.unmodifiableList(orderedList);
+        labeling = Collections.unmodifiableMap(labeling);
+        certificate = new Certificate(bestCode);
+
+        // release the search state
+        path = null;
+        adjacentStart = null;
+        adjacent = null;
+        firstLabels = null;
+        firstPath = null;
+        firstCode = null;
+        bestPath = null;
+        automorphisms = null;
+    }
+
+    /**
+     * Explore the subtree of the search tree rooted at a node.
+     *
+     * @param colors the equitable coloring of the node
+     * @param level the number of individualized vertices of the node
+     * @return the level of the node to continue the search at, which is smaller than
+     *         {@code level} if the search should return to an ancestor of the node
+     */
+    private int search(int[] colors, int level)
+    {
+        int n = colors.length;
+        int[] cell = targetCell(colors);
+        if (cell == null) {
+            return leaf(colors, level);
+        }
+
+        int numColors = 0;
+        for (int c : colors) {
+            numColors = Math.max(numColors, c + 1);
+        }
+        List<Integer> explored = new ArrayList<>();
+        UnionFind<Integer> orbits = null;
+        int numAutomorphisms = -1;
+        for (int w : cell) {
+            if (!explored.isEmpty()) {
+                // skip the vertex if an explored vertex is mapped to it by an automorphism
+                // which fixes the individualized vertices
+                if (numAutomorphisms != automorphisms.size()) {
+                    numAutomorphisms = automorphisms.size();
+                    orbits = orbits(level);
+                }
+                boolean skip = false;
+                for (int x : explored) {
+                    if (orbits.inSameSet(x, w)) {
+                        skip = true;
+                        break;
+                    }
+                }
+                if (skip) {
+                    continue;
+                }
+            }
+            explored.add(w);
+
+            int[] individualized = Arrays.copyOf(colors, n);
+            individualized[w] = numColors;
+            path[level] = w;
+            int result = search(refine(individualized), level + 1);
+            if (result < level) {
+                return result;
+            }
+        }
+        return level;
+    }
+
+    /**
+     * Process a leaf of the search tree.
+     *
+     * @param labels the discrete coloring of the leaf
+     * @param level the number of individualized vertices of the leaf
+     * @return the level of the node to continue the search at
+     */
+    private int leaf(int[] labels, int level)
+    {
+        long[] code = code(labels);
+        if (firstCode == null) {
+            firstLabels = labels;
+            firstPath = Arrays.copyOf(path, level);
+            firstCode = code;
+            bestLabels = labels;
+            bestPath = firstPath;
+            bestCode = code;
+            return level;
+        }
+
+        if (Arrays.equals(code, firstCode)) {
+            return automorphism(firstLabels, firstPath, labels, level);
+        }
+        int cmp = Arrays.compare(code, bestCode);
+        if (cmp == 0) {
+            return automorphism(bestLabels, bestPath, labels, level);
+        }
+        if (cmp < 0) {
+            bestLabels = labels;
+            bestPath = Arrays.copyOf(path, level);
+            bestCode = code;
+        }
+        return level;
+    }
+
+    /**
+     * Record the automorphism which maps an earlier leaf to the current leaf with the same code.
+     * If the automorphism maps the branch of the earlier leaf at the node where the paths of the
+     * leaves diverge to the branch of the current leaf, the rest of the branch of the current leaf
+     * is the image of an explored branch and need not be explored.
+     *
+     * @param otherLabels the labels of the earlier leaf
+     * @param otherPath the individualized vertices of the earlier leaf
+     * @param labels the labels of the current leaf
+     * @param level the number of individualized vertices of the current leaf
+     * @return the level of the node to continue the search at
+     */
+    private int automorphism(int[] otherLabels, int[] otherPath, int[] labels, int level)
+    {
+        int n = labels.length;
+        int[] vertexOfLabel = new int[n];
+        for (int v = 0; v < n; v++) {
+            vertexOfLabel[labels[v]] = v;
+        }
+        int[] gamma = new int[n];
+        for (int v = 0; v < n; v++) {
+            gamma[v] = vertexOfLabel[otherLabels[v]];
+        }
+        automorphisms.add(gamma);
+
+        int depth = Math.min(level, otherPath.length);
+        int j = 0;
+        while (j < depth && otherPath[j] == path[j]) {
+            j++;
+        }
+        if (j == depth) {
+            return level;
+        }
+        for (int i = 0; i <= j; i++) {
+            if (gamma[otherPath[i]] != path[i]) {
+                return level;
+            }
+        }
+        return j;
+    }
+
+    /**
+     * Compute the orbits of the group generated by the automorphisms found so far which fix the
+     * individualized vertices of a node.
+     *
+     * @param level the number of individualized vertices of the node
+     * @return the orbits
+     */
+    private UnionFind<Integer> orbits(int level)
+    {
+        int n = vertices.size();
+        Set<Integer> elements = CollectionUtil.newLinkedHashSetWithExpectedSize(n);
+        for (int v = 0; v < n; v++) {
+            elements.add(v);
+        }
+        UnionFind<Integer> orbits = new UnionFind<>(elements);
+        for (int[] gamma : automorphisms) {
+            boolean fixes = true;
+            for (int i = 0; i < level && fixes; i++) {
+                fixes = gamma[path[i]] == path[i];
+            }
+            if (fixes) {
+                for (int v = 0; v < n; v++) {
+                    orbits.union(v, gamma[v]);
+                }
+            }
+        }
+        return orbits;
+    }
+
+    /**
+     * Find the non-singleton color class of minimum size with the smallest color.
+     *
+     * @param colors the coloring
+     * @return the vertices of the class, or null if the coloring is discrete
+     */
+    private static int[] targetCell(int[] colors)
+    {
+        int n = colors.length;
+        int[] size = new int[n];
+        for (int c : colors) {
+            size[c]++;
+        }
+        int best = -1;
+        for (int c = 0; c < n; c++) {
+            if (size[c] > 1 && (best == -1 || size[c] < size[best])) {
+                best = c;
+            }
+        }
+        if (best == -1) {
+            return null;
+        }
+        int[] cell = new int[size[best]];
+        int k = 0;
+        for (int v = 0; v < n; v++) {
+            if (colors[v] == best) {
+                cell[k++] = v;
+            }
+        }
+        return cell;
+    }
+
+    /**
+     * Compute the coarsest stable refinement of a coloring. In every round the vertices are sorted
+     * by their color and the sorted colors of their neighbors, and the new color of a vertex is the
+     * rank of its class in this order. The result therefore depends only on the coloring and the
+     * graph, not on the numbering of the vertices.
+     *
+     * @param colors the coloring
+     * @return the refined coloring, which uses the colors $0, \dots, k-1$ for some $k$
+     */
+    private int[] refine(int[] colors)
+    {
+        int n = colors.length;
+        int[] keys = new int[adjacent.length];
+        Integer[] order = new Integer[n];
+        for (int v = 0; v < n; v++) {
+            order[v] = v;
+        }
+        int numColors = -1;
+        while (true) {
+            int[] current = colors;
+            for (int v = 0; v < n; v++) {
+                for (int i = adjacentStart[v]; i < adjacentStart[v + 1]; i++) {
+                    int a = adjacent[i];
+                    keys[i] = directed ? 2 * current[a >> 1] + (a & 1) : current[a];
+                }
+                Arrays.sort(keys, adjacentStart[v], adjacentStart[v + 1]);
+            }
+            Comparator<Integer> bySignature = (u, v) -> compareSignatures(current, keys, u, v);
+            Arrays.sort(order, bySignature);
+
+            int[] refined = new int[n];
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                if (i > 0 && bySignature.compare(order[i - 1], order[i]) != 0) {
+                    count++;
+                }
+                refined[order[i]] = count;
+            }
+            if (n > 0) {
+                count++;
+            }
+            colors = refined;
+            if (count == numColors) {
+                return colors;
+            }
+            numColors = count;
+        }
+    }
+
+    /**
+     * Compare two vertices by their colors and then by the sorted keys of their neighbors.
+     */
+    private int compareSignatures(int[] colors, int[] keys, int u, int v)
+    {
+        int cmp = Integer.compare(colors[u], colors[v]);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return Arrays.compare(
+            keys, adjacentStart[u], adjacentStart[u + 1], keys, adjacentStart[v],
+            adjacentStart[v + 1]);
+    }
+
+    /**
+     * Encode the graph relabeled by a discrete coloring.
+     *
+     * @param labels the discrete coloring
+     * @return the code of the relabeled graph
+     */
+    private long[] code(int[] labels)
+    {
+        int n = labels.length;
+        int m = sources.length;
+        long[] code = new long[3 + n + m];
+        code[0] = n;
+        code[1] = directed ? 1 : 0;
+        for (int v = 0; v < n; v++) {
+            code[2 + labels[v]] = alphaColors[v];
+        }
+        code[2 + n] = m;
+        for (int e = 0; e < m; e++) {
+            long a = labels[sources[e]];
+            long b = labels[targets[e]];
+            if (!directed && a > b) {
+                long tmp = a;
+                a = b;
+                b = tmp;
+            }
+            code[3 + n + e] = a * n + b;
+        }
+        Arrays.sort(code, 3 + n, code.length);
+        return code;
+    }
+
+    /**
+     * The certificate of a graph, which identifies the graph up to isomorphism.
+     */
+    public static final class Certificate
+        implements
+        Comparable<Certificate>,
+        Serializable
+    {
+        private static final long serialVersionUID = 6386306203528329617L;
+
+        private final long[] code;
+
+        private Certificate(long[] code)
+        {
+            this.code = code;
+        }
+
+        @Override
+        public int compareTo(Certificate other)
+        {
+            return Arrays.compare(code, other.code);
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Certificate)) {
+                return false;
+            }
+            return Arrays.equals(code, ((Certificate) o).code);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Arrays.hashCode(code);
+        }
+
+        @Override
+        public String toString()
+        {
+            return Arrays.toString(code);
+        }
+    }
+}
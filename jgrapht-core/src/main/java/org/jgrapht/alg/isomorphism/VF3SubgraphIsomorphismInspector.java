@@ -0,0 +1,807 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Subgraph isomorphism inspector following the design of the VF3 algorithm, which is intended for
+ * matching small pattern graphs against large target graphs. The algorithm is described in
+ * <ul>
+ * <li>V. Carletti, P. Foggia, A. Saggese and M. Vento. Challenging the Time Complexity of Exact
+ * Subgraph Isomorphism for Huge and Dense Graphs with VF3. IEEE Transactions on Pattern Analysis
+ * and Machine Intelligence 40(4), 804--818, 2018.</li>
+ * </ul>
+ *
+ * <p>
+ * Like {@link VF2SubgraphIsomorphismInspector}, this inspector finds isomorphisms between the
+ * second graph (the pattern) and the
+ * <a href="http://mathworld.wolfram.com/Vertex-InducedSubgraph.html">induced subgraphs</a> of the
+ * first graph (the target), and the returned mappings map the vertices of the first graph to the
+ * vertices of the second graph. In contrast to the VF2 implementation, the search works as follows.
+ * <ul>
+ * <li>Before the search, the domain of every pattern vertex, i.e. the set of target vertices it can
+ * be mapped to, is computed from the vertex comparator, the degrees and the self-loops of the
+ * vertices. The domains are then filtered repeatedly: a target vertex is removed from the domain
+ * of a pattern vertex if some neighbor of the pattern vertex has no compatible neighbor of the
+ * target vertex in its domain. The domains are stored as bitsets over the target vertices.</li>
+ * <li>The pattern vertices are matched in a fixed order which is computed once. The first vertex
+ * is the one with the smallest domain, every further vertex is the one with the most neighbors
+ * among the vertices already in the order, with ties broken by the size of the domain and the
+ * degree.</li>
+ * <li>The candidates for a pattern vertex are the neighbors of the target vertex which an earlier
+ * neighbor of the pattern vertex is mapped to, or the vertices of its domain if it has no earlier
+ * neighbor. Whether a candidate preserves the (non-)adjacencies to the earlier pattern vertices is
+ * checked using the number of already mapped neighbors of every target vertex, which is updated
+ * incrementally.</li>
+ * </ul>
+ * The target graph is stored as sorted adjacency arrays, so that no adjacency matrix of the target
+ * graph is needed.
+ *
+ * <p>
+ * Building the adjacency arrays of the target graph takes linear time. In order to match several
+ * pattern graphs against the same target graph, the target graph can be preprocessed once as a
+ * {@link TargetGraph} and passed to all inspectors, which then share its adjacency arrays. The
+ * domains depend on the pattern graph and are computed by every inspector, which takes
+ * $O(|V_2| \cdot |V_1|)$ time and $O(|V_2| \cdot |V_1| / 64)$ words of memory, where $V_1$ and
+ * $V_2$ are the vertex sets of the target and the pattern graph.
+ *
+ * <p>
+ * The mappings are computed lazily by the iterator returned by {@link #getMappings()}. The method
+ * {@link #forEachMapping(Consumer)} passes every mapping to a consumer as soon as it is found. If
+ * an executor is provided, it splits the search tree by the target vertex the first pattern vertex
+ * is mapped to and explores the subtrees in parallel. In this case the consumer is invoked
+ * concurrently from different threads and must be thread-safe. It is up to a user of this
+ * algorithm to handle the creation and termination of the provided {@code executor}. For utility
+ * methods to manage a {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+ *
+ * <p>
+ * This implementation does not support graphs with multiple (parallel) edges.
+ *
+ * @param <V> the type of the vertices
+ * @param <E> the type of the edges
+ *
+ * @see VF2SubgraphIsomorphismInspector
+ */
+public class VF3SubgraphIsomorphismInspector<V, E>
+    implements
+    IsomorphismInspector<V, E>
+{
+    private final Graph<V, E> graph1, graph2;
+    private TargetGraph<V, E> target;
+    private final Comparator<V> vertexComparator;
+    private final Comparator<E> edgeComparator;
+    private final ThreadPoolExecutor executor;
+    private final boolean directed;
+
+    // the target graph
+    private List<V> targetVertices;
+    private int[][] targetOut;
+    private int[][] targetIn;
+    private boolean[] targetLoop;
+
+    // the pattern vertices in matching order and their relation to earlier vertices
+    private List<V> patternVertices;
+    private int[][] earlierOut;
+    private int[][] earlierIn;
+    private int[] parent;
+    private boolean[] parentOut;
+    private boolean[] patternLoop;
+
+    // the domains of the pattern vertices in matching order
+    private long[][] domain;
+    private int[][] domainList;
+
+    // false if the domain of some pattern vertex is empty
+    private boolean feasible;
+
+    /**
+     * Construct a new VF3 subgraph isomorphism inspector.
+     *
+     * @param graph1 the first graph
+     * @param graph2 the second graph (possible induced subgraph of graph1)
+     * @param vertexComparator comparator for semantic equivalence of vertices
+     * @param edgeComparator comparator for semantic equivalence of edges
+     * @param executor the executor used by {@link #forEachMapping(Consumer)}, or null to search
+     *        sequentially
+     */
+    public VF3SubgraphIsomorphismInspector(
+        Graph<V, E> graph1, Graph<V, E> graph2, Comparator<V> vertexComparator,
+        Comparator<E> edgeComparator, ThreadPoolExecutor executor)
+    {
+        this(graph1, null, graph2, vertexComparator, edgeComparator, executor);
+    }
+
+    /**
+     * Construct a new VF3 subgraph isomorphism inspector.
+     *
+     * @param graph1 the first graph
+     * @param graph2 the second graph (possible induced subgraph of graph1)
+     * @param vertexComparator comparator for semantic equivalence of vertices
+     * @param edgeComparator comparator for semantic equivalence of edges
+     */
+    public VF3SubgraphIsomorphismInspector(
+        Graph<V, E> graph1, Graph<V, E> graph2, Comparator<V> vertexComparator,
+        Comparator<E> edgeComparator)
+    {
+        this(graph1, graph2, vertexComparator, edgeComparator, null);
+    }
+
+    /**
+     * Construct a new VF3 subgraph isomorphism inspector.
+     *
+     * @param graph1 the first graph
+     * @param graph2 the second graph (possible induced subgraph of graph1)
+     * @param executor the executor used by {@link #forEachMapping(Consumer)}, or null to search
+     *        sequentially
+     */
+    public VF3SubgraphIsomorphismInspector(
+        Graph<V, E> graph1, Graph<V, E> graph2, ThreadPoolExecutor executor)
+    {
+        this(graph1, graph2, null, null, executor);
+    }
+
+    /**
+     * Construct a new VF3 subgraph isomorphism inspector.
+     *
+     * @param graph1 the first graph
+     * @param graph2 the second graph (possible induced subgraph of graph1)
+     */
+    public VF3SubgraphIsomorphismInspector(Graph<V, E> graph1, Graph<V, E> graph2)
+    {
+        this(graph1, graph2, null, null, null);
+    }
+
+    /**
+     * Construct a new VF3 subgraph isomorphism inspector for a preprocessed target graph.
+     *
+     * @param target the preprocessed first graph
+     * @param graph2 the second graph (possible induced subgraph of the first graph)
+     * @param vertexComparator comparator for semantic equivalence of vertices
+     * @param edgeComparator comparator for semantic equivalence of edges
+     * @param executor the executor used by {@link #forEachMapping(Consumer)}, or null to search
+     *        sequentially
+     */
+    public VF3SubgraphIsomorphismInspector(
+        TargetGraph<V, E> target, Graph<V, E> graph2, Comparator<V> vertexComparator,
+        Comparator<E> edgeComparator, ThreadPoolExecutor executor)
+    {
+        this(target.graph, target, graph2, vertexComparator, edgeComparator, executor);
+    }
+
+    /**
+     * Construct a new VF3 subgraph isomorphism inspector for a preprocessed target graph.
+     *
+     * @param target the preprocessed first graph
+     * @param graph2 the second graph (possible induced subgraph of the first graph)
+     * @param executor the executor used by {@link #forEachMapping(Consumer)}, or null to search
+     *        sequentially
+     */
+    public VF3SubgraphIsomorphismInspector(
+        TargetGraph<V, E> target, Graph<V, E> graph2, ThreadPoolExecutor executor)
+    {
+        this(target, graph2, null, null, executor);
+    }
+
+    /**
+     * Construct a new VF3 subgraph isomorphism inspector for a preprocessed target graph.
+     *
+     * @param target the preprocessed first graph
+     * @param graph2 the second graph (possible induced subgraph of the first graph)
+     */
+    public VF3SubgraphIsomorphismInspector(TargetGraph<V, E> target, Graph<V, E> graph2)
+    {
+        this(target, graph2, null, null, null);
+    }
+
+    private VF3SubgraphIsomorphismInspector(
+        Graph<V, E> graph1, TargetGraph<V, E> target, Graph<V, E> graph2,
+        Comparator<V> vertexComparator, Comparator<E> edgeComparator,
+        ThreadPoolExecutor executor)
+    {
+        GraphType type1 = graph1.getType();
+        GraphType type2 = graph2.getType();
+        requireSupported(type1);
+        requireSupported(type2);
+
+        if (type1.isUndirected() && type2.isDirected()
+            || type1.isDirected() && type2.isUndirected())
+        {
+            throw new IllegalArgumentException("can not match directed with undirected graphs");
+        }
+
+        this.graph1 = graph1;
+        this.target = target;
+        this.graph2 = graph2;
+        this.vertexComparator = vertexComparator;
+        this.edgeComparator = edgeComparator;
+        this.executor = executor;
+        this.directed = type1.isDirected();
+    }
+
+    private static void requireSupported(GraphType type)
+    {
+        if (type.isAllowingMultipleEdges()) {
+            throw new IllegalArgumentException(
+                "graphs with multiple (parallel) edges are not supported");
+        }
+        if (type.isMixed()) {
+            throw new IllegalArgumentException("mixed graphs not supported");
+        }
+    }
+
+    /**
+     * Get the preprocessed target graph, i.e. the first graph, which can be passed to other
+     * inspectors in order to match further pattern graphs against it.
+     *
+     * @return the preprocessed target graph
+     */
+    public TargetGraph<V, E> getTargetGraph()
+    {
+        if (target == null) {
+            target = new TargetGraph<>(graph1);
+        }
+        return target;
+    }
+
+    @Override
+    public Iterator<GraphMapping<V, E>> getMappings()
+    {
+        lazyInit();
+        return new MappingIterator();
+    }
+
+    @Override
+    public boolean isomorphismExists()
+    {
+        return getMappings().hasNext();
+    }
+
+    /**
+     * Compute all mappings and pass every mapping to a consumer as soon as it is found. If an
+     * executor was provided, the consumer is invoked concurrently from different threads.
+     *
+     * @param consumer the consumer of the mappings
+     */
+    public void forEachMapping(Consumer<GraphMapping<V, E>> consumer)
+    {
+        Objects.requireNonNull(consumer, "Consumer cannot be null");
+        lazyInit();
+        if (!feasible) {
+            return;
+        }
+        if (patternVertices.isEmpty()) {
+            consumer.accept(new Matcher().mapping());
+            return;
+        }
+
+        // the subtrees of the target vertices of the first pattern vertex are searched separately
+        ConcurrencyUtil.forEachIndex(executor, domainList[0].length, () -> {
+            Matcher matcher = new Matcher();
+            return r -> {
+                matcher.start(r, r + 1);
+                while (matcher.next()) {
+                    consumer.accept(matcher.mapping());
+                }
+            };
+        });
+    }
+
+    /**
+     * Compute the domains and the matching order, preprocessing the target graph unless it was
+     * provided.
+     */
+    private void lazyInit()
+    {
+        if (patternVertices != null) {
+            return;
+        }
+
+        TargetGraph<V, E> preprocessed = getTargetGraph();
+        targetVertices = preprocessed.vertices;
+        targetLoop = preprocessed.loop;
+        targetOut = preprocessed.out;
+        targetIn = preprocessed.in;
+        int numTargets = targetVertices.size();
+
+        VertexToIntegerMapping<V> mapping2 = new VertexToIntegerMapping<>(graph2.vertexSet());
+        List<V> vertices2 = mapping2.getIndexList();
+        Map<V, Integer> index2 = mapping2.getVertexMap();
+        int n = vertices2.size();
+        boolean[] loop2 = new boolean[n];
+        int[][] out2 = adjacencyArrays(graph2, index2, true, loop2);
+        int[][] in2 = directed ? adjacencyArrays(graph2, index2, false, null) : out2;
+
+        // compute and filter the domains
+        int words = (numTargets + 63) >>> 6;
+        long[][] domains = new long[n][words];
+        int[] domainSize = new int[n];
+        for (int u = 0; u < n; u++) {
+            V pv = vertices2.get(u);
+            for (int t = 0; t < numTargets; t++) {
+                if (targetLoop[t] == loop2[u] && targetOut[t].length >= out2[u].length
+                    && targetIn[t].length >= in2[u].length
+                    && (vertexComparator == null
+                        || vertexComparator.compare(targetVertices.get(t), pv) == 0))
+                {
+                    domains[u][t >>> 6] |= 1L << t;
+                    domainSize[u]++;
+                }
+            }
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int u = 0; u < n; u++) {
+                long[] d = domains[u];
+                for (int w = 0; w < words; w++) {
+                    long bits = d[w];
+                    while (bits != 0) {
+                        long bit = bits & -bits;
+                        bits ^= bit;
+                        int t = (w << 6) + Long.numberOfTrailingZeros(bit);
+                        if (!isSupported(t, out2[u], targetOut, domains)
+                            || directed && !isSupported(t, in2[u], targetIn, domains))
+                        {
+                            d[w] ^= bit;
+                            domainSize[u]--;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        // compute the matching order
+        int[] order = new int[n];
+        int[] connections = new int[n];
+        boolean[] ordered = new boolean[n];
+        for (int k = 0; k < n; k++) {
+            int best = -1;
+            for (int u = 0; u < n; u++) {
+                if (ordered[u]) {
+                    continue;
+                }
+                if (best == -1 || connections[u] > connections[best]
+                    || connections[u] == connections[best] && (domainSize[u] < domainSize[best]
+                        || domainSize[u] == domainSize[best]
+                            && out2[u].length + in2[u].length > out2[best].length
+                                + in2[best].length))
+                {
+                    best = u;
+                }
+            }
+            order[k] = best;
+            ordered[best] = true;
+            for (int w : out2[best]) {
+                connections[w]++;
+            }
+            if (directed) {
+                for (int w : in2[best]) {
+                    connections[w]++;
+                }
+            }
+        }
+
+        int[] position = new int[n];
+        for (int k = 0; k < n; k++) {
+            position[order[k]] = k;
+        }
+        patternVertices = new ArrayList<>(n);
+        earlierOut = new int[n][];
+        earlierIn = new int[n][];
+        parent = new int[n];
+        parentOut = new boolean[n];
+        patternLoop = new boolean[n];
+        domain = new long[n][];
+        domainList = new int[n][];
+        feasible = true;
+        for (int k = 0; k < n; k++) {
+            int u = order[k];
+            patternVertices.add(vertices2.get(u));
+            patternLoop[k] = loop2[u];
+            domain[k] = domains[u];
+            domainList[k] = toList(domains[u], domainSize[u]);
+            feasible &= domainSize[u] > 0;
+            earlierOut[k] = earlierPositions(out2[u], position, k);
+            earlierIn[k] = directed ? earlierPositions(in2[u], position, k) : earlierOut[k];
+
+            // the candidates are the target neighbors of the image of the first earlier neighbor
+            parent[k] = -1;
+            if (earlierOut[k].length > 0) {
+                parent[k] = earlierOut[k][0];
+                parentOut[k] = true;
+            }
+            if (earlierIn[k].length > 0 && (parent[k] == -1 || earlierIn[k][0] < parent[k])) {
+                parent[k] = earlierIn[k][0];
+                parentOut[k] = false;
+            }
+        }
+        if (numTargets < n) {
+            feasible = false;
+        }
+    }
+
+    /**
+     * Check whether a target vertex has, for every given pattern neighbor, a neighbor in the
+     * domain of that pattern neighbor.
+     */
+    private static boolean isSupported(
+        int t, int[] patternNeighbors, int[][] targetNeighbors, long[][] domains)
+    {
+        for (int u : patternNeighbors) {
+            long[] d = domains[u];
+            boolean found = false;
+            for (int w : targetNeighbors[t]) {
+                if ((d[w >>> 6] & (1L << w)) != 0) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] toList(long[] bits, int size)
+    {
+        int[] list = new int[size];
+        int k = 0;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                list[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return list;
+    }
+
+    private static int[] earlierPositions(int[] neighbors, int[] position, int k)
+    {
+        int[] result =
+            Arrays.stream(neighbors).map(w -> position[w]).filter(p -> p < k).toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Compute sorted adjacency arrays of a graph without self-loops.
+     *
+     * @param graph the graph
+     * @param index the vertex numbering
+     * @param outgoing whether to compute the outgoing or the incoming neighbors
+     * @param loops if not null, records which vertices have a self-loop
+     * @return the adjacency arrays
+     */
+    private static <V, E> int[][] adjacencyArrays(
+        Graph<V, E> graph, Map<V, Integer> index, boolean outgoing, boolean[] loops)
+    {
+        int n = index.size();
+        int[][] result = new int[n][];
+        for (V v : graph.vertexSet()) {
+            int i = index.get(v);
+            Set<E> edges = outgoing ? graph.outgoingEdgesOf(v) : graph.incomingEdgesOf(v);
+            int[] neighbors = new int[edges.size()];
+            int k = 0;
+            for (E e : edges) {
+                int j = index.get(Graphs.getOppositeVertex(graph, e, v));
+                if (j == i) {
+                    if (loops != null) {
+                        loops[i] = true;
+                    }
+                } else {
+                    neighbors[k++] = j;
+                }
+            }
+            int[] sorted = Arrays.copyOf(neighbors, k);
+            Arrays.sort(sorted);
+            result[i] = sorted;
+        }
+        return result;
+    }
+
+    private boolean hasTargetEdge(int a, int b)
+    {
+        int[] out = targetOut[a];
+        int[] in = targetIn[b];
+        if (out.length <= in.length) {
+            return Arrays.binarySearch(out, b) >= 0;
+        }
+        return Arrays.binarySearch(in, a) >= 0;
+    }
+
+    private boolean areCompatibleEdges(int t1, int t2, int k1, int k2)
+    {
+        return edgeComparator == null || edgeComparator.compare(
+            graph1.getEdge(targetVertices.get(t1), targetVertices.get(t2)),
+            graph2.getEdge(patternVertices.get(k1), patternVertices.get(k2))) == 0;
+    }
+
+    /**
+     * A preprocessed target graph, which stores the graph as sorted adjacency arrays. A target graph
+     * can be shared by several inspectors, including inspectors which are used concurrently, in
+     * order to avoid preprocessing the same target graph repeatedly. It does not reflect later
+     * modifications of the graph.
+     *
+     * @param <V> the type of the vertices
+     * @param <E> the type of the edges
+     */
+    public static class TargetGraph<V, E>
+    {
+        private final Graph<V, E> graph;
+        private final List<V> vertices;
+        private final int[][] out;
+        private final int[][] in;
+        private final boolean[] loop;
+
+        /**
+         * Preprocess a target graph.
+         *
+         * @param graph the target graph
+         * @throws IllegalArgumentException if the graph is mixed or allows multiple edges
+         */
+        public TargetGraph(Graph<V, E> graph)
+        {
+            requireSupported(graph.getType());
+            this.graph = graph;
+            VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+            this.vertices = mapping.getIndexList();
+            Map<V, Integer> index = mapping.getVertexMap();
+            this.loop = new boolean[vertices.size()];
+            this.out = adjacencyArrays(graph, index, true, loop);
+            this.in =
+                graph.getType().isDirected() ? adjacencyArrays(graph, index, false, null) : out;
+        }
+
+        /**
+         * Get the target graph.
+         *
+         * @return the target graph
+         */
+        public Graph<V, E> getGraph()
+        {
+            return graph;
+        }
+    }
+
+    /**
+     * The state of a depth-first search over the pattern vertices in matching order.
+     */
+    private class Matcher
+    {
+        private final int n = patternVertices.size();
+        // pattern position of every target vertex, or -1
+        private final int[] core1;
+        // target vertex of every pattern position
+        private final int[] core2 = new int[n];
+        // number of mapped outgoing and incoming neighbors of every target vertex
+        private final int[] mappedOut;
+        private final int[] mappedIn;
+
+        private final int[][] candidates = new int[n][];
+        private final int[] candidateStart = new int[n];
+        private final int[] candidateEnd = new int[n];
+        private int depth;
+
+        Matcher()
+        {
+            int numTargets = targetVertices.size();
+            this.core1 = new int[numTargets];
+            Arrays.fill(core1, -1);
+            this.mappedOut = new int[numTargets];
+            this.mappedIn = directed ? new int[numTargets] : mappedOut;
+        }
+
+        /**
+         * Restart the search, restricting the first pattern vertex to a range of its domain.
+         *
+         * @param from the first index in the domain
+         * @param to the index after the last index in the domain
+         */
+        void start(int from, int to)
+        {
+            while (depth > 0) {
+                depth--;
+                unmap(depth);
+            }
+            candidates[0] = domainList[0];
+            candidateStart[0] = from;
+            candidateEnd[0] = to;
+        }
+
+        /**
+         * Advance to the next complete mapping.
+         *
+         * @return true if a mapping was found, false if the search is exhausted
+         */
+        boolean next()
+        {
+            if (depth == n) {
+                depth--;
+                unmap(depth);
+            }
+            while (true) {
+                int d = depth;
+                int[] list = candidates[d];
+                int end = candidateEnd[d];
+                int i = candidateStart[d];
+                while (i < end && !isFeasible(d, list[i])) {
+                    i++;
+                }
+                if (i < end) {
+                    candidateStart[d] = i + 1;
+                    map(d, list[i]);
+                    depth = d + 1;
+                    if (depth == n) {
+                        return true;
+                    }
+                    initCandidates(depth);
+                } else if (d == 0) {
+                    return false;
+                } else {
+                    depth = d - 1;
+                    unmap(depth);
+                }
+            }
+        }
+
+        private void initCandidates(int d)
+        {
+            int p = parent[d];
+            if (p == -1) {
+                candidates[d] = domainList[d];
+            } else {
+                // the pattern vertex is adjacent to p, the candidates are adjacent to its image
+                candidates[d] = parentOut[d] ? targetIn[core2[p]] : targetOut[core2[p]];
+            }
+            candidateStart[d] = 0;
+            candidateEnd[d] = candidates[d].length;
+        }
+
+        private boolean isFeasible(int d, int t)
+        {
+            if (core1[t] != -1 || (domain[d][t >>> 6] & (1L << t)) == 0) {
+                return false;
+            }
+            int[] out = earlierOut[d];
+            int[] in = earlierIn[d];
+            // together with the edge checks below this ensures there are no additional edges
+            if (mappedOut[t] != out.length || directed && mappedIn[t] != in.length) {
+                return false;
+            }
+            for (int e : out) {
+                int w = core2[e];
+                if (!hasTargetEdge(t, w) || !areCompatibleEdges(t, w, d, e)) {
+                    return false;
+                }
+            }
+            if (directed) {
+                for (int e : in) {
+                    int w = core2[e];
+                    if (!hasTargetEdge(w, t) || !areCompatibleEdges(w, t, e, d)) {
+                        return false;
+                    }
+                }
+            }
+            return !patternLoop[d] || areCompatibleEdges(t, t, d, d);
+        }
+
+        private void map(int d, int t)
+        {
+            core1[t] = d;
+            core2[d] = t;
+            for (int w : targetIn[t]) {
+                mappedOut[w]++;
+            }
+            if (directed) {
+                for (int w : targetOut[t]) {
+                    mappedIn[w]++;
+                }
+            }
+        }
+
+        private void unmap(int d)
+        {
+            int t = core2[d];
+            core1[t] = -1;
+            for (int w : targetIn[t]) {
+                mappedOut[w]--;
+            }
+            if (directed) {
+                for (int w : targetOut[t]) {
+                    mappedIn[w]--;
+                }
+            }
+        }
+
+        /**
+         * Create the current mapping.
+         */
+        GraphMapping<V, E> mapping()
+        {
+            Map<V, V> forward = CollectionUtil.newHashMapWithExpectedSize(n);
+            Map<V, V> backward = CollectionUtil.newHashMapWithExpectedSize(n);
+            for (int d = 0; d < n; d++) {
+                V v1 = targetVertices.get(core2[d]);
+                V v2 = patternVertices.get(d);
+                forward.put(v1, v2);
+                backward.put(v2, v1);
+            }
+            return new IsomorphicGraphMapping<>(forward, backward, graph1, graph2);
+        }
+    }
+
+    /**
+     * Iterator which computes the mappings lazily.
+     */
+    private class MappingIterator
+        implements
+        Iterator<GraphMapping<V, E>>
+    {
+        private final Matcher matcher;
+        private GraphMapping<V, E> nextMapping;
+        private boolean done;
+
+        MappingIterator()
+        {
+            if (!feasible) {
+                matcher = null;
+                done = true;
+            } else if (patternVertices.isEmpty()) {
+                matcher = null;
+                nextMapping = new Matcher().mapping();
+                done = true;
+            } else {
+                matcher = new Matcher();
+                matcher.start(0, domainList[0].length);
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if (nextMapping == null && !done) {
+                if (matcher.next()) {
+                    nextMapping = matcher.mapping();
+                } else {
+                    done = true;
+                }
+            }
+            return nextMapping != null;
+        }
+
+        @Override
+        public GraphMapping<V, E> next()
+        {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            GraphMapping<V, E> result = nextMapping;
+            nextMapping = null;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Approximate betweenness centrality by source sampling.
+ *
+ * <p>
+ * Instead of accumulating the dependencies of all $n$ vertices of the graph as
+ * {@link BetweennessCentrality} does, this implementation accumulates the dependencies of $k$
+ * sources which are chosen uniformly at random without replacement, and scales the result by
+ * $n/k$. This gives an unbiased estimate of the betweenness of every vertex in $O(km)$ time for
+ * unweighted and $O(k(m + n \log n))$ time for weighted graphs. See the paper: Ulrik Brandes and
+ * Christian Pich: Centrality Estimation in Large Networks. International Journal of Bifurcation
+ * and Chaos 17(7):2303-2318, 2007.
+ *
+ * <p>
+ * The dependency of a single source on a vertex lies in $[0, n-2]$. Therefore, by Hoeffding's
+ * inequality and the union bound, if the number of samples is at least $\lceil \ln(2n/\delta) /
+ * (2\epsilon^2) \rceil$ then with probability at least $1-\delta$ all estimates differ from the
+ * exact values by at most $\epsilon n (n-2)$, or $\epsilon n(n-2)/2$ for undirected graphs. For
+ * normalized scores this is an additive error of at most $\epsilon n/(n-1)$. Use
+ * {@link #getSampleSize(Graph, double, double)} in order to compute this number of samples. If the
+ * number of samples is at least $n$, the exact betweenness centrality is computed.
+ *
+ * <p>
+ * Self-loops are ignored and multiple edges are treated as distinct shortest paths. Shortest path
+ * counters are not checked for overflow. The sources can be processed in parallel using a
+ * {@link ThreadPoolExecutor}. It is up to a user of this algorithm to handle the creation and
+ * termination of the provided {@code executor}. For utility methods to manage a
+ * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ApproximateBetweennessCentrality<V, E>
+    implements
+    VertexScoringAlgorithm<V, Double>
+{
+    private final Graph<V, E> graph;
+    private final int numberOfSamples;
+    private final boolean normalize;
+    private final Random rng;
+    private final ThreadPoolExecutor executor;
+    private Map<V, Double> scores;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param graph the input graph
+     * @param numberOfSamples the number of sources to sample
+     */
+    public ApproximateBetweennessCentrality(Graph<V, E> graph, int numberOfSamples)
+    {
+        this(graph, numberOfSamples, false, new Random());
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param graph the input graph
+     * @param numberOfSamples the number of sources to sample
+     * @param normalize whether to normalize by dividing the scores by $(n-1)(n-2)$, where $n$ is
+     *        the number of vertices of the graph
+     * @param rng the random number generator used to sample the sources
+     */
+    public ApproximateBetweennessCentrality(
+        Graph<V, E> graph, int numberOfSamples, boolean normalize, Random rng)
+    {
+        this(graph, numberOfSamples, normalize, rng, null);
+    }
+
+    /**
+     * Construct a new instance which processes the sources in parallel.
+     *
+     * @param graph the input graph
+     * @param numberOfSamples the number of sources to sample
+     * @param normalize whether to normalize by dividing the scores by $(n-1)(n-2)$, where $n$ is
+     *        the number of vertices of the graph
+     * @param rng the random number generator used to sample the sources
+     * @param executor executor which will be used for parallelization, or {@code null} in order to
+     *        run sequentially
+     * @throws IllegalArgumentException if the number of samples is not positive
+     */
+    public ApproximateBetweennessCentrality(
+        Graph<V, E> graph, int numberOfSamples, boolean normalize, Random rng,
+        ThreadPoolExecutor executor)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        if (numberOfSamples < 1) {
+            throw new IllegalArgumentException("Number of samples must be positive");
+        }
+        this.numberOfSamples = numberOfSamples;
+        this.normalize = normalize;
+        this.rng = Objects.requireNonNull(rng, "Random number generator cannot be null");
+        this.executor = executor;
+        this.scores = null;
+    }
+
+    /**
+     * Compute the number of samples which guarantees that with probability at least $1-\delta$ all
+     * estimates are within an additive error of $\epsilon n(n-2)$ from the exact values, or
+     * $\epsilon n(n-2)/2$ for undirected graphs.
+     *
+     * @param graph the input graph
+     * @param epsilon the additive error on the normalized betweenness, must be in $(0,1)$
+     * @param delta the failure probability, must be in $(0,1)$
+     * @return the number of samples
+     * @throws IllegalArgumentException if epsilon or delta are not in $(0,1)$
+     */
+    public static int getSampleSize(Graph<?, ?> graph, double epsilon, double delta)
+    {
+        return BrandesAccumulator
+            .hoeffdingSampleSize(graph.vertexSet().size(), epsilon, delta);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<V, Double> getScores()
+    {
+        if (scores == null) {
+            compute();
+        }
+        return Collections.unmodifiableMap(scores);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double getVertexScore(V v)
+    {
+        if (!graph.containsVertex(v)) {
+            throw new IllegalArgumentException("Cannot return score of unknown vertex");
+        }
+        if (scores == null) {
+            compute();
+        }
+        return scores.get(v);
+    }
+
+    private void compute()
+    {
+        BrandesAccumulator<V, E> accumulator = new BrandesAccumulator<>(graph, false);
+        int n = accumulator.vertexCount();
+        int[] sources = accumulator.sampleSources(numberOfSamples, rng);
+        double scale = sources.length == 0 ? 1d : (double) n / sources.length;
+        double[] result =
+            accumulator.accumulate(sources, scale, true, false, executor).vertexScores;
+
+        double factor = graph.getType().isDirected() ? 1d : 2d;
+        if (normalize) {
+            int normalizationFactor = (n - 1) * (n - 2);
+            if (normalizationFactor != 0) {
+                factor *= normalizationFactor;
+            }
+        }
+
+        scores = CollectionUtil.newHashMapWithExpectedSize(n);
+        for (int v = 0; v < n; v++) {
+            scores.put(accumulator.getVertex(v), result[v] / factor);
+        }
+    }
+
+}
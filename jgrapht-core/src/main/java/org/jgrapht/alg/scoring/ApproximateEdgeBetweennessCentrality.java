@@ -0,0 +1,175 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Approximate edge betweenness centrality by source sampling.
+ *
+ * <p>
+ * Instead of starting shortest path computations from all $n$ vertices of the graph as
+ * {@link EdgeBetweennessCentrality} does, this implementation accumulates the dependencies of $k$
+ * sources which are chosen uniformly at random without replacement, and scales the result by
+ * $n/k$. This gives an unbiased estimate of the betweenness of every edge in $O(km)$ time for
+ * unweighted and $O(k(m + n \log n))$ time for weighted graphs. See the paper: Ulrik Brandes and
+ * Christian Pich: Centrality Estimation in Large Networks. International Journal of Bifurcation
+ * and Chaos 17(7):2303-2318, 2007.
+ *
+ * <p>
+ * The dependency of a single source on an edge lies in $[0, n-1]$. Therefore, by Hoeffding's
+ * inequality and the union bound, if the number of samples is at least $\lceil \ln(2m/\delta) /
+ * (2\epsilon^2) \rceil$ then with probability at least $1-\delta$ all estimates differ from the
+ * exact values by at most $\epsilon n (n-1)$, or $\epsilon n(n-1)/2$ for undirected graphs. Use
+ * {@link #getSampleSize(Graph, double, double)} in order to compute this number of samples. If the
+ * number of samples is at least $n$, the exact edge betweenness centrality is computed.
+ *
+ * <p>
+ * Self-loops are ignored and receive a score of zero. Unlike {@link EdgeBetweennessCentrality},
+ * multiple edges are supported and are treated as distinct shortest paths. Shortest path
+ * counters are not checked for overflow. The sources can be processed in parallel using a
+ * {@link ThreadPoolExecutor}. It is up to a user of this algorithm to handle the creation and
+ * termination of the provided {@code executor}. For utility methods to manage a
+ * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ApproximateEdgeBetweennessCentrality<V, E>
+    implements
+    EdgeScoringAlgorithm<E, Double>
+{
+    private final Graph<V, E> graph;
+    private final int numberOfSamples;
+    private final Random rng;
+    private final ThreadPoolExecutor executor;
+    private Map<E, Double> scores;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param graph the input graph
+     * @param numberOfSamples the number of sources to sample
+     */
+    public ApproximateEdgeBetweennessCentrality(Graph<V, E> graph, int numberOfSamples)
+    {
+        this(graph, numberOfSamples, new Random());
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param graph the input graph
+     * @param numberOfSamples the number of sources to sample
+     * @param rng the random number generator used to sample the sources
+     */
+    public ApproximateEdgeBetweennessCentrality(
+        Graph<V, E> graph, int numberOfSamples, Random rng)
+    {
+        this(graph, numberOfSamples, rng, null);
+    }
+
+    /**
+     * Construct a new instance which processes the sources in parallel.
+     *
+     * @param graph the input graph
+     * @param numberOfSamples the number of sources to sample
+     * @param rng the random number generator used to sample the sources
+     * @param executor executor which will be used for parallelization, or {@code null} in order to
+     *        run sequentially
+     * @throws IllegalArgumentException if the number of samples is not positive
+     */
+    public ApproximateEdgeBetweennessCentrality(
+        Graph<V, E> graph, int numberOfSamples, Random rng, ThreadPoolExecutor executor)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        if (numberOfSamples < 1) {
+            throw new IllegalArgumentException("Number of samples must be positive");
+        }
+        this.numberOfSamples = numberOfSamples;
+        this.rng = Objects.requireNonNull(rng, "Random number generator cannot be null");
+        this.executor = executor;
+        this.scores = null;
+    }
+
+    /**
+     * Compute the number of samples which guarantees that with probability at least $1-\delta$ all
+     * estimates are within an additive error of $\epsilon n(n-1)$ from the exact values, or
+     * $\epsilon n(n-1)/2$ for undirected graphs.
+     *
+     * @param graph the input graph
+     * @param epsilon the additive error on the normalized betweenness, must be in $(0,1)$
+     * @param delta the failure probability, must be in $(0,1)$
+     * @return the number of samples
+     * @throws IllegalArgumentException if epsilon or delta are not in $(0,1)$
+     */
+    public static int getSampleSize(Graph<?, ?> graph, double epsilon, double delta)
+    {
+        return BrandesAccumulator
+            .hoeffdingSampleSize(graph.edgeSet().size(), epsilon, delta);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<E, Double> getScores()
+    {
+        if (scores == null) {
+            compute();
+        }
+        return Collections.unmodifiableMap(scores);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double getEdgeScore(E e)
+    {
+        if (!graph.containsEdge(e)) {
+            throw new IllegalArgumentException("Cannot return score of unknown edge");
+        }
+        if (scores == null) {
+            compute();
+        }
+        return scores.get(e);
+    }
+
+    private void compute()
+    {
+        BrandesAccumulator<V, E> accumulator = new BrandesAccumulator<>(graph, false);
+        int n = accumulator.vertexCount();
+        int m = accumulator.edgeCount();
+        int[] sources = accumulator.sampleSources(numberOfSamples, rng);
+        double scale = sources.length == 0 ? 1d : (double) n / sources.length;
+        double[] result = accumulator.accumulate(sources, scale, false, true, executor).edgeScores;
+
+        double factor = graph.getType().isDirected() ? 1d : 2d;
+        scores = CollectionUtil.newHashMapWithExpectedSize(m);
+        for (int e = 0; e < m; e++) {
+            scores.put(accumulator.getEdge(e), result[e] / factor);
+        }
+    }
+
+}
@@ -17,20 +17,15 @@
  */
 package org.jgrapht.alg.scoring;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Queue;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.jgrapht.Graph;
-import org.jgrapht.Graphs;
 import org.jgrapht.alg.interfaces.VertexScoringAlgorithm;
-import org.jheaps.AddressableHeap;
-import org.jheaps.tree.PairingHeap;
+import org.jgrapht.util.ConcurrencyUtil;
 
 /**
  * Betweenness centrality.
@@ -59,6 +54,12 @@ import org.jheaps.tree.PairingHeap;
  * allows the user to adjust whether an exception is thrown in case overflow occurs. Default
  * behavior is to ignore overflow issues.
  *
+ * <p>
+ * The single source computations are independent and can optionally run in parallel, using a
+ * {@link ThreadPoolExecutor} which is supplied to this algorithm from outside. Each thread
+ * accumulates the dependencies of the sources it processes into a thread-local array and the
+ * arrays are summed at the end. Internally, vertices are mapped to integers and all per source data
+ * is stored in primitive arrays which are reused between sources.
  * 
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -87,6 +88,11 @@ public class BetweennessCentrality<V, E>
      */
     private OverflowStrategy overflowStrategy;
 
+    /**
+     * Executor used for parallelization, {@code null} if the algorithm runs sequentially.
+     */
+    private final ThreadPoolExecutor executor;
+
     /**
      * Strategy followed when counting paths.
      */
@@ -135,12 +141,51 @@ public class BetweennessCentrality<V, E>
      */
     public BetweennessCentrality(
         Graph<V, E> graph, boolean normalize, OverflowStrategy overflowStrategy)
+    {
+        this(graph, normalize, overflowStrategy, null);
+    }
+
+    /**
+     * Construct a new instance which runs the single source computations in parallel. It is up to
+     * a user of this algorithm to handle the creation and termination of the provided
+     * {@code executor}. For utility methods to manage a {@code ThreadPoolExecutor} see
+     * {@link ConcurrencyUtil}.
+     * 
+     * @param graph the input graph
+     * @param normalize whether to normalize by dividing the closeness by $(n-1) \cdot (n-2)$, where
+     *        $n$ is the number of vertices of the graph
+     * @param executor executor which will be used for parallelization
+     */
+    public BetweennessCentrality(Graph<V, E> graph, boolean normalize, ThreadPoolExecutor executor)
+    {
+        this(
+            graph, normalize, OverflowStrategy.IGNORE_OVERFLOW,
+            Objects.requireNonNull(executor, "executor must not be null!"));
+    }
+
+    /**
+     * Construct a new instance. If {@code executor} is not {@code null} the single source
+     * computations run in parallel. It is up to a user of this algorithm to handle the creation
+     * and termination of the provided {@code executor}. For utility methods to manage a
+     * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+     * 
+     * @param graph the input graph
+     * @param normalize whether to normalize by dividing the closeness by $(n-1) \cdot (n-2)$, where
+     *        $n$ is the number of vertices of the graph
+     * @param overflowStrategy strategy to use if overflow is detected
+     * @param executor executor which will be used for parallelization, or {@code null} in order to
+     *        run sequentially
+     */
+    public BetweennessCentrality(
+        Graph<V, E> graph, boolean normalize, OverflowStrategy overflowStrategy,
+        ThreadPoolExecutor executor)
     {
         this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
 
         this.scores = null;
         this.normalize = normalize;
         this.overflowStrategy = overflowStrategy;
+        this.executor = executor;
     }
 
     /**
@@ -175,191 +220,31 @@ public class BetweennessCentrality<V, E>
      */
     private void compute()
     {
-        // initialize result container
-        scores = new HashMap<>();
-        graph.vertexSet().forEach(v -> scores.put(v, 0.0));
+        BrandesAccumulator<V, E> accumulator = new BrandesAccumulator<>(
+            graph, overflowStrategy.equals(OverflowStrategy.THROW_EXCEPTION_ON_OVERFLOW));
+        int n = accumulator.vertexCount();
 
         // compute for each source
-        graph.vertexSet().forEach(this::compute);
+        int[] sources = new int[n];
+        for (int s = 0; s < n; s++) {
+            sources[s] = s;
+        }
+        double[] result = accumulator.accumulate(sources, 1d, true, false, executor).vertexScores;
 
         // For undirected graph, divide scores by two as each shortest path
         // considered twice.
-        if (!graph.getType().isDirected()) {
-            scores.forEach((v, score) -> scores.put(v, score / 2));
-        }
-
+        double factor = graph.getType().isDirected() ? 1d : 2d;
         if (normalize) {
-            int n = graph.vertexSet().size();
             int normalizationFactor = (n - 1) * (n - 2);
             if (normalizationFactor != 0) {
-                scores.forEach((v, score) -> scores.put(v, score / normalizationFactor));
-            }
-        }
-    }
-
-    private void compute(V s)
-    {
-        // initialize
-        ArrayDeque<V> stack = new ArrayDeque<>();
-        Map<V, List<V>> predecessors = new HashMap<>();
-        graph.vertexSet().forEach(w -> predecessors.put(w, new ArrayList<>()));
-
-        // Number of shortest paths from s to v
-        Map<V, Long> sigma = new HashMap<>();
-        graph.vertexSet().forEach(t -> sigma.put(t, 0l));
-        sigma.put(s, 1l);
-
-        // Distance (Weight) of the shortest path from s to v
-        Map<V, Double> distance = new HashMap<>();
-        graph.vertexSet().forEach(t -> distance.put(t, Double.POSITIVE_INFINITY));
-        distance.put(s, 0.0);
-
-        MyQueue<V, Double> queue =
-            graph.getType().isWeighted() ? new WeightedQueue() : new UnweightedQueue();
-        queue.insert(s, 0.0);
-
-        // 1. compute the length and the number of shortest paths between all s to v
-        while (!queue.isEmpty()) {
-            V v = queue.remove();
-            stack.push(v);
-
-            for (E e : graph.outgoingEdgesOf(v)) {
-                V w = Graphs.getOppositeVertex(graph, e, v);
-                double eWeight = graph.getEdgeWeight(e);
-                if (eWeight < 0.0) {
-                    throw new IllegalArgumentException("Negative edge weight not allowed");
-                }
-                double d = distance.get(v) + eWeight;
-                // w found for the first time?
-                if (distance.get(w) == Double.POSITIVE_INFINITY) {
-                    queue.insert(w, d);
-                    distance.put(w, d);
-                    sigma.put(w, sigma.get(v));
-                    predecessors.get(w).add(v);
-                }
-                // shortest path to w via v?
-                else if (distance.get(w) == d) {
-                    // queue.update(w, d);
-                    long wCounter = sigma.get(w);
-                    long vCounter = sigma.get(v);
-                    long sum = wCounter + vCounter;
-                    if (overflowStrategy.equals(OverflowStrategy.THROW_EXCEPTION_ON_OVERFLOW)
-                        && sum < 0)
-                    {
-                        throw new ArithmeticException("long overflow");
-                    }
-                    sigma.put(w, sum);
-                    predecessors.get(w).add(v);
-                } else if (distance.get(w) > d) {
-                    queue.update(w, d);
-                    distance.put(w, d);
-                    sigma.put(w, sigma.get(v));
-                    predecessors.get(w).clear();
-                    predecessors.get(w).add(v);
-                }
-            }
-        }
-
-        // 2. sum all pair dependencies.
-        // The pair-dependency of s and v in w
-        Map<V, Double> dependency = new HashMap<>();
-        graph.vertexSet().forEach(v -> dependency.put(v, 0.0));
-        // S returns vertices in order of non-increasing distance from s
-        while (!stack.isEmpty()) {
-            V w = stack.pop();
-            for (V v : predecessors.get(w)) {
-                dependency
-                    .put(
-                        v,
-                        dependency.get(v)
-                            + (sigma.get(v).doubleValue() / sigma.get(w).doubleValue())
-                                * (1 + dependency.get(w)));
-            }
-            if (!w.equals(s)) {
-                scores.put(w, scores.get(w) + dependency.get(w));
-            }
-        }
-    }
-
-    private interface MyQueue<T, D>
-    {
-        void insert(T t, D d);
-
-        void update(T t, D d);
-
-        T remove();
-
-        boolean isEmpty();
-    }
-
-    private class WeightedQueue
-        implements
-        MyQueue<V, Double>
-    {
-
-        AddressableHeap<Double, V> delegate = new PairingHeap<>();
-        Map<V, AddressableHeap.Handle<Double, V>> seen = new HashMap<>();
-
-        @Override
-        public void insert(V t, Double d)
-        {
-            AddressableHeap.Handle<Double, V> node = delegate.insert(d, t);
-            seen.put(t, node);
-        }
-
-        @Override
-        public void update(V t, Double d)
-        {
-            if (!seen.containsKey(t)) {
-                throw new IllegalArgumentException("Element " + t + " does not exist in queue");
+                factor *= normalizationFactor;
             }
-            seen.get(t).decreaseKey(d);
-        }
-
-        @Override
-        public V remove()
-        {
-            return delegate.deleteMin().getValue();
-        }
-
-        @Override
-        public boolean isEmpty()
-        {
-            return delegate.isEmpty();
         }
 
-    }
-
-    private class UnweightedQueue
-        implements
-        MyQueue<V, Double>
-    {
-
-        Queue<V> delegate = new ArrayDeque<>();
-
-        @Override
-        public void insert(V t, Double d)
-        {
-            delegate.add(t);
-        }
-
-        @Override
-        public void update(V t, Double d)
-        {
-            // do nothing
-        }
-
-        @Override
-        public V remove()
-        {
-            return delegate.remove();
-        }
-
-        @Override
-        public boolean isEmpty()
-        {
-            return delegate.isEmpty();
+        // initialize result container
+        scores = new HashMap<>();
+        for (int v = 0; v < n; v++) {
+            scores.put(accumulator.getVertex(v), result[v] / factor);
         }
-
     }
 }
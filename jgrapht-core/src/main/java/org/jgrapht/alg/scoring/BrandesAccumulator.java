@@ -0,0 +1,495 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Single-source shortest path counting and dependency accumulation of Brandes' algorithm, on an
+ * integer indexed copy of the graph.
+ *
+ * <p>
+ * The constructor maps the vertices and the edges of the graph to $[0,n)$ and $[0,m)$ respectively
+ * and stores the adjacency of the graph in compressed sparse row format. All per source data lives
+ * in a {@link Workspace}. A workspace is not thread-safe, but any number of workspaces can be used
+ * concurrently on the same instance, for example one per thread. After each source the workspace is
+ * reset in time linear to the number of reached vertices.
+ *
+ * <p>
+ * Self-loops are ignored since they never belong to a shortest path. Multiple edges are treated as
+ * distinct shortest paths.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+final class BrandesAccumulator<V, E>
+{
+    private final Graph<V, E> graph;
+    private final boolean weighted;
+    private final boolean throwOnOverflow;
+
+    private final List<V> vertices;
+    private final Map<V, Integer> vertexIndex;
+    private final List<E> edges;
+
+    /*
+     * Outgoing arcs, arc i of vertex v is at position outStart[v] + i.
+     */
+    private final int[] outStart;
+    private final int[] outTarget;
+    private final int[] outEdge;
+    private final double[] outWeight;
+
+    /*
+     * Incoming arcs, for undirected graphs these are the same arrays as the outgoing ones.
+     */
+    private final int[] inStart;
+    private final int[] inSource;
+    private final int[] inEdge;
+    private final double[] inWeight;
+
+    /**
+     * Create a new instance.
+     *
+     * @param graph the input graph
+     * @param throwOnOverflow whether to throw an exception if the shortest path counters overflow
+     * @throws IllegalArgumentException if the graph is weighted and has a negative edge weight
+     */
+    BrandesAccumulator(Graph<V, E> graph, boolean throwOnOverflow)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this.weighted = graph.getType().isWeighted();
+        this.throwOnOverflow = throwOnOverflow;
+
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        this.vertices = mapping.getIndexList();
+        this.vertexIndex = mapping.getVertexMap();
+        this.edges = new ArrayList<>(graph.edgeSet());
+
+        int n = vertices.size();
+        boolean directed = graph.getType().isDirected();
+
+        Map<E, Integer> edgeIndex = CollectionUtil.newHashMapWithExpectedSize(edges.size());
+        for (E e : edges) {
+            edgeIndex.put(e, edgeIndex.size());
+        }
+
+        this.outStart = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            outStart[v + 1] = outStart[v] + countArcs(graph.outgoingEdgesOf(vertices.get(v)));
+        }
+        this.outTarget = new int[outStart[n]];
+        this.outEdge = new int[outStart[n]];
+        this.outWeight = weighted ? new double[outStart[n]] : null;
+        fillArcs(true, outStart, outTarget, outEdge, outWeight, edgeIndex);
+
+        if (directed) {
+            this.inStart = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                inStart[v + 1] = inStart[v] + countArcs(graph.incomingEdgesOf(vertices.get(v)));
+            }
+            this.inSource = new int[inStart[n]];
+            this.inEdge = new int[inStart[n]];
+            this.inWeight = weighted ? new double[inStart[n]] : null;
+            fillArcs(false, inStart, inSource, inEdge, inWeight, edgeIndex);
+        } else {
+            this.inStart = outStart;
+            this.inSource = outTarget;
+            this.inEdge = outEdge;
+            this.inWeight = outWeight;
+        }
+    }
+
+    private int countArcs(Set<E> incident)
+    {
+        int count = 0;
+        for (E e : incident) {
+            if (!graph.getEdgeSource(e).equals(graph.getEdgeTarget(e))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void fillArcs(
+        boolean outgoing, int[] start, int[] other, int[] edgeIds, double[] weights,
+        Map<E, Integer> edgeIndex)
+    {
+        for (int v = 0; v < vertices.size(); v++) {
+            V vertex = vertices.get(v);
+            int pos = start[v];
+            for (E e : outgoing ? graph.outgoingEdgesOf(vertex) : graph.incomingEdgesOf(vertex)) {
+                V u = Graphs.getOppositeVertex(graph, e, vertex);
+                if (u.equals(vertex)) {
+                    continue;
+                }
+                other[pos] = vertexIndex.get(u);
+                edgeIds[pos] = edgeIndex.get(e);
+                if (weights != null) {
+                    double w = graph.getEdgeWeight(e);
+                    if (w < 0d) {
+                        throw new IllegalArgumentException("Negative edge weight not allowed");
+                    }
+                    weights[pos] = w;
+                }
+                pos++;
+            }
+        }
+    }
+
+    /**
+     * Get the number of vertices.
+     *
+     * @return the number of vertices
+     */
+    int vertexCount()
+    {
+        return vertices.size();
+    }
+
+    /**
+     * Get the number of edges.
+     *
+     * @return the number of edges
+     */
+    int edgeCount()
+    {
+        return edges.size();
+    }
+
+    /**
+     * Get the vertex with a given index.
+     *
+     * @param v the index
+     * @return the vertex
+     */
+    V getVertex(int v)
+    {
+        return vertices.get(v);
+    }
+
+    /**
+     * Get the index of a vertex.
+     *
+     * @param v the vertex
+     * @return the index of the vertex
+     */
+    int getVertexIndex(V v)
+    {
+        return vertexIndex.get(v);
+    }
+
+    /**
+     * Get the edge with a given index.
+     *
+     * @param e the index
+     * @return the edge
+     */
+    E getEdge(int e)
+    {
+        return edges.get(e);
+    }
+
+    /**
+     * Select distinct sources uniformly at random, using a partial Fisher-Yates shuffle.
+     *
+     * @param k the number of sources, if at least the number of vertices all vertices are returned
+     * @param rng the random number generator
+     * @return the indices of the sources
+     */
+    int[] sampleSources(int k, Random rng)
+    {
+        int n = vertices.size();
+        int[] permutation = new int[n];
+        for (int v = 0; v < n; v++) {
+            permutation[v] = v;
+        }
+        k = Math.min(k, n);
+        for (int i = 0; i < k; i++) {
+            int j = i + rng.nextInt(n - i);
+            int tmp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = tmp;
+        }
+        return k == n ? permutation : Arrays.copyOf(permutation, k);
+    }
+
+    /**
+     * Compute the number of samples, drawn uniformly from $[0,1]$ valued random variables, which
+     * by Hoeffding's inequality and the union bound estimates the expected values of a number of
+     * such variables simultaneously within an additive error $\epsilon$ with probability at least
+     * $1-\delta$. This is $\lceil \ln(2r/\delta)/(2\epsilon^2) \rceil$ where $r$ is the number of
+     * variables.
+     *
+     * @param r the number of random variables
+     * @param epsilon the additive error
+     * @param delta the failure probability
+     * @return the number of samples
+     * @throws IllegalArgumentException if epsilon or delta are not in $(0,1)$
+     */
+    static int hoeffdingSampleSize(int r, double epsilon, double delta)
+    {
+        if (!(epsilon > 0d && epsilon < 1d)) {
+            throw new IllegalArgumentException("Epsilon must be in (0,1)");
+        }
+        if (!(delta > 0d && delta < 1d)) {
+            throw new IllegalArgumentException("Delta must be in (0,1)");
+        }
+        double k = Math.ceil(Math.log(2d * Math.max(r, 1) / delta) / (2d * epsilon * epsilon));
+        return k >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) k;
+    }
+
+    /**
+     * Accumulate the dependencies of a sequence of sources. If an executor is given, the sources
+     * are handed out dynamically to one task per thread of the executor. Each task uses its own
+     * workspace and accumulates into its own arrays, which are summed at the end.
+     *
+     * @param sources the indices of the sources
+     * @param scale factor to multiply each dependency with
+     * @param vertexScores whether to compute vertex dependencies
+     * @param edgeScores whether to compute edge dependencies
+     * @param executor executor which will be used for parallelization, or {@code null} in order to
+     *        run sequentially
+     * @return the accumulated scores
+     */
+    Scores accumulate(
+        int[] sources, double scale, boolean vertexScores, boolean edgeScores,
+        ThreadPoolExecutor executor)
+    {
+        List<Scores> partialScores = Collections.synchronizedList(new ArrayList<>());
+        ConcurrencyUtil.forEachIndex(executor, sources.length, () -> {
+            Scores local = new Scores(vertexScores, edgeScores);
+            partialScores.add(local);
+            Workspace workspace = createWorkspace();
+            return i -> workspace
+                .accumulate(sources[i], scale, local.vertexScores, local.edgeScores);
+        });
+
+        Scores scores = partialScores.get(0);
+        for (int i = 1; i < partialScores.size(); i++) {
+            scores.add(partialScores.get(i));
+        }
+        return scores;
+    }
+
+    /**
+     * Create a new workspace.
+     *
+     * @return a new workspace
+     */
+    Workspace createWorkspace()
+    {
+        return new Workspace();
+    }
+
+    /**
+     * The per source data of the algorithm.
+     */
+    final class Workspace
+    {
+        private final double[] dist;
+        private final long[] sigma;
+        private final double[] delta;
+        private final int[] order;
+        private final int[] position;
+        private final IndexedDaryHeap heap;
+        private int reached;
+
+        private Workspace()
+        {
+            int n = vertices.size();
+            this.dist = new double[n];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            this.sigma = new long[n];
+            this.delta = new double[n];
+            this.order = new int[n];
+            this.position = new int[n];
+            this.heap = weighted ? new IndexedDaryHeap(n) : null;
+        }
+
+        /**
+         * Compute the shortest paths from a source and accumulate the dependencies of the source
+         * on all vertices and edges. The dependencies, multiplied by {@code scale}, are added to
+         * the given arrays.
+         *
+         * @param s the index of the source
+         * @param scale factor to multiply each dependency with
+         * @param vertexScores array indexed by vertex to add the vertex dependencies to, or
+         *        {@code null}
+         * @param edgeScores array indexed by edge to add the edge dependencies to, or {@code null}
+         * @throws ArithmeticException if the path counters overflow and overflow checking is
+         *         enabled
+         */
+        void accumulate(int s, double scale, double[] vertexScores, double[] edgeScores)
+        {
+            if (weighted) {
+                dijkstra(s);
+            } else {
+                bfs(s);
+            }
+
+            // vertices in order of non-increasing distance from s
+            for (int i = reached - 1; i >= 0; i--) {
+                int w = order[i];
+                double sigmaW = sigma[w];
+                double coefficient = 1d + delta[w];
+                for (int a = inStart[w], end = inStart[w + 1]; a < end; a++) {
+                    int v = inSource[a];
+                    if (!isPredecessor(v, w, a)) {
+                        continue;
+                    }
+                    double c = (sigma[v] / sigmaW) * coefficient;
+                    delta[v] += c;
+                    if (edgeScores != null) {
+                        edgeScores[inEdge[a]] += scale * c;
+                    }
+                }
+                if (w != s && vertexScores != null) {
+                    vertexScores[w] += scale * delta[w];
+                }
+            }
+
+            reset();
+        }
+
+        private boolean isPredecessor(int v, int w, int arc)
+        {
+            if (dist[v] == Double.POSITIVE_INFINITY || position[v] >= position[w]) {
+                return false;
+            }
+            if (weighted) {
+                return dist[v] + inWeight[arc] == dist[w];
+            }
+            return dist[v] + 1d == dist[w];
+        }
+
+        private void bfs(int s)
+        {
+            dist[s] = 0d;
+            sigma[s] = 1;
+            position[s] = 0;
+            order[0] = s;
+            reached = 1;
+
+            for (int head = 0; head < reached; head++) {
+                int v = order[head];
+                double d = dist[v] + 1d;
+                for (int a = outStart[v], end = outStart[v + 1]; a < end; a++) {
+                    int w = outTarget[a];
+                    if (dist[w] == Double.POSITIVE_INFINITY) {
+                        dist[w] = d;
+                        position[w] = reached;
+                        order[reached++] = w;
+                    }
+                    if (dist[w] == d) {
+                        sigma[w] = add(sigma[w], sigma[v]);
+                    }
+                }
+            }
+        }
+
+        private void dijkstra(int s)
+        {
+            dist[s] = 0d;
+            sigma[s] = 1;
+            reached = 0;
+            heap.insert(s, 0d);
+
+            while (!heap.isEmpty()) {
+                int v = heap.deleteMin();
+                position[v] = reached;
+                order[reached++] = v;
+
+                double vDist = dist[v];
+                for (int a = outStart[v], end = outStart[v + 1]; a < end; a++) {
+                    int w = outTarget[a];
+                    double d = vDist + outWeight[a];
+                    double wDist = dist[w];
+                    if (d < wDist) {
+                        if (wDist == Double.POSITIVE_INFINITY) {
+                            heap.insert(w, d);
+                        } else if (heap.contains(w)) {
+                            heap.decreaseKey(w, d);
+                        } else {
+                            // already settled, only possible with zero weight edges
+                            continue;
+                        }
+                        dist[w] = d;
+                        sigma[w] = sigma[v];
+                    } else if (d == wDist && heap.contains(w)) {
+                        sigma[w] = add(sigma[w], sigma[v]);
+                    }
+                }
+            }
+        }
+
+        private long add(long a, long b)
+        {
+            long sum = a + b;
+            if (throwOnOverflow && sum < 0) {
+                throw new ArithmeticException("long overflow");
+            }
+            return sum;
+        }
+
+        private void reset()
+        {
+            for (int i = 0; i < reached; i++) {
+                int v = order[i];
+                dist[v] = Double.POSITIVE_INFINITY;
+                sigma[v] = 0;
+                delta[v] = 0d;
+            }
+            reached = 0;
+        }
+    }
+
+    /**
+     * Accumulated dependencies, indexed by vertex and by edge.
+     */
+    final class Scores
+    {
+        final double[] vertexScores;
+        final double[] edgeScores;
+
+        private Scores(boolean vertexScores, boolean edgeScores)
+        {
+            this.vertexScores = vertexScores ? new double[vertices.size()] : null;
+            this.edgeScores = edgeScores ? new double[edges.size()] : null;
+        }
+
+        private void add(Scores other)
+        {
+            if (vertexScores != null) {
+                for (int v = 0; v < vertexScores.length; v++) {
+                    vertexScores[v] += other.vertexScores[v];
+                }
+            }
+            if (edgeScores != null) {
+                for (int e = 0; e < edgeScores.length; e++) {
+                    edgeScores[e] += other.edgeScores[e];
+                }
+            }
+        }
+    }
+
+}
@@ -22,8 +22,10 @@ import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
 import org.jgrapht.alg.shortestpath.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Closeness centrality.
@@ -53,6 +55,12 @@ import java.util.*;
  * whether the graph has edges with negative edge weights. Thus, the running time is either $O(n (m
  * +n \log n))$ or $O(n^3)$ respectively, where $n$ is the number of vertices and $m$ the number of
  * edges of the graph.
+ *
+ * <p>
+ * For unweighted graphs a bit-parallel multi-source breadth-first search is used instead, which
+ * advances the searches from $64$ vertices at once. Its running time is $O(n m / 64 + n^2)$ in the
+ * worst case. The searches can be performed in parallel by providing a {@link ThreadPoolExecutor}
+ * which is used only for unweighted graphs.
  * 
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -75,6 +83,10 @@ public class ClosenessCentrality<V, E>
      * Whether to normalize scores
      */
     protected final boolean normalize;
+    /**
+     * Executor used for the parallel computation on unweighted graphs, may be null
+     */
+    protected final ThreadPoolExecutor executor;
     /**
      * The actual scores
      */
@@ -100,10 +112,30 @@ public class ClosenessCentrality<V, E>
      *        number of vertices of the graph
      */
     public ClosenessCentrality(Graph<V, E> graph, boolean incoming, boolean normalize)
+    {
+        this(graph, incoming, normalize, null);
+    }
+
+    /**
+     * Construct a new instance which, for unweighted graphs, performs the breadth-first searches in
+     * parallel. It is up to a user of this algorithm to handle the creation and termination of the
+     * provided {@code executor}. For utility methods to manage a {@code ThreadPoolExecutor} see
+     * {@link ConcurrencyUtil}.
+     * 
+     * @param graph the input graph
+     * @param incoming if true incoming paths are used, otherwise outgoing paths
+     * @param normalize whether to normalize by multiplying the closeness by $n-1$, where $n$ is the
+     *        number of vertices of the graph
+     * @param executor executor which will be used for parallelization, or {@code null} in order to
+     *        run sequentially
+     */
+    public ClosenessCentrality(
+        Graph<V, E> graph, boolean incoming, boolean normalize, ThreadPoolExecutor executor)
     {
         this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
         this.incoming = incoming;
         this.normalize = normalize;
+        this.executor = executor;
         this.scores = null;
     }
 
@@ -177,6 +209,18 @@ public class ClosenessCentrality<V, E>
         // create result container
         this.scores = new HashMap<>();
 
+        if (!graph.getType().isWeighted()) {
+            MultiSourceBFS<V, E> bfs = new MultiSourceBFS<>(graph, incoming);
+            MultiSourceBFS.DistanceSums sums = bfs.compute(executor);
+            int n = bfs.vertexCount();
+            for (int v = 0; v < n; v++) {
+                double sum = sums.reached[v] == n - 1 ? sums.distanceSum[v]
+                    : Double.POSITIVE_INFINITY;
+                this.scores.put(bfs.getVertex(v), normalize ? (n - 1) / sum : 1 / sum);
+            }
+            return;
+        }
+
         // initialize shortest path algorithm
         ShortestPathAlgorithm<V, E> alg = getShortestPathAlgorithm();
 
@@ -20,8 +20,10 @@ package org.jgrapht.alg.scoring;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
+import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Harmonic centrality.
@@ -50,6 +52,12 @@ import java.util.*;
  * whether the graph has edges with negative edge weights. Thus, the running time is either $O(n (m
  * + n \log n))$ or $O(n^3)$ respectively, where $n$ is the number of vertices and $m$ the number of
  * edges of the graph.
+ *
+ * <p>
+ * For unweighted graphs a bit-parallel multi-source breadth-first search is used instead, which
+ * advances the searches from $64$ vertices at once. Its running time is $O(n m / 64 + n^2)$ in the
+ * worst case. The searches can be performed in parallel by providing a {@link ThreadPoolExecutor}
+ * which is used only for unweighted graphs.
  * 
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -84,12 +92,42 @@ public final class HarmonicCentrality<V, E>
         super(graph, incoming, normalize);
     }
 
+    /**
+     * Construct a new instance which, for unweighted graphs, performs the breadth-first searches in
+     * parallel. It is up to a user of this algorithm to handle the creation and termination of the
+     * provided {@code executor}. For utility methods to manage a {@code ThreadPoolExecutor} see
+     * {@link ConcurrencyUtil}.
+     * 
+     * @param graph the input graph
+     * @param incoming if true incoming paths are used, otherwise outgoing paths
+     * @param normalize whether to normalize by dividing the closeness by $n-1$, where $n$ is the
+     *        number of vertices of the graph
+     * @param executor executor which will be used for parallelization, or {@code null} in order to
+     *        run sequentially
+     */
+    public HarmonicCentrality(
+        Graph<V, E> graph, boolean incoming, boolean normalize, ThreadPoolExecutor executor)
+    {
+        super(graph, incoming, normalize, executor);
+    }
+
     @Override
     protected void compute()
     {
         // create result container
         this.scores = new HashMap<>();
 
+        if (!graph.getType().isWeighted()) {
+            MultiSourceBFS<V, E> bfs = new MultiSourceBFS<>(graph, incoming);
+            MultiSourceBFS.DistanceSums sums = bfs.compute(executor);
+            int n = bfs.vertexCount();
+            for (int v = 0; v < n; v++) {
+                double sum = sums.reciprocalSum[v];
+                this.scores.put(bfs.getVertex(v), normalize && n > 1 ? sum / (n - 1) : sum);
+            }
+            return;
+        }
+
         // initialize shortest path algorithm
         ShortestPathAlgorithm<V, E> alg = getShortestPathAlgorithm();
 
@@ -0,0 +1,536 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.event.*;
+
+import java.util.*;
+
+/**
+ * Incremental PageRank implementation.
+ *
+ * <p>
+ * This class computes the same scores as {@link PageRank}, but is designed for graphs which change
+ * over time. Instead of recomputing the scores from scratch after each modification, the scores are
+ * updated starting from their previous values and only the part of the graph which is affected by
+ * the modification is revisited.
+ * </p>
+ *
+ * <p>
+ * The algorithm is notified about modifications of the graph through the {@link GraphListener}
+ * interface. The usual way is to register an instance as a listener of a {@link ListenableGraph},
+ * e.g. a {@link org.jgrapht.graph.DefaultListenableGraph}, which wraps the graph given to the
+ * constructor. Modifications are collected and the scores are updated lazily on the next call to
+ * {@link #getScores()} or {@link #getVertexScore(Object)}, so that a batch of edge additions and
+ * removals is handled by a single update. The scores can also be warm-started from a previously
+ * computed score vector, e.g. one which was computed by {@link PageRank} before the graph was
+ * modified.
+ * </p>
+ *
+ * <p>
+ * An update starts from the vertices whose incoming edges or whose in-neighbors' out-degrees have
+ * changed. The scores of these vertices are recomputed in place and whenever the score of a vertex
+ * changes by at least the tolerance, its successors are scheduled for recomputation in the next
+ * round. The update stops when no vertex is scheduled or after the maximum number of rounds. The
+ * teleport probability, which depends on all scores, is maintained incrementally and if it drifts
+ * by more than the tolerance from the value used in the last complete round, all vertices are
+ * recomputed. Changes of the vertex set require a complete computation which is again warm-started
+ * from the current scores.
+ * </p>
+ *
+ * <p>
+ * Each round of an update takes time linear in the number of edges incident to the recomputed
+ * vertices. The maximum number of rounds per update can be adjusted by the caller. The default
+ * value is {@link PageRank#MAX_ITERATIONS_DEFAULT}.
+ * </p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public final class IncrementalPageRank<V, E>
+    implements
+    VertexScoringAlgorithm<V, Double>,
+    GraphListener<V, E>
+{
+    /**
+     * The input graph
+     */
+    private final Graph<V, E> graph;
+
+    /**
+     * The damping factor
+     */
+    private final double dampingFactor;
+
+    /**
+     * Maximum rounds to run on each update
+     */
+    private final int maxIterations;
+
+    /**
+     * A vertex is recomputed only if the score of one of its in-neighbors changed at least this
+     * value
+     */
+    private final double tolerance;
+
+    /**
+     * Whether the graph is weighted
+     */
+    private final boolean isWeighted;
+
+    /**
+     * The result, always kept in sync with {@link #score}
+     */
+    private final Map<V, Double> scores;
+
+    /**
+     * Initial scores, only used by the first computation
+     */
+    private Map<V, Double> initialScores;
+
+    private boolean initialized;
+    private boolean vertexSetChanged;
+    private final Set<V> dirtySources;
+    private final Set<V> dirtyVertices;
+
+    private int totalVertices;
+    private Map<V, Integer> vertexIndexMap;
+    private V[] vertexMap;
+    private double[] score;
+    private int[] outDegree;
+    private double[] weightSum;
+
+    /**
+     * Sum of the teleport contributions of all vertices
+     */
+    private double teleSum;
+
+    /**
+     * Sum of all scores
+     */
+    private double mass;
+
+    /**
+     * Teleport probability used by the last round which recomputed all vertices
+     */
+    private double syncedR;
+
+    private int[] current;
+    private int[] next;
+    private boolean[] inNext;
+
+    /**
+     * Create an instance of incremental PageRank.
+     *
+     * @param graph the input graph
+     */
+    public IncrementalPageRank(Graph<V, E> graph)
+    {
+        this(
+            graph, null, PageRank.DAMPING_FACTOR_DEFAULT, PageRank.MAX_ITERATIONS_DEFAULT,
+            PageRank.TOLERANCE_DEFAULT);
+    }
+
+    /**
+     * Create an instance of incremental PageRank.
+     *
+     * @param graph the input graph
+     * @param dampingFactor the damping factor
+     * @param maxIterations the maximum number of rounds to perform on each update
+     * @param tolerance a vertex is recomputed only if the score of one of its in-neighbors changed
+     *        at least this value
+     */
+    public IncrementalPageRank(
+        Graph<V, E> graph, double dampingFactor, int maxIterations, double tolerance)
+    {
+        this(graph, null, dampingFactor, maxIterations, tolerance);
+    }
+
+    /**
+     * Create an instance of incremental PageRank which is warm-started from a given score vector.
+     * Vertices which are missing from the initial scores are assigned a score of $1/n$ and the
+     * scores are normalized so that they form a probability distribution.
+     *
+     * @param graph the input graph
+     * @param initialScores the initial scores, usually computed before the graph was modified, or
+     *        {@code null} to start from the uniform distribution
+     * @param dampingFactor the damping factor
+     * @param maxIterations the maximum number of rounds to perform on each update
+     * @param tolerance a vertex is recomputed only if the score of one of its in-neighbors changed
+     *        at least this value
+     */
+    public IncrementalPageRank(
+        Graph<V, E> graph, Map<V, Double> initialScores, double dampingFactor, int maxIterations,
+        double tolerance)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+
+        if (maxIterations <= 0) {
+            throw new IllegalArgumentException("Maximum iterations must be positive");
+        }
+        this.maxIterations = maxIterations;
+
+        if (dampingFactor < 0.0 || dampingFactor > 1.0) {
+            throw new IllegalArgumentException("Damping factor not valid");
+        }
+        this.dampingFactor = dampingFactor;
+
+        if (tolerance <= 0.0) {
+            throw new IllegalArgumentException("Tolerance not valid, must be positive");
+        }
+        this.tolerance = tolerance;
+
+        this.isWeighted = graph.getType().isWeighted();
+        this.initialScores = initialScores;
+        this.scores = new HashMap<>();
+        this.dirtySources = new LinkedHashSet<>();
+        this.dirtyVertices = new LinkedHashSet<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The returned map is an unmodifiable view which reflects the scores of the last update.
+     */
+    @Override
+    public Map<V, Double> getScores()
+    {
+        update();
+        return Collections.unmodifiableMap(scores);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Double getVertexScore(V v)
+    {
+        if (!graph.containsVertex(v)) {
+            throw new IllegalArgumentException("Cannot return score of unknown vertex");
+        }
+        update();
+        return scores.get(v);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        edgeChanged(e.getEdgeSource(), e.getEdgeTarget());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        edgeChanged(e.getEdgeSource(), e.getEdgeTarget());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void edgeWeightUpdated(GraphEdgeChangeEvent<V, E> e)
+    {
+        if (isWeighted) {
+            edgeChanged(e.getEdgeSource(), e.getEdgeTarget());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        vertexSetChanged = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        vertexSetChanged = true;
+    }
+
+    /**
+     * Record the modification of an edge. The out-degree of the source is refreshed immediately,
+     * since the teleport probability depends on it, while everything else is deferred until the
+     * next update.
+     *
+     * @param source the edge source
+     * @param target the edge target
+     */
+    private void edgeChanged(V source, V target)
+    {
+        if (!initialized || vertexSetChanged) {
+            // a complete computation is pending anyway
+            return;
+        }
+
+        sourceChanged(source);
+        dirtyVertices.add(target);
+        if (!graph.getType().isDirected()) {
+            sourceChanged(target);
+            dirtyVertices.add(source);
+        }
+    }
+
+    private void sourceChanged(V v)
+    {
+        int i = vertexIndexMap.get(v);
+        double oldTeleFactor = teleFactor(i);
+        outDegree[i] = graph.outDegreeOf(v);
+        teleSum += (teleFactor(i) - oldTeleFactor) * score[i];
+        if (isWeighted) {
+            weightSum[i] = Double.NaN;
+        }
+        dirtySources.add(v);
+    }
+
+    /**
+     * Bring the scores up to date with the graph.
+     */
+    private void update()
+    {
+        if (!initialized || vertexSetChanged) {
+            recompute();
+            return;
+        }
+        if (dirtySources.isEmpty() && dirtyVertices.isEmpty()) {
+            return;
+        }
+
+        // schedule the successors of the modified sources and the modified targets
+        int size = 0;
+        for (V v : dirtySources) {
+            for (E e : graph.outgoingEdgesOf(v)) {
+                size = schedule(vertexIndexMap.get(Graphs.getOppositeVertex(graph, e, v)), size);
+            }
+        }
+        for (V v : dirtyVertices) {
+            size = schedule(vertexIndexMap.get(v), size);
+        }
+        dirtySources.clear();
+        dirtyVertices.clear();
+
+        propagate(size);
+    }
+
+    /**
+     * Complete computation of the scores, warm-started from the current or the initial scores.
+     */
+    @SuppressWarnings("unchecked")
+    private void recompute()
+    {
+        Map<V, Double> previous = initialized ? scores : initialScores;
+
+        this.totalVertices = graph.vertexSet().size();
+        this.vertexIndexMap = new HashMap<>();
+        this.vertexMap = (V[]) new Object[totalVertices];
+        this.score = new double[totalVertices];
+        this.outDegree = new int[totalVertices];
+        this.weightSum = isWeighted ? new double[totalVertices] : null;
+        this.current = new int[totalVertices];
+        this.next = new int[totalVertices];
+        this.inNext = new boolean[totalVertices];
+
+        double initScore = 1.0d / totalVertices;
+        double sum = 0d;
+        int i = 0;
+        for (V v : graph.vertexSet()) {
+            vertexIndexMap.put(v, i);
+            vertexMap[i] = v;
+            outDegree[i] = graph.outDegreeOf(v);
+            Double s = previous == null ? null : previous.get(v);
+            score[i] = s == null ? initScore : s;
+            if (isWeighted) {
+                weightSum[i] = Double.NaN;
+            }
+            sum += score[i];
+            i++;
+        }
+
+        // start from a probability distribution
+        teleSum = 0d;
+        for (i = 0; i < totalVertices; i++) {
+            score[i] = sum > 0d ? score[i] / sum : initScore;
+            teleSum += teleFactor(i) * score[i];
+        }
+        mass = 1d;
+
+        scores.keySet().retainAll(vertexIndexMap.keySet());
+        for (i = 0; i < totalVertices; i++) {
+            scores.put(vertexMap[i], score[i]);
+        }
+
+        initialScores = null;
+        initialized = true;
+        vertexSetChanged = false;
+        dirtySources.clear();
+        dirtyVertices.clear();
+
+        if (totalVertices == 0) {
+            return;
+        }
+
+        syncedR = teleSum / totalVertices;
+        int size = 0;
+        for (i = 0; i < totalVertices; i++) {
+            size = schedule(i, size);
+        }
+        propagate(size);
+    }
+
+    /**
+     * Run rounds starting from the {@code size} vertices which are scheduled in {@link #next}.
+     *
+     * @param size the number of scheduled vertices
+     */
+    private void propagate(int size)
+    {
+        int iterations = maxIterations;
+        int curSize = swapScheduled(size);
+
+        while (curSize > 0 && iterations > 0) {
+            double r = teleSum / totalVertices;
+
+            int nextSize = 0;
+            for (int k = 0; k < curSize; k++) {
+                int i = current[k];
+                V v = vertexMap[i];
+
+                double vOldValue = score[i];
+                double vNewValue = r + contribution(v);
+                double change = vNewValue - vOldValue;
+                if (change == 0d) {
+                    continue;
+                }
+
+                score[i] = vNewValue;
+                teleSum += teleFactor(i) * change;
+                mass += change;
+                scores.put(v, vNewValue);
+
+                if (Math.abs(change) >= tolerance) {
+                    for (E e : graph.outgoingEdgesOf(v)) {
+                        V w = Graphs.getOppositeVertex(graph, e, v);
+                        nextSize = schedule(vertexIndexMap.get(w), nextSize);
+                    }
+                }
+            }
+
+            // teleport probability drifted, all vertices need to catch up
+            r = teleSum / totalVertices;
+            if (Math.abs(r - syncedR) >= tolerance) {
+                for (int i = 0; i < totalVertices; i++) {
+                    nextSize = schedule(i, nextSize);
+                }
+                syncedR = r;
+            }
+
+            // progress
+            curSize = swapScheduled(nextSize);
+            iterations--;
+        }
+
+        // discard any leftover work if we ran out of iterations
+        for (int k = 0; k < curSize; k++) {
+            inNext[current[k]] = false;
+        }
+
+        // in place updates do not preserve the total mass exactly
+        if (Math.abs(mass - 1d) >= tolerance) {
+            normalize();
+        }
+    }
+
+    private int schedule(int i, int size)
+    {
+        if (!inNext[i]) {
+            inNext[i] = true;
+            next[size++] = i;
+        }
+        return size;
+    }
+
+    private int swapScheduled(int size)
+    {
+        int[] tmp = current;
+        current = next;
+        next = tmp;
+        for (int k = 0; k < size; k++) {
+            inNext[current[k]] = false;
+        }
+        return size;
+    }
+
+    private double contribution(V v)
+    {
+        double contribution = 0d;
+        for (E e : graph.incomingEdgesOf(v)) {
+            int w = vertexIndexMap.get(Graphs.getOppositeVertex(graph, e, v));
+            if (isWeighted) {
+                contribution +=
+                    dampingFactor * score[w] * graph.getEdgeWeight(e) / weightSum(w);
+            } else {
+                contribution += dampingFactor * score[w] / outDegree[w];
+            }
+        }
+        return contribution;
+    }
+
+    private double weightSum(int i)
+    {
+        double sum = weightSum[i];
+        if (Double.isNaN(sum)) {
+            sum = 0d;
+            for (E e : graph.outgoingEdgesOf(vertexMap[i])) {
+                sum += graph.getEdgeWeight(e);
+            }
+            weightSum[i] = sum;
+        }
+        return sum;
+    }
+
+    private double teleFactor(int i)
+    {
+        return outDegree[i] > 0 ? 1d - dampingFactor : 1d;
+    }
+
+    private void normalize()
+    {
+        teleSum /= mass;
+        for (int i = 0; i < totalVertices; i++) {
+            score[i] /= mass;
+            scores.put(vertexMap[i], score[i]);
+        }
+        mass = 1d;
+        syncedR = teleSum / totalVertices;
+    }
+
+}
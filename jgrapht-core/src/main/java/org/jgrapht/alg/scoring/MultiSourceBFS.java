@@ -0,0 +1,266 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Bit-parallel multi-source breadth-first search which computes distance sums for unweighted
+ * graphs.
+ *
+ * <p>
+ * The sources are processed in batches of $64$. Each batch performs a single breadth-first search
+ * in which every vertex holds three words: the sources which have already reached it, the sources
+ * which reached it in the current level and the sources which reach it in the next level. Bit $i$
+ * of a word corresponds to source $i$ of the batch. Expanding a vertex of the frontier thus
+ * advances up to $64$ searches at once using a single bitwise or per arc. For more details see
+ * the paper: Manuel Then, Moritz Kaufmann, Fernando Chirigati, Tuan-Anh Hoang-Vu, Kien Pham,
+ * Alfons Kemper, Thomas Neumann and Huy T. Vo: The More the Merrier: Efficient Multi-Source Graph
+ * Traversal. Proceedings of the VLDB Endowment 8(4):449-460, 2014.
+ *
+ * <p>
+ * The adjacency of the graph is stored in compressed sparse row format. Self-loops are ignored and
+ * edge weights are not taken into account. Batches are independent, so they can be processed in
+ * parallel, each thread using its own arrays of $n$ words.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+final class MultiSourceBFS<V, E>
+{
+    private static final int BATCH_SIZE = Long.SIZE;
+
+    private final List<V> vertices;
+    private final int[] start;
+    private final int[] target;
+
+    /**
+     * Create a new instance.
+     *
+     * @param graph the input graph
+     * @param incoming if true incoming paths are used, otherwise outgoing paths
+     */
+    MultiSourceBFS(Graph<V, E> graph, boolean incoming)
+    {
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        this.vertices = mapping.getIndexList();
+        Map<V, Integer> vertexIndex = mapping.getVertexMap();
+
+        int n = vertices.size();
+        this.start = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            int count = 0;
+            V vertex = vertices.get(v);
+            for (E e : edgesOf(graph, vertex, incoming)) {
+                if (!Graphs.getOppositeVertex(graph, e, vertex).equals(vertex)) {
+                    count++;
+                }
+            }
+            start[v + 1] = start[v] + count;
+        }
+        this.target = new int[start[n]];
+        for (int v = 0; v < n; v++) {
+            int pos = start[v];
+            V vertex = vertices.get(v);
+            for (E e : edgesOf(graph, vertex, incoming)) {
+                V other = Graphs.getOppositeVertex(graph, e, vertex);
+                if (!other.equals(vertex)) {
+                    target[pos++] = vertexIndex.get(other);
+                }
+            }
+        }
+    }
+
+    private Set<E> edgesOf(Graph<V, E> graph, V v, boolean incoming)
+    {
+        return incoming ? graph.incomingEdgesOf(v) : graph.outgoingEdgesOf(v);
+    }
+
+    /**
+     * Get the number of vertices.
+     *
+     * @return the number of vertices
+     */
+    int vertexCount()
+    {
+        return vertices.size();
+    }
+
+    /**
+     * Get the vertex with a given index.
+     *
+     * @param v the index
+     * @return the vertex
+     */
+    V getVertex(int v)
+    {
+        return vertices.get(v);
+    }
+
+    /**
+     * Run a breadth-first search from every vertex of the graph.
+     *
+     * @param executor executor which will be used for parallelization, or {@code null} in order to
+     *        run sequentially
+     * @return the distance sums of all vertices
+     */
+    DistanceSums compute(ThreadPoolExecutor executor)
+    {
+        int n = vertices.size();
+        int batches = (n + BATCH_SIZE - 1) / BATCH_SIZE;
+        DistanceSums sums = new DistanceSums(n);
+
+        /*
+         * Each batch writes the sums of its own sources only, thus the threads never write the same
+         * array positions.
+         */
+        ConcurrencyUtil.forEachIndex(executor, batches, () -> {
+            Workspace workspace = new Workspace();
+            return b -> workspace.search(b * BATCH_SIZE, sums);
+        });
+        return sums;
+    }
+
+    /**
+     * Distance sums per source vertex, indexed by vertex.
+     */
+    static final class DistanceSums
+    {
+        /**
+         * Sum of the distances to all reachable vertices.
+         */
+        final long[] distanceSum;
+        /**
+         * Sum of the reciprocals of the distances to all reachable vertices.
+         */
+        final double[] reciprocalSum;
+        /**
+         * Number of reachable vertices, excluding the source itself.
+         */
+        final int[] reached;
+
+        private DistanceSums(int n)
+        {
+            this.distanceSum = new long[n];
+            this.reciprocalSum = new double[n];
+            this.reached = new int[n];
+        }
+    }
+
+    /**
+     * Per thread state of the search.
+     */
+    private final class Workspace
+    {
+        private final long[] seen;
+        private final long[] frontier;
+        private final long[] next;
+        private final int[] frontierList;
+        private final int[] nextList;
+
+        private final long[] distanceSum = new long[BATCH_SIZE];
+        private final double[] reciprocalSum = new double[BATCH_SIZE];
+        private final int[] reached = new int[BATCH_SIZE];
+
+        Workspace()
+        {
+            int n = vertices.size();
+            this.seen = new long[n];
+            this.frontier = new long[n];
+            this.next = new long[n];
+            this.frontierList = new int[n];
+            this.nextList = new int[n];
+        }
+
+        /**
+         * Search from the sources $[first, first + 64)$ and store their sums.
+         *
+         * @param first the first source of the batch
+         * @param sums where to store the sums
+         */
+        void search(int first, DistanceSums sums)
+        {
+            int batch = Math.min(BATCH_SIZE, vertices.size() - first);
+            Arrays.fill(seen, 0L);
+            Arrays.fill(distanceSum, 0L);
+            Arrays.fill(reciprocalSum, 0d);
+            Arrays.fill(reached, 0);
+
+            int frontierSize = 0;
+            for (int i = 0; i < batch; i++) {
+                int s = first + i;
+                seen[s] = 1L << i;
+                frontier[s] = 1L << i;
+                frontierList[frontierSize++] = s;
+            }
+
+            int level = 0;
+            while (frontierSize > 0) {
+                level++;
+                double reciprocal = 1d / level;
+
+                // expand the frontiers of all searches at once
+                int nextSize = 0;
+                for (int i = 0; i < frontierSize; i++) {
+                    int v = frontierList[i];
+                    long bits = frontier[v];
+                    frontier[v] = 0L;
+                    for (int pos = start[v]; pos < start[v + 1]; pos++) {
+                        int u = target[pos];
+                        long add = bits & ~seen[u];
+                        if (add != 0L) {
+                            if (next[u] == 0L) {
+                                nextList[nextSize++] = u;
+                            }
+                            next[u] |= add;
+                        }
+                    }
+                }
+
+                // visit the newly reached vertices
+                frontierSize = 0;
+                for (int i = 0; i < nextSize; i++) {
+                    int u = nextList[i];
+                    long bits = next[u];
+                    next[u] = 0L;
+                    seen[u] |= bits;
+                    frontier[u] = bits;
+                    frontierList[frontierSize++] = u;
+                    while (bits != 0L) {
+                        int source = Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        distanceSum[source] += level;
+                        reciprocalSum[source] += reciprocal;
+                        reached[source]++;
+                    }
+                }
+            }
+
+            for (int i = 0; i < batch; i++) {
+                sums.distanceSum[first + i] = distanceSum[i];
+                sums.reciprocalSum[first + i] = reciprocalSum[i];
+                sums.reached[first + i] = reached[i];
+            }
+        }
+    }
+
+}
@@ -19,8 +19,10 @@ package org.jgrapht.alg.scoring;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * PageRank implementation.
@@ -52,6 +54,14 @@ import java.util.*;
  * edges of $v$.
  * </p>
  * 
+ * <p>
+ * The implementation can optionally run in parallel. In this case the vertices are partitioned
+ * into contiguous blocks of roughly equal number of incoming edges and the blocks of each iteration
+ * are processed concurrently using a {@link ThreadPoolExecutor} which is supplied to this algorithm
+ * from outside. The parallel version computes exactly the same iterations as the sequential one;
+ * the results may only differ due to the different order of floating point summations.
+ * </p>
+ * 
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  * 
@@ -77,6 +87,11 @@ public final class PageRank<V, E>
      */
     public static final double DAMPING_FACTOR_DEFAULT = 0.85d;
 
+    /**
+     * Number of blocks per worker thread of the executor, used for load balancing.
+     */
+    private static final int TASKS_TO_THREADS_RATIO = 4;
+
     /**
      * The input graph
      */
@@ -98,6 +113,11 @@ public final class PageRank<V, E>
      */
     private final double tolerance;
 
+    /**
+     * Executor used for parallelization, {@code null} if the algorithm runs sequentially
+     */
+    private final ThreadPoolExecutor executor;
+
     /**
      * The result
      */
@@ -146,8 +166,45 @@ public final class PageRank<V, E>
      *        iterations change less than this value
      */
     public PageRank(Graph<V, E> graph, double dampingFactor, int maxIterations, double tolerance)
+    {
+        this(graph, dampingFactor, maxIterations, tolerance, null);
+    }
+
+    /**
+     * Create and execute a parallel instance of PageRank. It is up to a user of this algorithm to
+     * handle the creation and termination of the provided {@code executor}. For utility methods to
+     * manage a {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+     * 
+     * @param graph the input graph
+     * @param executor executor which will be used for parallelization
+     */
+    public PageRank(Graph<V, E> graph, ThreadPoolExecutor executor)
+    {
+        this(
+            graph, DAMPING_FACTOR_DEFAULT, MAX_ITERATIONS_DEFAULT, TOLERANCE_DEFAULT,
+            Objects.requireNonNull(executor, "executor must not be null!"));
+    }
+
+    /**
+     * Create and execute an instance of PageRank. If {@code executor} is not {@code null} the
+     * iterations are performed in parallel. It is up to a user of this algorithm to handle the
+     * creation and termination of the provided {@code executor}. For utility methods to manage a
+     * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+     * 
+     * @param graph the input graph
+     * @param dampingFactor the damping factor
+     * @param maxIterations the maximum number of iterations to perform
+     * @param tolerance the calculation will stop if the difference of PageRank values between
+     *        iterations change less than this value
+     * @param executor executor which will be used for parallelization, or {@code null} in order to
+     *        run sequentially
+     */
+    public PageRank(
+        Graph<V, E> graph, double dampingFactor, int maxIterations, double tolerance,
+        ThreadPoolExecutor executor)
     {
         this.graph = graph;
+        this.executor = executor;
 
         if (maxIterations <= 0) {
             throw new IllegalArgumentException("Maximum iterations must be positive");
@@ -197,10 +254,14 @@ public final class PageRank<V, E>
      * allow the garbage collector to acquire all auxiliary memory used during the execution of the
      * algorithm.
      * 
-     * @author Dimitrios Michail
+     * <p>
+     * The incoming adjacency of the graph is stored in compressed sparse row format, i.e. the
+     * in-neighbors of vertex $i$ are stored in {@code inNeighbors} at positions
+     * $[inOffsets[i], inOffsets[i+1])$. The vertices are split into contiguous blocks of roughly
+     * equal work which are processed by {@link BlockTask} instances. When no executor is provided,
+     * a single block is used and is processed by the calling thread.
      * 
-     * @param <V> the graph type
-     * @param <E> the edge type
+     * @author Dimitrios Michail
      */
     private class Algorithm
     {
@@ -214,8 +275,12 @@ public final class PageRank<V, E>
         private double[] curScore;
         private double[] nextScore;
         private int[] outDegree;
-        private ArrayList<int[]> adjList;
-        private ArrayList<double[]> weightsList;
+        private int[] inOffsets;
+        private int[] inNeighbors;
+        private double[] inWeights;
+
+        private List<BlockTask> tasks;
+        private List<Callable<Object>> callables;
 
         @SuppressWarnings("unchecked")
         public Algorithm()
@@ -231,7 +296,7 @@ public final class PageRank<V, E>
             this.vertexIndexMap = new HashMap<>();
             this.vertexMap = (V[]) new Object[totalVertices];
             this.outDegree = new int[totalVertices];
-            this.adjList = new ArrayList<>(totalVertices);
+            this.inOffsets = new int[totalVertices + 1];
 
             double initScore = 1.0d / totalVertices;
             int i = 0;
@@ -240,53 +305,39 @@ public final class PageRank<V, E>
                 vertexMap[i] = v;
                 outDegree[i] = graph.outDegreeOf(v);
                 curScore[i] = initScore;
+                inOffsets[i + 1] = inOffsets[i] + graph.incomingEdgesOf(v).size();
                 i++;
             }
 
+            this.inNeighbors = new int[inOffsets[totalVertices]];
             if (isWeighted) {
                 this.weightSum = new double[totalVertices];
-                this.weightsList = new ArrayList<>(totalVertices);
-
-                for (i = 0; i < totalVertices; i++) {
-                    V v = vertexMap[i];
-                    int[] inNeighbors = new int[graph.inDegreeOf(v)];
-                    double[] edgeWeights = new double[graph.inDegreeOf(v)];
-
-                    int j = 0;
-                    for (E e : graph.incomingEdgesOf(v)) {
-                        V w = Graphs.getOppositeVertex(graph, e, v);
-                        Integer mappedVertexId = vertexIndexMap.get(w);
-                        inNeighbors[j] = mappedVertexId;
+                this.inWeights = new double[inOffsets[totalVertices]];
+            }
+
+            int j = 0;
+            for (i = 0; i < totalVertices; i++) {
+                V v = vertexMap[i];
+                for (E e : graph.incomingEdgesOf(v)) {
+                    V w = Graphs.getOppositeVertex(graph, e, v);
+                    int mappedVertexId = vertexIndexMap.get(w);
+                    inNeighbors[j] = mappedVertexId;
+                    if (isWeighted) {
                         double edgeWeight = graph.getEdgeWeight(e);
-                        edgeWeights[j] += edgeWeight;
+                        inWeights[j] = edgeWeight;
                         weightSum[mappedVertexId] += edgeWeight;
-                        j++;
                     }
-                    weightsList.add(edgeWeights);
-                    adjList.add(inNeighbors);
-                }
-            } else {
-                for (i = 0; i < totalVertices; i++) {
-                    V v = vertexMap[i];
-                    int[] inNeighbors = new int[graph.inDegreeOf(v)];
-                    int j = 0;
-                    for (E e : graph.incomingEdgesOf(v)) {
-                        V w = Graphs.getOppositeVertex(graph, e, v);
-                        inNeighbors[j++] = vertexIndexMap.get(w);
-                    }
-                    adjList.add(inNeighbors);
+                    j++;
                 }
             }
+
+            createTasks();
         }
 
         public Map<V, Double> getScores()
         {
             // compute
-            if (isWeighted) {
-                runWeighted();
-            } else {
-                run();
-            }
+            run();
 
             // make results user friendly
             Map<V, Double> scores = new HashMap<>();
@@ -301,53 +352,26 @@ public final class PageRank<V, E>
         {
             double maxChange = tolerance;
             int iterations = maxIterations;
+            double r = teleProp();
 
             while (iterations > 0 && maxChange >= tolerance) {
-                double r = teleProp();
-
-                maxChange = 0d;
-                for (int i = 0; i < totalVertices; i++) {
-                    double contribution = 0d;
-                    for (int w : adjList.get(i)) {
-                        contribution += dampingFactor * curScore[w] / outDegree[w];
-                    }
-
-                    double vOldValue = curScore[i];
-                    double vNewValue = r + contribution;
-                    maxChange = Math.max(maxChange, Math.abs(vNewValue - vOldValue));
-                    nextScore[i] = vNewValue;
+                for (BlockTask task : tasks) {
+                    task.r = r;
+                }
+                if (callables == null) {
+                    tasks.get(0).run();
+                } else {
+                    ConcurrencyUtil.invokeAll(executor, callables);
                 }
 
-                // progress
-                swapScores();
-                iterations--;
-            }
-        }
-
-        private void runWeighted()
-        {
-            double maxChange = tolerance;
-            int iterations = maxIterations;
-
-            while (iterations > 0 && maxChange >= tolerance) {
-                double r = teleProp();
-
+                // collect block results, in block order to keep the summation deterministic
                 maxChange = 0d;
-                for (int i = 0; i < totalVertices; i++) {
-                    double contribution = 0d;
-
-                    int[] neighbors = adjList.get(i);
-                    double[] weights = weightsList.get(i);
-                    for (int j = 0, getLength = neighbors.length; j < getLength; j++) {
-                        int w = neighbors[j];
-                        contribution += dampingFactor * curScore[w] * weights[j] / weightSum[w];
-                    }
-
-                    double vOldValue = curScore[i];
-                    double vNewValue = r + contribution;
-                    maxChange = Math.max(maxChange, Math.abs(vNewValue - vOldValue));
-                    nextScore[i] = vNewValue;
+                r = 0d;
+                for (BlockTask task : tasks) {
+                    maxChange = Math.max(maxChange, task.maxChange);
+                    r += task.teleProp;
                 }
+                r /= totalVertices;
 
                 // progress
                 swapScores();
@@ -359,16 +383,21 @@ public final class PageRank<V, E>
         {
             double r = 0d;
             for (int i = 0; i < totalVertices; i++) {
-                if (outDegree[i] > 0) {
-                    r += (1d - dampingFactor) * curScore[i];
-                } else {
-                    r += curScore[i];
-                }
+                r += teleContribution(i, curScore[i]);
             }
             r /= totalVertices;
             return r;
         }
 
+        private double teleContribution(int i, double score)
+        {
+            if (outDegree[i] > 0) {
+                return (1d - dampingFactor) * score;
+            } else {
+                return score;
+            }
+        }
+
         private void swapScores()
         {
             double[] tmp = curScore;
@@ -376,6 +405,107 @@ public final class PageRank<V, E>
             nextScore = tmp;
         }
 
+        /**
+         * Split the vertices into blocks of contiguous vertices, so that each block has
+         * approximately the same number of vertices plus incoming edges.
+         */
+        private void createTasks()
+        {
+            if (executor == null) {
+                tasks = Collections.singletonList(new BlockTask(0, totalVertices));
+                return;
+            }
+
+            long totalWork = (long) totalVertices + inOffsets[totalVertices];
+            long maxBlocks = (long) executor.getMaximumPoolSize() * TASKS_TO_THREADS_RATIO;
+            int numOfBlocks = (int) Math.max(1, Math.min(totalWork, maxBlocks));
+
+            tasks = new ArrayList<>(numOfBlocks);
+            int blockStart = 0;
+            for (int b = 1; b <= numOfBlocks && blockStart < totalVertices; b++) {
+                long workEnd = totalWork * b / numOfBlocks;
+                int blockEnd = blockStart + 1;
+                while (blockEnd < totalVertices
+                    && (long) blockEnd + inOffsets[blockEnd] < workEnd)
+                {
+                    blockEnd++;
+                }
+                tasks.add(new BlockTask(blockStart, blockEnd));
+                blockStart = blockEnd;
+            }
+            if (blockStart < totalVertices) {
+                tasks.add(new BlockTask(blockStart, totalVertices));
+            }
+
+            callables = new ArrayList<>(tasks.size());
+            for (BlockTask task : tasks) {
+                callables.add(Executors.callable(task));
+            }
+        }
+
+        /**
+         * Task which performs one Jacobi iteration on a block $[start, end)$ of vertices. Besides
+         * the new scores, each task records the maximum change of its block and its contribution
+         * to the teleport probability of the next iteration.
+         */
+        private class BlockTask
+            implements
+            Runnable
+        {
+            private final int start;
+            private final int end;
+
+            /**
+             * Teleport probability of the current iteration.
+             */
+            private double r;
+            private double maxChange;
+            private double teleProp;
+
+            BlockTask(int start, int end)
+            {
+                this.start = start;
+                this.end = end;
+            }
+
+            @Override
+            public void run()
+            {
+                double[] curScore = Algorithm.this.curScore;
+                double[] nextScore = Algorithm.this.nextScore;
+
+                double maxChange = 0d;
+                double teleProp = 0d;
+                for (int i = start; i < end; i++) {
+                    double contribution = 0d;
+                    if (isWeighted) {
+                        for (int j = inOffsets[i], getLength = inOffsets[i + 1]; j < getLength;
+                            j++)
+                        {
+                            int w = inNeighbors[j];
+                            contribution +=
+                                dampingFactor * curScore[w] * inWeights[j] / weightSum[w];
+                        }
+                    } else {
+                        for (int j = inOffsets[i], getLength = inOffsets[i + 1]; j < getLength;
+                            j++)
+                        {
+                            int w = inNeighbors[j];
+                            contribution += dampingFactor * curScore[w] / outDegree[w];
+                        }
+                    }
+
+                    double vOldValue = curScore[i];
+                    double vNewValue = r + contribution;
+                    maxChange = Math.max(maxChange, Math.abs(vNewValue - vOldValue));
+                    nextScore[i] = vNewValue;
+                    teleProp += teleContribution(i, vNewValue);
+                }
+
+                this.maxChange = maxChange;
+                this.teleProp = teleProp;
+            }
+        }
     }
 
 }
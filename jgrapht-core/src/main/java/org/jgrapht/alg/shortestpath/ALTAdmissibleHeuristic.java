@@ -19,11 +19,10 @@ package org.jgrapht.alg.shortestpath;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
-import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.*;
-import org.jgrapht.alg.util.*;
-import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * An admissible heuristic for the A* algorithm using a set of landmarks and the triangle
@@ -61,6 +60,15 @@ import java.util.*;
  * vertices source and target, a good landmark appears "before" source or "after" target where
  * before and after are relative to the "direction" from source to target.
  *
+ * <p>
+ * Landmarks can be chosen using one of the selection strategies of {@link ALTLandmarkSelection}.
+ * The distances are stored in flat arrays indexed by an integer id of the vertex, where the
+ * distances of all landmarks for the same vertex are adjacent. The shortest path computations of
+ * the pre-processing phase are independent of each other. If an executor is provided they are
+ * distributed among its threads. It is up to a user of this algorithm to handle the creation and
+ * termination of the provided {@code executor}. For utility methods to manage a
+ * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+ *
  * @author Dimitrios Michail
  *
  * @param <V> the graph vertex type
@@ -70,10 +78,11 @@ public class ALTAdmissibleHeuristic<V, E>
     implements
     AStarAdmissibleHeuristic<V>
 {
-    private final Graph<V, E> graph;
-    private final Comparator<Double> comparator;
-    private final Map<V, Map<V, Double>> fromLandmark;
-    private final Map<V, Map<V, Double>> toLandmark;
+    private final Map<V, Integer> vertexIndex;
+    private final Map<V, Integer> landmarkIndex;
+    private final int numLandmarks;
+    private final double[] fromLandmark;
+    private final double[] toLandmark;
     private final boolean directed;
 
     /**
@@ -87,32 +96,53 @@ public class ALTAdmissibleHeuristic<V, E>
      */
     public ALTAdmissibleHeuristic(Graph<V, E> graph, Set<V> landmarks)
     {
-        this.graph = Objects.requireNonNull(graph, "Graph cannot be null");
+        this(graph, landmarks, null);
+    }
+
+    /**
+     * Constructs a new {@link AStarAdmissibleHeuristic} using a set of landmarks. The
+     * {@code executor} can be {@code null}, which will indicate that the pre-processing is
+     * performed sequentially.
+     *
+     * @param graph the graph
+     * @param landmarks a set of vertices of the graph which will be used as landmarks
+     * @param executor executor which will be used to compute the landmark distances in parallel
+     *
+     * @throws IllegalArgumentException if no landmarks are provided
+     * @throws IllegalArgumentException if a landmark is not a vertex of the graph
+     * @throws IllegalArgumentException if the graph contains edges with negative weights
+     */
+    public ALTAdmissibleHeuristic(
+        Graph<V, E> graph, Set<V> landmarks, ThreadPoolExecutor executor)
+    {
+        Objects.requireNonNull(graph, "Graph cannot be null");
         Objects.requireNonNull(landmarks, "Landmarks cannot be null");
         if (landmarks.isEmpty()) {
             throw new IllegalArgumentException("At least one landmark must be provided");
         }
-        this.fromLandmark = new HashMap<>();
-        if (graph.getType().isDirected()) {
-            this.directed = true;
-            this.toLandmark = new HashMap<>();
-        } else if (graph.getType().isUndirected()) {
-            this.directed = false;
-            this.toLandmark = this.fromLandmark;
-        } else {
-            throw new IllegalArgumentException("Graph must be directed or undirected");
-        }
-        this.comparator = new ToleranceDoubleComparator();
+        IndexedGraph<V, E> g = compile(graph);
+        this.directed = graph.getType().isDirected();
+        this.vertexIndex = g.vertexIndex;
 
-        // precomputation and validation
-        for (V v : landmarks) {
-            for (E e : graph.edgesOf(v)) {
-                if (comparator.compare(graph.getEdgeWeight(e), 0d) < 0) {
-                    throw new IllegalArgumentException("Graph edge weights cannot be negative");
-                }
+        int[] landmarkVertices = new int[landmarks.size()];
+        this.landmarkIndex = new HashMap<>();
+        for (V l : landmarks) {
+            Integer v = vertexIndex.get(l);
+            if (v == null) {
+                throw new IllegalArgumentException("Landmarks must be vertices of the graph");
             }
-            precomputeToFromLandmark(v);
+            landmarkVertices[landmarkIndex.size()] = v;
+            landmarkIndex.put(l, landmarkIndex.size());
+        }
+        this.numLandmarks = landmarkVertices.length;
+
+        int n = g.size();
+        if ((long) n * numLandmarks > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many landmarks for the size of the graph");
         }
+        this.fromLandmark = new double[n * numLandmarks];
+        this.toLandmark = directed ? new double[n * numLandmarks] : fromLandmark;
+        precompute(g, landmarkVertices, executor);
     }
 
     /**
@@ -136,31 +166,36 @@ public class ALTAdmissibleHeuristic<V, E>
             return maxEstimate;
         }
 
+        int uOffset = vertexIndex.get(u) * numLandmarks;
+        int tOffset = vertexIndex.get(t) * numLandmarks;
+
         /*
          * Special case, source is landmark
          */
-        if (fromLandmark.containsKey(u)) {
-            return fromLandmark.get(u).get(t);
+        Integer l = landmarkIndex.get(u);
+        if (l != null) {
+            return fromLandmark[tOffset + l];
         }
 
         /*
          * Special case, target is landmark
          */
-        if (toLandmark.containsKey(t)) {
-            return toLandmark.get(t).get(u);
+        l = landmarkIndex.get(t);
+        if (l != null) {
+            return toLandmark[uOffset + l];
         }
 
         /*
          * Compute from landmarks
          */
-        for (V l : fromLandmark.keySet()) {
+        for (int i = 0; i < numLandmarks; i++) {
             double estimate;
-            Map<V, Double> from = fromLandmark.get(l);
             if (directed) {
-                Map<V, Double> to = toLandmark.get(l);
-                estimate = Math.max(to.get(u) - to.get(t), from.get(t) - from.get(u));
+                estimate = Math.max(
+                    toLandmark[uOffset + i] - toLandmark[tOffset + i],
+                    fromLandmark[tOffset + i] - fromLandmark[uOffset + i]);
             } else {
-                estimate = Math.abs(from.get(u) - from.get(t));
+                estimate = Math.abs(fromLandmark[uOffset + i] - fromLandmark[tOffset + i]);
             }
 
             // max over all landmarks
@@ -173,32 +208,53 @@ public class ALTAdmissibleHeuristic<V, E>
     }
 
     /**
-     * Compute all distances to and from a landmark
+     * Compile a graph for the landmark searches. The incoming arcs are indexed only for directed
+     * graphs.
      *
-     * @param landmark the landmark
+     * @param graph the graph
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @return the compiled graph
+     * @throws IllegalArgumentException if the graph is neither directed nor undirected or if it
+     *         contains edges with negative weights
      */
-    private void precomputeToFromLandmark(V landmark)
+    static <V, E> IndexedGraph<V, E> compile(Graph<V, E> graph)
     {
-        // compute distances from landmark
-        SingleSourcePaths<V, E> fromLandmarkPaths =
-            new DijkstraShortestPath<>(graph).getPaths(landmark);
-        Map<V, Double> fromLandMarkDistances = new HashMap<>();
-        for (V v : graph.vertexSet()) {
-            fromLandMarkDistances.put(v, fromLandmarkPaths.getWeight(v));
-        }
-        fromLandmark.put(landmark, fromLandMarkDistances);
-
-        // compute distances to landmark (using reverse graph)
-        if (directed) {
-            Graph<V, E> reverseGraph = new EdgeReversedGraph<>(graph);
-            SingleSourcePaths<V, E> toLandmarkPaths =
-                new DijkstraShortestPath<>(reverseGraph).getPaths(landmark);
-            Map<V, Double> toLandMarkDistances = new HashMap<>();
-            for (V v : graph.vertexSet()) {
-                toLandMarkDistances.put(v, toLandmarkPaths.getWeight(v));
-            }
-            toLandmark.put(landmark, toLandMarkDistances);
+        GraphTests.requireDirectedOrUndirected(graph, "Graph must be directed or undirected");
+        IndexedGraph<V, E> g = new IndexedGraph<>(graph, graph.getType().isDirected());
+        if (g.hasNegativeWeights()) {
+            throw new IllegalArgumentException("Graph edge weights cannot be negative");
         }
+        return g;
+    }
+
+    /**
+     * Compute all distances to and from the landmarks.
+     *
+     * @param g the compiled graph
+     * @param landmarks the landmarks
+     * @param executor the executor or null
+     */
+    private void precompute(IndexedGraph<V, E> g, int[] landmarks, ThreadPoolExecutor executor)
+    {
+        // one task per landmark and direction
+        int tasks = directed ? 2 * numLandmarks : numLandmarks;
+        ConcurrencyUtil.forEachIndex(executor, tasks, () -> {
+            int n = g.size();
+            IndexedDaryHeap heap = new IndexedDaryHeap(n, IndexedDaryHeap.DEFAULT_ARITY);
+            double[] distance = new double[n];
+            int[] touched = new int[n];
+            return task -> {
+                int l = task % numLandmarks;
+                boolean reverse = task >= numLandmarks;
+                Arrays.fill(distance, Double.POSITIVE_INFINITY);
+                g.search(landmarks[l], -1, reverse, heap, distance, null, touched);
+                double[] table = reverse ? toLandmark : fromLandmark;
+                for (int v = 0; v < n; v++) {
+                    table[v * numLandmarks + l] = distance[v];
+                }
+            };
+        });
     }
 
     /**
@@ -0,0 +1,347 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.drawing.model.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Landmark selection strategies for the {@link ALTAdmissibleHeuristic}. Assumes that the graph
+ * contains non-negative edge weights.
+ *
+ * <p>
+ * The quality of the ALT heuristic depends heavily on the landmarks. Good landmarks lie "behind"
+ * the source or "behind" the target of many queries, which usually means that they are spread over
+ * the periphery of the graph. The following strategies are provided:
+ * <ul>
+ * <li>{@link #farthest(Graph, int, Random) Farthest}: starting from the vertex farthest from a
+ * random vertex, every new landmark is the vertex farthest from all landmarks chosen so far.</li>
+ * <li>{@link #avoid(Graph, int, Random) Avoid}: for every new landmark a shortest paths tree from a
+ * random vertex is built. Every vertex is weighted by the difference between its distance and the
+ * lower bound of the current landmarks, and the weights are summed up in the subtrees which do not
+ * contain a landmark. The new landmark is the leaf reached by descending from the root into the
+ * heaviest subtree. Thus new landmarks are placed where the current ones give bad bounds.</li>
+ * <li>{@link #planar(Graph, int, Function) Planar}: for graphs with coordinates, such as road
+ * networks, the plane around a central vertex is divided into sectors of equal angle and the
+ * vertex of each sector which is farthest from the center is selected.</li>
+ * </ul>
+ *
+ * <p>
+ * For directed graphs the distance between two vertices is taken as the minimum of the distances
+ * in both directions. Vertices which can not be reached are considered to be infinitely far away.
+ * The strategies are described in the following papers:
+ * <ul>
+ * <li>Andrew Goldberg and Chris Harrelson. Computing the shortest path: A* Search Meets Graph
+ * Theory. In Proceedings of the sixteenth annual ACM-SIAM symposium on Discrete algorithms (SODA'
+ * 05), 156--165, 2005.</li>
+ * <li>Andrew Goldberg and Renato Werneck. Computing Point-to-Point Shortest Paths from External
+ * Memory. In Proceedings of the 7th Workshop on Algorithm Engineering and Experiments (ALENEX'05),
+ * 26--40, 2005.</li>
+ * </ul>
+ *
+ * @see ALTAdmissibleHeuristic
+ */
+public class ALTLandmarkSelection
+{
+    private ALTLandmarkSelection()
+    {
+    }
+
+    /**
+     * Select landmarks using the farthest strategy.
+     *
+     * @param graph the graph
+     * @param count the number of landmarks, if the graph has fewer vertices all vertices are
+     *        returned
+     * @param rng the random number generator used to pick the initial vertex
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @return the landmarks in the order they were selected
+     * @throws IllegalArgumentException if the number of landmarks is not positive or if the graph
+     *         contains edges with negative weights
+     */
+    public static <V, E> Set<V> farthest(Graph<V, E> graph, int count, Random rng)
+    {
+        IndexedGraph<V, E> g = compile(graph, count);
+        boolean directed = graph.getType().isDirected();
+        int n = g.size();
+        Set<V> result = new LinkedHashSet<>();
+        if (n == 0) {
+            return result;
+        }
+
+        IndexedDaryHeap heap = new IndexedDaryHeap(n, IndexedDaryHeap.DEFAULT_ARITY);
+        double[] distance = new double[n];
+        double[] reverseDistance = new double[n];
+        int[] order = new int[n];
+        boolean[] isLandmark = new boolean[n];
+
+        distances(g, directed, rng.nextInt(n), heap, distance, reverseDistance, order);
+        double[] minDistance = distance.clone();
+        while (result.size() < Math.min(count, n)) {
+            int landmark = farthestVertex(minDistance, isLandmark);
+            isLandmark[landmark] = true;
+            result.add(g.vertices.get(landmark));
+            if (result.size() == 1) {
+                Arrays.fill(minDistance, Double.POSITIVE_INFINITY);
+            }
+
+            distances(g, directed, landmark, heap, distance, reverseDistance, order);
+            for (int v = 0; v < n; v++) {
+                minDistance[v] = Math.min(minDistance[v], distance[v]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Select landmarks using the avoid strategy.
+     *
+     * @param graph the graph
+     * @param count the number of landmarks, if the graph has fewer vertices all vertices are
+     *        returned
+     * @param rng the random number generator used to pick the roots of the shortest paths trees
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @return the landmarks in the order they were selected
+     * @throws IllegalArgumentException if the number of landmarks is not positive or if the graph
+     *         contains edges with negative weights
+     */
+    public static <V, E> Set<V> avoid(Graph<V, E> graph, int count, Random rng)
+    {
+        IndexedGraph<V, E> g = compile(graph, count);
+        boolean directed = graph.getType().isDirected();
+        int n = g.size();
+        Set<V> result = new LinkedHashSet<>();
+
+        IndexedDaryHeap heap = new IndexedDaryHeap(n, IndexedDaryHeap.DEFAULT_ARITY);
+        double[] distance = new double[n];
+        int[] predecessorArc = new int[n];
+        int[] order = new int[n];
+        double[] size = new double[n];
+        boolean[] hasLandmark = new boolean[n];
+        int[] heaviestChild = new int[n];
+        boolean[] isLandmark = new boolean[n];
+        List<double[]> fromLandmark = new ArrayList<>();
+        List<double[]> toLandmark = new ArrayList<>();
+
+        while (result.size() < Math.min(count, n)) {
+            int root = rng.nextInt(n);
+            int settled = shortestPaths(g, root, false, heap, distance, predecessorArc, order);
+
+            // weight every vertex by how much the current landmarks underestimate its distance
+            for (int j = 0; j < settled; j++) {
+                int v = order[j];
+                double lowerBound = 0d;
+                for (int i = 0; i < fromLandmark.size(); i++) {
+                    double[] from = fromLandmark.get(i);
+                    double[] to = toLandmark.get(i);
+                    double bound = directed
+                        ? Math.max(from[v] - from[root], to[root] - to[v])
+                        : Math.abs(from[v] - from[root]);
+                    if (Double.isFinite(bound)) {
+                        lowerBound = Math.max(lowerBound, bound);
+                    }
+                }
+                size[v] = Math.max(0d, distance[v] - lowerBound);
+                hasLandmark[v] = isLandmark[v];
+                heaviestChild[v] = -1;
+            }
+
+            // sum up the weights of the subtrees without landmarks, children before parents
+            for (int j = settled - 1; j >= 0; j--) {
+                int v = order[j];
+                if (hasLandmark[v]) {
+                    size[v] = 0d;
+                }
+                int arc = predecessorArc[v];
+                if (arc != IndexedGraph.NO_ARC) {
+                    int p = g.arcSource[arc];
+                    size[p] += size[v];
+                    hasLandmark[p] |= hasLandmark[v];
+                    if (size[v] > 0d
+                        && (heaviestChild[p] == -1 || size[v] > size[heaviestChild[p]]))
+                    {
+                        heaviestChild[p] = v;
+                    }
+                }
+            }
+
+            int landmark;
+            if (size[root] > 0d) {
+                landmark = root;
+                while (heaviestChild[landmark] != -1) {
+                    landmark = heaviestChild[landmark];
+                }
+            } else {
+                // no subtree without landmarks, pick a random vertex
+                do {
+                    landmark = rng.nextInt(n);
+                } while (isLandmark[landmark]);
+            }
+            isLandmark[landmark] = true;
+            result.add(g.vertices.get(landmark));
+
+            double[] from = new double[n];
+            shortestPaths(g, landmark, false, heap, from, null, order);
+            fromLandmark.add(from);
+            if (directed) {
+                double[] to = new double[n];
+                shortestPaths(g, landmark, true, heap, to, null, order);
+                toLandmark.add(to);
+            } else {
+                toLandmark.add(from);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Select landmarks using the planar strategy. The vertex closest to the center of the bounding
+     * box of all vertices is used as the center. Sectors which contain no vertex are skipped, thus
+     * fewer landmarks than requested may be returned.
+     *
+     * @param graph the graph
+     * @param count the number of sectors
+     * @param coordinates the coordinates of the vertices
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @return the landmarks in the order of their sectors
+     * @throws IllegalArgumentException if the number of landmarks is not positive or if the graph
+     *         contains edges with negative weights
+     */
+    public static <V, E> Set<V> planar(
+        Graph<V, E> graph, int count, Function<V, Point2D> coordinates)
+    {
+        Objects.requireNonNull(coordinates, "Coordinates cannot be null");
+        IndexedGraph<V, E> g = compile(graph, count);
+        boolean directed = graph.getType().isDirected();
+        int n = g.size();
+        Set<V> result = new LinkedHashSet<>();
+        if (n == 0) {
+            return result;
+        }
+
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double minX = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < n; v++) {
+            Point2D p = coordinates.apply(g.vertices.get(v));
+            x[v] = p.getX();
+            y[v] = p.getY();
+            minX = Math.min(minX, x[v]);
+            maxX = Math.max(maxX, x[v]);
+            minY = Math.min(minY, y[v]);
+            maxY = Math.max(maxY, y[v]);
+        }
+        double centerX = (minX + maxX) / 2d;
+        double centerY = (minY + maxY) / 2d;
+        int center = 0;
+        for (int v = 1; v < n; v++) {
+            if (Math.hypot(x[v] - centerX, y[v] - centerY) < Math
+                .hypot(x[center] - centerX, y[center] - centerY))
+            {
+                center = v;
+            }
+        }
+
+        IndexedDaryHeap heap = new IndexedDaryHeap(n, IndexedDaryHeap.DEFAULT_ARITY);
+        double[] distance = new double[n];
+        double[] reverseDistance = new double[n];
+        distances(g, directed, center, heap, distance, reverseDistance, new int[n]);
+
+        int[] farthest = new int[count];
+        Arrays.fill(farthest, -1);
+        for (int v = 0; v < n; v++) {
+            if (v == center) {
+                continue;
+            }
+            double angle = Math.atan2(y[v] - y[center], x[v] - x[center]) + Math.PI;
+            int sector = Math.min(count - 1, (int) (angle / (2 * Math.PI) * count));
+            if (farthest[sector] == -1 || distance[v] > distance[farthest[sector]]) {
+                farthest[sector] = v;
+            }
+        }
+        for (int v : farthest) {
+            if (v != -1) {
+                result.add(g.vertices.get(v));
+            }
+        }
+        return result;
+    }
+
+    private static <V, E> IndexedGraph<V, E> compile(Graph<V, E> graph, int count)
+    {
+        Objects.requireNonNull(graph, "Graph cannot be null");
+        if (count < 1) {
+            throw new IllegalArgumentException("Number of landmarks must be positive");
+        }
+        return ALTAdmissibleHeuristic.compile(graph);
+    }
+
+    /**
+     * Compute the distances from or, if {@code reverse} is true, to a vertex. The vertices are
+     * stored in {@code order} in the order they are settled.
+     */
+    private static <V, E> int shortestPaths(
+        IndexedGraph<V, E> g, int s, boolean reverse, IndexedDaryHeap heap, double[] distance,
+        int[] predecessorArc, int[] order)
+    {
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        return g.search(s, -1, reverse, heap, distance, predecessorArc, order);
+    }
+
+    /**
+     * Compute the distances from a vertex. For directed graphs the minimum of the distances from
+     * and to the vertex is computed.
+     */
+    private static <V, E> void distances(
+        IndexedGraph<V, E> g, boolean directed, int s, IndexedDaryHeap heap, double[] distance,
+        double[] reverseDistance, int[] order)
+    {
+        shortestPaths(g, s, false, heap, distance, null, order);
+        if (directed) {
+            shortestPaths(g, s, true, heap, reverseDistance, null, order);
+            for (int v = 0; v < distance.length; v++) {
+                distance[v] = Math.min(distance[v], reverseDistance[v]);
+            }
+        }
+    }
+
+    /**
+     * Find the vertex with maximum distance which is not a landmark. Ties are broken by the
+     * smallest index.
+     */
+    private static int farthestVertex(double[] distance, boolean[] isLandmark)
+    {
+        int result = -1;
+        for (int v = 0; v < distance.length; v++) {
+            if (!isLandmark[v] && (result == -1 || distance[v] > distance[result])) {
+                result = v;
+            }
+        }
+        return result;
+    }
+}
@@ -115,4 +115,25 @@ abstract class BaseManyToManyShortestPaths<V, E>
 
         return iterator.getPaths();
     }
+
+    /**
+     * Checks that all vertices of {@code sources} and {@code targets} are contained in the graph.
+     *
+     * @param sources source vertices
+     * @param targets target vertices
+     * @throws IllegalArgumentException if a vertex is not contained in the graph
+     */
+    protected void assertVerticesInGraph(Collection<V> sources, Collection<V> targets)
+    {
+        for (V source : sources) {
+            if (!graph.containsVertex(source)) {
+                throw new IllegalArgumentException("graph must contain the source vertex");
+            }
+        }
+        for (V target : targets) {
+            if (!graph.containsVertex(target)) {
+                throw new IllegalArgumentException("graph must contain the target vertex");
+            }
+        }
+    }
 }
@@ -0,0 +1,505 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A blocked and parallel version of the Floyd-Warshall algorithm.
+ *
+ * <p>
+ * The algorithm computes all shortest paths in $O(n^3)$ time, like
+ * {@link FloydWarshallShortestPaths}, but it is organized for large dense instances. The distance
+ * matrix is split into square blocks of {@code blockSize} rows and columns. For every block $k$ on
+ * the diagonal the algorithm performs three phases: first the diagonal block is updated using its
+ * own vertices as intermediate vertices, then the blocks of row $k$ and column $k$ are updated
+ * using the diagonal block and finally all remaining blocks are updated using the blocks of row
+ * $k$ and column $k$. Each update only touches three blocks, which therefore stay in the cache
+ * while they are used. The blocks of the second phase and the blocks of the third phase are
+ * independent of each other and are distributed among the threads of the executor, if one is
+ * provided. For more details see the paper: Gayathri Venkataraman, Sartaj Sahni and Srabani
+ * Mukhopadhyaya: A Blocked All-Pairs Shortest-Paths Algorithm. Journal of Experimental
+ * Algorithmics 8, 2003.
+ *
+ * <p>
+ * The distances are stored in a single array of $n^2$ doubles. Instead of a matrix of edge
+ * references the algorithm stores for every pair of vertices the index of the first arc on the
+ * shortest path in a single array of $n^2$ integers, where an arc is an edge traversed in a
+ * particular direction. Thus the memory usage is $12n^2$ bytes and the number of vertices is
+ * limited to $46340$. The last hop of a path is not stored but computed by following the first
+ * hops. Since the blocks are not processed in the order of the textbook algorithm, ties between
+ * paths of equal weight could make the first hops of a cycle of weight zero point at each other.
+ * If the graph contains an edge whose weight is not positive, ties are therefore broken in favor
+ * of paths with fewer edges, which requires another $4n^2$ bytes during the computation.
+ *
+ * <p>
+ * All computations are performed the first time one of the member methods of this class is
+ * invoked. The results are stored, so all subsequent calls to the same method are computationally
+ * efficient. Negative edge weights are supported as long as the graph does not contain a negative
+ * cycle.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ * @see FloydWarshallShortestPaths
+ */
+public class BlockedFloydWarshallShortestPaths<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+{
+    /**
+     * Default number of rows and columns of a block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    private static final int NO_ARC = -1;
+
+    private final int blockSize;
+    private final ThreadPoolExecutor executor;
+
+    private final List<V> vertices;
+    private final Map<V, Integer> vertexIndices;
+    private final int n;
+
+    private int[] arcTarget;
+    private List<E> arcEdge;
+
+    private double[] distance;
+    private int[] firstArc;
+
+    /**
+     * Create a new instance of the algorithm which runs sequentially.
+     *
+     * @param graph the input graph
+     */
+    public BlockedFloydWarshallShortestPaths(Graph<V, E> graph)
+    {
+        this(graph, DEFAULT_BLOCK_SIZE, null);
+    }
+
+    /**
+     * Create a new instance of the algorithm. It is up to a user of this algorithm to handle the
+     * creation and termination of the provided {@code executor}. For utility methods to manage a
+     * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+     *
+     * @param graph the input graph
+     * @param executor executor which will be used to update the blocks in parallel, or null in
+     *        order to run sequentially
+     */
+    public BlockedFloydWarshallShortestPaths(Graph<V, E> graph, ThreadPoolExecutor executor)
+    {
+        this(graph, DEFAULT_BLOCK_SIZE, executor);
+    }
+
+    /**
+     * Create a new instance of the algorithm. It is up to a user of this algorithm to handle the
+     * creation and termination of the provided {@code executor}. For utility methods to manage a
+     * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+     *
+     * @param graph the input graph
+     * @param blockSize the number of rows and columns of a block
+     * @param executor executor which will be used to update the blocks in parallel, or null in
+     *        order to run sequentially
+     * @throws IllegalArgumentException if the block size is not positive or if the graph has more
+     *         than $46340$ vertices
+     */
+    public BlockedFloydWarshallShortestPaths(
+        Graph<V, E> graph, int blockSize, ThreadPoolExecutor executor)
+    {
+        super(graph);
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.blockSize = blockSize;
+        this.executor = executor;
+
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        this.vertices = mapping.getIndexList();
+        this.vertexIndices = mapping.getVertexMap();
+        this.n = vertices.size();
+        if ((long) n * n > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Graph has too many vertices");
+        }
+    }
+
+    /**
+     * Get the total number of shortest paths. Does not count the paths from a vertex to itself.
+     *
+     * @return total number of shortest paths
+     */
+    public int getShortestPathsCount()
+    {
+        lazyCalculateMatrix();
+
+        int nShortestPaths = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j && Double.isFinite(distance[i * n + j])) {
+                    nShortestPaths++;
+                }
+            }
+        }
+        return nShortestPaths;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        int s = sourceIndex(source);
+        int t = sinkIndex(sink);
+
+        lazyCalculateMatrix();
+
+        if (s == t) {
+            return GraphWalk.singletonWalk(graph, source, 0d);
+        }
+        if (firstArc[s * n + t] == NO_ARC) {
+            return createEmptyPath(source, sink);
+        }
+
+        List<V> vertexList = new ArrayList<>();
+        List<E> edgeList = new ArrayList<>();
+        vertexList.add(source);
+        int v = s;
+        while (v != t) {
+            int arc = firstArc[v * n + t];
+            edgeList.add(arcEdge.get(arc));
+            v = arcTarget[arc];
+            vertexList.add(vertices.get(v));
+        }
+        return new GraphWalk<>(graph, source, sink, vertexList, edgeList, distance[s * n + t]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getPathWeight(V source, V sink)
+    {
+        int s = sourceIndex(source);
+        int t = sinkIndex(sink);
+
+        lazyCalculateMatrix();
+
+        return distance[s * n + t];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SingleSourcePaths<V, E> getPaths(V source)
+    {
+        return new BlockedFloydWarshallSingleSourcePaths(source);
+    }
+
+    /**
+     * Returns the first hop, i.e., the second node on the shortest path from $a$ to $b$. Lookup
+     * time is $O(1)$.
+     *
+     * @param a source vertex
+     * @param b target vertex
+     * @return next hop on the shortest path from a to b, or null when there exists no path from $a$
+     *         to $b$.
+     */
+    public V getFirstHop(V a, V b)
+    {
+        int s = sourceIndex(a);
+        int t = sinkIndex(b);
+
+        lazyCalculateMatrix();
+
+        int arc = firstArc[s * n + t];
+        return arc == NO_ARC ? null : vertices.get(arcTarget[arc]);
+    }
+
+    /**
+     * Returns the last hop, i.e., the second to last node on the shortest path from $a$ to $b$.
+     * Since the last hops are not stored, the lookup time is linear in the number of edges of the
+     * path.
+     *
+     * @param a source vertex
+     * @param b target vertex
+     * @return last hop on the shortest path from $a$ to $b$, or null when there exists no path from
+     *         $a$ to $b$.
+     */
+    public V getLastHop(V a, V b)
+    {
+        int s = sourceIndex(a);
+        int t = sinkIndex(b);
+
+        lazyCalculateMatrix();
+
+        if (firstArc[s * n + t] == NO_ARC) {
+            return null;
+        }
+        int v = s;
+        while (true) {
+            int next = arcTarget[firstArc[v * n + t]];
+            if (next == t) {
+                return vertices.get(v);
+            }
+            v = next;
+        }
+    }
+
+    private int sourceIndex(V source)
+    {
+        Integer s = vertexIndices.get(source);
+        if (s == null) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        return s;
+    }
+
+    private int sinkIndex(V sink)
+    {
+        Integer t = vertexIndices.get(sink);
+        if (t == null) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        return t;
+    }
+
+    /**
+     * Calculates the distance and first arc matrices.
+     */
+    private void lazyCalculateMatrix()
+    {
+        if (distance != null) {
+            return;
+        }
+
+        double[] distance = new double[n * n];
+        int[] firstArc = new int[n * n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        Arrays.fill(firstArc, NO_ARC);
+        for (int i = 0; i < n; i++) {
+            distance[i * n + i] = 0d;
+        }
+
+        /*
+         * Keep the lightest arc between every pair of vertices. Iterating over the outgoing edges
+         * works for directed, undirected and mixed graphs.
+         */
+        List<Integer> targets = new ArrayList<>();
+        List<E> edges = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            V v = vertices.get(i);
+            for (E e : graph.outgoingEdgesOf(v)) {
+                int j = vertexIndices.get(Graphs.getOppositeVertex(graph, e, v));
+                double weight = graph.getEdgeWeight(e);
+                if (i != j && weight < distance[i * n + j]) {
+                    distance[i * n + j] = weight;
+                    firstArc[i * n + j] = edges.size();
+                    targets.add(j);
+                    edges.add(e);
+                }
+            }
+        }
+        int[] arcTarget = new int[targets.size()];
+        boolean positiveWeights = true;
+        for (int arc = 0; arc < arcTarget.length; arc++) {
+            arcTarget[arc] = targets.get(arc);
+            positiveWeights &= graph.getEdgeWeight(edges.get(arc)) > 0d;
+        }
+
+        int[] hops = null;
+        if (!positiveWeights) {
+            hops = new int[n * n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (firstArc[i * n + j] != NO_ARC) {
+                        hops[i * n + j] = 1;
+                    }
+                }
+            }
+        }
+        final int[] pathHops = hops;
+
+        int blocks = (n + blockSize - 1) / blockSize;
+        for (int kb = 0; kb < blocks; kb++) {
+            final int k = kb;
+
+            // phase 1: the diagonal block
+            updateBlock(distance, firstArc, pathHops, k, k, k);
+
+            // phase 2: the other blocks of row k and column k
+            ConcurrencyUtil.forEachIndex(executor, 2 * (blocks - 1), () -> index -> {
+                int b = index / 2;
+                if (b >= k) {
+                    b++;
+                }
+                if (index % 2 == 0) {
+                    updateBlock(distance, firstArc, pathHops, k, b, k);
+                } else {
+                    updateBlock(distance, firstArc, pathHops, b, k, k);
+                }
+            });
+
+            // phase 3: all remaining blocks
+            ConcurrencyUtil.forEachIndex(executor, (blocks - 1) * (blocks - 1), () -> index -> {
+                int ib = index / (blocks - 1);
+                int jb = index % (blocks - 1);
+                if (ib >= k) {
+                    ib++;
+                }
+                if (jb >= k) {
+                    jb++;
+                }
+                updateBlock(distance, firstArc, pathHops, ib, jb, k);
+            });
+        }
+
+        this.arcTarget = arcTarget;
+        this.arcEdge = edges;
+        this.firstArc = firstArc;
+        this.distance = distance;
+    }
+
+    /**
+     * Relax all paths from the vertices of block row {@code ib} to the vertices of block column
+     * {@code jb} over the intermediate vertices of block {@code kb}.
+     *
+     * @param distance the distance matrix
+     * @param firstArc the first arc matrix
+     * @param hops the number of edges of the paths, or null if all edge weights are positive
+     * @param ib the block row
+     * @param jb the block column
+     * @param kb the block of intermediate vertices
+     */
+    private void updateBlock(
+        double[] distance, int[] firstArc, int[] hops, int ib, int jb, int kb)
+    {
+        int iStart = ib * blockSize, iEnd = Math.min(iStart + blockSize, n);
+        int jStart = jb * blockSize, jEnd = Math.min(jStart + blockSize, n);
+        int kStart = kb * blockSize, kEnd = Math.min(kStart + blockSize, n);
+
+        if (hops != null) {
+            updateBlockBreakingTies(
+                distance, firstArc, hops, iStart, iEnd, jStart, jEnd, kStart, kEnd);
+            return;
+        }
+
+        for (int k = kStart; k < kEnd; k++) {
+            int kRow = k * n;
+            for (int i = iStart; i < iEnd; i++) {
+                int iRow = i * n;
+                double dik = distance[iRow + k];
+                if (dik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                int arc = firstArc[iRow + k];
+                for (int j = jStart; j < jEnd; j++) {
+                    double sum = dik + distance[kRow + j];
+                    if (sum < distance[iRow + j]) {
+                        distance[iRow + j] = sum;
+                        firstArc[iRow + j] = arc;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #updateBlock(double[], int[], int[], int, int, int)} but among paths of equal
+     * weight the one with fewer edges is preferred.
+     *
+     * @param distance the distance matrix
+     * @param firstArc the first arc matrix
+     * @param hops the number of edges of the paths
+     * @param iStart the first row
+     * @param iEnd the end of the rows, exclusive
+     * @param jStart the first column
+     * @param jEnd the end of the columns, exclusive
+     * @param kStart the first intermediate vertex
+     * @param kEnd the end of the intermediate vertices, exclusive
+     */
+    private void updateBlockBreakingTies(
+        double[] distance, int[] firstArc, int[] hops, int iStart, int iEnd, int jStart, int jEnd,
+        int kStart, int kEnd)
+    {
+        for (int k = kStart; k < kEnd; k++) {
+            int kRow = k * n;
+            for (int i = iStart; i < iEnd; i++) {
+                int iRow = i * n;
+                double dik = distance[iRow + k];
+                if (dik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                int hik = hops[iRow + k];
+                int arc = firstArc[iRow + k];
+                for (int j = jStart; j < jEnd; j++) {
+                    double sum = dik + distance[kRow + j];
+                    double dij = distance[iRow + j];
+                    if (sum < dij || sum == dij && sum != Double.POSITIVE_INFINITY
+                        && hik + hops[kRow + j] < hops[iRow + j])
+                    {
+                        distance[iRow + j] = sum;
+                        firstArc[iRow + j] = arc;
+                        hops[iRow + j] = hik + hops[kRow + j];
+                    }
+                }
+            }
+        }
+    }
+
+    class BlockedFloydWarshallSingleSourcePaths
+        implements
+        SingleSourcePaths<V, E>
+    {
+        private final V source;
+
+        public BlockedFloydWarshallSingleSourcePaths(V source)
+        {
+            this.source = source;
+        }
+
+        @Override
+        public Graph<V, E> getGraph()
+        {
+            return graph;
+        }
+
+        @Override
+        public V getSourceVertex()
+        {
+            return source;
+        }
+
+        @Override
+        public double getWeight(V sink)
+        {
+            return BlockedFloydWarshallShortestPaths.this.getPathWeight(source, sink);
+        }
+
+        @Override
+        public GraphPath<V, E> getPath(V sink)
+        {
+            return BlockedFloydWarshallShortestPaths.this.getPath(source, sink);
+        }
+    }
+
+}
@@ -23,6 +23,7 @@ import org.jgrapht.graph.*;
 import org.jgrapht.util.ConcurrencyUtil;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.stream.*;
 
@@ -60,6 +61,16 @@ import static org.jgrapht.alg.shortestpath.ContractionHierarchyPrecomputation.*;
  * time and space complexity. Therefore the ideal use cases for this algorithm are sparse graphs of
  * any size with low average out-degree of vertices.
  *
+ * <p>
+ * If only the weights of the paths are needed, the method {@link #getManyToManyWeights(List, List)}
+ * should be preferred. It stores the buckets in flat arrays indexed by the contracted vertices and
+ * discards the search spaces as soon as they have been used, so that no paths need to be stored.
+ *
+ * <p>
+ * Backward searches are independent of each other and so are forward searches once all buckets
+ * are filled. If an executor is provided both kinds of searches are distributed among the threads
+ * of the executor, otherwise they are performed sequentially.
+ *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  * @author Semen Chudakov
@@ -83,6 +94,10 @@ public class CHManyToManyShortestPaths<V, E>
      * {@code contractionGraph}.
      */
     private Map<V, ContractionVertex<V>> contractionMapping;
+    /**
+     * Executor which is used to perform the searches, or null.
+     */
+    private final ThreadPoolExecutor executor;
 
     /**
      * Constructs an instance of the algorithm for a given {@code graph} and {@code executor}. It is
@@ -91,13 +106,14 @@ public class CHManyToManyShortestPaths<V, E>
      * {@link ConcurrencyUtil}.
      *
      * @param graph a graph
-     * @param executor executor which will be used to compute {@link ContractionHierarchy}
+     * @param executor executor which will be used to compute {@link ContractionHierarchy} and to
+     *        perform the searches
      */
     public CHManyToManyShortestPaths(Graph<V, E> graph, ThreadPoolExecutor executor)
     {
         this(
-            new ContractionHierarchyPrecomputation<>(graph, executor)
-                .computeContractionHierarchy());
+            new ContractionHierarchyPrecomputation<>(graph, executor).computeContractionHierarchy(),
+            executor);
     }
 
     /**
@@ -106,11 +122,28 @@ public class CHManyToManyShortestPaths<V, E>
      * @param contractionHierarchy contraction of the {@code graph}
      */
     public CHManyToManyShortestPaths(ContractionHierarchy<V, E> contractionHierarchy)
+    {
+        this(contractionHierarchy, null);
+    }
+
+    /**
+     * Constructs an instance of the algorithm for a given {@code contractionHierarchy} and
+     * {@code executor}. It is up to a user of this algorithm to handle the creation and termination
+     * of the provided {@code executor}. For utility methods to manage a
+     * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+     *
+     * @param contractionHierarchy contraction of the {@code graph}
+     * @param executor executor which will be used to perform the searches in parallel, or null in
+     *        order to perform them sequentially
+     */
+    public CHManyToManyShortestPaths(
+        ContractionHierarchy<V, E> contractionHierarchy, ThreadPoolExecutor executor)
     {
         super(contractionHierarchy.getGraph());
         this.contractionHierarchy = contractionHierarchy;
         this.contractionGraph = contractionHierarchy.getContractionGraph();
         this.contractionMapping = contractionHierarchy.getContractionMapping();
+        this.executor = executor;
     }
 
     /**
@@ -137,12 +170,13 @@ public class CHManyToManyShortestPaths<V, E>
 
         Map<ContractionVertex<V>,
             Map<ContractionVertex<V>, Pair<Double, ContractionEdge<E>>>> forwardSearchSpaces =
-                new HashMap<>();
+                executor == null ? new HashMap<>() : new ConcurrentHashMap<>();
         Map<ContractionVertex<V>,
             Map<ContractionVertex<V>, Pair<Double, ContractionEdge<E>>>> backwardSearchSpaces =
-                new HashMap<>();
+                executor == null ? new HashMap<>() : new ConcurrentHashMap<>();
         Map<Pair<ContractionVertex<V>, ContractionVertex<V>>,
-            Pair<Double, ContractionVertex<V>>> middleVertices = new HashMap<>();
+            Pair<Double, ContractionVertex<V>>> middleVertices =
+                executor == null ? new HashMap<>() : new ConcurrentHashMap<>();
 
         Set<ContractionVertex<V>> contractedSources = sources
             .stream().map(contractionMapping::get).collect(Collectors.toCollection(HashSet::new));
@@ -154,17 +188,34 @@ public class CHManyToManyShortestPaths<V, E>
             bucketsMap.put(vertex, new ArrayList<>());
         }
 
-        for (ContractionVertex<V> contractedTarget : contractedTargets) {
-            backwardSearch(
-                searchContractionGraph, contractedTarget, contractedSources, bucketsMap,
-                backwardSearchSpaces, reversed);
+        List<ContractionVertex<V>> contractedTargetList = new ArrayList<>(contractedTargets);
+        ConcurrencyUtil.forEachIndex(
+            executor, contractedTargetList.size(),
+            () -> i -> backwardSearch(
+                searchContractionGraph, contractedTargetList.get(i), contractedSources,
+                backwardSearchSpaces, reversed));
+
+        for (ContractionVertex<V> contractedTarget : contractedTargetList) {
+            for (Map.Entry<ContractionVertex<V>,
+                Pair<Double, ContractionEdge<E>>> entry : backwardSearchSpaces
+                    .get(contractedTarget).entrySet())
+            {
+                bucketsMap
+                    .get(entry.getKey())
+                    .add(new BucketEntry(contractedTarget, entry.getValue().getFirst()));
+            }
         }
 
-        for (ContractionVertex<V> contractedSource : contractedSources) {
-            forwardSearch(
-                searchContractionGraph, contractedSource, contractedTargets, bucketsMap,
-                forwardSearchSpaces, middleVertices, reversed);
-        }
+        /*
+         * The buckets are only read by the forward searches, and every forward search creates the
+         * entries of its own source only.
+         */
+        List<ContractionVertex<V>> contractedSourceList = new ArrayList<>(contractedSources);
+        ConcurrencyUtil.forEachIndex(
+            executor, contractedSourceList.size(),
+            () -> i -> forwardSearch(
+                searchContractionGraph, contractedSourceList.get(i), contractedTargets, bucketsMap,
+                forwardSearchSpaces, middleVertices, reversed));
 
         if (reversed) {
             return new CHManyToManyShortestPathsImpl(
@@ -177,26 +228,106 @@ public class CHManyToManyShortestPaths<V, E>
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * First a backward search is performed from every target vertex. The computed distances are
+     * stored in buckets, which are kept in flat arrays indexed by the contracted vertices. Then a
+     * forward search is performed from every source vertex, which fills the row of the source by
+     * scanning the buckets of the vertices it settles.
+     */
+    @Override
+    public double[][] getManyToManyWeights(List<V> sources, List<V> targets)
+    {
+        Objects.requireNonNull(sources, "sources cannot be null!");
+        Objects.requireNonNull(targets, "targets cannot be null!");
+        assertVerticesInGraph(sources, targets);
+
+        Graph<ContractionVertex<V>, ContractionEdge<E>> backwardGraph = new MaskSubgraph<>(
+            new EdgeReversedGraph<>(contractionGraph), v -> false, e -> e.isUpward);
+        Graph<ContractionVertex<V>, ContractionEdge<E>> forwardGraph =
+            new MaskSubgraph<>(contractionGraph, v -> false, e -> !e.isUpward);
+
+        Set<ContractionVertex<V>> contractedSources = sources
+            .stream().map(contractionMapping::get).collect(Collectors.toCollection(HashSet::new));
+        Set<ContractionVertex<V>> contractedTargets = targets
+            .stream().map(contractionMapping::get).collect(Collectors.toCollection(HashSet::new));
+
+        List<Map<ContractionVertex<V>, Pair<Double, ContractionEdge<E>>>> backwardSearchSpaces =
+            new ArrayList<>(Collections.nCopies(targets.size(), null));
+        ConcurrencyUtil.forEachIndex(
+            executor, targets.size(),
+            () -> j -> backwardSearchSpaces.set(
+                j, getDistanceAndPredecessorMap(
+                    backwardGraph, contractionMapping.get(targets.get(j)), contractedSources)));
+
+        // store the buckets of all vertices in compressed sparse row format
+        int n = contractionGraph.vertexSet().size();
+        int[] bucketStart = new int[n + 1];
+        for (Map<ContractionVertex<V>,
+            Pair<Double, ContractionEdge<E>>> searchSpace : backwardSearchSpaces)
+        {
+            for (ContractionVertex<V> v : searchSpace.keySet()) {
+                bucketStart[v.vertexId + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            bucketStart[v + 1] += bucketStart[v];
+        }
+        int[] bucketTarget = new int[bucketStart[n]];
+        double[] bucketDistance = new double[bucketStart[n]];
+        int[] position = Arrays.copyOf(bucketStart, n);
+        for (int j = 0; j < targets.size(); j++) {
+            for (Map.Entry<ContractionVertex<V>,
+                Pair<Double, ContractionEdge<E>>> entry : backwardSearchSpaces.get(j).entrySet())
+            {
+                int pos = position[entry.getKey().vertexId]++;
+                bucketTarget[pos] = j;
+                bucketDistance[pos] = entry.getValue().getFirst();
+            }
+            backwardSearchSpaces.set(j, null);
+        }
+
+        double[][] weights = new double[sources.size()][targets.size()];
+        ConcurrencyUtil.forEachIndex(executor, sources.size(), () -> i -> {
+            double[] row = weights[i];
+            Arrays.fill(row, Double.POSITIVE_INFINITY);
+            for (Map.Entry<ContractionVertex<V>,
+                Pair<Double, ContractionEdge<E>>> entry : getDistanceAndPredecessorMap(
+                    forwardGraph, contractionMapping.get(sources.get(i)), contractedTargets)
+                        .entrySet())
+            {
+                int v = entry.getKey().vertexId;
+                double forwardDistance = entry.getValue().getFirst();
+                for (int pos = bucketStart[v]; pos < bucketStart[v + 1]; pos++) {
+                    double pathDistance = forwardDistance + bucketDistance[pos];
+                    if (pathDistance < row[bucketTarget[pos]]) {
+                        row[bucketTarget[pos]] = pathDistance;
+                    }
+                }
+            }
+        });
+        return weights;
+    }
+
     /**
      * Performs backward single source shortest paths search in {@code contractionGraph} starting
-     * from {@code target} to {@code sources}. For each vertex $v$ in {@code contractionGraph} a
-     * bucket is created that records entries $(t,d)$, where $t$ is a current {@code target} and $d$
-     * is a distance computed during current search. A constructed shortest paths tree is then put
-     * in {@code backwardSearchSpaces}. If {@code reversed} flag is set to $true$ the specified
-     * {@code target} belongs to the original source vertices and therefore downward edges should be
-     * masked in the contraction graph instead of upward.
+     * from {@code target} to {@code sources}. A constructed shortest paths tree is then put in
+     * {@code backwardSearchSpaces}. The buckets of the vertices are filled from the backward search
+     * spaces once all backward searches are finished. If {@code reversed} flag is set to $true$ the
+     * specified {@code target} belongs to the original source vertices and therefore downward edges
+     * should be masked in the contraction graph instead of upward.
      *
      * @param contractionGraph graph to perform search in
      * @param target search start vertex
      * @param contractedSources vertices to end search at
-     * @param bucketsMap map from vertices to their buckets
      * @param backwardSearchSpaces map from vertices to their search spaces
      * @param reversed indicates if current search is reversed
      */
     private void backwardSearch(
         Graph<ContractionVertex<V>, ContractionEdge<E>> contractionGraph,
         ContractionVertex<V> target, Set<ContractionVertex<V>> contractedSources,
-        Map<ContractionVertex<V>, List<BucketEntry>> bucketsMap,
         Map<ContractionVertex<V>,
             Map<ContractionVertex<V>, Pair<Double, ContractionEdge<E>>>> backwardSearchSpaces,
         boolean reversed)
@@ -215,13 +346,6 @@ public class CHManyToManyShortestPaths<V, E>
             getDistanceAndPredecessorMap(maskSubgraph, target, contractedSources);
 
         backwardSearchSpaces.put(target, distanceAndPredecessorMap);
-
-        for (Map.Entry<ContractionVertex<V>,
-            Pair<Double, ContractionEdge<E>>> entry : distanceAndPredecessorMap.entrySet())
-        {
-            bucketsMap
-                .get(entry.getKey()).add(new BucketEntry(target, entry.getValue().getFirst()));
-        }
     }
 
     /**
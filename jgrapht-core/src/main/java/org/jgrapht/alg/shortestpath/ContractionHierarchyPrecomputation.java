@@ -26,6 +26,9 @@ import org.jgrapht.util.ConcurrencyUtil;
 import org.jheaps.AddressableHeap;
 import org.jheaps.tree.PairingHeap;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -82,6 +85,14 @@ import java.util.function.Supplier;
  * comparing to the sequential approach.
  *
  * <p>
+ * Witness searches are limited by the number of settled vertices. If a search is stopped by this
+ * limit before a witness is found, a shortcut is added, which might be superfluous but never
+ * affects the correctness of the hierarchy. Without such a limit the witness searches of the
+ * vertices contracted last, which are adjacent to large parts of the remaining overlay graph,
+ * dominate the running time on large road networks. Lower limits speed up the contraction at the
+ * price of a larger number of shortcuts.
+ *
+ * <p>
  * For parallelization, this implementation relies on the {@link ThreadPoolExecutor} which is
  * supplied to this algorithm from outside.
  *
@@ -91,6 +102,11 @@ import java.util.function.Supplier;
  */
 public class ContractionHierarchyPrecomputation<V, E>
 {
+    /**
+     * Default maximum number of vertices settled by a single witness search.
+     */
+    public static final int DEFAULT_WITNESS_SEARCH_SETTLED_LIMIT = 1000;
+
     /**
      * The underlying graph.
      */
@@ -136,6 +152,10 @@ public class ContractionHierarchyPrecomputation<V, E>
      * Supplier for the preferable heap implementation.
      */
     private Supplier<AddressableHeap<Double, ContractionVertex<V>>> shortcutsSearchHeapSupplier;
+    /**
+     * Maximum number of vertices settled by a single witness search.
+     */
+    private int witnessSearchSettledLimit;
 
     /**
      * Decorator for {@link ThreadPoolExecutor} supplied to this algorithm that enables to keep
@@ -224,7 +244,39 @@ public class ContractionHierarchyPrecomputation<V, E>
         Supplier<AddressableHeap<Double, ContractionVertex<V>>> shortcutsSearchHeapSupplier,
         ThreadPoolExecutor executor)
     {
-        init(graph, randomSupplier, shortcutsSearchHeapSupplier, executor);
+        this(
+            graph, randomSupplier, shortcutsSearchHeapSupplier,
+            DEFAULT_WITNESS_SEARCH_SETTLED_LIMIT, executor);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm for a given {@code graph},
+     * {@code randomSupplier}, {@code shortcutsSearchHeapSupplier},
+     * {@code witnessSearchSettledLimit} and {@code executor}. Provided {@code randomSupplier}
+     * should return different random generators instances, because they are used by different
+     * threads. Each witness search stops after {@code witnessSearchSettledLimit} vertices have
+     * been settled. It is up to a user of this algorithm to handle the creation and termination of
+     * the provided {@code executor}. For utility methods to manage a {@code ThreadPoolExecutor}
+     * see {@link ConcurrencyUtil}.
+     *
+     * @param graph graph
+     * @param randomSupplier supplier for preferable instances of {@link Random}
+     * @param shortcutsSearchHeapSupplier supplier for the preferable heap implementation.
+     * @param witnessSearchSettledLimit maximum number of vertices settled by a witness search
+     * @param executor executor which will be used for parallelization
+     * @throws IllegalArgumentException if {@code witnessSearchSettledLimit} is not positive
+     */
+    public ContractionHierarchyPrecomputation(
+        Graph<V, E> graph, Supplier<Random> randomSupplier,
+        Supplier<AddressableHeap<Double, ContractionVertex<V>>> shortcutsSearchHeapSupplier,
+        int witnessSearchSettledLimit, ThreadPoolExecutor executor)
+    {
+        if (witnessSearchSettledLimit <= 0) {
+            throw new IllegalArgumentException("Witness search settled limit must be positive");
+        }
+        init(
+            graph, randomSupplier, shortcutsSearchHeapSupplier, witnessSearchSettledLimit,
+            executor);
     }
 
     /**
@@ -233,12 +285,13 @@ public class ContractionHierarchyPrecomputation<V, E>
      * @param graph a graph
      * @param randomSupplier supplier for preferable instances of {@link Random}
      * @param shortcutsSearchHeapSupplier supplier for the preferable heap implementation.
+     * @param witnessSearchSettledLimit maximum number of vertices settled by a witness search
      * @param executor executor which will be used for parallelization
      */
     private void init(
         Graph<V, E> graph, Supplier<Random> randomSupplier,
         Supplier<AddressableHeap<Double, ContractionVertex<V>>> shortcutsSearchHeapSupplier,
-        ThreadPoolExecutor executor)
+        int witnessSearchSettledLimit, ThreadPoolExecutor executor)
     {
         this.graph = graph;
         this.contractionGraph = GraphTypeBuilder
@@ -246,6 +299,7 @@ public class ContractionHierarchyPrecomputation<V, E>
             .allowingMultipleEdges(false).allowingSelfLoops(false).buildGraph();
         this.parallelism = executor.getMaximumPoolSize();
         this.shortcutsSearchHeapSupplier = shortcutsSearchHeapSupplier;
+        this.witnessSearchSettledLimit = witnessSearchSettledLimit;
 
         vertices = new ArrayList<>(graph.vertexSet().size());
         shortcutEdges = new ArrayList<>(Collections.nCopies(graph.vertexSet().size(), null));
@@ -709,9 +763,9 @@ public class ContractionHierarchyPrecomputation<V, E>
 
     /**
      * Performs Dijkstra search in the {@code graph} starting at vertex {@code source} ignoring
-     * vertex {@code vertexToIgnore}. The search is limited by {@code radius}. The search is
-     * proceeded until all vertices in {@code successors} are reached or there is no vertex left to
-     * traverse.
+     * vertex {@code vertexToIgnore}. The search is limited by {@code radius} and by
+     * {@code witnessSearchSettledLimit}. The search is proceeded until all vertices in
+     * {@code successors} are reached or there is no vertex left to traverse.
      *
      * @param graph graph to traverse
      * @param source search start vertex
@@ -734,8 +788,9 @@ public class ContractionHierarchyPrecomputation<V, E>
 
         int numOfSuccessors = successors.size();
         int passedSuccessors = 0;
+        int settled = 0;
 
-        while (!heap.isEmpty()) {
+        while (!heap.isEmpty() && settled < witnessSearchSettledLimit) {
             AddressableHeap.Handle<Double, ContractionVertex<V>> min = heap.deleteMin();
             ContractionVertex<V> vertex = min.getValue();
             double distance = min.getKey();
@@ -743,6 +798,7 @@ public class ContractionHierarchyPrecomputation<V, E>
             if (distance > radius) {
                 break;
             }
+            ++settled;
 
             if (successors.contains(vertex)) {
                 ++passedSuccessors;
@@ -961,6 +1017,41 @@ public class ContractionHierarchyPrecomputation<V, E>
             this.contractionMapping = contractionMapping;
         }
 
+        /**
+         * Writes this contraction hierarchy to {@code out} in a compact binary format. Vertices and
+         * edges of the underlying graph are not written, they are referred to by their position in
+         * the iteration order of the vertex and edge sets of the graph. The stream is flushed but
+         * not closed.
+         *
+         * @param out output stream
+         * @throws IOException in case of an I/O error
+         */
+        public void write(OutputStream out)
+            throws IOException
+        {
+            RoutingIndexFormat.writeContractionHierarchy(this, out);
+        }
+
+        /**
+         * Reads a contraction hierarchy which was written by {@link #write(OutputStream)} from
+         * {@code buffer}, starting at its current position. The {@code graph} must have the same
+         * vertices and edges in the same iteration order as the graph the hierarchy was computed
+         * for. The buffer can be a {@link java.nio.MappedByteBuffer}, the contraction edges are
+         * stored column by column, which allows to read them with bulk operations.
+         *
+         * @param graph graph
+         * @param buffer buffer to read from
+         * @param <V> the graph vertex type
+         * @param <E> the graph edge type
+         * @return contraction hierarchy
+         * @throws IllegalArgumentException if {@code buffer} does not contain a valid contraction
+         *         hierarchy for {@code graph}
+         */
+        public static <V, E> ContractionHierarchy<V, E> read(Graph<V, E> graph, ByteBuffer buffer)
+        {
+            return RoutingIndexFormat.readContractionHierarchy(graph, buffer);
+        }
+
         /**
          * Unpacks {@code edge} by recursively going from target to source.
          *
@@ -19,8 +19,10 @@ package org.jgrapht.alg.shortestpath;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.*;
 
 /**
@@ -46,6 +48,11 @@ import java.util.function.*;
  * a lot of time. Therefore the ideal use cases for this algorithm are small graphs or large graphs
  * with low total number of source and target vertices.
  *
+ * <p>
+ * If an executor is provided the source vertices are distributed among the threads of the
+ * executor. Every thread then uses its own instance of {@link ShortestPathAlgorithm} obtained from
+ * the {@code function}, thus the provided implementation does not need to be thread-safe.
+ *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  * @author Semen Chudakov
@@ -61,6 +68,10 @@ public class DefaultManyToManyShortestPaths<V, E>
      * Provides implementation of {@link ShortestPathAlgorithm} for a given graph.
      */
     private final Function<Graph<V, E>, ShortestPathAlgorithm<V, E>> function;
+    /**
+     * Executor which is used to compute the paths, or null.
+     */
+    private final ThreadPoolExecutor executor;
 
     /**
      * Constructs a new instance of the algorithm for a given {@code graph}. The {@code function} is
@@ -81,9 +92,28 @@ public class DefaultManyToManyShortestPaths<V, E>
      */
     public DefaultManyToManyShortestPaths(
         Graph<V, E> graph, Function<Graph<V, E>, ShortestPathAlgorithm<V, E>> function)
+    {
+        this(graph, function, null);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm for a given {@code graph}, {@code function} and
+     * {@code executor}. It is up to a user of this algorithm to handle the creation and termination
+     * of the provided {@code executor}. For utility methods to manage a
+     * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+     *
+     * @param graph a graph
+     * @param function provides implementation of {@link ShortestPathAlgorithm}
+     * @param executor executor which will be used to compute the paths in parallel, or null in
+     *        order to compute them sequentially
+     */
+    public DefaultManyToManyShortestPaths(
+        Graph<V, E> graph, Function<Graph<V, E>, ShortestPathAlgorithm<V, E>> function,
+        ThreadPoolExecutor executor)
     {
         super(graph);
         this.function = function;
+        this.executor = executor;
     }
 
     @Override
@@ -92,22 +122,57 @@ public class DefaultManyToManyShortestPaths<V, E>
         Objects.requireNonNull(sources, "sources cannot be null!");
         Objects.requireNonNull(targets, "targets cannot be null!");
 
-        ShortestPathAlgorithm<V, E> algorithm = function.apply(graph);
         Map<V, Map<V, GraphPath<V, E>>> pathMap = new HashMap<>();
 
         for (V source : sources) {
             pathMap.put(source, new HashMap<>());
         }
 
-        for (V source : sources) {
-            for (V target : targets) {
-                pathMap.get(source).put(target, algorithm.getPath(source, target));
-            }
-        }
+        /*
+         * Every source has its own inner map, thus the workers never modify the same map.
+         */
+        List<V> sourceList = new ArrayList<>(sources);
+        ConcurrencyUtil.forEachIndex(executor, sourceList.size(), () -> {
+            ShortestPathAlgorithm<V, E> algorithm = function.apply(graph);
+            return i -> {
+                V source = sourceList.get(i);
+                Map<V, GraphPath<V, E>> sourcePaths = pathMap.get(source);
+                for (V target : targets) {
+                    sourcePaths.put(target, algorithm.getPath(source, target));
+                }
+            };
+        });
 
         return new DefaultManyToManyShortestPathsImpl<>(sources, targets, pathMap);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The weights are obtained using {@link ShortestPathAlgorithm#getPathWeight(Object, Object)},
+     * thus no paths are stored.
+     */
+    @Override
+    public double[][] getManyToManyWeights(List<V> sources, List<V> targets)
+    {
+        Objects.requireNonNull(sources, "sources cannot be null!");
+        Objects.requireNonNull(targets, "targets cannot be null!");
+        assertVerticesInGraph(sources, targets);
+
+        double[][] weights = new double[sources.size()][targets.size()];
+        ConcurrencyUtil.forEachIndex(executor, sources.size(), () -> {
+            ShortestPathAlgorithm<V, E> algorithm = function.apply(graph);
+            return i -> {
+                V source = sources.get(i);
+                for (int j = 0; j < targets.size(); j++) {
+                    weights[i][j] = algorithm.getPathWeight(source, targets.get(j));
+                }
+            };
+        });
+        return weights;
+    }
+
     /**
      * Implementation of the
      * {@link org.jgrapht.alg.interfaces.ManyToManyShortestPathsAlgorithm.ManyToManyShortestPaths}.
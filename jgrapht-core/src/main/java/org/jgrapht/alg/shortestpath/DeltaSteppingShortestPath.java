@@ -23,7 +23,6 @@ import org.jgrapht.alg.util.*;
 
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.function.Supplier;
 
 /**
  * Parallel implementation of a single-source shortest path algorithm: the delta-stepping algorithm.
@@ -64,8 +63,23 @@ import java.util.function.Supplier;
  * </ul>
  *
  * <p>
+ * This implementation maps the vertices of the graph to integers and stores the graph in
+ * compressed sparse row format, where the light edges (of weight at most $\Delta$) of each vertex
+ * precede its heavy edges. Tentative distances and predecessors are kept in primitive arrays. The
+ * vertices are split into partitions by their integer index and every partition owns the
+ * tentative distances and the buckets of its vertices. The computation proceeds in rounds. In each
+ * round a partition first applies the relaxation requests which were addressed to it in the
+ * previous round, and then scans its part of the current bucket and writes the resulting requests
+ * into per partition buffers, one for every target partition. Since only the owner of a vertex
+ * ever updates its tentative distance, no synchronization is needed apart from the end of each
+ * round.
+ *
+ * <p>
  * For parallelization, this implementation relies on the {@link ThreadPoolExecutor} which is
- * supplied to this algorithm from outside.
+ * supplied to this algorithm from outside. Each round submits one task per thread of the executor.
+ * There are several partitions per thread and the tasks claim partitions dynamically, so idle
+ * threads take over the partitions of busy ones. With a single thread the rounds are executed by
+ * the calling thread.
  *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -90,69 +104,27 @@ public class DeltaSteppingShortestPath<V, E>
      */
     private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
     /**
-     * Empirically computed amount of tasks per worker thread in the {@link ForkJoinPool} that
-     * yields good performance.
+     * Number of vertex partitions per thread, which allows the threads to balance their load.
+     */
+    private static final int PARTITIONS_PER_THREAD = 4;
+    /**
+     * Maximum size of the cyclic array of buckets.
      */
-    private static final int TASKS_TO_THREADS_RATIO = 20;
+    private static final int MAX_NUM_OF_BUCKETS = 1 << 16;
 
     /**
      * The bucket width. A bucket with index $i$ therefore stores a vertex v if and only if v is
-     * queued and tentative distance to v $\in[i\cdot\Delta,(i+1)\cdot\Delta]$
+     * queued and tentative distance to v $\in[i\cdot\Delta,(i+1)\cdot\Delta)$
      */
     private double delta;
     /**
      * Maximum number of threads used in the computations.
      */
     private int parallelism;
-
-    /**
-     * Number of buckets in the bucket structure.
-     */
-    private int numOfBuckets;
-    /**
-     * Maximum edge weight in the {@link #graph}.
-     */
-    private double maxEdgeWeight;
-    /**
-     * Map to store predecessor for each vertex in the shortest path tree.
-     */
-    private Map<V, Pair<Double, E>> distanceAndPredecessorMap;
-    /**
-     * Buckets structure.
-     */
-    private List<Set<V>> bucketStructure;
-    /**
-     * Comparator for vertices in the graph which is used to create {@code ConcurrentSkipListSet}
-     * instances for the {@code bucketStructure}.
-     */
-    private Comparator<V> vertexComparator;
-    /**
-     * Supplier of the buckets for the {@code bucketStructure}.
-     */
-    private Supplier<Set<V>> bucketsSupplier;
-
-    /**
-     * Decorator for {@link ThreadPoolExecutor} supplied to this algorithm that enables to keep
-     * track of when all submitted tasks are finished.
-     */
-    private ExecutorCompletionService<Void> completionService;
-    /**
-     * Queue of vertices which edges should be relaxed on current iteration.
-     */
-    private Queue<V> verticesQueue;
-    /**
-     * Task for light edges relaxation.
-     */
-    private Runnable lightRelaxTask;
     /**
-     * Task for light edges relaxation.
+     * Executor which is used for parallelization.
      */
-    private Runnable heavyRelaxTask;
-    /**
-     * Indicates when all the vertices are been added to the {@link #verticesQueue} on each
-     * iteration.
-     */
-    private volatile boolean allVerticesAdded;
+    private ThreadPoolExecutor executor;
 
     /**
      * Constructs a new instance of the algorithm for a given graph and {@code executor}. It is up
@@ -172,15 +144,16 @@ public class DeltaSteppingShortestPath<V, E>
      * Constructs a new instance of the algorithm for a given {@code graph}, {@code executor}
      * and {@code vertexComparator}. It is up to a user of this algorithm to handle the creation
      * and termination of the provided {@code executor}. For utility methods to manage a
-     * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}. {@code vertexComparator}
-     * provided via this constructor is used to create instances of {@code ConcurrentSkipListSet}
-     * for the individual buckets. This gives a gives a small performance benefit for shortest
-     * paths computation.
+     * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}. The {@code vertexComparator} is
+     * not used, since the vertices are mapped to integers and the buckets store these integers.
      *
      * @param graph graph
      * @param executor executor which will be used for parallelization
      * @param vertexComparator comparator for vertices of the {@code graph}
+     * @deprecated the comparator is ignored, use
+     *             {@link #DeltaSteppingShortestPath(Graph, ThreadPoolExecutor)}
      */
+    @Deprecated
     public DeltaSteppingShortestPath(Graph<V, E> graph, ThreadPoolExecutor executor, Comparator<V> vertexComparator)
     {
         this(graph, 0.0, executor, vertexComparator);
@@ -213,30 +186,31 @@ public class DeltaSteppingShortestPath<V, E>
     {
         super(graph);
         Objects.requireNonNull(executor, "executor must not be null!");
-        init(graph, delta, executor, null);
+        init(delta, executor);
     }
 
     /**
      * Constructs a new instance of the algorithm for a given graph, delta, {@code executor}
      * and {@code vertexComparator}. It is up to a user of this algorithm to handle the creation
      * and termination of the provided {@code executor}. For utility methods to manage a
-     * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}. {@code vertexComparator}
-     * provided via this constructor is used to create instances of {@code ConcurrentSkipListSet}
-     * for the individual buckets. This gives a gives a small performance benefit for shortest
-     * paths computation.
+     * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}. The {@code vertexComparator} is
+     * not used, since the vertices are mapped to integers and the buckets store these integers.
      *
      * @param graph the graph
      * @param delta bucket width
      * @param executor executor which will be used for parallelization
      * @param vertexComparator comparator for vertices of the {@code graph}
+     * @deprecated the comparator is ignored, use
+     *             {@link #DeltaSteppingShortestPath(Graph, double, ThreadPoolExecutor)}
      */
+    @Deprecated
     public DeltaSteppingShortestPath(Graph<V, E> graph, double delta, ThreadPoolExecutor executor,
                                      Comparator<V> vertexComparator)
     {
         super(graph);
         Objects.requireNonNull(executor, "executor must not be null!");
-        Objects.requireNonNull(executor, "vertexComparator must not be null!");
-        init(graph, delta, executor, vertexComparator);
+        Objects.requireNonNull(vertexComparator, "vertexComparator must not be null!");
+        init(delta, executor);
     }
 
     /**
@@ -269,105 +243,23 @@ public class DeltaSteppingShortestPath<V, E>
     public DeltaSteppingShortestPath(Graph<V, E> graph, double delta, int parallelism)
     {
         super(graph);
-        init(graph, delta, ConcurrencyUtil.createThreadPoolExecutor(parallelism), null);
+        init(delta, ConcurrencyUtil.createThreadPoolExecutor(parallelism));
     }
 
     /**
-     * Initializes {@code delta}, {@code parallelism}, {@code distanceAndPredecessorMap},
-     * {@code completionService}, {@code verticesQueue}, {@code lightRelaxTask} and
-     * {@code heavyRelaxTask} fields.
+     * Initializes {@code delta}, {@code parallelism} and {@code executor} fields.
      *
-     * @param graph a graph
      * @param delta bucket width
      * @param executor executor which will be used for parallelization
      */
-    private void init(Graph<V, E> graph, double delta, ThreadPoolExecutor executor, Comparator<V> vertexComparator){
+    private void init(double delta, ThreadPoolExecutor executor)
+    {
         if (delta < 0) {
             throw new IllegalArgumentException(DELTA_MUST_BE_NON_NEGATIVE);
         }
         this.delta = delta;
+        this.executor = executor;
         this.parallelism = executor.getMaximumPoolSize();
-        this.vertexComparator = vertexComparator;
-        distanceAndPredecessorMap = new ConcurrentHashMap<>(graph.vertexSet().size());
-        completionService = new ExecutorCompletionService<>(executor);
-        verticesQueue = new ConcurrentLinkedQueue<>();
-        lightRelaxTask = new LightRelaxTask(verticesQueue);
-        heavyRelaxTask = new HeavyRelaxTask(verticesQueue);
-    }
-
-    /**
-     * Calculates max edge weight in the {@link #graph}.
-     *
-     * @return max edge weight
-     */
-    private double getMaxEdgeWeight()
-    {
-        ForkJoinTask<Double> task = ForkJoinPool
-            .commonPool().submit(
-                new MaxEdgeWeightTask(
-                    graph.edgeSet().spliterator(),
-                    graph.edgeSet().size() / (TASKS_TO_THREADS_RATIO * parallelism) + 1));
-        return task.join();
-    }
-
-    /**
-     * Is used during the algorithm to compute maximum edge weight of the {@link #graph}. Apart from
-     * computing the maximal edge weight in the graph the task also checks if there exist edges with
-     * negative weights.
-     */
-    class MaxEdgeWeightTask
-        extends
-        RecursiveTask<Double>
-    {
-        /**
-         * Is used to split a collection and create new recursive tasks during the computation.
-         */
-        Spliterator<E> spliterator;
-        /**
-         * Amount of edges which are processed in parallel.
-         */
-        long loadBalancing;
-
-        /**
-         * Constructs a new instance for the given spliterator and loadBalancing
-         *
-         * @param spliterator spliterator
-         * @param loadBalancing loadBalancing
-         */
-        MaxEdgeWeightTask(Spliterator<E> spliterator, long loadBalancing)
-        {
-            this.spliterator = spliterator;
-            this.loadBalancing = loadBalancing;
-        }
-
-        /**
-         * Computes maximum edge weight. If amount of edges in {@link #spliterator} is less than
-         * {@link #loadBalancing}, then computation is performed sequentially. If not, the
-         * {@link #spliterator} is used to split the collection and then two new child tasks are
-         * created.
-         *
-         * @return max edge weight
-         */
-        @Override
-        protected Double compute()
-        {
-            if (spliterator.estimateSize() <= loadBalancing) {
-                double[] max = { 0 };
-                spliterator.forEachRemaining(e -> {
-                    double weight = graph.getEdgeWeight(e);
-                    if (weight < 0) {
-                        throw new IllegalArgumentException(NEGATIVE_EDGE_WEIGHT_NOT_ALLOWED);
-                    }
-                    max[0] = Math.max(weight, max[0]);
-                });
-                return max[0];
-            } else {
-                MaxEdgeWeightTask t1 = new MaxEdgeWeightTask(spliterator.trySplit(), loadBalancing);
-                t1.fork();
-                MaxEdgeWeightTask t2 = new MaxEdgeWeightTask(spliterator, loadBalancing);
-                return Math.max(t2.compute(), t1.join());
-            }
-        }
     }
 
     /**
@@ -394,410 +286,469 @@ public class DeltaSteppingShortestPath<V, E>
         if (!graph.containsVertex(source)) {
             throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
         }
-        maxEdgeWeight = getMaxEdgeWeight();
-        if (delta == 0.0) { // the value should be computed
-            delta = findDelta();
-        }
-        numOfBuckets = (int) (Math.ceil(maxEdgeWeight / delta) + 1);
-        bucketStructure = new ArrayList<>(numOfBuckets);
-        bucketsSupplier = getBucketsSupplier(source);
-        for (int i = 0; i < numOfBuckets; i++) {
-            bucketStructure.add(bucketsSupplier.get());
-        }
-        fillDistanceAndPredecessorMap();
-
-        computeShortestPaths(source);
-
-        return new TreeSingleSourcePathsImpl<>(graph, source, distanceAndPredecessorMap);
+        Computation computation = new Computation();
+        computation.computeShortestPaths(computation.vertexIndex.get(source));
+        return computation.createPaths(source);
     }
 
     /**
-     * Creates a supplier of sets for the {@code bucketStructure}.
-     *
-     * @param vertex a vertex in the graph
-     * @return supplier of buckets
+     * The state of a single shortest path computation.
      */
-    private Supplier<Set<V>> getBucketsSupplier(V vertex) {
-        if(vertexComparator != null){
-            return () -> new ConcurrentSkipListSet<>(vertexComparator);
-        } else if (vertex instanceof Comparable) {
-            return () -> new ConcurrentSkipListSet<>();
-        } else {
-            return () -> Collections.newSetFromMap(new ConcurrentHashMap<>());
-        }
-    }
-
-
-    /**
-     * Calculates value of {@link #delta}. The value is calculated as the maximal edge weight
-     * divided by maximal out-degree in the {@link #graph} or $1.0$ if edge set of the
-     * {@link #graph} is empty.
-     *
-     * @return bucket width
-     */
-    private double findDelta()
+    private class Computation
     {
-        if (maxEdgeWeight == 0) {
-            return 1.0;
-        } else {
-            int maxOutDegree =
-                graph.vertexSet().parallelStream().mapToInt(graph::outDegreeOf).max().orElse(0);
-            return maxEdgeWeight / maxOutDegree;
-        }
-    }
+        private final List<V> vertices;
+        private final Map<V, Integer> vertexIndex;
+        private final List<E> edges;
 
-    /**
-     * Fills {@link #distanceAndPredecessorMap} concurrently.
-     */
-    private void fillDistanceAndPredecessorMap()
-    {
-        graph
-            .vertexSet().parallelStream().forEach(
-                v -> distanceAndPredecessorMap.put(v, Pair.of(Double.POSITIVE_INFINITY, null)));
-    }
+        /*
+         * Outgoing arcs of vertex v are at positions [arcStart[v], arcStart[v + 1]), the light
+         * ones before lightEnd[v] and the heavy ones after.
+         */
+        private final int[] arcStart;
+        private final int[] lightEnd;
+        private final int[] arcTarget;
+        private final int[] arcEdge;
+        private final double[] arcWeight;
+
+        private final double[] distance;
+        private final int[] predecessor;
+        private final double[] expanded;
+        private final boolean[] removed;
+
+        private final int numOfBuckets;
+        private final int numOfPartitions;
+        private final List<Partition> partitions;
+        /*
+         * Request buffers, buffers[p][i][j] holds the requests from partition i to partition j. In
+         * each round one parity is read and the other one written.
+         */
+        private final RequestBuffer[][][] buffers;
 
-    /**
-     * Performs shortest path computations.
-     *
-     * @param source the source vertex
-     */
-    private void computeShortestPaths(V source)
-    {
-        relax(source, null, 0.0);
-
-        List<Set<V>> removed = new ArrayList<>();
-        while (true) {
-            int firstNonEmptyBucket = 0;
-            while (firstNonEmptyBucket < numOfBuckets
-                && bucketStructure.get(firstNonEmptyBucket).isEmpty())
-            { // skip empty buckets
-                ++firstNonEmptyBucket;
+        private int parity;
+        private Phase phase;
+        private long bucket;
+
+        Computation()
+        {
+            VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+            this.vertices = mapping.getIndexList();
+            this.vertexIndex = mapping.getVertexMap();
+            this.edges = new ArrayList<>(graph.edgeSet());
+            int n = vertices.size();
+
+            // compute the maximum edge weight and the maximum out-degree
+            double maxEdgeWeight = 0d;
+            for (E e : edges) {
+                double weight = graph.getEdgeWeight(e);
+                if (weight < 0) {
+                    throw new IllegalArgumentException(NEGATIVE_EDGE_WEIGHT_NOT_ALLOWED);
+                }
+                maxEdgeWeight = Math.max(maxEdgeWeight, weight);
             }
-            if (firstNonEmptyBucket == numOfBuckets) { // terminate if all buckets are empty
-                break;
+            this.arcStart = new int[n + 1];
+            int maxOutDegree = 0;
+            for (int v = 0; v < n; v++) {
+                int outDegree = graph.outgoingEdgesOf(vertices.get(v)).size();
+                maxOutDegree = Math.max(maxOutDegree, outDegree);
+                arcStart[v + 1] = arcStart[v] + outDegree;
             }
-            // the content of a bucket is replaced
-            // in order not to handle the same vertices
-            // multiple times
-            Set<V> bucketElements = getContentAndReplace(firstNonEmptyBucket);
-
-            while (!bucketElements.isEmpty()) { // reinsertions may occur
-                removed.add(bucketElements);
-                findAndRelaxLightRequests(bucketElements);
-                bucketElements = getContentAndReplace(firstNonEmptyBucket);
+            if (delta == 0.0) { // the value should be computed
+                delta = findDelta(maxEdgeWeight, maxOutDegree);
             }
 
-            findAndRelaxHeavyRequests(removed);
-            removed.clear();
-        }
-    }
+            // build the arcs, light ones first
+            Map<E, Integer> edgeIndex = CollectionUtil.newHashMapWithExpectedSize(edges.size());
+            for (E e : edges) {
+                edgeIndex.put(e, edgeIndex.size());
+            }
+            this.lightEnd = new int[n];
+            this.arcTarget = new int[arcStart[n]];
+            this.arcEdge = new int[arcStart[n]];
+            this.arcWeight = new double[arcStart[n]];
+            for (int v = 0; v < n; v++) {
+                V vertex = vertices.get(v);
+                int light = arcStart[v];
+                int heavy = arcStart[v + 1];
+                for (E e : graph.outgoingEdgesOf(vertex)) {
+                    double weight = graph.getEdgeWeight(e);
+                    int pos = weight <= delta ? light++ : --heavy;
+                    arcTarget[pos] = vertexIndex.get(Graphs.getOppositeVertex(graph, e, vertex));
+                    arcEdge[pos] = edgeIndex.get(e);
+                    arcWeight[pos] = weight;
+                }
+                lightEnd[v] = light;
+            }
 
-    /**
-     * Manages edge relaxations. Adds all elements from {@code vertices} to the
-     * {@link #verticesQueue} and submits as many {@link #lightRelaxTask} to the
-     * {@link #completionService} as needed.
-     *
-     * @param vertices vertices
-     */
-    private void findAndRelaxLightRequests(Set<V> vertices)
-    {
-        allVerticesAdded = false;
-        int numOfVertices = vertices.size();
-        int numOfTasks;
-        if (numOfVertices >= parallelism) {
-            // use as available tasks
-            numOfTasks = parallelism;
-            Iterator<V> iterator = vertices.iterator();
-            // provide some work to the workers
-            addSetVertices(iterator, parallelism);
-            submitTasks(lightRelaxTask, parallelism - 1); // one thread should
-            // submit rest of vertices
-            addSetRemaining(iterator);
-            submitTasks(lightRelaxTask, 1); // use remaining thread for relaxation
-        } else {
-            // only several relaxation tasks are needed
-            numOfTasks = numOfVertices;
-            addSetRemaining(vertices.iterator());
-            submitTasks(lightRelaxTask, numOfVertices);
+            this.distance = new double[n];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            this.predecessor = new int[n];
+            this.expanded = new double[n];
+            Arrays.fill(expanded, Double.POSITIVE_INFINITY);
+            this.removed = new boolean[n];
+
+            /*
+             * All queued vertices have a tentative distance less than (b + 2) * delta +
+             * maxEdgeWeight, where b is the current bucket. A cyclic array of buckets with one
+             * more slot usually suffices. If it would be too large, a smaller one is used and
+             * buckets which share a slot are told apart using the tentative distances.
+             */
+            this.numOfBuckets =
+                (int) Math.min(Math.ceil(maxEdgeWeight / delta) + 3, MAX_NUM_OF_BUCKETS);
+            this.numOfPartitions = parallelism == 1 ? 1
+                : Math.max(1, Math.min(n, parallelism * PARTITIONS_PER_THREAD));
+            this.partitions = new ArrayList<>(numOfPartitions);
+            for (int i = 0; i < numOfPartitions; i++) {
+                partitions.add(new Partition());
+            }
+            this.buffers = new RequestBuffer[2][numOfPartitions][numOfPartitions];
+            for (int p = 0; p < 2; p++) {
+                for (int i = 0; i < numOfPartitions; i++) {
+                    for (int j = 0; j < numOfPartitions; j++) {
+                        buffers[p][i][j] = new RequestBuffer();
+                    }
+                }
+            }
         }
 
-        allVerticesAdded = true;
-        waitForTasksCompletion(numOfTasks);
-    }
+        /**
+         * Performs shortest path computations.
+         *
+         * @param source the source vertex
+         */
+        void computeShortestPaths(int source)
+        {
+            distance[source] = 0d;
+            predecessor[source] = -1;
+            partitions.get(source % numOfPartitions).enqueue(source, 0d);
 
-    /**
-     * Manages execution of edges relaxation. Adds all elements from {@code vertices} to the
-     * {@link #verticesQueue} and submits as many {@link #heavyRelaxTask} to the
-     * {@link #completionService} as needed.
-     *
-     * @param verticesSets set of sets of vertices
-     */
-    private void findAndRelaxHeavyRequests(List<Set<V>> verticesSets)
-    {
-        allVerticesAdded = false;
-        int numOfVertices = verticesSets.stream().mapToInt(Set::size).sum();
-        int numOfTasks;
-        if (numOfVertices >= parallelism) {
-            // use as available tasks
-            numOfTasks = parallelism;
-            Iterator<Set<V>> setIterator = verticesSets.iterator();
-            // provide some work to the workers
-            Iterator<V> iterator = addSetsVertices(setIterator, parallelism);
-            submitTasks(heavyRelaxTask, parallelism - 1);// one thread should
-            // submit rest of vertices
-            addSetRemaining(iterator);
-            addSetsRemaining(setIterator);
-            submitTasks(heavyRelaxTask, 1); // use remaining thread for relaxation
-        } else {
-            // only several relaxation tasks are needed
-            numOfTasks = numOfVertices;
-            addSetsRemaining(verticesSets.iterator());
-            submitTasks(heavyRelaxTask, numOfVertices);
+            bucket = 0;
+            while (true) {
+                // relax light edges until the current bucket stays empty
+                do {
+                    runRound(Phase.LIGHT);
+                } while (anyRequests());
+
+                // relax heavy edges of the vertices removed from the current bucket
+                runRound(Phase.HEAVY);
+
+                // apply the heavy requests and find the next non-empty bucket
+                runRound(Phase.FIND_BUCKET);
+                long next = Long.MAX_VALUE;
+                for (Partition partition : partitions) {
+                    next = Math.min(next, partition.nextBucket);
+                }
+                if (next == Long.MAX_VALUE) {
+                    break;
+                }
+                bucket = next;
+            }
         }
 
-        allVerticesAdded = true;
-        waitForTasksCompletion(numOfTasks);
-    }
-
-    /**
-     * Adds {@code numOfVertices} vertices to the {@link #verticesQueue} provided by the
-     * {@code iterator}.
-     *
-     * @param iterator vertices iterator
-     * @param numOfVertices vertices amount
-     */
-    private void addSetVertices(Iterator<V> iterator, int numOfVertices)
-    {
-        for (int i = 0; i < numOfVertices && iterator.hasNext(); i++) {
-            verticesQueue.add(iterator.next());
+        /**
+         * Create the shortest paths tree.
+         *
+         * @param source the source vertex
+         * @return the single source shortest paths
+         */
+        SingleSourcePaths<V, E> createPaths(V source)
+        {
+            Map<V, Pair<Double, E>> distanceAndPredecessorMap = new HashMap<>();
+            for (int v = 0; v < vertices.size(); v++) {
+                if (distance[v] != Double.POSITIVE_INFINITY) {
+                    E e = predecessor[v] == -1 ? null : edges.get(predecessor[v]);
+                    distanceAndPredecessorMap.put(vertices.get(v), Pair.of(distance[v], e));
+                }
+            }
+            return new TreeSingleSourcePathsImpl<>(graph, source, distanceAndPredecessorMap);
         }
-    }
 
-    /**
-     * Adds all remaining vertices to the {@link #verticesQueue} provided by the {@code iterator}.
-     *
-     * @param iterator vertices iterator
-     */
-    private void addSetRemaining(Iterator<V> iterator)
-    {
-        while (iterator.hasNext()) {
-            verticesQueue.add(iterator.next());
+        /**
+         * Execute a round on all partitions, either in the calling thread or using the executor.
+         *
+         * @param phase the phase of the round
+         */
+        private void runRound(Phase phase)
+        {
+            this.phase = phase;
+            ConcurrencyUtil
+                .forEachIndex(executor, numOfPartitions, () -> i -> partitions.get(i).round(i));
+            parity = 1 - parity;
         }
-    }
 
-    /**
-     * Adds {@code numOfVertices} vertices to the {@link #verticesQueue} that are contained in the
-     * sets provided by the {@code setIterator}. Returns iterator of the set which vertex was added
-     * last.
-     *
-     * @param setIterator sets of vertices iterator
-     * @param numOfVertices vertices amount
-     * @return iterator of the last set
-     */
-    private Iterator<V> addSetsVertices(Iterator<Set<V>> setIterator, int numOfVertices)
-    {
-        int i = 0;
-        Iterator<V> iterator = null;
-        while (setIterator.hasNext() && i < numOfVertices) {
-            iterator = setIterator.next().iterator();
-            while (iterator.hasNext() && i < numOfVertices) {
-                verticesQueue.add(iterator.next());
-                i++;
+        private boolean anyRequests()
+        {
+            for (Partition partition : partitions) {
+                if (partition.requests) {
+                    return true;
+                }
             }
+            return false;
         }
-        return iterator;
-    }
 
-    /**
-     * Adds all remaining vertices to the {@link #verticesQueue} that are contained in the sets
-     * provided by the {@code setIterator}.
-     *
-     * @param setIterator sets of vertices iterator
-     */
-    private void addSetsRemaining(Iterator<Set<V>> setIterator)
-    {
-        while (setIterator.hasNext()) {
-            verticesQueue.addAll(setIterator.next());
+        private long bucketIndex(double distance)
+        {
+            return (long) (distance / delta);
         }
-    }
 
-    /**
-     * Submits the {@code task} {@code numOfTasks} times to the {@link #completionService}.
-     *
-     * @param task task to be submitted
-     * @param numOfTasks amount of times task should be submitted
-     */
-    private void submitTasks(Runnable task, int numOfTasks)
-    {
-        for (int i = 0; i < numOfTasks; i++) {
-            completionService.submit(task, null);
-        }
-    }
+        /**
+         * The buckets and the removed vertices of the vertices of a partition.
+         */
+        private class Partition
+        {
+            private final IntList[] buckets = new IntList[numOfBuckets];
+            private final long[] nonEmpty = new long[(numOfBuckets + 63) >>> 6];
+            private final IntList removedVertices = new IntList();
+            private boolean requests;
+            private long nextBucket;
+
+            /**
+             * Execute a round of the current phase.
+             *
+             * @param index the index of this partition
+             */
+            void round(int index)
+            {
+                // apply requests of the previous round
+                RequestBuffer[][] incoming = buffers[parity];
+                for (int i = 0; i < numOfPartitions; i++) {
+                    RequestBuffer buffer = incoming[i][index];
+                    for (int k = 0; k < buffer.size; k++) {
+                        int v = buffer.targets[k];
+                        double d = buffer.distances[k];
+                        if (d < distance[v]) {
+                            distance[v] = d;
+                            predecessor[v] = buffer.edges[k];
+                            enqueue(v, d);
+                        }
+                    }
+                    buffer.size = 0;
+                }
 
-    /**
-     * Takes {@code numOfTasks} tasks from the {@link #completionService}.
-     *
-     * @param numOfTasks amount of tasks
-     */
-    private void waitForTasksCompletion(int numOfTasks)
-    {
-        for (int i = 0; i < numOfTasks; i++) {
-            try {
-                completionService.take();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
+                requests = false;
+                RequestBuffer[] outgoing = buffers[1 - parity][index];
+                switch (phase) {
+                case LIGHT:
+                    relaxLightEdges(outgoing);
+                    break;
+                case HEAVY:
+                    for (int k = 0; k < removedVertices.size; k++) {
+                        int v = removedVertices.elements[k];
+                        removed[v] = false;
+                        relaxArcs(v, lightEnd[v], arcStart[v + 1], outgoing);
+                    }
+                    removedVertices.size = 0;
+                    break;
+                case FIND_BUCKET:
+                    nextBucket = findNextBucket();
+                    break;
+                }
             }
-        }
-    }
 
-    /**
-     * Performs relaxation in parallel-safe fashion. Synchronises by {@code vertex}, then if new
-     * tentative distance is less then removes {@code v} from the old bucket, adds is to the new
-     * bucket and updates {@link #distanceAndPredecessorMap} value for {@code v}.
-     *
-     * @param v vertex
-     * @param e edge to predecessor
-     * @param distance distance
-     */
-    private void relax(V v, E e, double distance)
-    {
-        int updatedBucket = bucketIndex(distance);
-        synchronized (v) { // to make relaxation updates thread-safe
-            Pair<Double, E> oldData = distanceAndPredecessorMap.get(v);
-            if (distance < oldData.getFirst()) {
-                if (!oldData.getFirst().equals(Double.POSITIVE_INFINITY)) {
-                    bucketStructure.get(bucketIndex(oldData.getFirst())).remove(v);
+            /**
+             * Add a vertex to the bucket of its tentative distance.
+             *
+             * @param v the vertex
+             * @param d the tentative distance
+             */
+            void enqueue(int v, double d)
+            {
+                int slot = (int) (bucketIndex(d) % numOfBuckets);
+                IntList list = buckets[slot];
+                if (list == null) {
+                    list = new IntList();
+                    buckets[slot] = list;
+                }
+                list.add(v);
+                nonEmpty[slot >>> 6] |= 1L << slot;
+            }
+
+            /**
+             * Remove the vertices of the current bucket and relax their light edges.
+             *
+             * @param outgoing the buffers for the requests
+             */
+            private void relaxLightEdges(RequestBuffer[] outgoing)
+            {
+                int slot = (int) (bucket % numOfBuckets);
+                IntList list = buckets[slot];
+                if (list == null || list.size == 0) {
+                    return;
+                }
+                int kept = 0;
+                for (int k = 0; k < list.size; k++) {
+                    int v = list.elements[k];
+                    double d = distance[v];
+                    long b = bucketIndex(d);
+                    if (d >= expanded[v] || b % numOfBuckets != slot) {
+                        // stale entry
+                        continue;
+                    }
+                    if (b != bucket) {
+                        // a later bucket which shares the slot
+                        list.elements[kept++] = v;
+                        continue;
+                    }
+                    expanded[v] = d;
+                    if (!removed[v]) {
+                        removed[v] = true;
+                        removedVertices.add(v);
+                    }
+                    relaxArcs(v, arcStart[v], lightEnd[v], outgoing);
+                }
+                list.size = kept;
+                if (kept == 0) {
+                    nonEmpty[slot >>> 6] &= ~(1L << slot);
+                }
+            }
+
+            /**
+             * Find the smallest index of a bucket after the current one which contains a vertex.
+             * The slots are scanned in cyclic order starting after the current bucket. Unless
+             * buckets share slots, the first non-empty slot is the answer.
+             *
+             * @return the index of the next non-empty bucket or {@link Long#MAX_VALUE} if there is
+             *         none
+             */
+            private long findNextBucket()
+            {
+                long best = Long.MAX_VALUE;
+                int first = (int) ((bucket + 1) % numOfBuckets);
+                for (int offset = 0; offset < numOfBuckets;) {
+                    int slot = nextNonEmptySlot((first + offset) % numOfBuckets);
+                    if (slot == -1) {
+                        break;
+                    }
+                    int distanceToSlot = Math.floorMod(slot - first, numOfBuckets);
+                    if (distanceToSlot < offset) {
+                        // wrapped around
+                        break;
+                    }
+                    offset = distanceToSlot + 1;
+
+                    // remove stale entries and compute the smallest bucket of the slot
+                    IntList list = buckets[slot];
+                    long min = Long.MAX_VALUE;
+                    int kept = 0;
+                    for (int k = 0; k < list.size; k++) {
+                        int v = list.elements[k];
+                        double d = distance[v];
+                        long b = bucketIndex(d);
+                        if (d < expanded[v] && b % numOfBuckets == slot) {
+                            list.elements[kept++] = v;
+                            min = Math.min(min, b);
+                        }
+                    }
+                    list.size = kept;
+                    if (kept == 0) {
+                        nonEmpty[slot >>> 6] &= ~(1L << slot);
+                        continue;
+                    }
+                    if (min == bucket + 1 + distanceToSlot) {
+                        return min;
+                    }
+                    best = Math.min(best, min);
+                }
+                return best;
+            }
+
+            /**
+             * Find the first non-empty slot, in cyclic order, starting at a given slot.
+             *
+             * @param from the slot to start from
+             * @return the first non-empty slot or -1 if all slots are empty
+             */
+            private int nextNonEmptySlot(int from)
+            {
+                int word = from >>> 6;
+                long bits = nonEmpty[word] & (-1L << from);
+                for (int i = 0; i <= nonEmpty.length; i++) {
+                    if (bits != 0L) {
+                        return (word << 6) + Long.numberOfTrailingZeros(bits);
+                    }
+                    word = word + 1 == nonEmpty.length ? 0 : word + 1;
+                    bits = nonEmpty[word];
+                }
+                return -1;
+            }
+
+            private void relaxArcs(int v, int from, int to, RequestBuffer[] outgoing)
+            {
+                double d = distance[v];
+                for (int pos = from; pos < to; pos++) {
+                    int w = arcTarget[pos];
+                    outgoing[w % numOfPartitions].add(w, d + arcWeight[pos], arcEdge[pos]);
+                    requests = true;
                 }
-                bucketStructure.get(updatedBucket).add(v);
-                distanceAndPredecessorMap.put(v, Pair.of(distance, e));
             }
         }
     }
 
     /**
-     * Calculates bucket index for a given {@code distance}.
+     * Calculates value of {@link #delta}. The value is calculated as the maximal edge weight
+     * divided by maximal out-degree in the {@link #graph} or $1.0$ if edge set of the
+     * {@link #graph} is empty.
      *
-     * @param distance distance
-     * @return bucket index
+     * @param maxEdgeWeight maximum edge weight
+     * @param maxOutDegree maximum out-degree
+     * @return bucket width
      */
-    private int bucketIndex(double distance)
+    private static double findDelta(double maxEdgeWeight, int maxOutDegree)
     {
-        return (int) Math.round(distance / delta) % numOfBuckets;
+        if (maxEdgeWeight == 0) {
+            return 1.0;
+        } else {
+            return maxEdgeWeight / maxOutDegree;
+        }
     }
 
     /**
-     * Replaces the bucket at the {@code bucketIndex} with a new instance of the concurrent set.
-     * Return the reference to the set that was previously in the bucket.
-     *
-     * @param bucketIndex bucket index
-     * @return content of the bucket
+     * The phases of a round.
      */
-    private Set<V> getContentAndReplace(int bucketIndex)
+    private enum Phase
     {
-        Set<V> result = bucketStructure.get(bucketIndex);
-        bucketStructure.set(bucketIndex, bucketsSupplier.get());
-        return result;
+        LIGHT,
+        HEAVY,
+        FIND_BUCKET
     }
 
     /**
-     * Task that is submitted to the {@link #completionService} during shortest path computation for
-     * light relax requests relaxation.
+     * A growable list of integers.
      */
-    class LightRelaxTask
-        implements
-        Runnable
+    private static class IntList
     {
-        /**
-         * Vertices which edges will be relaxed.
-         */
-        private Queue<V> vertices;
+        private int[] elements = new int[4];
+        private int size;
 
-        /**
-         * Constructs instance of a new task.
-         *
-         * @param vertices vertices
-         */
-        LightRelaxTask(Queue<V> vertices)
-        {
-            this.vertices = vertices;
-        }
-
-        /**
-         * Performs relaxation of edges emanating from {@link #vertices}.
-         */
-        @Override
-        public void run()
+        void add(int element)
         {
-
-            while (true) {
-                V v = vertices.poll();
-                if (v == null) { // we might have a termination situation
-                    if (allVerticesAdded && vertices.isEmpty()) { // need to check
-                        // is the queue is empty, because some vertices might have been added
-                        // while passing from first if condition to the second
-                        break;
-                    }
-                } else {
-                    for (E e : graph.outgoingEdgesOf(v)) {
-                        if (graph.getEdgeWeight(e) <= delta) {
-                            relax(
-                                Graphs.getOppositeVertex(graph, e, v), e,
-                                distanceAndPredecessorMap.get(v).getFirst()
-                                    + graph.getEdgeWeight(e));
-                        }
-                    }
-                }
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, 2 * size);
             }
+            elements[size++] = element;
         }
     }
 
     /**
-     * Task that is submitted to the {@link #completionService} during shortest path computation for
-     * heavy relax requests relaxation.
+     * A growable buffer of relaxation requests.
      */
-    class HeavyRelaxTask
-        implements
-        Runnable
+    private static class RequestBuffer
     {
-        /**
-         * Vertices which edges will be relaxed.
-         */
-        private Queue<V> vertices;
+        private int[] targets = new int[4];
+        private double[] distances = new double[4];
+        private int[] edges = new int[4];
+        private int size;
 
-        /**
-         * Constructs instance of a new task.
-         *
-         * @param vertices vertices
-         */
-        HeavyRelaxTask(Queue<V> vertices)
-        {
-            this.vertices = vertices;
-        }
-
-        /**
-         * Performs relaxation of edges emanating from {@link #vertices}.
-         */
-        @Override
-        public void run()
+        void add(int target, double distance, int edge)
         {
-
-            while (true) {
-                V v = vertices.poll();
-                if (v == null) {
-                    if (allVerticesAdded && vertices.isEmpty()) {
-                        break;
-                    }
-                } else {
-                    for (E e : graph.outgoingEdgesOf(v)) {
-                        if (graph.getEdgeWeight(e) > delta) {
-                            relax(
-                                Graphs.getOppositeVertex(graph, e, v), e,
-                                distanceAndPredecessorMap.get(v).getFirst()
-                                    + graph.getEdgeWeight(e));
-                        }
-                    }
-                }
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, 2 * size);
+                distances = Arrays.copyOf(distances, 2 * size);
+                edges = Arrays.copyOf(edges, 2 * size);
             }
+            targets[size] = target;
+            distances[size] = distance;
+            edges[size] = edge;
+            size++;
         }
     }
 }
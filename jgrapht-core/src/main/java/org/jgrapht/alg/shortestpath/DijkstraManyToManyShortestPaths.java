@@ -20,8 +20,10 @@ package org.jgrapht.alg.shortestpath;
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Naive algorithm for many-to-many shortest paths problem using
@@ -43,7 +45,13 @@ import java.util.*;
  * The main bottleneck of this algorithm is the memory usage to store individual shortest paths
  * trees for every source vertex, as they may take a lot of space. Considering this, the typical use
  * case of this algorithm are small graphs or large graphs with small total number of source and
- * target vertices.
+ * target vertices. If only the weights of the paths are needed, the method
+ * {@link #getManyToManyWeights(List, List)} discards every shortest paths tree as soon as the
+ * weights have been read from it.
+ *
+ * <p>
+ * The searches are independent of each other. If an executor is provided they are distributed
+ * among the threads of the executor, otherwise they are performed sequentially.
  *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
@@ -55,6 +63,10 @@ public class DijkstraManyToManyShortestPaths<V, E>
     extends
     BaseManyToManyShortestPaths<V, E>
 {
+    /**
+     * Executor which is used to perform the searches, or null.
+     */
+    private final ThreadPoolExecutor executor;
 
     /**
      * Constructs an instance of the algorithm for a given {@code graph}.
@@ -62,8 +74,24 @@ public class DijkstraManyToManyShortestPaths<V, E>
      * @param graph underlying graph
      */
     public DijkstraManyToManyShortestPaths(Graph<V, E> graph)
+    {
+        this(graph, null);
+    }
+
+    /**
+     * Constructs an instance of the algorithm for a given {@code graph} and {@code executor}. It is
+     * up to a user of this algorithm to handle the creation and termination of the provided
+     * {@code executor}. For utility methods to manage a {@code ThreadPoolExecutor} see
+     * {@link ConcurrencyUtil}.
+     *
+     * @param graph underlying graph
+     * @param executor executor which will be used to perform the searches in parallel, or null in
+     *        order to perform them sequentially
+     */
+    public DijkstraManyToManyShortestPaths(Graph<V, E> graph, ThreadPoolExecutor executor)
     {
         super(graph);
+        this.executor = executor;
     }
 
     /**
@@ -75,22 +103,66 @@ public class DijkstraManyToManyShortestPaths<V, E>
         Objects.requireNonNull(sources, "sources cannot be null!");
         Objects.requireNonNull(targets, "targets cannot be null!");
 
-        Map<V, ShortestPathAlgorithm.SingleSourcePaths<V, E>> searchSpaces = new HashMap<>();
+        Map<V, ShortestPathAlgorithm.SingleSourcePaths<V, E>> searchSpaces =
+            executor == null ? new HashMap<>() : new ConcurrentHashMap<>();
 
         if (sources.size() >= targets.size()) {
-            for (V source : sources) {
+            List<V> sourceList = new ArrayList<>(sources);
+            ConcurrencyUtil.forEachIndex(executor, sourceList.size(), () -> i -> {
+                V source = sourceList.get(i);
                 searchSpaces.put(source, getShortestPathsTree(graph, source, targets));
-            }
+            });
             return new DijkstraManyToManyShortestPathsImpl(sources, targets, false, searchSpaces);
         } else {
             Graph<V, E> edgeReversedGraph = new EdgeReversedGraph<>(graph);
-            for (V target : targets) {
+            List<V> targetList = new ArrayList<>(targets);
+            ConcurrencyUtil.forEachIndex(executor, targetList.size(), () -> i -> {
+                V target = targetList.get(i);
                 searchSpaces.put(target, getShortestPathsTree(edgeReversedGraph, target, sources));
-            }
+            });
             return new DijkstraManyToManyShortestPathsImpl(sources, targets, true, searchSpaces);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * A search is performed from every source vertex, or from every target vertex on the edge
+     * reversed graph if there are more targets than sources, and each shortest paths tree is
+     * discarded as soon as its row or column of the matrix is filled.
+     */
+    @Override
+    public double[][] getManyToManyWeights(List<V> sources, List<V> targets)
+    {
+        Objects.requireNonNull(sources, "sources cannot be null!");
+        Objects.requireNonNull(targets, "targets cannot be null!");
+        assertVerticesInGraph(sources, targets);
+
+        double[][] weights = new double[sources.size()][targets.size()];
+        if (sources.size() >= targets.size()) {
+            Set<V> targetSet = new HashSet<>(targets);
+            ConcurrencyUtil.forEachIndex(executor, sources.size(), () -> i -> {
+                ShortestPathAlgorithm.SingleSourcePaths<V, E> tree =
+                    getShortestPathsTree(graph, sources.get(i), targetSet);
+                for (int j = 0; j < targets.size(); j++) {
+                    weights[i][j] = tree.getWeight(targets.get(j));
+                }
+            });
+        } else {
+            Graph<V, E> edgeReversedGraph = new EdgeReversedGraph<>(graph);
+            Set<V> sourceSet = new HashSet<>(sources);
+            ConcurrencyUtil.forEachIndex(executor, targets.size(), () -> j -> {
+                ShortestPathAlgorithm.SingleSourcePaths<V, E> tree =
+                    getShortestPathsTree(edgeReversedGraph, targets.get(j), sourceSet);
+                for (int i = 0; i < sources.size(); i++) {
+                    weights[i][j] = tree.getWeight(sources.get(i));
+                }
+            });
+        }
+        return weights;
+    }
+
     /**
      * Implementation of the
      * {@link org.jgrapht.alg.interfaces.ManyToManyShortestPathsAlgorithm.ManyToManyShortestPaths}.
@@ -0,0 +1,535 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * The Bellman-Ford algorithm on an integer indexed representation of the graph.
+ *
+ * <p>
+ * Computes shortest paths from a single source vertex to all other vertices in a weighted graph
+ * with possibly negative edge weights. During construction the graph is compiled once into
+ * primitive arrays: the vertices are numbered from $0$ to $n-1$ using a
+ * {@link VertexToIntegerMapping} and the edges are stored in compressed sparse row format. The
+ * algorithm runs in one of two modes:
+ * <ul>
+ * <li>If no executor is provided, a queue based variant is used, which is also known as the
+ * Shortest Path Faster Algorithm (SPFA). Only the outgoing edges of vertices whose distance changed
+ * are relaxed and the algorithm stops as soon as the queue is empty. Negative weight cycles are
+ * detected by periodically searching for a cycle in the graph of the predecessor edges, which takes
+ * amortized constant time per relaxation.</li>
+ * <li>If an executor is provided, the algorithm executes rounds in which every vertex computes its
+ * new distance from the distances of the previous round, by scanning its incoming edges in a tight
+ * loop over primitive arrays. The vertices of a round are distributed among the threads of the
+ * executor and the algorithm stops after the first round without changes. If the distances still
+ * change after $n$ rounds, the algorithm continues in queue mode in order to find a negative weight
+ * cycle.</li>
+ * </ul>
+ *
+ * <p>
+ * Negative weight cycles are not allowed and will be reported by the algorithm. This implies that
+ * negative edge weights are not allowed in undirected graphs. In such cases the code will throw an
+ * exception of type {@link NegativeCycleDetectedException} which will contain the detected negative
+ * weight cycle. Note that the algorithm will not report or find negative weight cycles which are
+ * not reachable from the source vertex.
+ *
+ * <p>
+ * Besides single source shortest paths, the algorithm can compute vertex potentials, i.e. the
+ * distances from an implicit extra vertex which is connected to all vertices with zero weight
+ * edges, as needed by {@link JohnsonShortestPaths}.
+ *
+ * <p>
+ * The running time is $O(|E||V|)$. Since the graph is compiled during construction, later
+ * modifications of the graph are not reflected in the results. It is up to a user of this
+ * algorithm to handle the creation and termination of the provided {@code executor}. For utility
+ * methods to manage a {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ * @see BellmanFordShortestPath
+ */
+public class IndexedBellmanFordShortestPath<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+{
+    private static final int NO_ARC = -1;
+    private static final int ALL_VERTICES = -1;
+    private static final int BLOCK_SIZE = 1024;
+
+    private final double epsilon;
+    private final ThreadPoolExecutor executor;
+
+    private final List<V> vertices;
+    private final Map<V, Integer> vertexIndex;
+
+    // compressed sparse row representation of the outgoing edges
+    private final int[] arcStart;
+    private final int[] arcSource;
+    private final int[] arcTarget;
+    private final double[] arcWeight;
+    private final List<E> arcEdge;
+
+    // compressed sparse row representation of the incoming edges, only used by the rounds
+    private int[] inArcStart;
+    private int[] inArcSource;
+    private double[] inArcWeight;
+    private int[] inArc;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param graph the input graph
+     */
+    public IndexedBellmanFordShortestPath(Graph<V, E> graph)
+    {
+        this(graph, ToleranceDoubleComparator.DEFAULT_EPSILON, null);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param graph the input graph
+     * @param epsilon tolerance when comparing floating point values
+     * @param executor executor which will be used to relax the edges in parallel rounds, or null in
+     *        order to use the sequential queue based variant
+     */
+    public IndexedBellmanFordShortestPath(
+        Graph<V, E> graph, double epsilon, ThreadPoolExecutor executor)
+    {
+        super(graph);
+        this.epsilon = epsilon;
+        this.executor = executor;
+
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        this.vertices = mapping.getIndexList();
+        this.vertexIndex = mapping.getVertexMap();
+
+        int n = vertices.size();
+        this.arcStart = new int[n + 1];
+        int numArcs = 0;
+        for (int v = 0; v < n; v++) {
+            arcStart[v] = numArcs;
+            numArcs += graph.outgoingEdgesOf(vertices.get(v)).size();
+        }
+        arcStart[n] = numArcs;
+
+        this.arcSource = new int[numArcs];
+        this.arcTarget = new int[numArcs];
+        this.arcWeight = new double[numArcs];
+        this.arcEdge = new ArrayList<>(numArcs);
+        int arc = 0;
+        for (int v = 0; v < n; v++) {
+            V vertex = vertices.get(v);
+            for (E e : graph.outgoingEdgesOf(vertex)) {
+                arcSource[arc] = v;
+                arcTarget[arc] = vertexIndex.get(Graphs.getOppositeVertex(graph, e, vertex));
+                arcWeight[arc] = graph.getEdgeWeight(e);
+                arcEdge.add(e);
+                arc++;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NegativeCycleDetectedException in case a negative weight cycle is detected
+     */
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        return getPaths(source).getPath(sink);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws NegativeCycleDetectedException in case a negative weight cycle is detected
+     */
+    @Override
+    public SingleSourcePaths<V, E> getPaths(V source)
+    {
+        Integer s = vertexIndex.get(source);
+        if (s == null) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        int n = vertices.size();
+        double[] distance = new double[n];
+        int[] predecessorArc = new int[n];
+        run(s, distance, predecessorArc);
+        return new IndexedSingleSourcePaths(source, s, distance, predecessorArc);
+    }
+
+    /**
+     * Compute the vertex potentials, which are the distances from an implicit extra vertex which
+     * is connected to every vertex with an edge of zero weight. For every edge $(u,v)$ the
+     * potentials $h$ satisfy $h(v) \le h(u) + w(u,v)$, thus they can be used to transform the edge
+     * weights to non-negative values.
+     *
+     * @return the vertex potentials
+     * @throws NegativeCycleDetectedException in case a negative weight cycle is detected
+     */
+    public Map<V, Double> getVertexPotentials()
+    {
+        int n = vertices.size();
+        double[] distance = new double[n];
+        int[] predecessorArc = new int[n];
+        run(ALL_VERTICES, distance, predecessorArc);
+
+        Map<V, Double> potentials = new HashMap<>();
+        for (int v = 0; v < n; v++) {
+            potentials.put(vertices.get(v), distance[v]);
+        }
+        return potentials;
+    }
+
+    /**
+     * Find a path between two vertices.
+     *
+     * @param graph the graph to be searched
+     * @param source the vertex at which the path should start
+     * @param sink the vertex at which the path should end
+     *
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     *
+     * @return a shortest path, or null if no path exists
+     */
+    public static <V, E> GraphPath<V, E> findPathBetween(Graph<V, E> graph, V source, V sink)
+    {
+        return new IndexedBellmanFordShortestPath<>(graph).getPath(source, sink);
+    }
+
+    /**
+     * Compute the distances from a source, or from all vertices if the source is
+     * {@link #ALL_VERTICES}.
+     *
+     * @param s the source
+     * @param distance the distances to be computed
+     * @param predecessorArc the predecessor arcs to be computed
+     */
+    private void run(int s, double[] distance, int[] predecessorArc)
+    {
+        int n = vertices.size();
+        boolean[] active = new boolean[n];
+        Arrays.fill(predecessorArc, NO_ARC);
+        if (s == ALL_VERTICES) {
+            Arrays.fill(distance, 0d);
+            Arrays.fill(active, true);
+        } else {
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            distance[s] = 0d;
+            active[s] = true;
+        }
+
+        if (executor != null && runRounds(distance, predecessorArc, active)) {
+            return;
+        }
+        runQueue(distance, predecessorArc, active);
+    }
+
+    /**
+     * Check if a distance improves on another one, using the same tolerance as the
+     * {@link ToleranceDoubleComparator}.
+     */
+    private boolean improves(double newDistance, double distance)
+    {
+        return newDistance < distance && distance - newDistance >= epsilon;
+    }
+
+    /**
+     * Queue based Bellman-Ford starting with the given active vertices in the queue.
+     *
+     * @param distance the current distances
+     * @param predecessorArc the current predecessor arcs
+     * @param inQueue the vertices which are initially in the queue, updated by the method
+     */
+    private void runQueue(double[] distance, int[] predecessorArc, boolean[] inQueue)
+    {
+        int n = vertices.size();
+        int[] queue = new int[n + 1];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inQueue[v]) {
+                queue[tail++] = v;
+            }
+        }
+
+        long relaxations = 0;
+        while (head != tail) {
+            int v = queue[head];
+            head = head == n ? 0 : head + 1;
+            inQueue[v] = false;
+
+            double vDistance = distance[v];
+            for (int arc = arcStart[v]; arc < arcStart[v + 1]; arc++) {
+                int u = arcTarget[arc];
+                double uDistance = vDistance + arcWeight[arc];
+                if (improves(uDistance, distance[u])) {
+                    distance[u] = uDistance;
+                    predecessorArc[u] = arc;
+                    if (!inQueue[u]) {
+                        inQueue[u] = true;
+                        queue[tail] = u;
+                        tail = tail == n ? 0 : tail + 1;
+                    }
+                    if (++relaxations % n == 0) {
+                        checkNegativeCycle(predecessorArc);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Bellman-Ford rounds, where every vertex pulls its distance from its incoming edges.
+     *
+     * @param distance the current distances, updated by the method
+     * @param predecessorArc the current predecessor arcs, updated by the method
+     * @param changed the vertices whose distance changed, updated by the method
+     * @return true if the distances converged, false if they still change after $n$ rounds
+     */
+    private boolean runRounds(double[] distance, int[] predecessorArc, boolean[] changed)
+    {
+        computeIncomingArcs();
+
+        int n = vertices.size();
+        int numBlocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        double[] nextDistance = new double[n];
+        int[] nextPredecessorArc = new int[n];
+        boolean[] nextChanged = new boolean[n];
+
+        double[] curDistance = distance;
+        int[] curPredecessorArc = predecessorArc;
+        boolean[] curChanged = changed;
+        boolean converged = false;
+        for (int round = 0; round < n && !converged; round++) {
+            double[] d = curDistance;
+            int[] p = curPredecessorArc;
+            boolean[] c = curChanged;
+            double[] nd = nextDistance;
+            int[] np = nextPredecessorArc;
+            boolean[] nc = nextChanged;
+            AtomicBoolean anyChange = new AtomicBoolean();
+            ConcurrencyUtil.forEachIndex(executor, numBlocks, () -> block -> {
+                boolean blockChange = false;
+                int end = Math.min(n, (block + 1) * BLOCK_SIZE);
+                for (int v = block * BLOCK_SIZE; v < end; v++) {
+                    double best = d[v];
+                    int bestArc = NO_ARC;
+                    for (int i = inArcStart[v]; i < inArcStart[v + 1]; i++) {
+                        int u = inArcSource[i];
+                        if (c[u]) {
+                            double candidate = d[u] + inArcWeight[i];
+                            if (improves(candidate, best)) {
+                                best = candidate;
+                                bestArc = i;
+                            }
+                        }
+                    }
+                    nd[v] = best;
+                    if (bestArc == NO_ARC) {
+                        np[v] = p[v];
+                        nc[v] = false;
+                    } else {
+                        np[v] = inArc[bestArc];
+                        nc[v] = true;
+                        blockChange = true;
+                    }
+                }
+                if (blockChange) {
+                    anyChange.set(true);
+                }
+            });
+            converged = !anyChange.get();
+
+            nextDistance = curDistance;
+            nextPredecessorArc = curPredecessorArc;
+            nextChanged = curChanged;
+            curDistance = nd;
+            curPredecessorArc = np;
+            curChanged = nc;
+        }
+
+        if (curDistance != distance) {
+            System.arraycopy(curDistance, 0, distance, 0, n);
+            System.arraycopy(curPredecessorArc, 0, predecessorArc, 0, n);
+            System.arraycopy(curChanged, 0, changed, 0, n);
+        }
+        return converged;
+    }
+
+    /**
+     * Lazily build the compressed sparse row representation of the incoming edges.
+     */
+    private void computeIncomingArcs()
+    {
+        if (inArcStart != null) {
+            return;
+        }
+        int n = vertices.size();
+        int m = arcTarget.length;
+        inArcStart = new int[n + 1];
+        for (int target : arcTarget) {
+            inArcStart[target + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            inArcStart[v + 1] += inArcStart[v];
+        }
+        inArcSource = new int[m];
+        inArcWeight = new double[m];
+        inArc = new int[m];
+        int[] position = Arrays.copyOf(inArcStart, n);
+        for (int arc = 0; arc < m; arc++) {
+            int i = position[arcTarget[arc]]++;
+            inArcSource[i] = arcSource[arc];
+            inArcWeight[i] = arcWeight[arc];
+            inArc[i] = arc;
+        }
+    }
+
+    /**
+     * Search for a cycle in the graph of the predecessor arcs and throw an exception if it has
+     * negative weight.
+     *
+     * @param predecessorArc the predecessor arcs
+     * @throws NegativeCycleDetectedException in case a negative weight cycle is found
+     */
+    private void checkNegativeCycle(int[] predecessorArc)
+    {
+        int n = vertices.size();
+        int[] walk = new int[n];
+        Arrays.fill(walk, -1);
+        for (int v = 0; v < n; v++) {
+            int u = v;
+            while (walk[u] == -1) {
+                walk[u] = v;
+                int arc = predecessorArc[u];
+                if (arc == NO_ARC) {
+                    break;
+                }
+                u = arcSource[arc];
+            }
+            if (walk[u] != v || predecessorArc[u] == NO_ARC) {
+                continue;
+            }
+
+            // u is on a cycle
+            List<E> cycle = new ArrayList<>();
+            double weight = 0d;
+            int w = u;
+            do {
+                int arc = predecessorArc[w];
+                cycle.add(arcEdge.get(arc));
+                weight += arcWeight[arc];
+                w = arcSource[arc];
+            } while (w != u);
+
+            if (weight < 0d) {
+                Collections.reverse(cycle);
+                V start = vertices.get(u);
+                throw new NegativeCycleDetectedException(
+                    GRAPH_CONTAINS_A_NEGATIVE_WEIGHT_CYCLE,
+                    new GraphWalk<>(graph, start, start, cycle, weight));
+            }
+        }
+    }
+
+    /**
+     * Single source paths which are backed by the distance and predecessor arrays.
+     */
+    private class IndexedSingleSourcePaths
+        implements
+        SingleSourcePaths<V, E>
+    {
+        private final V source;
+        private final int s;
+        private final double[] distance;
+        private final int[] predecessorArc;
+
+        IndexedSingleSourcePaths(V source, int s, double[] distance, int[] predecessorArc)
+        {
+            this.source = source;
+            this.s = s;
+            this.distance = distance;
+            this.predecessorArc = predecessorArc;
+        }
+
+        @Override
+        public Graph<V, E> getGraph()
+        {
+            return graph;
+        }
+
+        @Override
+        public V getSourceVertex()
+        {
+            return source;
+        }
+
+        @Override
+        public double getWeight(V targetVertex)
+        {
+            return distance[targetIndex(targetVertex)];
+        }
+
+        @Override
+        public GraphPath<V, E> getPath(V targetVertex)
+        {
+            int t = targetIndex(targetVertex);
+            if (t == s) {
+                return GraphWalk.singletonWalk(graph, source, 0d);
+            }
+            if (distance[t] == Double.POSITIVE_INFINITY) {
+                return null;
+            }
+
+            List<E> edgeList = new ArrayList<>();
+            int v = t;
+            while (v != s) {
+                int arc = predecessorArc[v];
+                edgeList.add(arcEdge.get(arc));
+                v = arcSource[arc];
+            }
+            Collections.reverse(edgeList);
+            return new GraphWalk<>(graph, source, targetVertex, edgeList, distance[t]);
+        }
+
+        private int targetIndex(V targetVertex)
+        {
+            Integer t = vertexIndex.get(targetVertex);
+            if (t == null) {
+                throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+            }
+            return t;
+        }
+    }
+
+}
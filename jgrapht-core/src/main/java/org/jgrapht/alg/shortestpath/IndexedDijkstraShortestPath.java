@@ -0,0 +1,270 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * Dijkstra shortest path implementation for graphs with arbitrary vertices, which is tuned for
+ * answering many queries on the same graph.
+ *
+ * <p>
+ * During construction the graph is compiled once into an integer indexed representation: the
+ * vertices are numbered from $0$ to $n-1$ using a {@link VertexToIntegerMapping} and the outgoing
+ * edges of all vertices are stored in compressed sparse row format, together with their weights.
+ * The searches then work only with primitive arrays and an {@link IndexedDaryHeap}, thus they
+ * perform no hash table lookups and no boxing of the distances. The distance, predecessor and heap
+ * arrays are allocated once and reused by all queries. After each query only the entries of the
+ * vertices touched by the search are reset, so that a query whose search stops early, e.g. because
+ * the sink has been reached, costs time proportional to the part of the graph it explores and not
+ * to the size of the graph.
+ *
+ * <p>
+ * Since the graph is compiled during construction, later modifications of the graph are not
+ * reflected in the results. Since the arrays are shared by all queries, an instance of this class
+ * must not be used by multiple threads concurrently. If the vertices of the graph are integers in
+ * $[0, n)$ consider using {@link IntVertexDijkstraShortestPath}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class IndexedDijkstraShortestPath<V, E>
+    extends
+    BaseShortestPathAlgorithm<V, E>
+{
+    private final IndexedGraph<V, E> indexedGraph;
+
+    // search state, reused by all queries
+    private final IndexedDaryHeap heap;
+    private final double[] distance;
+    private final int[] predecessorArc;
+    private final int[] touched;
+    private int touchedSize;
+
+    /**
+     * Constructs a new instance of the algorithm for a given graph.
+     *
+     * @param graph the graph
+     * @throws IllegalArgumentException if the graph contains an edge with negative weight
+     */
+    public IndexedDijkstraShortestPath(Graph<V, E> graph)
+    {
+        this(graph, IndexedDaryHeap.DEFAULT_ARITY);
+    }
+
+    /**
+     * Constructs a new instance of the algorithm for a given graph.
+     *
+     * @param graph the graph
+     * @param heapArity the arity of the heap used by the searches
+     * @throws IllegalArgumentException if the graph contains an edge with negative weight or if the
+     *         heap arity is less than two
+     */
+    public IndexedDijkstraShortestPath(Graph<V, E> graph, int heapArity)
+    {
+        super(graph);
+
+        this.indexedGraph = new IndexedGraph<>(graph, false);
+        if (indexedGraph.hasNegativeWeights()) {
+            throw new IllegalArgumentException("Negative edge weight not allowed");
+        }
+
+        int n = indexedGraph.size();
+        this.heap = new IndexedDaryHeap(n, heapArity);
+        this.distance = new double[n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        this.predecessorArc = new int[n];
+        Arrays.fill(predecessorArc, IndexedGraph.NO_ARC);
+        this.touched = new int[n];
+        this.touchedSize = 0;
+    }
+
+    @Override
+    public GraphPath<V, E> getPath(V source, V sink)
+    {
+        int s = sourceIndex(source);
+        int t = sinkIndex(sink);
+        if (s == t) {
+            return GraphWalk.singletonWalk(graph, source, 0d);
+        }
+
+        search(s, t);
+        GraphPath<V, E> path = null;
+        if (distance[t] != Double.POSITIVE_INFINITY) {
+            path = buildPath(source, s, t, distance, predecessorArc);
+        }
+        reset();
+        return path;
+    }
+
+    @Override
+    public double getPathWeight(V source, V sink)
+    {
+        int s = sourceIndex(source);
+        int t = sinkIndex(sink);
+        if (s == t) {
+            return 0d;
+        }
+
+        search(s, t);
+        double weight = distance[t];
+        reset();
+        return weight;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Note that it is more efficient to compute all single-source shortest paths using this method
+     * than repeatedly invoking {@link #getPath(Object, Object)} for the same source but different
+     * sink vertex.
+     */
+    @Override
+    public SingleSourcePaths<V, E> getPaths(V source)
+    {
+        int s = sourceIndex(source);
+
+        search(s, -1);
+        SingleSourcePaths<V, E> paths = new IndexedSingleSourcePaths(
+            source, s, Arrays.copyOf(distance, distance.length),
+            Arrays.copyOf(predecessorArc, predecessorArc.length));
+        reset();
+        return paths;
+    }
+
+    private int sourceIndex(V source)
+    {
+        Integer s = indexedGraph.vertexIndex.get(source);
+        if (s == null) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SOURCE_VERTEX);
+        }
+        return s;
+    }
+
+    private int sinkIndex(V sink)
+    {
+        Integer t = indexedGraph.vertexIndex.get(sink);
+        if (t == null) {
+            throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
+        }
+        return t;
+    }
+
+    /**
+     * Run Dijkstra's algorithm from {@code s} until {@code t} is settled or, if $t$ is negative,
+     * until all reachable vertices are settled.
+     *
+     * @param s the source
+     * @param t the sink or a negative value
+     */
+    private void search(int s, int t)
+    {
+        touchedSize =
+            indexedGraph.search(s, t, false, heap, distance, predecessorArc, touched);
+    }
+
+    /**
+     * Reset the search state of all vertices touched by the last search.
+     */
+    private void reset()
+    {
+        for (int i = 0; i < touchedSize; i++) {
+            int v = touched[i];
+            distance[v] = Double.POSITIVE_INFINITY;
+            predecessorArc[v] = IndexedGraph.NO_ARC;
+        }
+        touchedSize = 0;
+    }
+
+    private GraphPath<V, E> buildPath(
+        V source, int s, int t, double[] distance, int[] predecessorArc)
+    {
+        List<V> vertexList = new ArrayList<>();
+        List<E> edgeList = new ArrayList<>();
+        int v = t;
+        vertexList.add(indexedGraph.vertices.get(v));
+        while (v != s) {
+            int arc = predecessorArc[v];
+            edgeList.add(indexedGraph.arcEdge.get(arc));
+            v = indexedGraph.arcSource[arc];
+            vertexList.add(indexedGraph.vertices.get(v));
+        }
+        Collections.reverse(vertexList);
+        Collections.reverse(edgeList);
+        return new GraphWalk<>(
+            graph, source, indexedGraph.vertices.get(t), vertexList, edgeList, distance[t]);
+    }
+
+    /**
+     * Single source paths which are backed by copies of the distance and predecessor arrays.
+     */
+    private class IndexedSingleSourcePaths
+        implements
+        SingleSourcePaths<V, E>
+    {
+        private final V source;
+        private final int s;
+        private final double[] distance;
+        private final int[] predecessorArc;
+
+        IndexedSingleSourcePaths(V source, int s, double[] distance, int[] predecessorArc)
+        {
+            this.source = source;
+            this.s = s;
+            this.distance = distance;
+            this.predecessorArc = predecessorArc;
+        }
+
+        @Override
+        public Graph<V, E> getGraph()
+        {
+            return graph;
+        }
+
+        @Override
+        public V getSourceVertex()
+        {
+            return source;
+        }
+
+        @Override
+        public double getWeight(V targetVertex)
+        {
+            return distance[sinkIndex(targetVertex)];
+        }
+
+        @Override
+        public GraphPath<V, E> getPath(V targetVertex)
+        {
+            int t = sinkIndex(targetVertex);
+            if (t == s) {
+                return GraphWalk.singletonWalk(graph, source, 0d);
+            }
+            if (distance[t] == Double.POSITIVE_INFINITY) {
+                return null;
+            }
+            return buildPath(source, s, t, distance, predecessorArc);
+        }
+    }
+
+}
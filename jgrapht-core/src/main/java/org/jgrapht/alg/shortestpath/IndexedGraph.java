@@ -0,0 +1,205 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+
+/**
+ * Integer indexed representation of a graph, which is shared by the shortest path algorithms that
+ * run many Dijkstra searches on primitive arrays.
+ *
+ * <p>
+ * The vertices are numbered from $0$ to $n-1$ using a {@link VertexToIntegerMapping}. Every edge
+ * leaving a vertex, as returned by {@link Graph#outgoingEdgesOf(Object)}, becomes an arc and the
+ * arcs are stored in compressed sparse row format, together with their weights. Thus an undirected
+ * edge becomes two arcs, one in each direction. Optionally the arcs entering every vertex are
+ * indexed as well, so that searches can also follow the arcs backwards.
+ *
+ * <p>
+ * The arrays are exposed to the algorithms of this package. The arc weights may be changed before
+ * the searches, for instance to reweight the graph.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+final class IndexedGraph<V, E>
+{
+    static final int NO_ARC = -1;
+
+    final List<V> vertices;
+    final Map<V, Integer> vertexIndex;
+
+    // compressed sparse row representation of the outgoing edges
+    final int[] arcStart;
+    final int[] arcSource;
+    final int[] arcTarget;
+    final double[] arcWeight;
+    final List<E> arcEdge;
+
+    // the arcs entering every vertex, or null
+    private final int[] reverseStart;
+    private final int[] reverseArc;
+
+    /**
+     * Compile a graph.
+     *
+     * @param graph the graph
+     * @param reverse whether to index the arcs entering every vertex
+     */
+    IndexedGraph(Graph<V, E> graph, boolean reverse)
+    {
+        VertexToIntegerMapping<V> mapping = new VertexToIntegerMapping<>(graph.vertexSet());
+        this.vertices = mapping.getIndexList();
+        this.vertexIndex = mapping.getVertexMap();
+
+        int n = vertices.size();
+        this.arcStart = new int[n + 1];
+        int numArcs = 0;
+        for (int v = 0; v < n; v++) {
+            arcStart[v] = numArcs;
+            numArcs += graph.outgoingEdgesOf(vertices.get(v)).size();
+        }
+        arcStart[n] = numArcs;
+
+        this.arcSource = new int[numArcs];
+        this.arcTarget = new int[numArcs];
+        this.arcWeight = new double[numArcs];
+        this.arcEdge = new ArrayList<>(numArcs);
+        int arc = 0;
+        for (int v = 0; v < n; v++) {
+            V vertex = vertices.get(v);
+            for (E e : graph.outgoingEdgesOf(vertex)) {
+                arcSource[arc] = v;
+                arcTarget[arc] = vertexIndex.get(Graphs.getOppositeVertex(graph, e, vertex));
+                arcWeight[arc] = graph.getEdgeWeight(e);
+                arcEdge.add(e);
+                arc++;
+            }
+        }
+
+        if (!reverse) {
+            this.reverseStart = null;
+            this.reverseArc = null;
+            return;
+        }
+        this.reverseStart = new int[n + 1];
+        for (int target : arcTarget) {
+            reverseStart[target + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            reverseStart[v + 1] += reverseStart[v];
+        }
+        this.reverseArc = new int[numArcs];
+        int[] position = Arrays.copyOf(reverseStart, n);
+        for (arc = 0; arc < numArcs; arc++) {
+            reverseArc[position[arcTarget[arc]]++] = arc;
+        }
+    }
+
+    /**
+     * Get the number of vertices.
+     *
+     * @return the number of vertices
+     */
+    int size()
+    {
+        return vertices.size();
+    }
+
+    /**
+     * Check whether an arc has a negative weight.
+     *
+     * @return true if an arc has a negative weight, false otherwise
+     */
+    boolean hasNegativeWeights()
+    {
+        for (double weight : arcWeight) {
+            if (weight < 0d) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Run Dijkstra's algorithm from {@code s} until {@code t} is settled or, if $t$ is negative,
+     * until all reachable vertices are settled. If {@code reverse} is true the arcs are followed
+     * backwards, thus the distances to $s$ are computed. This requires that the graph was compiled
+     * with the arcs entering every vertex.
+     *
+     * <p>
+     * All entries of {@code distance} must be {@link Double#POSITIVE_INFINITY} before the search
+     * and the heap must be empty. Afterwards the heap is empty and only the entries of the vertices
+     * stored in {@code touched} have been changed. The predecessor arc of a vertex is the arc by
+     * which the search reached it, which is an arc leaving the vertex in a reverse search.
+     *
+     * @param s the source
+     * @param t the sink or a negative value
+     * @param reverse whether to follow the arcs backwards
+     * @param heap an empty heap with capacity at least the number of vertices
+     * @param distance array where the distances are stored
+     * @param predecessorArc array where the predecessor arcs are stored, or null
+     * @param touched array which receives the settled vertices in the order they are settled,
+     *        followed by the vertices that were reached but not settled
+     * @return the number of vertices stored in {@code touched}
+     */
+    int search(
+        int s, int t, boolean reverse, IndexedDaryHeap heap, double[] distance,
+        int[] predecessorArc, int[] touched)
+    {
+        int[] start = reverse ? reverseStart : arcStart;
+        int[] adjacent = reverse ? arcSource : arcTarget;
+
+        int settled = 0;
+        distance[s] = 0d;
+        if (predecessorArc != null) {
+            predecessorArc[s] = NO_ARC;
+        }
+        heap.insert(s, 0d);
+        while (!heap.isEmpty()) {
+            int v = heap.deleteMin();
+            touched[settled++] = v;
+            if (v == t) {
+                break;
+            }
+            double vDistance = distance[v];
+            for (int i = start[v]; i < start[v + 1]; i++) {
+                int arc = reverse ? reverseArc[i] : i;
+                int u = adjacent[arc];
+                double uDistance = vDistance + arcWeight[arc];
+                if (uDistance < distance[u]) {
+                    distance[u] = uDistance;
+                    if (predecessorArc != null) {
+                        predecessorArc[u] = arc;
+                    }
+                    heap.insertOrDecreaseKey(u, uDistance);
+                }
+            }
+        }
+
+        // if the search stopped early, hand over the vertices left in the heap
+        int size = settled;
+        while (!heap.isEmpty()) {
+            touched[size++] = heap.deleteMin();
+        }
+        return size;
+    }
+}
@@ -20,10 +20,10 @@ package org.jgrapht.alg.shortestpath;
 import org.jgrapht.*;
 import org.jgrapht.alg.util.*;
 import org.jgrapht.graph.*;
-import org.jgrapht.graph.builder.*;
 import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Johnson's all pairs shortest paths algorithm.
@@ -32,19 +32,23 @@ import java.util.*;
  * Finds the shortest paths between all pairs of vertices in a sparse graph. Edge weights can be
  * negative, but no negative-weight cycles may exist. It first executes the Bellman-Ford algorithm
  * to compute a transformation of the input graph that removes all negative weights, allowing
- * Dijkstra's algorithm to be used on the transformed graph.
+ * Dijkstra's algorithm to be used on the transformed graph. The transformation is computed by
+ * {@link IndexedBellmanFordShortestPath}.
  *
  * <p>
  * Running time is $O(n m + n^2 \log n)$.
  *
  * <p>
- * Since Johnson's algorithm creates additional vertices, this implementation requires the user to
- * provide a graph which is initialized with a vertex supplier.
- * 
- * <p>
  * In case the algorithm detects a negative weight cycle it will throw an exception of type
  * {@link NegativeCycleDetectedException} which will contain the detected negative weight cycle.
  *
+ * <p>
+ * The Dijkstra searches are performed on an integer indexed copy of the reweighted graph, stored
+ * in compressed sparse row format. The searches are independent of each other. If an executor is
+ * provided they are distributed among the threads of the executor, where every thread reuses its
+ * own heap and arrays for all its searches. If only the weights of the shortest paths are needed,
+ * {@link #getPathWeights()} computes them without storing the predecessor matrix.
+ *
  * @param <V> the graph vertex type
  * @param <E> the graph edge type
  *
@@ -59,6 +63,7 @@ public class JohnsonShortestPaths<V, E>
     private Map<V, Integer> vertexIndices;
 
     private final Comparator<Double> comparator;
+    private final ThreadPoolExecutor executor;
 
     /**
      * Construct a new instance.
@@ -77,16 +82,44 @@ public class JohnsonShortestPaths<V, E>
      * @param epsilon tolerance when comparing floating point values
      */
     public JohnsonShortestPaths(Graph<V, E> graph, double epsilon)
+    {
+        this(graph, epsilon, null);
+    }
+
+    /**
+     * Construct a new instance. It is up to a user of this algorithm to handle the creation and
+     * termination of the provided {@code executor}. For utility methods to manage a
+     * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+     *
+     * @param graph the input graph
+     * @param executor executor which will be used to perform the Bellman-Ford rounds and the
+     *        Dijkstra searches in parallel, or null in order to perform them sequentially
+     */
+    public JohnsonShortestPaths(Graph<V, E> graph, ThreadPoolExecutor executor)
+    {
+        this(graph, ToleranceDoubleComparator.DEFAULT_EPSILON, executor);
+    }
+
+    /**
+     * Construct a new instance. It is up to a user of this algorithm to handle the creation and
+     * termination of the provided {@code executor}. For utility methods to manage a
+     * {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+     *
+     * @param graph the input graph
+     * @param epsilon tolerance when comparing floating point values
+     * @param executor executor which will be used to perform the Bellman-Ford rounds and the
+     *        Dijkstra searches in parallel, or null in order to perform them sequentially
+     */
+    public JohnsonShortestPaths(Graph<V, E> graph, double epsilon, ThreadPoolExecutor executor)
     {
         super(graph);
         this.comparator = new ToleranceDoubleComparator(epsilon);
+        this.executor = executor;
     }
 
     /**
      * {@inheritDoc}
      *
-     * @throws IllegalArgumentException in case the provided vertex factory creates vertices which
-     *         are already in the original graph
      * @throws NegativeCycleDetectedException in case a negative weight cycle is detected
      */
     @Override
@@ -127,8 +160,7 @@ public class JohnsonShortestPaths<V, E>
     /**
      * {@inheritDoc}
      *
-     * @throws IllegalArgumentException in case the provided vertex factory creates vertices which
-     *         are already in the original graph
+     * @throws NegativeCycleDetectedException in case a negative weight cycle is detected
      */
     @Override
     public double getPathWeight(V source, V sink)
@@ -139,15 +171,15 @@ public class JohnsonShortestPaths<V, E>
         if (!graph.containsVertex(sink)) {
             throw new IllegalArgumentException(GRAPH_MUST_CONTAIN_THE_SINK_VERTEX);
         }
-        run();
+        if (distance == null) {
+            distance = run(false).getFirst();
+        }
         return distance[vertexIndices.get(source)][vertexIndices.get(sink)];
     }
 
     /**
      * {@inheritDoc}
      *
-     * @throws IllegalArgumentException in case the provided vertex factory creates vertices which
-     *         are already in the original graph
      * @throws NegativeCycleDetectedException in case a negative weight cycle is detected
      */
     @Override
@@ -158,13 +190,51 @@ public class JohnsonShortestPaths<V, E>
     }
 
     /**
-     * Executes the actual algorithm.
+     * Computes the weights of the shortest paths between all pairs of vertices. Row and column $i$
+     * of the returned matrix correspond to the $i$-th vertex in the iteration order of
+     * {@link Graph#vertexSet()}. Entry $(i, j)$ is {@link Double#POSITIVE_INFINITY} if there is no
+     * path from vertex $i$ to vertex $j$.
+     *
+     * <p>
+     * Unless the shortest paths have already been computed, the weights are computed without
+     * storing a predecessor matrix and without retaining the returned matrix in this instance.
+     *
+     * @return the matrix of shortest path weights
+     * @throws NegativeCycleDetectedException in case a negative weight cycle is detected
+     */
+    public double[][] getPathWeights()
+    {
+        if (distance == null) {
+            return run(false).getFirst();
+        }
+        double[][] weights = new double[distance.length][];
+        for (int i = 0; i < distance.length; i++) {
+            weights[i] = distance[i].clone();
+        }
+        return weights;
+    }
+
+    /**
+     * Executes the actual algorithm, computing both distances and predecessors.
      */
     private void run()
     {
         if (pred != null) {
             return;
         }
+        Pair<double[][], E[][]> result = run(true);
+        distance = result.getFirst();
+        pred = result.getSecond();
+    }
+
+    /**
+     * Executes the actual algorithm.
+     *
+     * @param computePredecessors whether to compute the predecessor matrix
+     * @return the distance matrix and the predecessor matrix, which is null unless requested
+     */
+    private Pair<double[][], E[][]> run(boolean computePredecessors)
+    {
         GraphTests.requireDirectedOrUndirected(graph);
 
         E detectedNegativeEdge = null;
@@ -186,120 +256,107 @@ public class JohnsonShortestPaths<V, E>
                 throw new NegativeCycleDetectedException(
                     GRAPH_CONTAINS_A_NEGATIVE_WEIGHT_CYCLE, cycle);
             }
-            runWithNegativeEdgeWeights(graph);
+            return runWithNegativeEdgeWeights(graph, computePredecessors);
         } else {
-            runWithPositiveEdgeWeights(graph);
+            return runDijkstra(graph, null, computePredecessors);
         }
     }
 
     /**
-     * Graph has no edges with negative weights. Only perform the last step of Johnson's algorithm:
-     * run Dijkstra's algorithm from every vertex.
+     * Graph contains edges with negative weights. Compute vertex weights using Bellman-Ford, which
+     * transform the edge weights to non-negative values. Then run Dijkstra's algorithm for all
+     * vertices.
      *
      * @param g the input graph
+     * @param computePredecessors whether to compute the predecessor matrix
+     * @return the distance matrix and the predecessor matrix, which is null unless requested
      */
-    private void runWithPositiveEdgeWeights(Graph<V, E> g)
+    private Pair<double[][], E[][]> runWithNegativeEdgeWeights(
+        Graph<V, E> g, boolean computePredecessors)
     {
-        /*
-         * Create vertex numbering for array representation of results.
-         */
-        vertexIndices = computeVertexIndices(g);
-        final int n = g.vertexSet().size();
-        distance = new double[n][n];
-        pred = TypeUtil.uncheckedCast(new Object[n][n]);
-
-        /*
-         * Execute Dijkstra multiple times
-         */
-        for (V v : g.vertexSet()) {
-            DijkstraClosestFirstIterator<V, E> it =
-                new DijkstraClosestFirstIterator<>(g, v, Double.POSITIVE_INFINITY);
-            while (it.hasNext()) {
-                it.next();
-            }
-            Map<V, Pair<Double, E>> distanceAndPredecessorMap = it.getDistanceAndPredecessorMap();
-
-            // transform result
-            for (V u : g.vertexSet()) {
-                Pair<Double, E> pair = distanceAndPredecessorMap
-                    .getOrDefault(u, Pair.of(Double.POSITIVE_INFINITY, null));
-                distance[vertexIndices.get(v)][vertexIndices.get(u)] = pair.getFirst();
-                pred[vertexIndices.get(v)][vertexIndices.get(u)] = pair.getSecond();
-            }
-        }
+        return runDijkstra(g, computeVertexWeights(g), computePredecessors);
     }
 
     /**
-     * Graph contains edges with negative weights. Transform the input graph, thereby ensuring that
-     * there are no edges with negative weights. Then run Dijkstra's algorithm for all vertices.
+     * Run Dijkstra's algorithm from every vertex. If {@code vertexWeights} is not null, every edge
+     * $(u,v)$ is reweighted to $w(u,v) + h(u) - h(v)$ and the distances are transformed back to the
+     * original weights afterwards.
      *
      * @param g the input graph
+     * @param vertexWeights the vertex weights $h$, or null if all edge weights are non-negative
+     * @param computePredecessors whether to compute the predecessor matrix
+     * @return the distance matrix and the predecessor matrix, which is null unless requested
      */
-    private void runWithNegativeEdgeWeights(Graph<V, E> g)
+    private Pair<double[][], E[][]> runDijkstra(
+        Graph<V, E> g, Map<V, Double> vertexWeights, boolean computePredecessors)
     {
         /*
-         * Compute vertex weights using Bellman-Ford
+         * Create vertex numbering for array representation of results and store the graph in
+         * compressed sparse row format.
          */
-        Map<V, Double> vertexWeights = computeVertexWeights(g);
-
-        /*
-         * Compute new non-negative edge weights
-         */
-        Map<E, Double> newEdgeWeights = new HashMap<>();
-        for (E e : g.edgeSet()) {
-            V u = g.getEdgeSource(e);
-            V v = g.getEdgeTarget(e);
-            double weight = g.getEdgeWeight(e);
-            newEdgeWeights.put(e, weight + vertexWeights.get(u) - vertexWeights.get(v));
+        IndexedGraph<V, E> indexedGraph = new IndexedGraph<>(g, false);
+        vertexIndices = indexedGraph.vertexIndex;
+        final int n = indexedGraph.size();
+        double[] h = new double[n];
+        if (vertexWeights != null) {
+            for (int v = 0; v < n; v++) {
+                h[v] = vertexWeights.get(indexedGraph.vertices.get(v));
+            }
         }
 
         /*
-         * Create graph with new edge weights
+         * Reweight the arcs. Rounding errors could make a reweighted edge slightly negative,
+         * therefore the weights are clamped at zero.
          */
-        Graph<V, E> newEdgeWeightsGraph = new AsWeightedGraph<>(g, newEdgeWeights);
+        double[] arcWeight = indexedGraph.arcWeight;
+        for (int arc = 0; arc < arcWeight.length; arc++) {
+            arcWeight[arc] = Math.max(
+                0d,
+                arcWeight[arc] + h[indexedGraph.arcSource[arc]] - h[indexedGraph.arcTarget[arc]]);
+        }
 
-        /*
-         * Create vertex numbering, for array representation of results
-         */
-        vertexIndices = computeVertexIndices(g);
-        final int n = g.vertexSet().size();
-        distance = new double[n][n];
-        pred = TypeUtil.uncheckedCast(new Object[n][n]);
+        double[][] distance = new double[n][];
+        E[][] pred = computePredecessors ? TypeUtil.uncheckedCast(new Object[n][]) : null;
 
         /*
-         * Run Dijkstra using new weights for all vertices
+         * Execute Dijkstra multiple times. Every search writes its own rows only.
          */
-        for (V v : g.vertexSet()) {
-            DijkstraClosestFirstIterator<V, E> it = new DijkstraClosestFirstIterator<>(
-                newEdgeWeightsGraph, v, Double.POSITIVE_INFINITY);
-            while (it.hasNext()) {
-                it.next();
-            }
-            Map<V, Pair<Double, E>> distanceAndPredecessorMap = it.getDistanceAndPredecessorMap();
-
-            // transform distances to original weights
-            for (V u : g.vertexSet()) {
-                Pair<Double, E> oldPair = distanceAndPredecessorMap.get(u);
-
-                Pair<Double, E> newPair;
-                if (oldPair != null) {
-                    newPair = Pair
-                        .of(
-                            oldPair.getFirst() - vertexWeights.get(v) + vertexWeights.get(u),
-                            oldPair.getSecond());
-                } else {
-                    newPair = Pair.of(Double.POSITIVE_INFINITY, null);
+        ConcurrencyUtil.forEachIndex(executor, n, () -> {
+            IndexedDaryHeap heap = new IndexedDaryHeap(n, IndexedDaryHeap.DEFAULT_ARITY);
+            double[] dist = new double[n];
+            int[] predArc = new int[n];
+            int[] touched = new int[n];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+
+            return s -> {
+                int size = indexedGraph.search(s, -1, false, heap, dist, predArc, touched);
+
+                // transform distances to original weights
+                double[] row = new double[n];
+                Arrays.fill(row, Double.POSITIVE_INFINITY);
+                E[] predRow = pred != null ? TypeUtil.uncheckedCast(new Object[n]) : null;
+                for (int i = 0; i < size; i++) {
+                    int u = touched[i];
+                    row[u] = dist[u] - h[s] + h[u];
+                    if (predRow != null && predArc[u] != IndexedGraph.NO_ARC) {
+                        predRow[u] = indexedGraph.arcEdge.get(predArc[u]);
+                    }
+                    dist[u] = Double.POSITIVE_INFINITY;
                 }
+                distance[s] = row;
+                if (pred != null) {
+                    pred[s] = predRow;
+                }
+            };
+        });
 
-                distance[vertexIndices.get(v)][vertexIndices.get(u)] = newPair.getFirst();
-                pred[vertexIndices.get(v)][vertexIndices.get(u)] = newPair.getSecond();
-            }
-        }
-
+        return Pair.of(distance, pred);
     }
 
     /**
-     * Compute vertex weights for edge re-weighting using Bellman-Ford.
+     * Compute vertex weights for edge re-weighting using Bellman-Ford. The weights are the
+     * distances from an implicit extra vertex, which is connected to all vertices with zero weight
+     * edges.
      *
      * @param g the input graph
      * @return the vertex weights
@@ -308,58 +365,8 @@ public class JohnsonShortestPaths<V, E>
     {
         assert g.getType().isDirected();
 
-        // create extra graph
-        Graph<V,
-            E> extraGraph = GraphTypeBuilder
-                .<V, E> directed().allowingMultipleEdges(true).allowingSelfLoops(true)
-                .edgeSupplier(graph.getEdgeSupplier()).vertexSupplier(graph.getVertexSupplier())
-                .buildGraph();
-
-        // add new vertex
-        V s = extraGraph.addVertex();
-        if (s == null) {
-            throw new IllegalArgumentException(
-                "Invalid vertex supplier (does not return unique vertices on each call).");
-        }
-
-        // add new edges with zero weight
-        Map<E, Double> zeroWeightFunction = new HashMap<>();
-        for (V v : g.vertexSet()) {
-            extraGraph.addVertex(v);
-            zeroWeightFunction.put(extraGraph.addEdge(s, v), 0d);
-        }
-
-        /*
-         * Union extra and input graph
-         */
-        Graph<V, E> unionGraph =
-            new AsGraphUnion<>(new AsWeightedGraph<>(extraGraph, zeroWeightFunction), g);
-
-        /*
-         * Run Bellman-Ford from new vertex
-         */
-        SingleSourcePaths<V, E> paths = new BellmanFordShortestPath<>(unionGraph).getPaths(s);
-        Map<V, Double> weights = new HashMap<>();
-        for (V v : g.vertexSet()) {
-            weights.put(v, paths.getWeight(v));
-        }
-        return weights;
-    }
-
-    /**
-     * Compute a unique integer for each vertex of the graph
-     * 
-     * @param g the graph
-     * @return a map with the result
-     */
-    private Map<V, Integer> computeVertexIndices(Graph<V, E> g)
-    {
-        Map<V, Integer> numbering = new HashMap<>();
-        int num = 0;
-        for (V v : g.vertexSet()) {
-            numbering.put(v, num++);
-        }
-        return numbering;
+        return new IndexedBellmanFordShortestPath<>(
+            g, ToleranceDoubleComparator.DEFAULT_EPSILON, executor).getVertexPotentials();
     }
 
     class JohnsonSingleSourcePaths
@@ -0,0 +1,580 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Memory efficient iterator over the shortest loopless paths between two vertices in a graph
+ * sorted by weight.
+ *
+ * <p>
+ * The iterator implements the same deviation scheme as {@link YenShortestPathIterator}: every path
+ * is split into a root part, which it shares with its parent path, and a spur part, which starts at
+ * the deviation vertex. Spur paths are only built from the deviation vertex of a path onwards, thus
+ * no candidate is generated twice. The differences are in how the candidates are stored and how the
+ * spur paths are computed:
+ * <ul>
+ * <li>The graph is compiled once into an integer indexed representation. A candidate is stored as a
+ * compact record consisting of a pointer to its parent path, the index of its deviation vertex and
+ * the arcs of its spur part. The full edge list of a candidate is materialized only when it is
+ * returned by {@link #next()}. Therefore the memory needed by the candidates is proportional to the
+ * length of their spur parts and not to the length of the whole paths.</li>
+ * <li>The shortest paths tree towards the {@code sink} is computed only once. Its distances are
+ * used as a consistent heuristic for an A* search from the spur vertex in the graph where the root
+ * part and the edges of the coinciding paths are removed. The search stops as soon as it settles a
+ * vertex whose tree path to the {@code sink} avoids the root part, since the spur path is then
+ * completed by the tree path. Usually this happens after only a few vertices have been
+ * settled.</li>
+ * <li>The deviations of a path are computed only when the next path is requested and the spur paths
+ * of the different deviation vertices of a path can be computed in parallel.</li>
+ * <li>If the maximum number of paths $k$ is known in advance, the candidates which can not be among
+ * the $k$ shortest paths are discarded.</li>
+ * </ul>
+ *
+ * <p>
+ * The graph must not contain edges with negative weights. Contrary to
+ * {@link YenShortestPathIterator}, path validation is not supported. Since the graph is compiled
+ * during construction, later modifications of the graph are not reflected in the results. If an
+ * {@code executor} is provided, the spur paths are computed in parallel using it. It is up to a
+ * user of this algorithm to handle the creation and termination of the provided {@code executor}.
+ * For utility methods to manage a {@code ThreadPoolExecutor} see {@link ConcurrencyUtil}.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ * @see YenShortestPathIterator
+ */
+public class LazyYenShortestPathIterator<V, E>
+    implements
+    Iterator<GraphPath<V, E>>
+{
+    private static final int NO_ARC = IndexedGraph.NO_ARC;
+
+    private final Graph<V, E> graph;
+    private final V source;
+    private final V sink;
+    private final ThreadPoolExecutor executor;
+    private final int maximumPaths;
+
+    private final List<V> vertices;
+    private final int sourceIndex;
+
+    // compressed sparse row representation of the outgoing edges
+    private final int[] arcStart;
+    private final int[] arcSource;
+    private final int[] arcTarget;
+    private final double[] arcWeight;
+    private final List<E> arcEdge;
+
+    // shortest paths tree towards the sink
+    private final double[] distanceToSink;
+    private final int[] treeArc;
+
+    private final List<SpurSearch> searches;
+    private final List<PathRecord> resultList;
+    private final PriorityQueue<PathRecord> candidates;
+    private PathRecord lastReturned;
+    private long nextSequence;
+    private boolean initialized;
+
+    /**
+     * Constructs an instance of the algorithm for given {@code graph}, {@code source} and
+     * {@code sink}.
+     *
+     * @param graph graph
+     * @param source source vertex
+     * @param sink sink vertex
+     * @throws IllegalArgumentException if the graph contains an edge with negative weight
+     */
+    public LazyYenShortestPathIterator(Graph<V, E> graph, V source, V sink)
+    {
+        this(graph, source, sink, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Constructs an instance of the algorithm for given {@code graph}, {@code source},
+     * {@code sink}, maximum number of paths and {@code executor}. The {@code executor} can be
+     * {@code null}, which will indicate that the spur paths are computed sequentially.
+     *
+     * @param graph graph
+     * @param source source vertex
+     * @param sink sink vertex
+     * @param maximumPaths maximum number of paths returned by the iterator
+     * @param executor executor which is used to compute the spur paths, or {@code null}
+     * @throws IllegalArgumentException if the graph contains an edge with negative weight or if the
+     *         maximum number of paths is not positive
+     */
+    public LazyYenShortestPathIterator(
+        Graph<V, E> graph, V source, V sink, int maximumPaths, ThreadPoolExecutor executor)
+    {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null!");
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException("Graph should contain source vertex!");
+        }
+        this.source = source;
+        if (!graph.containsVertex(sink)) {
+            throw new IllegalArgumentException("Graph should contain sink vertex!");
+        }
+        this.sink = sink;
+        if (maximumPaths <= 0) {
+            throw new IllegalArgumentException("Maximum number of paths must be positive");
+        }
+        this.maximumPaths = maximumPaths;
+        this.executor = executor;
+
+        IndexedGraph<V, E> indexedGraph = new IndexedGraph<>(graph, true);
+        if (indexedGraph.hasNegativeWeights()) {
+            throw new IllegalArgumentException("Negative edge weight not allowed");
+        }
+        this.vertices = indexedGraph.vertices;
+        this.arcStart = indexedGraph.arcStart;
+        this.arcSource = indexedGraph.arcSource;
+        this.arcTarget = indexedGraph.arcTarget;
+        this.arcWeight = indexedGraph.arcWeight;
+        this.arcEdge = indexedGraph.arcEdge;
+
+        int n = vertices.size();
+        this.distanceToSink = new double[n];
+        this.treeArc = new int[n];
+        this.sourceIndex = indexedGraph.vertexIndex.get(source);
+        computeTree(indexedGraph, indexedGraph.vertexIndex.get(sink));
+
+        this.searches = new ArrayList<>();
+        this.resultList = new ArrayList<>();
+        this.candidates = new PriorityQueue<>();
+    }
+
+    /**
+     * Computes the shortest paths tree towards the sink by running Dijkstra's algorithm on the
+     * reversed arcs.
+     *
+     * @param indexedGraph the compiled graph
+     * @param t the sink
+     */
+    private void computeTree(IndexedGraph<V, E> indexedGraph, int t)
+    {
+        int n = vertices.size();
+        Arrays.fill(distanceToSink, Double.POSITIVE_INFINITY);
+        Arrays.fill(treeArc, NO_ARC);
+        indexedGraph.search(
+            t, -1, true, new IndexedDaryHeap(n, IndexedDaryHeap.DEFAULT_ARITY), distanceToSink,
+            treeArc, new int[n]);
+    }
+
+    /**
+     * Lazily computes the shortest path and the deviations of the path returned last.
+     */
+    private void ensureCandidates()
+    {
+        if (!initialized) {
+            initialized = true;
+            int s = sourceIndex;
+            if (distanceToSink[s] != Double.POSITIVE_INFINITY) {
+                int length = 0;
+                for (int v = s; treeArc[v] != NO_ARC; v = arcTarget[treeArc[v]]) {
+                    length++;
+                }
+                int[] suffix = new int[length];
+                int i = 0;
+                for (int v = s; treeArc[v] != NO_ARC; v = arcTarget[treeArc[v]]) {
+                    suffix[i++] = treeArc[v];
+                }
+                candidates.add(new PathRecord(null, 0, suffix, distanceToSink[s], nextSequence++));
+            }
+        }
+        if (lastReturned != null) {
+            PathRecord path = lastReturned;
+            lastReturned = null;
+            addDeviations(path);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext()
+    {
+        if (resultList.size() >= maximumPaths) {
+            return false;
+        }
+        ensureCandidates();
+        return !candidates.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public GraphPath<V, E> next()
+    {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        PathRecord path = candidates.poll();
+        path.materialize();
+        resultList.add(path);
+        lastReturned = path;
+
+        List<V> vertexList = new ArrayList<>(path.arcs.length + 1);
+        List<E> edgeList = new ArrayList<>(path.arcs.length);
+        vertexList.add(source);
+        for (int arc : path.arcs) {
+            vertexList.add(vertices.get(arcTarget[arc]));
+            edgeList.add(arcEdge.get(arc));
+        }
+        return new GraphWalk<>(graph, source, sink, vertexList, edgeList, path.weight);
+    }
+
+    /**
+     * Builds the deviations of the given path from all vertices between its deviation vertex and
+     * the {@code sink} and adds them to the candidates.
+     *
+     * @param path the path
+     */
+    private void addDeviations(PathRecord path)
+    {
+        int[] arcs = path.arcs;
+        int first = path.deviationIndex;
+        int count = arcs.length - first;
+        if (count <= 0 || resultList.size() >= maximumPaths) {
+            return;
+        }
+
+        /*
+         * The spur path from vertex i must not use the i-th arc of any path returned so far which
+         * shares the first i arcs with the current path. The current path is among them.
+         */
+        int[] maskedCount = new int[count];
+        int[] commonPrefix = new int[resultList.size()];
+        for (int q = 0; q < resultList.size(); q++) {
+            int[] other = resultList.get(q).arcs;
+            int max = Math.min(arcs.length, other.length);
+            int l = 0;
+            while (l < max && arcs[l] == other[l]) {
+                l++;
+            }
+            commonPrefix[q] = l;
+            for (int i = first; i <= l && i < other.length; i++) {
+                maskedCount[i - first]++;
+            }
+        }
+        int[][] maskedArcs = new int[count][];
+        for (int i = 0; i < count; i++) {
+            maskedArcs[i] = new int[maskedCount[i]];
+            maskedCount[i] = 0;
+        }
+        for (int q = 0; q < resultList.size(); q++) {
+            int[] other = resultList.get(q).arcs;
+            for (int i = first; i <= commonPrefix[q] && i < other.length; i++) {
+                maskedArcs[i - first][maskedCount[i - first]++] = other[i];
+            }
+        }
+
+        double[] rootWeight = new double[count];
+        double weight = 0d;
+        for (int i = 0; i < arcs.length; i++) {
+            if (i >= first) {
+                rootWeight[i - first] = weight;
+            }
+            weight += arcWeight[arcs[i]];
+        }
+
+        int s = sourceIndex;
+        int workers = executor == null ? 1 : Math.min(executor.getMaximumPoolSize(), count);
+        while (searches.size() < workers) {
+            searches.add(new SpurSearch());
+        }
+        PathRecord[] deviations = new PathRecord[count];
+        AtomicInteger nextSearch = new AtomicInteger();
+        ConcurrencyUtil.forEachIndex(executor, count, () -> {
+            SpurSearch search = searches.get(nextSearch.getAndIncrement());
+            return j -> {
+                int i = first + j;
+                int[] spur = search.find(s, arcs, i, maskedArcs[j]);
+                if (spur != null) {
+                    double spurWeight = 0d;
+                    for (int arc : spur) {
+                        spurWeight += arcWeight[arc];
+                    }
+                    deviations[j] = new PathRecord(path, i, spur, rootWeight[j] + spurWeight, 0);
+                }
+            };
+        });
+
+        for (PathRecord deviation : deviations) {
+            if (deviation != null) {
+                deviation.sequence = nextSequence++;
+                candidates.add(deviation);
+            }
+        }
+        discardCandidates();
+    }
+
+    /**
+     * Discards the candidates which can not be returned since there are enough shorter ones.
+     */
+    private void discardCandidates()
+    {
+        long remaining = (long) maximumPaths - resultList.size();
+        if (candidates.size() <= 2 * remaining) {
+            return;
+        }
+        List<PathRecord> kept = new ArrayList<>((int) remaining);
+        while (kept.size() < remaining) {
+            kept.add(candidates.poll());
+        }
+        candidates.clear();
+        candidates.addAll(kept);
+    }
+
+    /**
+     * A path which is represented by a pointer to its parent path, the index of the vertex where it
+     * deviates from its parent and the arcs after this vertex.
+     */
+    private static class PathRecord
+        implements
+        Comparable<PathRecord>
+    {
+        private PathRecord parent;
+        private final int deviationIndex;
+        private int[] suffix;
+        private final double weight;
+        private long sequence;
+        private int[] arcs;
+
+        PathRecord(
+            PathRecord parent, int deviationIndex, int[] suffix, double weight, long sequence)
+        {
+            this.parent = parent;
+            this.deviationIndex = deviationIndex;
+            this.suffix = suffix;
+            this.weight = weight;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Build the arcs of the whole path. Only done for paths returned by the iterator, which
+         * are needed in order to build their deviations.
+         */
+        void materialize()
+        {
+            arcs = new int[deviationIndex + suffix.length];
+            if (parent != null) {
+                System.arraycopy(parent.arcs, 0, arcs, 0, deviationIndex);
+            }
+            System.arraycopy(suffix, 0, arcs, deviationIndex, suffix.length);
+            parent = null;
+            suffix = null;
+        }
+
+        @Override
+        public int compareTo(PathRecord other)
+        {
+            int c = Double.compare(weight, other.weight);
+            return c != 0 ? c : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Search state, which is reused by all spur searches executed by the same worker.
+     */
+    private class SpurSearch
+    {
+        private final IndexedDaryHeap heap;
+        private final double[] distance;
+        private final int[] predecessorArc;
+        private final int[] touched;
+        private int touchedSize;
+
+        // marks are valid only if they are equal to the current stamp
+        private final int[] blocked;
+        private final int[] settled;
+        private final int[] checked;
+        private final boolean[] treePathValid;
+        private final int[] walk;
+        private int stamp;
+
+        SpurSearch()
+        {
+            int n = vertices.size();
+            this.heap = new IndexedDaryHeap(n, IndexedDaryHeap.DEFAULT_ARITY);
+            this.distance = new double[n];
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            this.predecessorArc = new int[n];
+            this.touched = new int[n];
+            this.blocked = new int[n];
+            this.settled = new int[n];
+            this.checked = new int[n];
+            this.treePathValid = new boolean[n];
+            this.walk = new int[n];
+        }
+
+        /**
+         * Find the shortest path from the i-th vertex of a path to the sink which avoids the
+         * vertices before it and the given arcs.
+         *
+         * @param s the source
+         * @param arcs the arcs of the path
+         * @param index the index of the spur vertex in the path
+         * @param maskedArcs the arcs leaving the spur vertex which must not be used
+         * @return the arcs of the spur path or null if no such path exists
+         */
+        int[] find(int s, int[] arcs, int index, int[] maskedArcs)
+        {
+            stamp++;
+            int u = s;
+            for (int i = 0; i < index; i++) {
+                blocked[u] = stamp;
+                u = arcTarget[arcs[i]];
+            }
+            blocked[u] = stamp;
+
+            int[] result;
+            int firstTreeArc = treeArc[u];
+            if (firstTreeArc != NO_ARC && !contains(maskedArcs, firstTreeArc)
+                && hasValidTreePath(arcTarget[firstTreeArc]))
+            {
+                result = buildSpur(u, u, firstTreeArc);
+            } else {
+                result = search(u, maskedArcs);
+            }
+            reset();
+            return result;
+        }
+
+        private int[] search(int u, int[] maskedArcs)
+        {
+            distance[u] = 0d;
+            touched[touchedSize++] = u;
+            heap.insert(u, distanceToSink[u]);
+            while (!heap.isEmpty()) {
+                int v = heap.deleteMin();
+                settled[v] = stamp;
+                if (v != u && hasValidTreePath(v)) {
+                    return buildSpur(u, v, treeArc[v]);
+                }
+                double vDistance = distance[v];
+                for (int arc = arcStart[v]; arc < arcStart[v + 1]; arc++) {
+                    int w = arcTarget[arc];
+                    if (blocked[w] == stamp || settled[w] == stamp
+                        || distanceToSink[w] == Double.POSITIVE_INFINITY
+                        || (v == u && contains(maskedArcs, arc)))
+                    {
+                        continue;
+                    }
+                    double wDistance = vDistance + arcWeight[arc];
+                    if (wDistance < distance[w]) {
+                        if (distance[w] == Double.POSITIVE_INFINITY) {
+                            touched[touchedSize++] = w;
+                        }
+                        distance[w] = wDistance;
+                        predecessorArc[w] = arc;
+                        heap.insertOrDecreaseKey(w, wDistance + distanceToSink[w]);
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Check if the tree path from a vertex to the sink avoids all blocked vertices. The results
+         * are cached for all vertices of the tree path.
+         */
+        private boolean hasValidTreePath(int v)
+        {
+            int walkSize = 0;
+            boolean valid = true;
+            while (checked[v] != stamp) {
+                if (blocked[v] == stamp || distanceToSink[v] == Double.POSITIVE_INFINITY) {
+                    valid = false;
+                    break;
+                }
+                if (treeArc[v] == NO_ARC) {
+                    // the sink
+                    break;
+                }
+                walk[walkSize++] = v;
+                v = arcTarget[treeArc[v]];
+            }
+            if (checked[v] == stamp) {
+                valid = treePathValid[v];
+            } else {
+                checked[v] = stamp;
+                treePathValid[v] = valid;
+            }
+            for (int i = 0; i < walkSize; i++) {
+                checked[walk[i]] = stamp;
+                treePathValid[walk[i]] = valid;
+            }
+            return valid;
+        }
+
+        /**
+         * Build the arcs of the search path from {@code u} to {@code v}, followed by {@code arc}
+         * and the tree path after it.
+         */
+        private int[] buildSpur(int u, int v, int arc)
+        {
+            int length = 0;
+            for (int w = v; w != u; w = arcSource[predecessorArc[w]]) {
+                length++;
+            }
+            int treeLength = 0;
+            for (int a = arc; a != NO_ARC; a = treeArc[arcTarget[a]]) {
+                treeLength++;
+            }
+            int[] spur = new int[length + treeLength];
+            int i = length;
+            for (int w = v; w != u; w = arcSource[predecessorArc[w]]) {
+                spur[--i] = predecessorArc[w];
+            }
+            i = length;
+            for (int a = arc; a != NO_ARC; a = treeArc[arcTarget[a]]) {
+                spur[i++] = a;
+            }
+            return spur;
+        }
+
+        private void reset()
+        {
+            heap.clear();
+            for (int i = 0; i < touchedSize; i++) {
+                distance[touched[i]] = Double.POSITIVE_INFINITY;
+            }
+            touchedSize = 0;
+        }
+    }
+
+    private static boolean contains(int[] array, int value)
+    {
+        for (int x : array) {
+            if (x == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,584 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.Graphs;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.graph.GraphWalk;
+import org.jgrapht.graph.builder.GraphTypeBuilder;
+import org.jgrapht.util.CollectionUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.jgrapht.alg.interfaces.ManyToManyShortestPathsAlgorithm.ManyToManyShortestPaths;
+import static org.jgrapht.alg.shortestpath.ContractionHierarchyPrecomputation.ContractionEdge;
+import static org.jgrapht.alg.shortestpath.ContractionHierarchyPrecomputation.ContractionHierarchy;
+import static org.jgrapht.alg.shortestpath.ContractionHierarchyPrecomputation.ContractionVertex;
+import static org.jgrapht.alg.shortestpath.DefaultManyToManyShortestPaths.DefaultManyToManyShortestPathsImpl;
+import static org.jgrapht.alg.shortestpath.TransitNodeRoutingPrecomputation.AccessVertex;
+import static org.jgrapht.alg.shortestpath.TransitNodeRoutingPrecomputation.AccessVertices;
+import static org.jgrapht.alg.shortestpath.TransitNodeRoutingPrecomputation.LocalityFilter;
+import static org.jgrapht.alg.shortestpath.TransitNodeRoutingPrecomputation.TransitNodeRouting;
+import static org.jgrapht.alg.shortestpath.TransitNodeRoutingPrecomputation.VoronoiDiagram;
+
+/**
+ * Compact binary format for the precomputed {@link ContractionHierarchy} and
+ * {@link TransitNodeRouting} indexes.
+ *
+ * <p>
+ * The format does not contain the vertices and edges of the underlying graph. Instead, vertices
+ * and edges are referred to by their position in the iteration order of
+ * {@link Graph#vertexSet()} and {@link Graph#edgeSet()} respectively. An index can therefore only
+ * be read back for a graph with the same vertices and edges in the same iteration order, which is
+ * for instance the case if the graph is constructed the same way by the same code.
+ *
+ * <p>
+ * All values are stored in big-endian byte order. A contraction hierarchy is stored column by
+ * column: after a header with the number of vertices $n$, the number of edges $m$ of the graph and
+ * the number of edges $k$ of the contraction graph, there follow $n$ vertex ids, $n$ contraction
+ * levels and then, for each of the $k$ contraction edges, its source, target, weight, original edge
+ * or $-1$, the two bypassed contraction edges or $-1$, the number of original edges it represents
+ * and a flag which tells whether it is upward. Each column is a contiguous array of primitive
+ * values, thus a hierarchy can be read from a memory-mapped file using bulk operations only. A
+ * transit node routing consists of a contraction hierarchy followed by the transit vertices, the
+ * Voronoi cells, the paths between transit vertices, the locality filter and the access vertices.
+ * Paths are stored as their start vertex, weight and list of edges.
+ */
+final class RoutingIndexFormat
+{
+    private static final int CONTRACTION_HIERARCHY_MAGIC = 0x4A474348; // "JGCH"
+    private static final int TRANSIT_NODE_ROUTING_MAGIC = 0x4A47544E; // "JGTN"
+    private static final int VERSION = 1;
+
+    private static final int NONE = -1;
+
+    private RoutingIndexFormat()
+    {
+    }
+
+    /**
+     * Write a contraction hierarchy.
+     *
+     * @param hierarchy the contraction hierarchy
+     * @param out the output stream, which is not closed
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @throws IOException in case of an I/O error
+     */
+    static <V, E> void writeContractionHierarchy(
+        ContractionHierarchy<V, E> hierarchy, OutputStream out)
+        throws IOException
+    {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        new Writer<>(hierarchy, data).writeContractionHierarchy();
+        data.flush();
+    }
+
+    /**
+     * Read a contraction hierarchy starting at the current position of a buffer. The position of
+     * the buffer is not changed.
+     *
+     * @param graph the underlying graph
+     * @param buffer the buffer
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @return the contraction hierarchy
+     * @throws IllegalArgumentException if the buffer does not contain a valid index for the graph
+     */
+    static <V, E> ContractionHierarchy<V, E> readContractionHierarchy(
+        Graph<V, E> graph, ByteBuffer buffer)
+    {
+        try {
+            return new Reader<>(graph, buffer).readContractionHierarchy();
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated index", e);
+        }
+    }
+
+    /**
+     * Write a transit node routing.
+     *
+     * @param routing the transit node routing
+     * @param out the output stream, which is not closed
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @throws IOException in case of an I/O error
+     */
+    static <V, E> void writeTransitNodeRouting(TransitNodeRouting<V, E> routing, OutputStream out)
+        throws IOException
+    {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        new Writer<>(routing.getContractionHierarchy(), data).writeTransitNodeRouting(routing);
+        data.flush();
+    }
+
+    /**
+     * Read a transit node routing starting at the current position of a buffer. The position of
+     * the buffer is not changed.
+     *
+     * @param graph the underlying graph
+     * @param buffer the buffer
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     * @return the transit node routing
+     * @throws IllegalArgumentException if the buffer does not contain a valid index for the graph
+     */
+    static <V, E> TransitNodeRouting<V, E> readTransitNodeRouting(
+        Graph<V, E> graph, ByteBuffer buffer)
+    {
+        try {
+            return new Reader<>(graph, buffer).readTransitNodeRouting();
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated index", e);
+        }
+    }
+
+    /**
+     * Writes the indexes of a single contraction hierarchy.
+     */
+    private static class Writer<V, E>
+    {
+        private final ContractionHierarchy<V, E> hierarchy;
+        private final DataOutputStream out;
+        private final Graph<V, E> graph;
+        private final Map<V, Integer> vertexIndex;
+        private final Map<E, Integer> edgeIndex;
+
+        Writer(ContractionHierarchy<V, E> hierarchy, DataOutputStream out)
+        {
+            this.hierarchy = hierarchy;
+            this.out = out;
+            this.graph = hierarchy.getGraph();
+            this.vertexIndex = CollectionUtil.newHashMapWithExpectedSize(graph.vertexSet().size());
+            for (V v : graph.vertexSet()) {
+                vertexIndex.put(v, vertexIndex.size());
+            }
+            this.edgeIndex = CollectionUtil.newHashMapWithExpectedSize(graph.edgeSet().size());
+            for (E e : graph.edgeSet()) {
+                edgeIndex.put(e, edgeIndex.size());
+            }
+        }
+
+        void writeContractionHierarchy()
+            throws IOException
+        {
+            Graph<ContractionVertex<V>, ContractionEdge<E>> contractionGraph =
+                hierarchy.getContractionGraph();
+            Map<V, ContractionVertex<V>> mapping = hierarchy.getContractionMapping();
+
+            int n = graph.vertexSet().size();
+            int k = contractionGraph.edgeSet().size();
+            out.writeInt(CONTRACTION_HIERARCHY_MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(n);
+            out.writeInt(graph.edgeSet().size());
+            out.writeInt(k);
+
+            for (V v : graph.vertexSet()) {
+                out.writeInt(mapping.get(v).vertexId);
+            }
+            for (V v : graph.vertexSet()) {
+                out.writeInt(mapping.get(v).contractionLevel);
+            }
+
+            Map<ContractionEdge<E>, Integer> contractionEdgeIndex =
+                CollectionUtil.newHashMapWithExpectedSize(k);
+            List<ContractionEdge<E>> contractionEdges = new ArrayList<>(k);
+            for (ContractionEdge<E> e : contractionGraph.edgeSet()) {
+                contractionEdgeIndex.put(e, contractionEdges.size());
+                contractionEdges.add(e);
+            }
+
+            for (ContractionEdge<E> e : contractionEdges) {
+                out.writeInt(vertexIndex.get(contractionGraph.getEdgeSource(e).vertex));
+            }
+            for (ContractionEdge<E> e : contractionEdges) {
+                out.writeInt(vertexIndex.get(contractionGraph.getEdgeTarget(e).vertex));
+            }
+            for (ContractionEdge<E> e : contractionEdges) {
+                out.writeDouble(contractionGraph.getEdgeWeight(e));
+            }
+            for (ContractionEdge<E> e : contractionEdges) {
+                out.writeInt(e.edge == null ? NONE : edgeIndex.get(e.edge));
+            }
+            for (ContractionEdge<E> e : contractionEdges) {
+                out.writeInt(
+                    e.bypassedEdges == null ? NONE
+                        : contractionEdgeIndex.get(e.bypassedEdges.getFirst()));
+            }
+            for (ContractionEdge<E> e : contractionEdges) {
+                out.writeInt(
+                    e.bypassedEdges == null ? NONE
+                        : contractionEdgeIndex.get(e.bypassedEdges.getSecond()));
+            }
+            for (ContractionEdge<E> e : contractionEdges) {
+                out.writeInt(e.originalEdges);
+            }
+            for (ContractionEdge<E> e : contractionEdges) {
+                out.writeByte(e.isUpward ? 1 : 0);
+            }
+        }
+
+        void writeTransitNodeRouting(TransitNodeRouting<V, E> routing)
+            throws IOException
+        {
+            out.writeInt(TRANSIT_NODE_ROUTING_MAGIC);
+            out.writeInt(VERSION);
+            writeContractionHierarchy();
+
+            List<ContractionVertex<V>> vertices =
+                new ArrayList<>(Collections.nCopies(graph.vertexSet().size(), null));
+            for (ContractionVertex<V> v : hierarchy.getContractionMapping().values()) {
+                vertices.set(v.vertexId, v);
+            }
+
+            List<V> transitVertices = new ArrayList<>();
+            for (ContractionVertex<V> v : routing.getTransitVertices()) {
+                transitVertices.add(v.vertex);
+            }
+            out.writeInt(transitVertices.size());
+            for (V v : transitVertices) {
+                out.writeInt(vertexIndex.get(v));
+            }
+
+            VoronoiDiagram<V> voronoiDiagram = routing.getVoronoiDiagram();
+            for (ContractionVertex<V> v : vertices) {
+                out.writeInt(voronoiDiagram.getVoronoiCellId(v));
+            }
+
+            ManyToManyShortestPaths<V, E> transitVerticesPaths = routing.getTransitVerticesPaths();
+            for (V source : transitVertices) {
+                for (V target : transitVertices) {
+                    writePath(transitVerticesPaths.getPath(source, target));
+                }
+            }
+
+            LocalityFilter<V> localityFilter = routing.getLocalityFilter();
+            for (ContractionVertex<V> v : vertices) {
+                writeIntegers(localityFilter.getVisitedForwardVoronoiCells(v));
+                writeIntegers(localityFilter.getVisitedBackwardVoronoiCells(v));
+            }
+
+            AccessVertices<V, E> accessVertices = routing.getAccessVertices();
+            for (ContractionVertex<V> v : vertices) {
+                writeAccessVertices(accessVertices.getForwardAccessVertices(v));
+                writeAccessVertices(accessVertices.getBackwardAccessVertices(v));
+            }
+        }
+
+        private void writeIntegers(Set<Integer> values)
+            throws IOException
+        {
+            out.writeInt(values.size());
+            for (int value : values) {
+                out.writeInt(value);
+            }
+        }
+
+        private void writeAccessVertices(List<AccessVertex<V, E>> accessVertices)
+            throws IOException
+        {
+            out.writeInt(accessVertices.size());
+            for (AccessVertex<V, E> accessVertex : accessVertices) {
+                out.writeInt(vertexIndex.get(accessVertex.getVertex()));
+                writePath(accessVertex.getPath());
+            }
+        }
+
+        private void writePath(GraphPath<V, E> path)
+            throws IOException
+        {
+            if (path == null) {
+                out.writeInt(NONE);
+                return;
+            }
+            out.writeInt(vertexIndex.get(path.getStartVertex()));
+            out.writeDouble(path.getWeight());
+            List<E> edges = path.getEdgeList();
+            out.writeInt(edges.size());
+            for (E e : edges) {
+                out.writeInt(edgeIndex.get(e));
+            }
+        }
+    }
+
+    /**
+     * Reads the indexes of a single contraction hierarchy.
+     */
+    private static class Reader<V, E>
+    {
+        private final Graph<V, E> graph;
+        private final ByteBuffer buffer;
+        private final List<V> vertices;
+        private final List<E> edges;
+
+        Reader(Graph<V, E> graph, ByteBuffer buffer)
+        {
+            this.graph = graph;
+            this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+            this.vertices = new ArrayList<>(graph.vertexSet());
+            this.edges = new ArrayList<>(graph.edgeSet());
+        }
+
+        ContractionHierarchy<V, E> readContractionHierarchy()
+        {
+            readHeader(CONTRACTION_HIERARCHY_MAGIC);
+            int n = buffer.getInt();
+            int m = buffer.getInt();
+            if (n != vertices.size() || m != edges.size()) {
+                throw new IllegalArgumentException("Index does not match the graph");
+            }
+            int k = buffer.getInt();
+            if (k < 0) {
+                throw new IllegalArgumentException("Invalid index");
+            }
+
+            int[] vertexIds = readInts(n);
+            int[] levels = readInts(n);
+            for (int vertexId : vertexIds) {
+                vertex(vertexId);
+            }
+
+            Graph<ContractionVertex<V>, ContractionEdge<E>> contractionGraph = GraphTypeBuilder
+                .<ContractionVertex<V>, ContractionEdge<E>> directed().weighted(true)
+                .allowingMultipleEdges(false).allowingSelfLoops(false).buildGraph();
+            Map<V, ContractionVertex<V>> contractionMapping = new HashMap<>();
+            List<ContractionVertex<V>> contractionVertices = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                V v = vertices.get(i);
+                ContractionVertex<V> contractionVertex = new ContractionVertex<>(v, vertexIds[i]);
+                contractionVertex.contractionLevel = levels[i];
+                contractionGraph.addVertex(contractionVertex);
+                contractionMapping.put(v, contractionVertex);
+                contractionVertices.add(contractionVertex);
+            }
+
+            int[] sources = readInts(k);
+            int[] targets = readInts(k);
+            double[] weights = readDoubles(k);
+            int[] originalEdge = readInts(k);
+            int[] firstBypassed = readInts(k);
+            int[] secondBypassed = readInts(k);
+            int[] originalEdges = readInts(k);
+            byte[] upward = new byte[k];
+            buffer.get(upward);
+
+            List<ContractionEdge<E>> contractionEdges = new ArrayList<>(k);
+            for (int i = 0; i < k; i++) {
+                ContractionEdge<E> e =
+                    new ContractionEdge<>(originalEdge[i] == NONE ? null : edge(originalEdge[i]));
+                e.originalEdges = originalEdges[i];
+                e.isUpward = upward[i] != 0;
+                contractionEdges.add(e);
+                boolean added = contractionGraph
+                    .addEdge(
+                        contractionVertices.get(vertex(sources[i])),
+                        contractionVertices.get(vertex(targets[i])), e);
+                if (!added) {
+                    throw new IllegalArgumentException("Invalid index");
+                }
+                contractionGraph.setEdgeWeight(e, weights[i]);
+            }
+            for (int i = 0; i < k; i++) {
+                if (firstBypassed[i] != NONE) {
+                    contractionEdges.get(i).bypassedEdges = Pair
+                        .of(
+                            contractionEdges.get(contractionEdge(firstBypassed[i], k)),
+                            contractionEdges.get(contractionEdge(secondBypassed[i], k)));
+                }
+            }
+
+            return new ContractionHierarchy<>(graph, contractionGraph, contractionMapping);
+        }
+
+        TransitNodeRouting<V, E> readTransitNodeRouting()
+        {
+            readHeader(TRANSIT_NODE_ROUTING_MAGIC);
+            ContractionHierarchy<V, E> hierarchy = readContractionHierarchy();
+            Map<V, ContractionVertex<V>> mapping = hierarchy.getContractionMapping();
+            int n = vertices.size();
+
+            int t = buffer.getInt();
+            if (t < 0 || t > n) {
+                throw new IllegalArgumentException("Invalid index");
+            }
+            List<V> transitVerticesList = new ArrayList<>(t);
+            Set<V> transitVertices = CollectionUtil.newHashSetWithExpectedSize(t);
+            Set<ContractionVertex<V>> contractedTransitVertices =
+                CollectionUtil.newHashSetWithExpectedSize(t);
+            for (int i = 0; i < t; i++) {
+                V v = vertices.get(vertex(buffer.getInt()));
+                transitVerticesList.add(v);
+                transitVertices.add(v);
+                contractedTransitVertices.add(mapping.get(v));
+            }
+
+            VoronoiDiagram<V> voronoiDiagram = new VoronoiDiagram<>(readInts(n));
+
+            Map<V, Map<V, GraphPath<V, E>>> pathsMap = CollectionUtil.newHashMapWithExpectedSize(t);
+            for (V source : transitVerticesList) {
+                Map<V, GraphPath<V, E>> targetPaths = CollectionUtil.newHashMapWithExpectedSize(t);
+                for (V target : transitVerticesList) {
+                    targetPaths.put(target, readPath());
+                }
+                pathsMap.put(source, targetPaths);
+            }
+            ManyToManyShortestPaths<V, E> transitVerticesPaths =
+                new DefaultManyToManyShortestPathsImpl<>(
+                    transitVertices, transitVertices, pathsMap);
+
+            List<Set<Integer>> visitedForwardVoronoiCells = new ArrayList<>(n);
+            List<Set<Integer>> visitedBackwardVoronoiCells = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                visitedForwardVoronoiCells.add(readIntegers());
+                visitedBackwardVoronoiCells.add(readIntegers());
+            }
+            LocalityFilter<V> localityFilter = new LocalityFilter<>(
+                mapping, visitedForwardVoronoiCells, visitedBackwardVoronoiCells);
+
+            List<List<AccessVertex<V, E>>> forwardAccessVertices = new ArrayList<>(n);
+            List<List<AccessVertex<V, E>>> backwardAccessVertices = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                forwardAccessVertices.add(readAccessVertices());
+                backwardAccessVertices.add(readAccessVertices());
+            }
+            AccessVertices<V, E> accessVertices =
+                new AccessVertices<>(forwardAccessVertices, backwardAccessVertices);
+
+            return new TransitNodeRouting<>(
+                hierarchy, contractedTransitVertices, transitVerticesPaths, voronoiDiagram,
+                accessVertices, localityFilter);
+        }
+
+        private void readHeader(int magic)
+        {
+            if (buffer.getInt() != magic) {
+                throw new IllegalArgumentException("Not a valid index");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported index version " + version);
+            }
+        }
+
+        private int[] readInts(int length)
+        {
+            int[] result = new int[length(length, Integer.BYTES)];
+            buffer.asIntBuffer().get(result);
+            buffer.position(buffer.position() + Integer.BYTES * length);
+            return result;
+        }
+
+        private double[] readDoubles(int length)
+        {
+            double[] result = new double[length(length, Double.BYTES)];
+            buffer.asDoubleBuffer().get(result);
+            buffer.position(buffer.position() + Double.BYTES * length);
+            return result;
+        }
+
+        private Set<Integer> readIntegers()
+        {
+            int size = length(buffer.getInt(), Integer.BYTES);
+            Set<Integer> result = CollectionUtil.newHashSetWithExpectedSize(size);
+            for (int i = 0; i < size; i++) {
+                result.add(buffer.getInt());
+            }
+            return result;
+        }
+
+        private List<AccessVertex<V, E>> readAccessVertices()
+        {
+            // each entry holds at least a vertex and the start of a path
+            int size = length(buffer.getInt(), 2 * Integer.BYTES);
+            List<AccessVertex<V, E>> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                V v = vertices.get(vertex(buffer.getInt()));
+                result.add(new AccessVertex<>(v, readPath()));
+            }
+            return result;
+        }
+
+        private GraphPath<V, E> readPath()
+        {
+            int start = buffer.getInt();
+            if (start == NONE) {
+                return null;
+            }
+            V current = vertices.get(vertex(start));
+            double weight = buffer.getDouble();
+            int length = length(buffer.getInt(), Integer.BYTES);
+            List<V> vertexList = new ArrayList<>(length + 1);
+            List<E> edgeList = new ArrayList<>(length);
+            vertexList.add(current);
+            for (int i = 0; i < length; i++) {
+                E e = edge(buffer.getInt());
+                current = Graphs.getOppositeVertex(graph, e, current);
+                edgeList.add(e);
+                vertexList.add(current);
+            }
+            return new GraphWalk<>(graph, vertexList.get(0), current, vertexList, edgeList, weight);
+        }
+
+        private int length(int length, int bytes)
+        {
+            if (length < 0 || length > buffer.remaining() / bytes) {
+                throw new IllegalArgumentException("Invalid index");
+            }
+            return length;
+        }
+
+        private int vertex(int index)
+        {
+            if (index < 0 || index >= vertices.size()) {
+                throw new IllegalArgumentException("Invalid index");
+            }
+            return index;
+        }
+
+        private E edge(int index)
+        {
+            if (index < 0 || index >= edges.size()) {
+                throw new IllegalArgumentException("Invalid index");
+            }
+            return edges.get(index);
+        }
+
+        private int contractionEdge(int index, int k)
+        {
+            if (index < 0 || index >= k) {
+                throw new IllegalArgumentException("Invalid index");
+            }
+            return index;
+        }
+    }
+}
@@ -1043,6 +1043,28 @@ class TransitNodeRoutingPrecomputation<V, E>
 
             return false;
         }
+
+        /**
+         * Returns the Voronoi cells ids visited by a forward search from {@code vertex}.
+         *
+         * @param vertex vertex
+         * @return visited Voronoi cells ids
+         */
+        Set<Integer> getVisitedForwardVoronoiCells(ContractionVertex<V> vertex)
+        {
+            return visitedForwardVoronoiCells.get(vertex.vertexId);
+        }
+
+        /**
+         * Returns the Voronoi cells ids visited by a backward search from {@code vertex}.
+         *
+         * @param vertex vertex
+         * @return visited Voronoi cells ids
+         */
+        Set<Integer> getVisitedBackwardVoronoiCells(ContractionVertex<V> vertex)
+        {
+            return visitedBackwardVoronoiCells.get(vertex.vertexId);
+        }
     }
 
     /**
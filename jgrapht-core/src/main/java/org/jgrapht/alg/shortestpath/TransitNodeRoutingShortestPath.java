@@ -23,6 +23,9 @@ import org.jgrapht.alg.interfaces.ShortestPathAlgorithm;
 import org.jgrapht.alg.util.Pair;
 import org.jgrapht.graph.GraphWalk;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -67,6 +70,11 @@ import static org.jgrapht.alg.shortestpath.TransitNodeRoutingPrecomputation.Tran
  * directly calling the {@code #performPrecomputation()} method. Otherwise, this method is called
  * during the first call to either the {@code #getPath()} or {@code #getPathWeight()} methods.
  *
+ * <p>
+ * The result of the precomputation can be persisted using {@link #write(OutputStream)} and loaded
+ * again using {@link #read(Graph, ByteBuffer)}, which avoids repeating the precomputation, for
+ * instance each time a service which answers shortest path queries is started.
+ *
  * @param <V> graph vertex type
  * @param <E> graph edge type
  * @author Semen Chudakov
@@ -83,6 +91,11 @@ public class TransitNodeRoutingShortestPath<V, E>
      */
     private ThreadPoolExecutor executor;
 
+    /**
+     * Transit node routing which is used to compute shortest paths.
+     */
+    private TransitNodeRouting<V, E> transitNodeRouting;
+
     /**
      * Contraction hierarchy which is used to compute shortest paths.
      */
@@ -158,6 +171,7 @@ public class TransitNodeRoutingShortestPath<V, E>
      */
     private void initialize(TransitNodeRouting<V, E> transitNodeRouting)
     {
+        this.transitNodeRouting = transitNodeRouting;
         this.contractionHierarchy = transitNodeRouting.getContractionHierarchy();
         this.localityFilter = transitNodeRouting.getLocalityFilter();
         this.accessVertices = transitNodeRouting.getAccessVertices();
@@ -166,6 +180,44 @@ public class TransitNodeRoutingShortestPath<V, E>
             transitNodeRouting.getContractionHierarchy());
     }
 
+    /**
+     * Writes the result of the precomputation stage to {@code out} in a compact binary format. The
+     * precomputation is performed first if needed. Vertices and edges of the graph are not
+     * written, they are referred to by their position in the iteration order of the vertex and
+     * edge sets of the graph. The stream is flushed but not closed.
+     *
+     * @param out output stream
+     * @throws IOException in case of an I/O error
+     */
+    public void write(OutputStream out)
+        throws IOException
+    {
+        performPrecomputation();
+        RoutingIndexFormat.writeTransitNodeRouting(transitNodeRouting, out);
+    }
+
+    /**
+     * Creates an instance of this algorithm from the result of a precomputation stage which was
+     * written by {@link #write(OutputStream)}, starting at the current position of
+     * {@code buffer}. The {@code graph} must have the same vertices and edges in the same
+     * iteration order as the graph the precomputation was performed for. The buffer can be a
+     * {@link java.nio.MappedByteBuffer}.
+     *
+     * @param graph graph
+     * @param buffer buffer to read from
+     * @param <V> graph vertex type
+     * @param <E> graph edge type
+     * @return algorithm which answers queries without any further precomputation
+     * @throws IllegalArgumentException if {@code buffer} does not contain a valid transit node
+     *         routing for {@code graph}
+     */
+    public static <V, E> TransitNodeRoutingShortestPath<V, E> read(
+        Graph<V, E> graph, ByteBuffer buffer)
+    {
+        return new TransitNodeRoutingShortestPath<>(
+            RoutingIndexFormat.readTransitNodeRouting(graph, buffer));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -326,7 +326,8 @@ public class NetworkGenerator<V, E>
         generate(graph);
 
         return new MinimumCostFlowProblem.MinimumCostFlowProblemImpl<>(
-            graph, v -> supplyMap.getOrDefault(v, 0), e -> capacityMap.get(e), e -> costMap.get(e));
+            graph, v -> supplyMap.getOrDefault(v, 0), e -> capacityMap.get(e), e -> 0,
+            e -> (double) costMap.get(e));
     }
 
     /**
@@ -17,13 +17,23 @@
  */
 package org.jgrapht.util;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 
 /**
- * Utility class to manage creation and shutting down instance of the {@link ThreadPoolExecutor}.
+ * Utility class to manage creation and shutting down instance of the {@link ThreadPoolExecutor}
+ * and to run tasks using such an executor.
  */
 public class ConcurrencyUtil
 {
@@ -68,4 +78,78 @@ public class ConcurrencyUtil
         service.shutdown();
         service.awaitTermination(time, timeUnit);
     }
+
+    /**
+     * Executes the given tasks using the {@code executor} and waits until all of them have
+     * completed. If a task throws an exception or error, it is rethrown, wrapped into a
+     * {@link RuntimeException} if it is a checked exception. If the calling thread is interrupted
+     * while waiting, its interrupt status is restored and a {@link RuntimeException} is thrown.
+     *
+     * @param executor executor which will run the tasks
+     * @param tasks the tasks to run
+     * @param <T> the result type of the tasks
+     * @return the results of the tasks in the iteration order of {@code tasks}
+     */
+    public static <T> List<T> invokeAll(
+        ExecutorService executor, Collection<? extends Callable<T>> tasks)
+    {
+        try {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Processes every index in $[0, count)$. Each worker obtains its task from {@code workers}
+     * once and then applies it to the indices it claims, which allows a task to reuse per thread
+     * state. If {@code executor} is null or there is at most one index, a single worker
+     * processes all indices in the calling thread, otherwise at most one worker per thread of the
+     * executor is started. Exceptions are handled as described in
+     * {@link #invokeAll(ExecutorService, Collection)}.
+     *
+     * @param executor executor which will be used for parallelization, or null in order to run
+     *        sequentially
+     * @param count the number of indices
+     * @param workers supplier of the tasks of the workers
+     */
+    public static void forEachIndex(
+        ThreadPoolExecutor executor, int count, Supplier<IntConsumer> workers)
+    {
+        if (executor == null || count <= 1) {
+            IntConsumer task = workers.get();
+            for (int i = 0; i < count; i++) {
+                task.accept(i);
+            }
+            return;
+        }
+
+        int numWorkers = Math.min(count, Math.max(1, executor.getMaximumPoolSize()));
+        AtomicInteger next = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>(numWorkers);
+        for (int t = 0; t < numWorkers; t++) {
+            tasks.add(() -> {
+                IntConsumer task = workers.get();
+                int i;
+                while ((i = next.getAndIncrement()) < count) {
+                    task.accept(i);
+                }
+                return null;
+            });
+        }
+        invokeAll(executor, tasks);
+    }
 }
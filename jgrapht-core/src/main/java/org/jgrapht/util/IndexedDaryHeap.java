@@ -0,0 +1,325 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+/**
+ * An indexed d-ary min-heap of integer elements with double keys.
+ *
+ * <p>
+ * The elements of the heap are integers in $[0, n)$, where $n$ is the capacity of the heap, and
+ * each element can be contained at most once. The position of each element in the heap is stored
+ * in an array, which allows decrease-key operations without any handles. All data is stored in
+ * primitive arrays, therefore the heap does not perform any allocations after its construction.
+ * This makes it suitable for algorithms such as Dijkstra's which use an integer indexing of the
+ * vertices of a graph and run many times on the same graph.
+ *
+ * <p>
+ * Operations {@link #insert(int, double)}, {@link #decreaseKey(int, double)} and
+ * {@link #deleteMin()} take $O(d \log_d n)$ time, while {@link #clear()} takes time linear in the
+ * current size of the heap.
+ */
+public class IndexedDaryHeap
+{
+    /**
+     * Default arity of the heap.
+     */
+    public static final int DEFAULT_ARITY = 4;
+
+    private static final int NOT_IN_HEAP = -1;
+
+    private final int d;
+    private final int[] elements;
+    private final double[] keys;
+    private final int[] positions;
+    private int size;
+
+    /**
+     * Create a new heap with the default arity.
+     *
+     * @param capacity the capacity of the heap, the elements must be in $[0, capacity)$
+     */
+    public IndexedDaryHeap(int capacity)
+    {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * Create a new heap.
+     *
+     * @param capacity the capacity of the heap, the elements must be in $[0, capacity)$
+     * @param d the arity of the heap
+     * @throws IllegalArgumentException if the capacity is negative or the arity is less than two
+     */
+    public IndexedDaryHeap(int capacity, int d)
+    {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative");
+        }
+        if (d < 2) {
+            throw new IllegalArgumentException("Arity must be at least two");
+        }
+        this.d = d;
+        this.elements = new int[capacity];
+        this.keys = new double[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, NOT_IN_HEAP);
+        this.size = 0;
+    }
+
+    /**
+     * Get the capacity of the heap.
+     *
+     * @return the capacity of the heap
+     */
+    public int capacity()
+    {
+        return elements.length;
+    }
+
+    /**
+     * Get the number of elements in the heap.
+     *
+     * @return the number of elements in the heap
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Check whether the heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Check whether an element is contained in the heap.
+     *
+     * @param element the element
+     * @return true if the element is contained in the heap, false otherwise
+     */
+    public boolean contains(int element)
+    {
+        return positions[element] != NOT_IN_HEAP;
+    }
+
+    /**
+     * Get the key of an element which is contained in the heap.
+     *
+     * @param element the element
+     * @return the key of the element
+     * @throws NoSuchElementException if the element is not contained in the heap
+     */
+    public double getKey(int element)
+    {
+        int pos = positions[element];
+        if (pos == NOT_IN_HEAP) {
+            throw new NoSuchElementException("Element not in heap");
+        }
+        return keys[pos];
+    }
+
+    /**
+     * Insert an element into the heap.
+     *
+     * @param element the element
+     * @param key the key of the element
+     * @throws IllegalArgumentException if the element is already contained in the heap
+     */
+    public void insert(int element, double key)
+    {
+        if (positions[element] != NOT_IN_HEAP) {
+            throw new IllegalArgumentException("Element already in heap");
+        }
+        int pos = size++;
+        elements[pos] = element;
+        keys[pos] = key;
+        positions[element] = pos;
+        siftUp(pos);
+    }
+
+    /**
+     * Decrease the key of an element which is contained in the heap.
+     *
+     * @param element the element
+     * @param key the new key
+     * @throws NoSuchElementException if the element is not contained in the heap
+     * @throws IllegalArgumentException if the new key is larger than the current key
+     */
+    public void decreaseKey(int element, double key)
+    {
+        int pos = positions[element];
+        if (pos == NOT_IN_HEAP) {
+            throw new NoSuchElementException("Element not in heap");
+        }
+        if (key > keys[pos]) {
+            throw new IllegalArgumentException("Keys can only be decreased");
+        }
+        keys[pos] = key;
+        siftUp(pos);
+    }
+
+    /**
+     * Insert an element into the heap or, if it is already contained, decrease its key. Nothing
+     * happens if the element is contained with a key which is not larger than the given one.
+     *
+     * @param element the element
+     * @param key the key
+     * @return true if the element was inserted or its key decreased, false otherwise
+     */
+    public boolean insertOrDecreaseKey(int element, double key)
+    {
+        int pos = positions[element];
+        if (pos == NOT_IN_HEAP) {
+            pos = size++;
+            elements[pos] = element;
+            keys[pos] = key;
+            positions[element] = pos;
+        } else if (key < keys[pos]) {
+            keys[pos] = key;
+        } else {
+            return false;
+        }
+        siftUp(pos);
+        return true;
+    }
+
+    /**
+     * Get an element with minimum key.
+     *
+     * @return an element with minimum key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int findMin()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[0];
+    }
+
+    /**
+     * Get the minimum key.
+     *
+     * @return the minimum key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public double findMinKey()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return keys[0];
+    }
+
+    /**
+     * Remove and return an element with minimum key.
+     *
+     * @return an element with minimum key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int deleteMin()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int min = elements[0];
+        positions[min] = NOT_IN_HEAP;
+        size--;
+        if (size > 0) {
+            int last = elements[size];
+            elements[0] = last;
+            keys[0] = keys[size];
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /**
+     * Remove all elements from the heap.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < size; i++) {
+            positions[elements[i]] = NOT_IN_HEAP;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int pos)
+    {
+        int element = elements[pos];
+        double key = keys[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) / d;
+            if (keys[parent] <= key) {
+                break;
+            }
+            move(parent, pos);
+            pos = parent;
+        }
+        elements[pos] = element;
+        keys[pos] = key;
+        positions[element] = pos;
+    }
+
+    private void siftDown(int pos)
+    {
+        int element = elements[pos];
+        double key = keys[pos];
+        while (true) {
+            int firstChild = d * pos + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + d, size);
+            int minChild = firstChild;
+            double minKey = keys[firstChild];
+            for (int c = firstChild + 1; c < lastChild; c++) {
+                if (keys[c] < minKey) {
+                    minChild = c;
+                    minKey = keys[c];
+                }
+            }
+            if (key <= minKey) {
+                break;
+            }
+            move(minChild, pos);
+            pos = minChild;
+        }
+        elements[pos] = element;
+        keys[pos] = key;
+        positions[element] = pos;
+    }
+
+    private void move(int from, int to)
+    {
+        int element = elements[from];
+        elements[to] = element;
+        keys[to] = keys[from];
+        positions[element] = to;
+    }
+
+}
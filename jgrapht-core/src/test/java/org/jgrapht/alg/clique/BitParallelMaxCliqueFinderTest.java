@@ -0,0 +1,143 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.CliqueAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link BitParallelMaxCliqueFinder}.
+ */
+public class BitParallelMaxCliqueFinderTest
+{
+    private static ThreadPoolExecutor executor;
+
+    @BeforeClass
+    public static void createExecutor()
+    {
+        executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor()
+        throws InterruptedException
+    {
+        ConcurrencyUtil.shutdownExecutionService(executor);
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultEdge> graph = new DefaultUndirectedGraph<>(DefaultEdge.class);
+        Clique<Integer> clique = new BitParallelMaxCliqueFinder<>(graph).getClique();
+        assertEquals(0, clique.size());
+        assertEquals(0d, clique.getWeight(), 0d);
+    }
+
+    @Test
+    public void testSmallGraph()
+    {
+        Graph<String, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        BaseBronKerboschCliqueFinderTest.createGraph(graph);
+
+        Clique<String> clique = new BitParallelMaxCliqueFinder<>(graph).getClique();
+        assertEquals(4, clique.size());
+        assertEquals(4d, clique.getWeight(), 0d);
+        assertIsClique(graph, clique);
+    }
+
+    @Test
+    public void testPseudograph()
+    {
+        Graph<Integer, DefaultEdge> graph = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(graph, Arrays.asList(1, 2, 3));
+        graph.addEdge(1, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+
+        Clique<Integer> clique = new BitParallelMaxCliqueFinder<>(graph).getClique();
+        assertEquals(2, clique.size());
+        assertIsClique(graph, clique);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirectedGraph()
+    {
+        new BitParallelMaxCliqueFinder<>(new DefaultDirectedGraph<>(DefaultEdge.class));
+    }
+
+    @Test
+    public void testCompleteGraph()
+    {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(100).generateGraph(graph);
+
+        Clique<Integer> clique = new BitParallelMaxCliqueFinder<>(graph, executor).getClique();
+        assertEquals(graph.vertexSet(), clique);
+    }
+
+    @Test
+    public void testRandomInstances()
+    {
+        final Random rng = new Random(17);
+
+        for (int i = 0; i < 20; i++) {
+            Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(40 + 5 * i, 0.4, rng, false)
+                .generateGraph(graph);
+
+            int expected = 0;
+            Iterator<Set<Integer>> it =
+                new DegeneracyBronKerboschCliqueFinder<>(graph).maximumIterator();
+            if (it.hasNext()) {
+                expected = it.next().size();
+            }
+
+            Clique<Integer> sequential = new BitParallelMaxCliqueFinder<>(graph).getClique();
+            assertEquals(expected, sequential.size());
+            assertIsClique(graph, sequential);
+
+            Clique<Integer> parallel =
+                new BitParallelMaxCliqueFinder<>(graph, executor).getClique();
+            assertEquals(expected, parallel.size());
+            assertIsClique(graph, parallel);
+        }
+    }
+
+    private static <V, E> void assertIsClique(Graph<V, E> graph, Set<V> clique)
+    {
+        for (V u : clique) {
+            for (V v : clique) {
+                assertTrue(u == v || graph.containsEdge(u, v));
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.clique;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests for {@link ParallelDegeneracyBronKerboschCliqueFinder}.
+ */
+public class ParallelDegeneracyBronKerboschCliqueFinderTest
+{
+    private static ThreadPoolExecutor executor;
+
+    @BeforeClass
+    public static void createExecutor()
+    {
+        executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor()
+        throws InterruptedException
+    {
+        ConcurrencyUtil.shutdownExecutionService(executor);
+    }
+
+    @Test
+    public void testFindAll()
+    {
+        Graph<String, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        BaseBronKerboschCliqueFinderTest.createGraph(g);
+
+        Set<Set<String>> expected = new HashSet<>();
+        new DegeneracyBronKerboschCliqueFinder<>(g).forEach(expected::add);
+        assertEquals(5, expected.size());
+
+        List<Set<String>> cliques = new ArrayList<>();
+        new ParallelDegeneracyBronKerboschCliqueFinder<>(g).forEach(cliques::add);
+        assertEquals(5, cliques.size());
+        assertEquals(expected, new HashSet<>(cliques));
+    }
+
+    @Test
+    public void testIsolatedVertices()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2, 3));
+        g.addEdge(1, 2);
+
+        Set<Set<Integer>> cliques = new HashSet<>();
+        new ParallelDegeneracyBronKerboschCliqueFinder<>(g, executor)
+            .forEachClique(cliques::add);
+        assertEquals(
+            new HashSet<>(
+                Arrays.asList(
+                    Collections.singleton(0), new HashSet<>(Arrays.asList(1, 2)),
+                    Collections.singleton(3))),
+            cliques);
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        assertFalse(new ParallelDegeneracyBronKerboschCliqueFinder<>(g).iterator().hasNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonSimple()
+    {
+        Graph<String, DefaultEdge> g = new Pseudograph<>(DefaultEdge.class);
+        g.addVertex("1");
+        g.addVertex("2");
+        g.addEdge("1", "2");
+        g.addEdge("1", "2");
+
+        new ParallelDegeneracyBronKerboschCliqueFinder<>(g, executor).forEachClique(c -> {
+        });
+    }
+
+    @Test
+    public void testRandomInstances()
+    {
+        final Random rng = new Random(33);
+        final int repeat = 10;
+
+        for (int i = 0; i < repeat; i++) {
+            Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            if (i % 2 == 0) {
+                new GnmRandomGraphGenerator<Integer, DefaultEdge>(300, 1200, rng.nextLong())
+                    .generateGraph(g);
+            } else {
+                // large neighborhoods, whose bitsets consist of several words
+                new CompleteBipartiteGraphGenerator<Integer, DefaultEdge>(70, 70).generateGraph(g);
+                for (int k = 0; k < 200; k++) {
+                    int u = rng.nextInt(140);
+                    int v = rng.nextInt(140);
+                    if (u != v) {
+                        g.addEdge(u, v);
+                    }
+                }
+            }
+
+            Set<Set<Integer>> expected = new HashSet<>();
+            new DegeneracyBronKerboschCliqueFinder<>(g).forEach(expected::add);
+
+            List<Set<Integer>> sequential = new ArrayList<>();
+            new ParallelDegeneracyBronKerboschCliqueFinder<>(g).forEach(sequential::add);
+            assertEquals(expected.size(), sequential.size());
+            assertEquals(expected, new HashSet<>(sequential));
+
+            Queue<Set<Integer>> parallel = new ConcurrentLinkedQueue<>();
+            new ParallelDegeneracyBronKerboschCliqueFinder<>(g, executor)
+                .forEachClique(parallel::add);
+            assertEquals(expected.size(), parallel.size());
+            assertEquals(expected, new HashSet<>(parallel));
+        }
+    }
+}
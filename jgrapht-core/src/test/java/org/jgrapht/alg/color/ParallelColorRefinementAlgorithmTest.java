@@ -0,0 +1,251 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.color;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Tests for {@link ParallelColorRefinementAlgorithm}.
+ */
+public class ParallelColorRefinementAlgorithmTest
+{
+    private static ThreadPoolExecutor executor;
+
+    @BeforeClass
+    public static void createExecutor()
+    {
+        executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor()
+        throws InterruptedException
+    {
+        ConcurrencyUtil.shutdownExecutionService(executor);
+    }
+
+    @Test
+    public void testTree()
+    {
+        Graph<Integer, DefaultEdge> tree = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(tree, Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8));
+        tree.addEdge(1, 2);
+        tree.addEdge(2, 3);
+        tree.addEdge(3, 4);
+        tree.addEdge(4, 5);
+        tree.addEdge(3, 6);
+        tree.addEdge(6, 7);
+        tree.addEdge(6, 8);
+
+        Coloring<Integer> coloring = new ParallelColorRefinementAlgorithm<>(tree).getColoring();
+        Map<Integer, Integer> colors = coloring.getColors();
+        assertEquals(5, coloring.getNumberColors());
+        assertEquals(colors.get(1), colors.get(5));
+        assertEquals(colors.get(2), colors.get(4));
+        assertEquals(colors.get(7), colors.get(8));
+        assertNotEquals(colors.get(1), colors.get(7));
+        assertNotEquals(colors.get(1), colors.get(2));
+        assertNotEquals(colors.get(2), colors.get(3));
+        assertNotEquals(colors.get(3), colors.get(6));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidAlpha()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(1, 2));
+        Map<Integer, Integer> alpha = new HashMap<>();
+        alpha.put(1, 0);
+        alpha.put(2, 0);
+        new ParallelColorRefinementAlgorithm<>(g, new ColoringImpl<>(alpha, 2), null);
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        ParallelColorRefinementAlgorithm<Integer, DefaultEdge> alg =
+            new ParallelColorRefinementAlgorithm<>(g);
+        assertEquals(0, alg.getColoring().getNumberColors());
+        assertEquals(3, alg.getColorHistograms(2).size());
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        Random rng = new Random(5);
+
+        for (int i = 0; i < 20; i++) {
+            boolean directed = i % 2 == 1;
+            Graph<Integer, DefaultEdge> g = directed
+                ? new DefaultDirectedGraph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false)
+                : new SimpleGraph<>(
+                    SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                    false);
+            if (i % 4 < 2) {
+                new GnmRandomGraphGenerator<Integer, DefaultEdge>(
+                    200 + 100 * i, 300 + 100 * i, rng.nextLong(), directed, false)
+                    .generateGraph(g);
+            } else {
+                // trees and sparse graphs need many rounds
+                new GnmRandomGraphGenerator<Integer, DefaultEdge>(
+                    2000 + 100 * i, 1990 + 100 * i, rng.nextLong(), directed, false)
+                    .generateGraph(g);
+            }
+
+            Map<Integer, Integer> alphaColors = new HashMap<>();
+            for (Integer v : g.vertexSet()) {
+                alphaColors.put(v, v % 3 == 0 ? 1 : 0);
+            }
+            Coloring<Integer> alpha = new ColoringImpl<>(alphaColors, 2);
+
+            Coloring<Integer> expected = new ColorRefinementAlgorithm<>(g, alpha).getColoring();
+            Coloring<Integer> sequential =
+                new ParallelColorRefinementAlgorithm<>(g, alpha, null).getColoring();
+            Coloring<Integer> parallel =
+                new ParallelColorRefinementAlgorithm<>(g, alpha, executor).getColoring();
+
+            assertEquals(
+                new HashSet<>(expected.getColorClasses()),
+                new HashSet<>(sequential.getColorClasses()));
+            assertEquals(sequential.getColors(), parallel.getColors());
+            assertEquals(sequential.getColorClasses().size(), sequential.getNumberColors());
+        }
+    }
+
+    @Test
+    public void testCanonical()
+    {
+        Random rng = new Random(9);
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(3000, 3200, rng.nextLong())
+            .generateGraph(g);
+        Map<Integer, Integer> permutation = randomPermutation(g, rng);
+        Graph<Integer, DefaultEdge> h = permute(g, permutation);
+
+        Map<Integer, Integer> colors1 = new ParallelColorRefinementAlgorithm<>(g, executor)
+            .getColoring().getColors();
+        Map<Integer, Integer> colors2 =
+            new ParallelColorRefinementAlgorithm<>(h).getColoring().getColors();
+        for (Integer v : g.vertexSet()) {
+            assertEquals(colors1.get(v), colors2.get(permutation.get(v)));
+        }
+    }
+
+    @Test
+    public void testColorHistograms()
+    {
+        Random rng = new Random(13);
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(5000, 10000, rng.nextLong())
+            .generateGraph(g);
+        Graph<Integer, DefaultEdge> h = permute(g, randomPermutation(g, rng));
+
+        List<Map<Long, Integer>> sequential =
+            new ParallelColorRefinementAlgorithm<>(g).getColorHistograms(4);
+        List<Map<Long, Integer>> parallel =
+            new ParallelColorRefinementAlgorithm<>(h, executor).getColorHistograms(4);
+        assertEquals(5, sequential.size());
+        assertEquals(sequential, parallel);
+        assertEquals(1, sequential.get(0).size());
+        for (Map<Long, Integer> histogram : sequential) {
+            assertEquals(
+                5000, histogram.values().stream().mapToInt(Integer::intValue).sum());
+        }
+
+        // the number of labels of an iteration is the number of colors after as many rounds
+        int[] expectedSizes = new int[5];
+        Map<Integer, Integer> colors = new HashMap<>();
+        for (Integer v : g.vertexSet()) {
+            colors.put(v, 0);
+        }
+        for (int i = 0; i < 5; i++) {
+            expectedSizes[i] = new HashSet<>(colors.values()).size();
+            Map<List<Integer>, Integer> compressed = new HashMap<>();
+            Map<Integer, Integer> next = new HashMap<>();
+            for (Integer v : g.vertexSet()) {
+                List<Integer> signature = new ArrayList<>();
+                for (Integer w : Graphs.neighborListOf(g, v)) {
+                    signature.add(colors.get(w));
+                }
+                Collections.sort(signature);
+                signature.add(0, colors.get(v));
+                next.put(v, compressed.computeIfAbsent(signature, s -> compressed.size()));
+            }
+            colors = next;
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals(expectedSizes[i], sequential.get(i).size());
+        }
+
+        // a path and a star differ after one iteration
+        Graph<Integer, DefaultEdge> path = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new LinearGraphGenerator<Integer, DefaultEdge>(4).generateGraph(path);
+        Graph<Integer, DefaultEdge> star = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new StarGraphGenerator<Integer, DefaultEdge>(4).generateGraph(star);
+        List<Map<Long, Integer>> pathHistograms =
+            new ParallelColorRefinementAlgorithm<>(path).getColorHistograms(1);
+        List<Map<Long, Integer>> starHistograms =
+            new ParallelColorRefinementAlgorithm<>(star).getColorHistograms(1);
+        assertEquals(pathHistograms.get(0), starHistograms.get(0));
+        assertNotEquals(pathHistograms.get(1), starHistograms.get(1));
+    }
+
+    private static Map<Integer, Integer> randomPermutation(
+        Graph<Integer, DefaultEdge> g, Random rng)
+    {
+        List<Integer> targets = new ArrayList<>(g.vertexSet());
+        Collections.shuffle(targets, rng);
+        Map<Integer, Integer> permutation = new HashMap<>();
+        int k = 0;
+        for (Integer v : g.vertexSet()) {
+            permutation.put(v, targets.get(k++));
+        }
+        return permutation;
+    }
+
+    private static Graph<Integer, DefaultEdge> permute(
+        Graph<Integer, DefaultEdge> g, Map<Integer, Integer> permutation)
+    {
+        Graph<Integer, DefaultEdge> h = new SimpleGraph<>(DefaultEdge.class);
+        List<Integer> shuffled = new ArrayList<>(permutation.values());
+        shuffled.sort(Comparator.reverseOrder());
+        Graphs.addAllVertices(h, shuffled);
+        for (DefaultEdge e : g.edgeSet()) {
+            h.addEdge(
+                permutation.get(g.getEdgeSource(e)), permutation.get(g.getEdgeTarget(e)));
+        }
+        return h;
+    }
+}
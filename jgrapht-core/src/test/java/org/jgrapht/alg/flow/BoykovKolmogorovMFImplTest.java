@@ -423,4 +423,16 @@ public class BoykovKolmogorovMFImplTest
     {
         return new BoykovKolmogorovMFImpl<>(network);
     }
+
+    @Test
+    public void testCapacityUpdates()
+    {
+        verifyCapacityUpdates(BoykovKolmogorovMFImpl::new);
+    }
+
+    @Test
+    public void testRecomputeWithoutComputation()
+    {
+        verifyRecomputeWithoutComputation(BoykovKolmogorovMFImpl::new);
+    }
 }
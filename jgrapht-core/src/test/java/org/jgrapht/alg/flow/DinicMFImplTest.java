@@ -122,4 +122,16 @@ public class DinicMFImplTest
         double flow = dinic.getMaximumFlowValue(v1, v2);
         assertEquals(2.0, flow, 0);
     }
+
+    @Test
+    public void testCapacityUpdates()
+    {
+        verifyCapacityUpdates(DinicMFImpl::new);
+    }
+
+    @Test
+    public void testRecomputeWithoutComputation()
+    {
+        verifyRecomputeWithoutComputation(DinicMFImpl::new);
+    }
 }
@@ -22,6 +22,7 @@ import org.jgrapht.alg.*;
 import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.alg.shortestpath.*;
 import org.jgrapht.graph.*;
+import org.junit.*;
 
 import java.util.*;
 
@@ -80,4 +81,13 @@ public class GusfieldEquivalentFlowTreeTest
             }
         }
     }
+
+    @Test
+    public void testParallelConstruction()
+    {
+        verifyParallelConstruction(
+            (network, e) -> new GusfieldEquivalentFlowTree<>(
+                network, MaximumFlowAlgorithmBase.DEFAULT_EPSILON, e),
+            GusfieldEquivalentFlowTree::getEquivalentFlowTree);
+    }
 }
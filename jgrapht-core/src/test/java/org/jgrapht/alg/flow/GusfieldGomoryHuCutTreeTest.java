@@ -22,6 +22,7 @@ import org.jgrapht.alg.*;
 import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.alg.shortestpath.*;
 import org.jgrapht.graph.*;
+import org.junit.*;
 
 import java.util.*;
 
@@ -110,4 +111,13 @@ public class GusfieldGomoryHuCutTreeTest
             }
         }
     }
+
+    @Test
+    public void testParallelConstruction()
+    {
+        verifyParallelConstruction(
+            (network, e) -> new GusfieldGomoryHuCutTree<>(
+                network, MaximumFlowAlgorithmBase.DEFAULT_EPSILON, e),
+            GusfieldGomoryHuCutTree::getGomoryHuTree);
+    }
 }
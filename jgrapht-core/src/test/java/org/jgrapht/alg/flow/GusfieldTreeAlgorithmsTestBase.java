@@ -18,12 +18,17 @@
 package org.jgrapht.alg.flow;
 
 import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  * Test base class for the GusfieldGomoryHuCutTree and GusfieldEquivalentFlow implementations
@@ -32,6 +37,20 @@ import java.util.*;
  */
 public abstract class GusfieldTreeAlgorithmsTestBase
 {
+    protected static ThreadPoolExecutor executor;
+
+    @BeforeClass
+    public static void createExecutor()
+    {
+        executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor()
+        throws InterruptedException
+    {
+        ConcurrencyUtil.shutdownExecutionService(executor);
+    }
 
     public abstract void validateAlgorithm(
         SimpleWeightedGraph<Integer, DefaultWeightedEdge> network);
@@ -161,4 +180,45 @@ public abstract class GusfieldTreeAlgorithmsTestBase
             validateAlgorithm(randomGraph);
         }
     }
+
+    /**
+     * Compares the trees computed sequentially and with the shared executor on random graphs.
+     *
+     * @param factory creates the algorithm for a network and an executor, which may be null
+     * @param treeGetter returns the tree computed by the algorithm
+     * @param <A> the algorithm type
+     */
+    protected <A extends MaximumFlowAlgorithm<Integer,
+        DefaultWeightedEdge>> void verifyParallelConstruction(
+        BiFunction<SimpleWeightedGraph<Integer, DefaultWeightedEdge>, ThreadPoolExecutor, A> factory,
+        Function<A, SimpleWeightedGraph<Integer, DefaultWeightedEdge>> treeGetter)
+    {
+        Random rand = new Random(7);
+        for (int i = 0; i < 5; i++) {
+            SimpleWeightedGraph<Integer, DefaultWeightedEdge> network = new SimpleWeightedGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(80, 240, rand.nextLong())
+                .generateGraph(network);
+            for (DefaultWeightedEdge edge : network.edgeSet())
+                network.setEdgeWeight(edge, rand.nextInt(50));
+
+            A sequential = factory.apply(network, null);
+            A parallel = factory.apply(network, executor);
+            SimpleWeightedGraph<Integer, DefaultWeightedEdge> expectedTree =
+                treeGetter.apply(sequential);
+            SimpleWeightedGraph<Integer, DefaultWeightedEdge> tree = treeGetter.apply(parallel);
+            assertEquals(expectedTree.edgeSet().size(), tree.edgeSet().size());
+            for (DefaultWeightedEdge e : expectedTree.edgeSet()) {
+                DefaultWeightedEdge treeEdge =
+                    tree.getEdge(expectedTree.getEdgeSource(e), expectedTree.getEdgeTarget(e));
+                assertEquals(expectedTree.getEdgeWeight(e), tree.getEdgeWeight(treeEdge), 0);
+            }
+            for (Integer u : network.vertexSet())
+                for (Integer v : network.vertexSet())
+                    if (u < v)
+                        assertEquals(
+                            sequential.getMaximumFlowValue(u, v),
+                            parallel.getMaximumFlowValue(u, v), 0);
+        }
+    }
 }
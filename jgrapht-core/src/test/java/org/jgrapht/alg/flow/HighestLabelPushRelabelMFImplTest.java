@@ -0,0 +1,134 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link HighestLabelPushRelabelMFImpl}.
+ */
+public class HighestLabelPushRelabelMFImplTest
+    extends
+    MaximumFlowAlgorithmTest
+{
+    @Override
+    MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+        Graph<Integer, DefaultWeightedEdge> network)
+    {
+        return new HighestLabelPushRelabelMFImpl<>(network);
+    }
+
+    @Test
+    public void testRandomMultigraphs()
+    {
+        Random rng = new Random(17);
+        for (int test = 0; test < 50; test++) {
+            Graph<Integer, DefaultWeightedEdge> network = new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(60, 400, rng, true, true)
+                .generateGraph(network);
+            for (DefaultWeightedEdge e : network.edgeSet()) {
+                network.setEdgeWeight(e, rng.nextInt(4) == 0 ? 0d : rng.nextDouble() * 10);
+            }
+
+            HighestLabelPushRelabelMFImpl<Integer, DefaultWeightedEdge> solver =
+                new HighestLabelPushRelabelMFImpl<>(network);
+            for (int i = 0; i < 3; i++) {
+                int source = rng.nextInt(60);
+                int sink = (source + 1 + rng.nextInt(59)) % 60;
+                double expected = new DinicMFImpl<>(network).getMaximumFlowValue(source, sink);
+                verifyDirected(
+                    source, sink, expected, network, solver.getMaximumFlow(source, sink));
+
+                double cut = 0d;
+                for (DefaultWeightedEdge e : solver.getCutEdges()) {
+                    cut += network.getEdgeWeight(e);
+                }
+                assertEquals(expected, cut, MaximumFlowAlgorithmBase.DEFAULT_EPSILON);
+                assertTrue(solver.getSourcePartition().contains(source));
+                assertTrue(solver.getSinkPartition().contains(sink));
+            }
+        }
+    }
+
+    @Test
+    public void testRandomUndirectedMultigraphs()
+    {
+        Random rng = new Random(23);
+        for (int test = 0; test < 50; test++) {
+            Graph<Integer, DefaultWeightedEdge> network = new WeightedMultigraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(60, 300, rng, false, true)
+                .generateGraph(network);
+            for (DefaultWeightedEdge e : network.edgeSet()) {
+                network.setEdgeWeight(e, rng.nextInt(20));
+            }
+
+            // the other algorithms require simple graphs, merge parallel edges and drop loops
+            Graph<Integer, DefaultWeightedEdge> simple =
+                new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+            Graphs.addAllVertices(simple, network.vertexSet());
+            for (DefaultWeightedEdge e : network.edgeSet()) {
+                int u = network.getEdgeSource(e);
+                int v = network.getEdgeTarget(e);
+                if (u != v) {
+                    DefaultWeightedEdge f = simple.getEdge(u, v);
+                    if (f == null) {
+                        Graphs.addEdge(simple, u, v, network.getEdgeWeight(e));
+                    } else {
+                        simple.setEdgeWeight(f, simple.getEdgeWeight(f) + network.getEdgeWeight(e));
+                    }
+                }
+            }
+
+            int source = rng.nextInt(60);
+            int sink = (source + 1 + rng.nextInt(59)) % 60;
+            double expected = new EdmondsKarpMFImpl<>(simple).getMaximumFlowValue(source, sink);
+            verifyUndirected(
+                network, source, sink, (int) expected,
+                new HighestLabelPushRelabelMFImpl<>(network));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSourceEqualsSink()
+    {
+        Graph<Integer, DefaultWeightedEdge> network =
+            new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(network, 1, 2, 1d);
+        new HighestLabelPushRelabelMFImpl<>(network).getMaximumFlow(1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCapacity()
+    {
+        Graph<Integer, DefaultWeightedEdge> network =
+            new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(network, 1, 2, -1d);
+        new HighestLabelPushRelabelMFImpl<>(network);
+    }
+}
@@ -19,12 +19,16 @@ package org.jgrapht.alg.flow;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.function.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -97,6 +101,66 @@ public abstract class MaximumFlowAlgorithmTest
         }
     }
 
+    /**
+     * Verify capacity updates of an algorithm against {@link EdmondsKarpMFImpl} on random
+     * networks. After an initial computation, the capacities of random edges are changed in several
+     * rounds and the maximum flow is recomputed after every round.
+     *
+     * @param factory creates the algorithm under test for a network
+     */
+    static void verifyCapacityUpdates(
+        Function<Graph<Integer, DefaultWeightedEdge>,
+            MaximumFlowAlgorithmBase<Integer, DefaultWeightedEdge>> factory)
+    {
+        Random rng = new Random(17);
+        for (int i = 0; i < 40; i++) {
+            Graph<Integer, DefaultWeightedEdge> network = i % 2 == 0
+                ? new DefaultDirectedWeightedGraph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER)
+                : new DefaultUndirectedWeightedGraph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(30, 150, rng.nextLong())
+                .generateGraph(network);
+            for (DefaultWeightedEdge e : network.edgeSet()) {
+                network.setEdgeWeight(e, rng.nextInt(20));
+            }
+            List<DefaultWeightedEdge> edges = new ArrayList<>(network.edgeSet());
+
+            MaximumFlowAlgorithmBase<Integer, DefaultWeightedEdge> solver = factory.apply(network);
+            solver.getMaximumFlow(0, 29);
+            for (int round = 0; round < 10; round++) {
+                for (int j = 0; j < 5; j++) {
+                    DefaultWeightedEdge e = edges.get(rng.nextInt(edges.size()));
+                    network.setEdgeWeight(e, rng.nextInt(20));
+                    solver.updateEdgeCapacity(e);
+                }
+                MaximumFlowAlgorithm.MaximumFlow<DefaultWeightedEdge> flow =
+                    solver.recomputeMaximumFlow();
+                double expected = new EdmondsKarpMFImpl<>(network).getMaximumFlowValue(0, 29);
+                assertEquals(expected, flow.getValue(), 1e-9);
+                if (network.getType().isDirected()) {
+                    verifyDirected(0, 29, expected, network, flow);
+                }
+            }
+        }
+    }
+
+    /**
+     * Verify that recomputing the maximum flow fails if no maximum flow has been computed.
+     *
+     * @param factory creates the algorithm under test for a network
+     */
+    static void verifyRecomputeWithoutComputation(
+        Function<Graph<Integer, DefaultWeightedEdge>,
+            MaximumFlowAlgorithmBase<Integer, DefaultWeightedEdge>> factory)
+    {
+        MaximumFlowAlgorithmBase<Integer, DefaultWeightedEdge> solver =
+            factory.apply(new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class));
+        assertThrows(IllegalStateException.class, solver::recomputeMaximumFlow);
+    }
+
     private void runTestUndirected(
         Graph<Integer, DefaultWeightedEdge> graph, int source, int sink, int expectedResult)
     {
@@ -0,0 +1,106 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParallelPushRelabelMFImpl}.
+ */
+public class ParallelPushRelabelMFImplTest
+    extends
+    MaximumFlowAlgorithmTest
+{
+    private static ThreadPoolExecutor executor;
+
+    @BeforeClass
+    public static void createExecutor()
+    {
+        executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor()
+        throws InterruptedException
+    {
+        ConcurrencyUtil.shutdownExecutionService(executor);
+    }
+
+    @Override
+    MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+        Graph<Integer, DefaultWeightedEdge> network)
+    {
+        return new ParallelPushRelabelMFImpl<>(network, executor);
+    }
+
+    @Test
+    public void testLargeRandomGraphs()
+    {
+        Random rng = new Random(31);
+        for (int test = 0; test < 6; test++) {
+            boolean directed = test % 2 == 0;
+            Graph<Integer, DefaultWeightedEdge> network = directed
+                ? new DirectedWeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER)
+                : new WeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(3000, 15000, rng, true, true)
+                .generateGraph(network);
+            for (DefaultWeightedEdge e : network.edgeSet()) {
+                network.setEdgeWeight(e, rng.nextInt(100));
+            }
+            // connect the source and the sink to many vertices, so that many vertices are active
+            for (int v = 2; v + 1 < 3000; v += 3) {
+                network.setEdgeWeight(network.addEdge(0, v), rng.nextInt(100));
+                network.setEdgeWeight(network.addEdge(v + 1, 1), rng.nextInt(100));
+            }
+
+            double expected =
+                new HighestLabelPushRelabelMFImpl<>(network).getMaximumFlowValue(0, 1);
+            for (ThreadPoolExecutor e : Arrays.asList(null, executor)) {
+                ParallelPushRelabelMFImpl<Integer, DefaultWeightedEdge> solver =
+                    new ParallelPushRelabelMFImpl<>(network, e);
+                MaximumFlowAlgorithm.MaximumFlow<DefaultWeightedEdge> flow =
+                    solver.getMaximumFlow(0, 1);
+                if (directed) {
+                    verifyDirected(0, 1, expected, network, flow);
+                } else {
+                    verifyUndirected(network, 0, 1, (int) expected, solver);
+                }
+
+                double cut = 0d;
+                for (DefaultWeightedEdge edge : solver.getCutEdges()) {
+                    cut += network.getEdgeWeight(edge);
+                }
+                assertEquals(expected, cut, MaximumFlowAlgorithmBase.DEFAULT_EPSILON);
+            }
+        }
+    }
+}
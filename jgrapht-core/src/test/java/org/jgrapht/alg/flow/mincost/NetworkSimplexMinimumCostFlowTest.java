@@ -0,0 +1,193 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.flow.mincost;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.MinimumCostFlowAlgorithm.*;
+import org.jgrapht.generate.netgen.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link NetworkSimplexMinimumCostFlow}
+ */
+public class NetworkSimplexMinimumCostFlowTest
+{
+    private static final double EPS = 1e-9;
+
+    @Test
+    public void testGetMinimumCostFlow1()
+    {
+        int[][] testCase = new int[][] { { 1, 3 }, { 2, -3 }, { 1, 2, 0, 4, 5 } };
+        test(testCase, 15);
+    }
+
+    @Test
+    public void testGetMinimumCostFlow2()
+    {
+        int[][] testCase =
+            new int[][] { { 1, 2 }, { 2, 5 }, { 6, -7 }, { 1, 5, 0, 3, 6 }, { 3, 6, 0, 3, 9 },
+                { 3, 1, 0, 3, 6 }, { 5, 3, 0, 3, 4 }, { 5, 6, 0, 7, 4 }, { 2, 4, 0, 5, 10 },
+                { 2, 3, 0, 1, 3 }, { 4, 6, 0, 5, 10 }, { 4, 1, 0, 5, 3 }, { 4, 3, 0, 1, 8 }, };
+        test(testCase, 112);
+    }
+
+    @Test
+    public void testLowerBoundsAndNegativeCosts()
+    {
+        int[][] testCase = new int[][] { { 1, 2 }, { 4, -2 }, { 1, 2, 1, 3, 2 }, { 2, 3, 0, 2, -4 },
+            { 3, 1, 0, 5, 1 }, { 3, 4, 0, 2, 3 }, { 2, 4, 0, 1, 7 }, { 3, 3, 0, 2, -1 } };
+        // the negative cycle 1 -> 2 -> 3 -> 1 cannot be used, the self-loop is saturated
+        test(testCase, 0);
+    }
+
+    @Test
+    public void testNoCapacities()
+    {
+        int[][] testCase = new int[][] { { 1, 5 }, { 3, -5 }, { 1, 2, 0, 1000000000, 1 },
+            { 2, 3, 0, 1000000000, 1 }, { 1, 3, 0, 3, 1 } };
+        test(testCase, 7);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInfeasible()
+    {
+        int[][] testCase = new int[][] { { 1, 3 }, { 2, -3 }, { 1, 2, 0, 2, 5 } };
+        test(testCase, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnbounded()
+    {
+        int[][] testCase = new int[][] { { 1, 0 }, { 2, 0 }, { 1, 2, 0, 1000000000, -1 },
+            { 2, 1, 0, 1000000000, -1 } };
+        test(testCase, 0);
+    }
+
+    @Test
+    public void testRandomNetworks()
+    {
+        for (int seed = 0; seed < 20; seed++) {
+            NetworkGeneratorConfig config = new NetworkGeneratorConfigBuilder()
+                .setParams(100, 800, 10, 10, 3, 3, 500, 1, 100, -10, 100, 100, 0).build();
+            Graph<Integer, DefaultWeightedEdge> graph = new DefaultDirectedWeightedGraph<>(
+                SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultWeightedEdgeSupplier());
+            MinimumCostFlowProblem<Integer, DefaultWeightedEdge> generated =
+                new NetworkGenerator<Integer, DefaultWeightedEdge>(config, seed)
+                    .generateMinimumCostFlowProblem(graph);
+            // the capacity scaling algorithm uses the edge weights as costs
+            for (DefaultWeightedEdge edge : graph.edgeSet()) {
+                graph.setEdgeWeight(edge, generated.getArcCosts().apply(edge));
+            }
+            MinimumCostFlowProblem<Integer, DefaultWeightedEdge> problem =
+                new MinimumCostFlowProblem.MinimumCostFlowProblemImpl<>(
+                    graph, generated.getNodeSupply(), generated.getArcCapacityUpperBounds());
+
+            NetworkSimplexMinimumCostFlow<Integer, DefaultWeightedEdge> networkSimplex =
+                new NetworkSimplexMinimumCostFlow<>();
+            MinimumCostFlow<DefaultWeightedEdge> flow = networkSimplex.getMinimumCostFlow(problem);
+            MinimumCostFlow<DefaultWeightedEdge> expected =
+                new CapacityScalingMinimumCostFlow<Integer, DefaultWeightedEdge>()
+                    .getMinimumCostFlow(problem);
+            assertEquals(expected.getCost(), flow.getCost(), EPS);
+            assertTrue(checkFlowAndDualSolution(networkSimplex.getDualSolution(), flow, problem));
+        }
+    }
+
+    private void test(int[][] testCase, double cost)
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Map<Integer, Integer> supplyMap = new HashMap<>();
+        Map<DefaultWeightedEdge, Integer> lowerMap = new HashMap<>();
+        Map<DefaultWeightedEdge, Integer> upperMap = new HashMap<>();
+        for (int[] data : testCase) {
+            if (data.length == 2) {
+                // this is information about a supply of a node
+                graph.addVertex(data[0]);
+                supplyMap.put(data[0], data[1]);
+            } else {
+                // this is information about an edge
+                DefaultWeightedEdge edge =
+                    Graphs.addEdgeWithVertices(graph, data[0], data[1], data[4]);
+                lowerMap.put(edge, data[2]);
+                upperMap.put(edge, data[3]);
+            }
+        }
+        MinimumCostFlowProblem<Integer,
+            DefaultWeightedEdge> problem = new MinimumCostFlowProblem.MinimumCostFlowProblemImpl<>(
+                graph, v -> supplyMap.getOrDefault(v, 0), upperMap::get,
+                e -> lowerMap.getOrDefault(e, 0));
+        NetworkSimplexMinimumCostFlow<Integer, DefaultWeightedEdge> minimumCostFlowAlgorithm =
+            new NetworkSimplexMinimumCostFlow<>();
+        MinimumCostFlow<DefaultWeightedEdge> minimumCostFlow =
+            minimumCostFlowAlgorithm.getMinimumCostFlow(problem);
+        assertEquals(cost, minimumCostFlow.getCost(), EPS);
+        assertTrue(
+            checkFlowAndDualSolution(
+                minimumCostFlowAlgorithm.getDualSolution(), minimumCostFlow, problem));
+    }
+
+    private <V, E> boolean checkFlowAndDualSolution(
+        Map<V, Double> dualVariables, MinimumCostFlow<E> flow, MinimumCostFlowProblem<V, E> problem)
+    {
+        Graph<V, E> graph = problem.getGraph();
+        // check supply constraints
+        for (V vertex : graph.vertexSet()) {
+            int supply = problem.getNodeSupply().apply(vertex);
+            int flowIn = 0;
+            for (E edge : graph.incomingEdgesOf(vertex)) {
+                flowIn += flow.getFlow(edge);
+            }
+            int flowOut = 0;
+            for (E edge : graph.outgoingEdgesOf(vertex)) {
+                flowOut += flow.getFlow(edge);
+            }
+            if (supply != flowOut - flowIn) {
+                return false;
+            }
+        }
+        for (E edge : graph.edgeSet()) {
+            double f = flow.getFlow(edge);
+            // check capacity constraints
+            if (problem.getArcCapacityLowerBounds().apply(edge) > f
+                || problem.getArcCapacityUpperBounds().apply(edge) < f)
+            {
+                return false;
+            }
+            // check reduced cost optimality conditions
+            double reducedCost = problem.getArcCosts().apply(edge)
+                + dualVariables.get(graph.getEdgeTarget(edge))
+                - dualVariables.get(graph.getEdgeSource(edge));
+            if (f < problem.getArcCapacityUpperBounds().apply(edge) && reducedCost < -EPS) {
+                return false;
+            }
+            if (f > problem.getArcCapacityLowerBounds().apply(edge) && reducedCost > EPS) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm.*;
+import org.jgrapht.alg.isomorphism.ColorRefinementCanonicalLabeling.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ColorRefinementCanonicalLabeling}.
+ */
+public class ColorRefinementCanonicalLabelingTest
+{
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        ColorRefinementCanonicalLabeling<Integer, DefaultEdge> labeling =
+            new ColorRefinementCanonicalLabeling<>(g);
+        assertTrue(labeling.getCanonicalLabeling().isEmpty());
+        assertEquals(
+            labeling.getCertificate(),
+            new ColorRefinementCanonicalLabeling<>(new SimpleGraph<>(DefaultEdge.class))
+                .getCertificate());
+    }
+
+    @Test
+    public void testAllGraphsOnFiveVertices()
+    {
+        // there are 34 graphs on five vertices up to isomorphism
+        assertEquals(34, countIsomorphismClasses(5, false));
+    }
+
+    @Test
+    public void testAllDirectedGraphsOnFourVertices()
+    {
+        // there are 218 directed graphs on four vertices up to isomorphism
+        assertEquals(218, countIsomorphismClasses(4, true));
+    }
+
+    @Test
+    public void testRegularGraphs()
+    {
+        // color refinement does not split the vertices of regular graphs
+        Graph<Integer, DefaultEdge> prism = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(prism, Arrays.asList(0, 1, 2, 3, 4, 5));
+        prism.addEdge(0, 1);
+        prism.addEdge(1, 2);
+        prism.addEdge(2, 0);
+        prism.addEdge(3, 4);
+        prism.addEdge(4, 5);
+        prism.addEdge(5, 3);
+        prism.addEdge(0, 3);
+        prism.addEdge(1, 4);
+        prism.addEdge(2, 5);
+
+        Graph<Integer, DefaultEdge> k33 = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteBipartiteGraphGenerator<Integer, DefaultEdge>(3, 3).generateGraph(k33);
+
+        ColorRefinementCanonicalLabeling<Integer, DefaultEdge> a =
+            new ColorRefinementCanonicalLabeling<>(prism);
+        ColorRefinementCanonicalLabeling<Integer, DefaultEdge> b =
+            new ColorRefinementCanonicalLabeling<>(k33);
+        assertNotEquals(a.getCertificate(), b.getCertificate());
+        assertNull(a.getIsomorphism(b));
+
+        Random rng = new Random(7);
+        List<Graph<Integer, DefaultEdge>> graphs = Arrays.asList(
+            prism, k33, NamedGraphGenerator.petersenGraph(), NamedGraphGenerator.desarguesGraph(),
+            NamedGraphGenerator.dodecahedronGraph(), NamedGraphGenerator.nauruGraph());
+        for (Graph<Integer, DefaultEdge> g : graphs) {
+            assertCanonical(g, rng);
+        }
+    }
+
+    @Test
+    public void testSymmetricGraphs()
+    {
+        Random rng = new Random(11);
+
+        Graph<Integer, DefaultEdge> complete = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new CompleteGraphGenerator<Integer, DefaultEdge>(20).generateGraph(complete);
+        assertCanonical(complete, rng);
+
+        Graph<Integer, DefaultEdge> empty = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new EmptyGraphGenerator<Integer, DefaultEdge>(30).generateGraph(empty);
+        assertCanonical(empty, rng);
+
+        Graph<Integer, DefaultEdge> hypercube = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new HyperCubeGraphGenerator<Integer, DefaultEdge>(5).generateGraph(hypercube);
+        assertCanonical(hypercube, rng);
+    }
+
+    @Test
+    public void testRandomGraphs()
+    {
+        Random rng = new Random(17);
+
+        for (int i = 0; i < 30; i++) {
+            Graph<Integer, DefaultEdge> g = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            if (i % 2 == 0) {
+                new GnpRandomGraphGenerator<Integer, DefaultEdge>(10 + i, 0.3, rng, false)
+                    .generateGraph(g);
+            } else {
+                new RandomRegularGraphGenerator<Integer, DefaultEdge>(10 + i, 3 + i % 2, rng)
+                    .generateGraph(g);
+            }
+            assertCanonical(g, rng);
+        }
+    }
+
+    @Test
+    public void testDirectedGraphs()
+    {
+        Random rng = new Random(19);
+
+        // sparse digraphs have many sources, sinks and isolated vertices, which refinement must
+        // tell apart by their in-arcs as well as by their out-arcs
+        for (int i = 0; i < 200; i++) {
+            Graph<Integer, DefaultEdge> g = new SimpleDirectedGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnmRandomGraphGenerator<Integer, DefaultEdge>(
+                16, 8 + i % 16, rng.nextLong(), false, false).generateGraph(g);
+            assertCanonicalDigraph(g, rng);
+        }
+
+        Graph<Integer, DefaultEdge> dense = new SimpleDirectedGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(30, 861, rng.nextLong(), false, false)
+            .generateGraph(dense);
+        assertCanonicalDigraph(dense, rng);
+
+        // the two leaves of an out-star and an in-star differ only in the direction of their arc
+        Graph<Integer, DefaultEdge> mixedStar = new SimpleDirectedGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(mixedStar, Arrays.asList(0, 1, 2, 3));
+        mixedStar.addEdge(0, 1);
+        mixedStar.addEdge(0, 2);
+        mixedStar.addEdge(3, 0);
+        Graph<Integer, DefaultEdge> outStar = new SimpleDirectedGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(outStar, Arrays.asList(0, 1, 2, 3));
+        outStar.addEdge(0, 1);
+        outStar.addEdge(0, 2);
+        outStar.addEdge(0, 3);
+        assertNotEquals(
+            new ColorRefinementCanonicalLabeling<>(mixedStar).getCertificate(),
+            new ColorRefinementCanonicalLabeling<>(outStar).getCertificate());
+        assertCanonicalDigraph(mixedStar, rng);
+    }
+
+    @Test
+    public void testColoredGraph()
+    {
+        Graph<Integer, DefaultEdge> path = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(path, Arrays.asList(0, 1, 2));
+        path.addEdge(0, 1);
+        path.addEdge(1, 2);
+
+        Map<Integer, Integer> endColored = new HashMap<>();
+        endColored.put(0, 1);
+        endColored.put(1, 0);
+        endColored.put(2, 0);
+        Map<Integer, Integer> otherEndColored = new HashMap<>();
+        otherEndColored.put(0, 0);
+        otherEndColored.put(1, 0);
+        otherEndColored.put(2, 1);
+        Map<Integer, Integer> centerColored = new HashMap<>();
+        centerColored.put(0, 0);
+        centerColored.put(1, 1);
+        centerColored.put(2, 0);
+
+        Certificate a = new ColorRefinementCanonicalLabeling<>(
+            path, new ColoringImpl<>(endColored, 2)).getCertificate();
+        Certificate b = new ColorRefinementCanonicalLabeling<>(
+            path, new ColoringImpl<>(otherEndColored, 2)).getCertificate();
+        Certificate c = new ColorRefinementCanonicalLabeling<>(
+            path, new ColoringImpl<>(centerColored, 2)).getCertificate();
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+        assertNotEquals(a, new ColorRefinementCanonicalLabeling<>(path).getCertificate());
+    }
+
+    @Test
+    public void testPseudograph()
+    {
+        Graph<Integer, DefaultEdge> g1 = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g1, Arrays.asList(0, 1, 2));
+        g1.addEdge(0, 1);
+        g1.addEdge(0, 1);
+        g1.addEdge(1, 2);
+        g1.addEdge(2, 2);
+
+        Graph<Integer, DefaultEdge> g2 = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g2, Arrays.asList(0, 1, 2));
+        g2.addEdge(0, 0);
+        g2.addEdge(0, 1);
+        g2.addEdge(1, 2);
+        g2.addEdge(2, 1);
+
+        Graph<Integer, DefaultEdge> g3 = new Pseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g3, Arrays.asList(0, 1, 2));
+        g3.addEdge(0, 1);
+        g3.addEdge(0, 1);
+        g3.addEdge(1, 2);
+        g3.addEdge(0, 0);
+
+        Certificate c1 = new ColorRefinementCanonicalLabeling<>(g1).getCertificate();
+        assertEquals(c1, new ColorRefinementCanonicalLabeling<>(g2).getCertificate());
+        assertNotEquals(c1, new ColorRefinementCanonicalLabeling<>(g3).getCertificate());
+    }
+
+    /**
+     * Count the isomorphism classes of all graphs on a vertex set using a hash set of
+     * certificates.
+     */
+    private static int countIsomorphismClasses(int n, boolean directed)
+    {
+        List<Pair<Integer, Integer>> pairs = new ArrayList<>();
+        for (int u = 0; u < n; u++) {
+            for (int v = directed ? 0 : u + 1; v < n; v++) {
+                if (u != v) {
+                    pairs.add(Pair.of(u, v));
+                }
+            }
+        }
+        Set<Certificate> certificates = new HashSet<>();
+        for (int mask = 0; mask < 1 << pairs.size(); mask++) {
+            Graph<Integer, DefaultEdge> g = directed ? new SimpleDirectedGraph<>(DefaultEdge.class)
+                : new SimpleGraph<>(DefaultEdge.class);
+            for (int v = 0; v < n; v++) {
+                g.addVertex(v);
+            }
+            for (int k = 0; k < pairs.size(); k++) {
+                if ((mask & (1 << k)) != 0) {
+                    g.addEdge(pairs.get(k).getFirst(), pairs.get(k).getSecond());
+                }
+            }
+            certificates.add(new ColorRefinementCanonicalLabeling<>(g).getCertificate());
+        }
+        return certificates.size();
+    }
+
+    private static void assertCanonicalDigraph(Graph<Integer, DefaultEdge> g, Random rng)
+    {
+        List<Integer> targets = new ArrayList<>(g.vertexSet());
+        Collections.shuffle(targets, rng);
+        Map<Integer, Integer> permutation = new HashMap<>();
+        int k = 0;
+        for (Integer v : g.vertexSet()) {
+            permutation.put(v, targets.get(k++));
+        }
+        Graph<Integer, DefaultEdge> h = new SimpleDirectedGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(h, targets);
+        for (DefaultEdge e : g.edgeSet()) {
+            h.addEdge(permutation.get(g.getEdgeSource(e)), permutation.get(g.getEdgeTarget(e)));
+        }
+
+        ColorRefinementCanonicalLabeling<Integer, DefaultEdge> a =
+            new ColorRefinementCanonicalLabeling<>(g);
+        ColorRefinementCanonicalLabeling<Integer, DefaultEdge> b =
+            new ColorRefinementCanonicalLabeling<>(h);
+        assertEquals(a.getCertificate(), b.getCertificate());
+        assertTrue(IsomorphismTestUtil.areIsomorphic(g, h, a.getIsomorphism(b)));
+    }
+
+    private static void assertCanonical(Graph<Integer, DefaultEdge> g, Random rng)
+    {
+        Graph<Integer, DefaultEdge> h =
+            IsomorphismTestUtil.generateIsomorphicGraph(g, rng).getFirst();
+
+        ColorRefinementCanonicalLabeling<Integer, DefaultEdge> a =
+            new ColorRefinementCanonicalLabeling<>(g);
+        ColorRefinementCanonicalLabeling<Integer, DefaultEdge> b =
+            new ColorRefinementCanonicalLabeling<>(h);
+        assertEquals(a.getCertificate(), b.getCertificate());
+        assertEquals(a.getCertificate().hashCode(), b.getCertificate().hashCode());
+        assertEquals(g.vertexSet().size(), new HashSet<>(a.getCanonicalOrdering()).size());
+
+        IsomorphicGraphMapping<Integer, DefaultEdge> mapping = a.getIsomorphism(b);
+        assertTrue(IsomorphismTestUtil.areIsomorphic(g, h, mapping));
+    }
+}
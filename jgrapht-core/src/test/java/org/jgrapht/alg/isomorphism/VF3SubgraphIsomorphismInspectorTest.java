@@ -0,0 +1,302 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.isomorphism;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link VF3SubgraphIsomorphismInspector}.
+ */
+public class VF3SubgraphIsomorphismInspectorTest
+{
+    private static ThreadPoolExecutor executor;
+
+    @BeforeClass
+    public static void createExecutor()
+    {
+        executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor()
+        throws InterruptedException
+    {
+        ConcurrencyUtil.shutdownExecutionService(executor);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultigraph()
+    {
+        Graph<Integer, DefaultEdge> mg = new Multigraph<>(DefaultEdge.class);
+        new VF3SubgraphIsomorphismInspector<>(mg, new SimpleGraph<>(DefaultEdge.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirectedWithUndirected()
+    {
+        new VF3SubgraphIsomorphismInspector<>(
+            new SimpleDirectedGraph<>(DefaultEdge.class), new SimpleGraph<>(DefaultEdge.class));
+    }
+
+    @Test
+    public void testEmptyPattern()
+    {
+        Graph<Integer, DefaultEdge> g1 = SubgraphIsomorphismTestUtils.randomGraph(5, 6, 1);
+        Graph<Integer, DefaultEdge> g2 = new DefaultDirectedGraph<>(DefaultEdge.class);
+
+        Iterator<GraphMapping<Integer, DefaultEdge>> it =
+            new VF3SubgraphIsomorphismInspector<>(g1, g2).getMappings();
+        assertTrue(it.hasNext());
+        it.next();
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testLargerPattern()
+    {
+        Graph<Integer, DefaultEdge> g1 = SubgraphIsomorphismTestUtils.randomGraph(3, 2, 1);
+        Graph<Integer, DefaultEdge> g2 = SubgraphIsomorphismTestUtils.randomGraph(4, 2, 1);
+
+        assertFalse(new VF3SubgraphIsomorphismInspector<>(g1, g2).isomorphismExists());
+    }
+
+    @Test
+    public void testInducedSubgraph()
+    {
+        // a triangle contains a path of length two, but not as an induced subgraph
+        Graph<Integer, DefaultEdge> triangle = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(triangle, Arrays.asList(1, 2, 3));
+        triangle.addEdge(1, 2);
+        triangle.addEdge(2, 3);
+        triangle.addEdge(3, 1);
+
+        Graph<Integer, DefaultEdge> path = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(path, Arrays.asList(1, 2, 3));
+        path.addEdge(1, 2);
+        path.addEdge(2, 3);
+
+        assertFalse(new VF3SubgraphIsomorphismInspector<>(triangle, path).isomorphismExists());
+
+        path.addEdge(3, 1);
+        List<GraphMapping<Integer, DefaultEdge>> mappings = new ArrayList<>();
+        new VF3SubgraphIsomorphismInspector<>(triangle, path).forEachMapping(mappings::add);
+        assertEquals(6, mappings.size());
+    }
+
+    @Test
+    public void testSelfLoops()
+    {
+        Graph<Integer, DefaultEdge> g1 = new DefaultDirectedGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g1, Arrays.asList(1, 2, 3));
+        g1.addEdge(1, 2);
+        g1.addEdge(2, 3);
+        g1.addEdge(3, 3);
+
+        Graph<Integer, DefaultEdge> g2 = new DefaultDirectedGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g2, Arrays.asList(1, 2));
+        g2.addEdge(1, 2);
+        g2.addEdge(2, 2);
+
+        Iterator<GraphMapping<Integer, DefaultEdge>> it =
+            new VF3SubgraphIsomorphismInspector<>(g1, g2).getMappings();
+        assertTrue(it.hasNext());
+        GraphMapping<Integer, DefaultEdge> mapping = it.next();
+        assertEquals(Integer.valueOf(2), mapping.getVertexCorrespondence(1, false));
+        assertEquals(Integer.valueOf(3), mapping.getVertexCorrespondence(2, false));
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testSemanticCheck()
+    {
+        SimpleGraph<String, Integer> g1 = new SimpleGraph<>(Integer.class),
+            g2 = new SimpleGraph<>(Integer.class);
+        Graphs.addAllVertices(g1, Arrays.asList("a", "b", "A", "B"));
+        g1.addEdge("a", "b", 3);
+        g1.addEdge("b", "B", 1);
+        g1.addEdge("B", "A", 2);
+        g1.addEdge("A", "a", 4);
+
+        Graphs.addAllVertices(g2, Arrays.asList("A", "b", "B"));
+        g2.addEdge("A", "b", 6);
+        g2.addEdge("b", "B", 5);
+
+        Comparator<String> vertexComparator =
+            (v1, v2) -> v1.toLowerCase().equals(v2.toLowerCase()) ? 0 : 1;
+        Comparator<Integer> edgeComparator = (e1, e2) -> (e1 % 2) - (e2 % 2);
+
+        Iterator<GraphMapping<String, Integer>> it = new VF3SubgraphIsomorphismInspector<>(
+            g1, g2, vertexComparator, edgeComparator).getMappings();
+        assertEquals("[A=A B=b a=~~ b=B]", it.next().toString());
+        assertFalse(it.hasNext());
+
+        Set<String> mappings = new HashSet<>();
+        new VF3SubgraphIsomorphismInspector<>(g1, g2, vertexComparator, (e1, e2) -> 0, executor)
+            .forEachMapping(m -> mappings.add(m.toString()));
+        assertEquals(Set.of("[A=A B=b a=~~ b=B]", "[A=~~ B=B a=A b=b]"), mappings);
+    }
+
+    @Test
+    public void testRandomDirectedGraphs()
+    {
+        Random rnd = new Random(54321);
+
+        for (int i = 1; i < 60; i++) {
+            int vertexCount = 2 + rnd.nextInt(Math.min(i, 14)),
+                edgeCount = vertexCount + rnd.nextInt(vertexCount * (vertexCount - 1)) / 2,
+                subVertexCount = 1 + rnd.nextInt(Math.min(vertexCount, 6));
+
+            Graph<Integer, DefaultEdge> g1 =
+                SubgraphIsomorphismTestUtils.randomGraph(vertexCount, edgeCount, i),
+                g2 = SubgraphIsomorphismTestUtils.randomSubgraph(g1, subVertexCount, i);
+
+            assertSameMappings(g1, g2);
+        }
+    }
+
+    @Test
+    public void testRandomUndirectedGraphs()
+    {
+        Random rnd = new Random(12345);
+
+        for (int i = 0; i < 40; i++) {
+            Graph<Integer, DefaultEdge> g1 = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnmRandomGraphGenerator<Integer, DefaultEdge>(12 + i / 4, 30 + i, rnd.nextLong())
+                .generateGraph(g1);
+            Graph<Integer, DefaultEdge> g2 = new SimpleGraph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnmRandomGraphGenerator<Integer, DefaultEdge>(4 + i % 3, 3 + i % 4, rnd.nextLong())
+                .generateGraph(g2);
+
+            assertSameMappings(g1, g2);
+        }
+    }
+
+    @Test
+    public void testLargeSparseTarget()
+    {
+        Graph<Integer, DefaultEdge> g1 = new SimpleGraph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(20000, 60000, 7).generateGraph(g1);
+
+        // a path on four vertices whose middle edge is part of a triangle
+        Graph<Integer, DefaultEdge> g2 = new SimpleGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g2, Arrays.asList(0, 1, 2, 3, 4));
+        g2.addEdge(0, 1);
+        g2.addEdge(1, 2);
+        g2.addEdge(2, 3);
+        g2.addEdge(1, 4);
+        g2.addEdge(2, 4);
+
+        List<GraphMapping<Integer, DefaultEdge>> sequential = new ArrayList<>();
+        new VF3SubgraphIsomorphismInspector<>(g1, g2).forEachMapping(sequential::add);
+        Queue<GraphMapping<Integer, DefaultEdge>> parallel = new ConcurrentLinkedQueue<>();
+        new VF3SubgraphIsomorphismInspector<>(g1, g2, executor).forEachMapping(parallel::add);
+
+        assertFalse(sequential.isEmpty());
+        assertEquals(sequential.size(), parallel.size());
+        for (GraphMapping<Integer, DefaultEdge> mapping : parallel) {
+            assertTrue(SubgraphIsomorphismTestUtils.isCorrectMatching(mapping, g1, g2));
+        }
+    }
+
+    @Test
+    public void testSharedTargetGraph()
+    {
+        Random rnd = new Random(999);
+        Graph<Integer, DefaultEdge> g1 = SubgraphIsomorphismTestUtils.randomGraph(12, 40, 3);
+        VF3SubgraphIsomorphismInspector.TargetGraph<Integer, DefaultEdge> target =
+            new VF3SubgraphIsomorphismInspector.TargetGraph<>(g1);
+        assertSame(g1, target.getGraph());
+
+        for (int i = 0; i < 10; i++) {
+            Graph<Integer, DefaultEdge> g2 =
+                SubgraphIsomorphismTestUtils.randomSubgraph(g1, 2 + rnd.nextInt(4), i);
+
+            Set<List<Integer>> expected = new HashSet<>();
+            new VF3SubgraphIsomorphismInspector<>(g1, g2)
+                .getMappings().forEachRemaining(m -> expected.add(patternToTarget(m, g2)));
+
+            Set<List<Integer>> shared = new HashSet<>();
+            new VF3SubgraphIsomorphismInspector<>(target, g2)
+                .getMappings().forEachRemaining(m -> shared.add(patternToTarget(m, g2)));
+            assertEquals(expected, shared);
+
+            Queue<GraphMapping<Integer, DefaultEdge>> parallel = new ConcurrentLinkedQueue<>();
+            new VF3SubgraphIsomorphismInspector<>(target, g2, executor)
+                .forEachMapping(parallel::add);
+            assertEquals(expected.size(), parallel.size());
+            for (GraphMapping<Integer, DefaultEdge> mapping : parallel) {
+                assertTrue(SubgraphIsomorphismTestUtils.isCorrectMatching(mapping, g1, g2));
+            }
+        }
+
+        VF3SubgraphIsomorphismInspector<Integer, DefaultEdge> inspector =
+            new VF3SubgraphIsomorphismInspector<>(
+                g1, new DefaultDirectedGraph<Integer, DefaultEdge>(DefaultEdge.class));
+        assertSame(g1, inspector.getTargetGraph().getGraph());
+        assertSame(inspector.getTargetGraph(), inspector.getTargetGraph());
+    }
+
+    private static void assertSameMappings(
+        Graph<Integer, DefaultEdge> g1, Graph<Integer, DefaultEdge> g2)
+    {
+        Set<List<Integer>> expected = new HashSet<>();
+        new VF2SubgraphIsomorphismInspector<>(g1, g2)
+            .getMappings().forEachRemaining(m -> expected.add(patternToTarget(m, g2)));
+
+        List<List<Integer>> sequential = new ArrayList<>();
+        new VF3SubgraphIsomorphismInspector<>(g1, g2)
+            .getMappings().forEachRemaining(m -> sequential.add(patternToTarget(m, g2)));
+        assertEquals(expected.size(), sequential.size());
+        assertEquals(expected, new HashSet<>(sequential));
+
+        Queue<GraphMapping<Integer, DefaultEdge>> parallel = new ConcurrentLinkedQueue<>();
+        new VF3SubgraphIsomorphismInspector<>(g1, g2, executor).forEachMapping(parallel::add);
+        assertEquals(expected.size(), parallel.size());
+        Set<List<Integer>> actual = new HashSet<>();
+        for (GraphMapping<Integer, DefaultEdge> mapping : parallel) {
+            assertTrue(SubgraphIsomorphismTestUtils.isCorrectMatching(mapping, g1, g2));
+            actual.add(patternToTarget(mapping, g2));
+        }
+        assertEquals(expected, actual);
+    }
+
+    private static List<Integer> patternToTarget(
+        GraphMapping<Integer, DefaultEdge> mapping, Graph<Integer, DefaultEdge> g2)
+    {
+        List<Integer> result = new ArrayList<>();
+        for (Integer v : g2.vertexSet()) {
+            result.add(mapping.getVertexCorrespondence(v, false));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.builder.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ApproximateBetweennessCentrality}.
+ */
+public class ApproximateBetweennessCentralityTest
+{
+
+    @Test
+    public void testExactWhenAllSourcesSampled()
+    {
+        for (boolean directed : new boolean[] { true, false }) {
+            Graph<Integer, DefaultWeightedEdge> g = createGraph(100, 400, directed, 17);
+            for (boolean normalize : new boolean[] { true, false }) {
+                Map<Integer, Double> expected =
+                    new BetweennessCentrality<>(g, normalize).getScores();
+                Map<Integer, Double> actual = new ApproximateBetweennessCentrality<>(
+                    g, 1000, normalize, new Random(1)).getScores();
+                assertEquals(expected.size(), actual.size());
+                for (Integer v : g.vertexSet()) {
+                    assertEquals(expected.get(v), actual.get(v), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testErrorBound()
+        throws InterruptedException
+    {
+        double epsilon = 0.1;
+        double delta = 0.01;
+        for (boolean directed : new boolean[] { true, false }) {
+            Graph<Integer, DefaultWeightedEdge> g = createGraph(2000, 6000, directed, 5);
+            int k = ApproximateBetweennessCentrality.getSampleSize(g, epsilon, delta);
+            assertTrue(k < g.vertexSet().size());
+
+            Map<Integer, Double> expected = new BetweennessCentrality<>(g, true).getScores();
+            Map<Integer, Double> actual =
+                new ApproximateBetweennessCentrality<>(g, k, true, new Random(3)).getScores();
+            double n = g.vertexSet().size();
+            for (Integer v : g.vertexSet()) {
+                assertEquals(expected.get(v), actual.get(v), epsilon * n / (n - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testParallel()
+        throws InterruptedException
+    {
+        Graph<Integer, DefaultWeightedEdge> g = createGraph(500, 2000, false, 9);
+        ThreadPoolExecutor executor = ConcurrencyUtil.createThreadPoolExecutor(4);
+        try {
+            Map<Integer, Double> expected =
+                new ApproximateBetweennessCentrality<>(g, 50, false, new Random(7)).getScores();
+            Map<Integer, Double> actual = new ApproximateBetweennessCentrality<>(
+                g, 50, false, new Random(7), executor).getScores();
+            for (Integer v : g.vertexSet()) {
+                assertEquals(expected.get(v), actual.get(v), 1e-6);
+            }
+        } finally {
+            ConcurrencyUtil.shutdownExecutionService(executor);
+        }
+    }
+
+    @Test
+    public void testEmptyGraph()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        VertexScoringAlgorithm<Integer, Double> bc = new ApproximateBetweennessCentrality<>(g, 10);
+        assertTrue(bc.getScores().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveSamples()
+    {
+        new ApproximateBetweennessCentrality<>(new SimpleGraph<>(DefaultEdge.class), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadEpsilon()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        ApproximateBetweennessCentrality.getSampleSize(g, 0, 0.1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownVertex()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        g.addVertex(1);
+        new ApproximateBetweennessCentrality<>(g, 10).getVertexScore(2);
+    }
+
+    static Graph<Integer, DefaultWeightedEdge> createGraph(
+        int n, int m, boolean directed, long seed)
+    {
+        Graph<Integer, DefaultWeightedEdge> g = GraphTypeBuilder
+            .<Integer, DefaultWeightedEdge> forGraphType(
+                directed ? DefaultGraphType.directedSimple() : DefaultGraphType.simple())
+            .weighted(true).vertexSupplier(SupplierUtil.createIntegerSupplier())
+            .edgeSupplier(SupplierUtil.createDefaultWeightedEdgeSupplier()).buildGraph();
+        Random rng = new Random(seed);
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, m, rng, false, false)
+            .generateGraph(g);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1 + rng.nextInt(3));
+        }
+        return g;
+    }
+
+}
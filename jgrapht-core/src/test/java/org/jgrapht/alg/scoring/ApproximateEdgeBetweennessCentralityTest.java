@@ -0,0 +1,103 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ApproximateEdgeBetweennessCentrality}.
+ */
+public class ApproximateEdgeBetweennessCentralityTest
+{
+
+    @Test
+    public void testExactWhenAllSourcesSampled()
+    {
+        for (boolean directed : new boolean[] { true, false }) {
+            Graph<Integer, DefaultWeightedEdge> g =
+                ApproximateBetweennessCentralityTest.createGraph(100, 400, directed, 23);
+            Map<DefaultWeightedEdge, Double> expected =
+                new EdgeBetweennessCentrality<>(g).getScores();
+            Map<DefaultWeightedEdge, Double> actual =
+                new ApproximateEdgeBetweennessCentrality<>(g, 100, new Random(1)).getScores();
+            assertEquals(expected.size(), actual.size());
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                assertEquals(expected.get(e), actual.get(e), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testErrorBound()
+        throws InterruptedException
+    {
+        double epsilon = 0.1;
+        double delta = 0.01;
+        Graph<Integer, DefaultWeightedEdge> g =
+            ApproximateBetweennessCentralityTest.createGraph(2000, 6000, true, 29);
+        int k = ApproximateEdgeBetweennessCentrality.getSampleSize(g, epsilon, delta);
+        assertTrue(k < g.vertexSet().size());
+
+        Map<DefaultWeightedEdge, Double> expected = new EdgeBetweennessCentrality<>(g).getScores();
+        ThreadPoolExecutor executor = ConcurrencyUtil.createThreadPoolExecutor(4);
+        try {
+            Map<DefaultWeightedEdge, Double> actual =
+                new ApproximateEdgeBetweennessCentrality<>(g, k, new Random(3), executor)
+                    .getScores();
+            double n = g.vertexSet().size();
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                assertEquals(expected.get(e), actual.get(e), epsilon * n * (n - 1));
+            }
+        } finally {
+            ConcurrencyUtil.shutdownExecutionService(executor);
+        }
+    }
+
+    @Test
+    public void testMultipleEdges()
+    {
+        Graph<Integer, DefaultEdge> g = new Multigraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(1, 2, 3));
+        DefaultEdge e1 = g.addEdge(1, 2);
+        DefaultEdge e2 = g.addEdge(1, 2);
+        DefaultEdge e3 = g.addEdge(2, 3);
+
+        Map<DefaultEdge, Double> scores =
+            new ApproximateEdgeBetweennessCentrality<>(g, 3).getScores();
+        assertEquals(1d, scores.get(e1), 1e-9);
+        assertEquals(1d, scores.get(e2), 1e-9);
+        assertEquals(2d, scores.get(e3), 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownEdge()
+    {
+        Graph<Integer, DefaultEdge> g = new SimpleGraph<>(DefaultEdge.class);
+        g.addVertex(1);
+        new ApproximateEdgeBetweennessCentrality<>(g, 10).getEdgeScore(new DefaultEdge());
+    }
+
+}
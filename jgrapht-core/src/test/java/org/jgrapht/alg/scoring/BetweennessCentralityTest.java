@@ -27,8 +27,10 @@ import org.junit.*;
 import org.junit.experimental.categories.Category;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 public class BetweennessCentralityTest
@@ -581,4 +583,65 @@ public class BetweennessCentralityTest
         assertEquals(scores.get(3290), 0d, 1e-9);
     }
 
+    @Test
+    public void testParallel()
+        throws InterruptedException
+    {
+        ThreadPoolExecutor executor = ConcurrencyUtil.createThreadPoolExecutor(4);
+        Random rng = new Random(33);
+
+        for (int i = 0; i < 5; i++) {
+            Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultWeightedEdgeSupplier());
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(100, 400, rng, true, true)
+                .generateGraph(g);
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                g.setEdgeWeight(e, 1d + rng.nextInt(3));
+            }
+            assertSameScores(g, executor, true);
+
+            Graph<Integer, DefaultEdge> ug = new Pseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnmRandomGraphGenerator<Integer, DefaultEdge>(100, 300, rng, true, true)
+                .generateGraph(ug);
+            assertSameScores(ug, executor, false);
+        }
+
+        ConcurrencyUtil.shutdownExecutionService(executor);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testParallelOverflow()
+        throws InterruptedException
+    {
+        final Graph<Integer, DefaultEdge> g = new SimpleDirectedGraph<>(DefaultEdge.class);
+        for (int i = 0; i < 3300; i++)
+            g.addVertex(i);
+        for (int i = 0; i < 3290; i++)
+            for (int j = 0; j < 10; j++)
+                g.addEdge(i, i - i % 10 + 10 + j);
+
+        ThreadPoolExecutor executor = ConcurrencyUtil.createThreadPoolExecutor(2);
+        try {
+            new BetweennessCentrality<>(
+                g, false, OverflowStrategy.THROW_EXCEPTION_ON_OVERFLOW, executor).getScores();
+        } finally {
+            ConcurrencyUtil.shutdownExecutionService(executor);
+        }
+    }
+
+    private static <V, E> void assertSameScores(
+        Graph<V, E> g, ThreadPoolExecutor executor, boolean normalize)
+    {
+        Map<V, Double> expected = new BetweennessCentrality<>(g, normalize).getScores();
+        Map<V, Double> actual =
+            new BetweennessCentrality<>(g, normalize, executor).getScores();
+        assertEquals(expected.size(), actual.size());
+        for (V v : g.vertexSet()) {
+            assertNotNull(actual.get(v));
+            assertEquals(expected.get(v), actual.get(v), 1e-9);
+        }
+    }
+
 }
@@ -19,9 +19,14 @@ package org.jgrapht.alg.scoring;
 
 import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 import org.junit.*;
 
+import java.util.*;
+import java.util.concurrent.*;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -158,6 +163,53 @@ public class HarmonicCentralityTest
         assertEquals(0d, pr.getVertexScore("1"), 1e-9);
     }
 
+    @Test
+    public void testUnweightedAgainstShortestPaths()
+        throws InterruptedException
+    {
+        ThreadPoolExecutor executor = ConcurrencyUtil.createThreadPoolExecutor(4);
+        try {
+            for (boolean directed : new boolean[] { true, false }) {
+                // more than one batch of sources, loops, multiple edges and unreachable vertices
+                Graph<Integer, DefaultEdge> g = directed
+                    ? new DirectedPseudograph<>(
+                        SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                        false)
+                    : new Pseudograph<>(
+                        SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER,
+                        false);
+                new GnmRandomGraphGenerator<Integer, DefaultEdge>(
+                    150, directed ? 600 : 180, new Random(directed ? 1 : 2), true, true)
+                        .generateGraph(g);
+                if (!directed) {
+                    // make the graph connected so that closeness is not always zero
+                    for (int v = 1; v < 150; v++) {
+                        g.addEdge(v - 1, v);
+                    }
+                }
+                Graph<Integer, DefaultEdge> weighted =
+                    new AsWeightedGraph<>(g, e -> 1d, false, false);
+
+                for (boolean incoming : new boolean[] { true, false }) {
+                    for (boolean normalize : new boolean[] { true, false }) {
+                        Map<Integer, Double> expected =
+                            new HarmonicCentrality<>(weighted, incoming, normalize).getScores();
+                        Map<Integer, Double> sequential =
+                            new HarmonicCentrality<>(g, incoming, normalize).getScores();
+                        Map<Integer, Double> parallel =
+                            new HarmonicCentrality<>(g, incoming, normalize, executor).getScores();
+                        for (Integer v : g.vertexSet()) {
+                            assertEquals(expected.get(v), sequential.get(v), 1e-9);
+                            assertEquals(expected.get(v), parallel.get(v), 1e-9);
+                        }
+                    }
+                }
+            }
+        } finally {
+            ConcurrencyUtil.shutdownExecutionService(executor);
+        }
+    }
+
     private Graph<String, DefaultEdge> createInstance1()
     {
         DirectedPseudograph<String, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
@@ -0,0 +1,246 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.scoring;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for IncrementalPageRank
+ */
+public class IncrementalPageRankTest
+{
+    private static final double TOLERANCE = 1e-10;
+    private static final double EPSILON = 1e-6;
+
+    @Test
+    public void testGraphWikipedia()
+    {
+        DirectedPseudograph<String, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(
+            g, Arrays.asList("A", "B", "C", "D", "E", "F", "1", "2", "3", "4", "5"));
+
+        g.addEdge("B", "C");
+        g.addEdge("C", "B");
+        g.addEdge("D", "A");
+        g.addEdge("D", "B");
+        g.addEdge("E", "D");
+        g.addEdge("E", "B");
+        g.addEdge("E", "F");
+        g.addEdge("F", "B");
+        g.addEdge("F", "E");
+        g.addEdge("1", "B");
+        g.addEdge("1", "E");
+        g.addEdge("2", "B");
+        g.addEdge("2", "E");
+        g.addEdge("3", "B");
+        g.addEdge("3", "E");
+        g.addEdge("4", "E");
+        g.addEdge("5", "E");
+
+        VertexScoringAlgorithm<String, Double> pr = new IncrementalPageRank<>(g, 0.85, 100, 1e-6);
+
+        assertEquals(pr.getVertexScore("A"), 0.03278, 0.0001);
+        assertEquals(pr.getVertexScore("B"), 0.38435, 0.0001);
+        assertEquals(pr.getVertexScore("C"), 0.34295, 0.0001);
+        assertEquals(pr.getVertexScore("D"), 0.03908, 0.0001);
+        assertEquals(pr.getVertexScore("E"), 0.08088, 0.0001);
+        assertEquals(pr.getVertexScore("F"), 0.03908, 0.0001);
+        assertEquals(pr.getVertexScore("1"), 0.01616, 0.0001);
+        assertEquals(pr.getVertexScore("5"), 0.01616, 0.0001);
+    }
+
+    @Test
+    public void testEdgeUpdates()
+    {
+        Random rng = new Random(7);
+        DefaultListenableGraph<Integer, DefaultEdge> g = new DefaultListenableGraph<>(
+            new DirectedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false));
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(300, 1500, rng, true, true)
+            .generateGraph(g);
+
+        IncrementalPageRank<Integer, DefaultEdge> pr =
+            new IncrementalPageRank<>(g, 0.85, 1000, TOLERANCE);
+        g.addGraphListener(pr);
+        assertSameScores(new PageRank<>(g, 0.85, 1000, TOLERANCE), pr, g);
+
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        for (int batch = 0; batch < 10; batch++) {
+            for (int i = 0; i < 20; i++) {
+                g.addEdge(
+                    vertices.get(rng.nextInt(vertices.size())),
+                    vertices.get(rng.nextInt(vertices.size())));
+            }
+            List<DefaultEdge> edges = new ArrayList<>(g.edgeSet());
+            for (int i = 0; i < 20; i++) {
+                g.removeEdge(edges.get(rng.nextInt(edges.size())));
+            }
+            assertSameScores(new PageRank<>(g, 0.85, 1000, TOLERANCE), pr, g);
+        }
+
+        // make some vertices dangling
+        for (int i = 0; i < 5; i++) {
+            Integer v = vertices.get(rng.nextInt(vertices.size()));
+            g.removeAllEdges(new ArrayList<>(g.outgoingEdgesOf(v)));
+        }
+        assertSameScores(new PageRank<>(g, 0.85, 1000, TOLERANCE), pr, g);
+    }
+
+    @Test
+    public void testUndirectedWeightedEdgeUpdates()
+    {
+        Random rng = new Random(11);
+        DefaultListenableGraph<Integer, DefaultWeightedEdge> g = new DefaultListenableGraph<>(
+            new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultWeightedEdgeSupplier()));
+        new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(200, 800, rng, false, true)
+            .generateGraph(g);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1d + rng.nextInt(5));
+        }
+
+        IncrementalPageRank<Integer, DefaultWeightedEdge> pr =
+            new IncrementalPageRank<>(g, 0.85, 1000, TOLERANCE);
+        g.addGraphListener(pr);
+        assertSameScores(new PageRank<>(g, 0.85, 1000, TOLERANCE), pr, g);
+
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        for (int batch = 0; batch < 5; batch++) {
+            for (int i = 0; i < 10; i++) {
+                DefaultWeightedEdge e = g.addEdge(
+                    vertices.get(rng.nextInt(vertices.size())),
+                    vertices.get(rng.nextInt(vertices.size())));
+                g.setEdgeWeight(e, 1d + rng.nextInt(5));
+            }
+            List<DefaultWeightedEdge> edges = new ArrayList<>(g.edgeSet());
+            for (int i = 0; i < 10; i++) {
+                g.setEdgeWeight(edges.get(rng.nextInt(edges.size())), 1d + rng.nextInt(5));
+            }
+            for (int i = 0; i < 10; i++) {
+                g.removeEdge(edges.get(rng.nextInt(edges.size())));
+            }
+            assertSameScores(new PageRank<>(g, 0.85, 1000, TOLERANCE), pr, g);
+        }
+    }
+
+    @Test
+    public void testVertexUpdates()
+    {
+        DefaultListenableGraph<String, DefaultEdge> g =
+            new DefaultListenableGraph<>(new DirectedPseudograph<>(DefaultEdge.class));
+        IncrementalPageRank<String, DefaultEdge> pr =
+            new IncrementalPageRank<>(g, 0.85, 1000, TOLERANCE);
+        g.addGraphListener(pr);
+
+        assertTrue(pr.getScores().isEmpty());
+
+        g.addVertex("1");
+        g.addVertex("2");
+        g.addVertex("3");
+        g.addEdge("1", "2");
+        g.addEdge("2", "3");
+        assertSameScores(new PageRank<>(g, 0.85, 1000, TOLERANCE), pr, g);
+
+        g.addVertex("4");
+        g.addEdge("3", "4");
+        g.addEdge("4", "1");
+        assertSameScores(new PageRank<>(g, 0.85, 1000, TOLERANCE), pr, g);
+
+        g.removeVertex("2");
+        assertSameScores(new PageRank<>(g, 0.85, 1000, TOLERANCE), pr, g);
+        assertFalse(pr.getScores().containsKey("2"));
+    }
+
+    @Test
+    public void testWarmStart()
+    {
+        Random rng = new Random(3);
+        Graph<Integer, DefaultEdge> g = new DirectedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+        new GnmRandomGraphGenerator<Integer, DefaultEdge>(100, 400, rng, true, true)
+            .generateGraph(g);
+
+        Map<Integer, Double> previous = new PageRank<>(g, 0.85, 1000, TOLERANCE).getScores();
+
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        for (int i = 0; i < 10; i++) {
+            g.addEdge(
+                vertices.get(rng.nextInt(vertices.size())),
+                vertices.get(rng.nextInt(vertices.size())));
+        }
+
+        VertexScoringAlgorithm<Integer, Double> pr =
+            new IncrementalPageRank<>(g, previous, 0.85, 1000, TOLERANCE);
+        assertSameScores(new PageRank<>(g, 0.85, 1000, TOLERANCE), pr, g);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonExistantVertex()
+    {
+        DirectedPseudograph<String, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        g.addVertex("1");
+
+        new IncrementalPageRank<>(g).getVertexScore("2");
+    }
+
+    @Test
+    public void testBadParameters()
+    {
+        DirectedPseudograph<String, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+
+        try {
+            new IncrementalPageRank<>(g, 1.1, 100, 0.0001);
+            fail("No!");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            new IncrementalPageRank<>(g, 0.85, 0, 0.0001);
+            fail("No!");
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            new IncrementalPageRank<>(g, 0.85, 100, 0.0);
+            fail("No!");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    private static <V, E> void assertSameScores(
+        VertexScoringAlgorithm<V, Double> expected, VertexScoringAlgorithm<V, Double> actual,
+        Graph<V, E> g)
+    {
+        Map<V, Double> scores = actual.getScores();
+        assertEquals(g.vertexSet().size(), scores.size());
+        for (V v : g.vertexSet()) {
+            assertEquals(expected.getVertexScore(v), scores.get(v), EPSILON);
+        }
+    }
+
+}
@@ -17,10 +17,16 @@
  */
 package org.jgrapht.alg.scoring;
 
+import org.jgrapht.*;
 import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 import org.junit.*;
 
+import java.util.*;
+import java.util.concurrent.*;
+
 import static org.junit.Assert.*;
 
 /**
@@ -301,4 +307,88 @@ public class PageRankTest
 
     }
 
+    @Test
+    public void testParallelGraphWikipedia()
+        throws InterruptedException
+    {
+        DirectedPseudograph<String, DefaultEdge> g = new DirectedPseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(
+            g, Arrays.asList("A", "B", "C", "D", "E", "F", "1", "2", "3", "4", "5"));
+
+        g.addEdge("B", "C");
+        g.addEdge("C", "B");
+        g.addEdge("D", "A");
+        g.addEdge("D", "B");
+        g.addEdge("E", "D");
+        g.addEdge("E", "B");
+        g.addEdge("E", "F");
+        g.addEdge("F", "B");
+        g.addEdge("F", "E");
+        g.addEdge("1", "B");
+        g.addEdge("1", "E");
+        g.addEdge("2", "B");
+        g.addEdge("2", "E");
+        g.addEdge("3", "B");
+        g.addEdge("3", "E");
+        g.addEdge("4", "E");
+        g.addEdge("5", "E");
+
+        ThreadPoolExecutor executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+        VertexScoringAlgorithm<String, Double> pr = new PageRank<>(g, executor);
+
+        assertEquals(pr.getVertexScore("A"), 0.03278, 0.0001);
+        assertEquals(pr.getVertexScore("B"), 0.38435, 0.0001);
+        assertEquals(pr.getVertexScore("C"), 0.34295, 0.0001);
+        assertEquals(pr.getVertexScore("D"), 0.03908, 0.0001);
+        assertEquals(pr.getVertexScore("E"), 0.08088, 0.0001);
+        assertEquals(pr.getVertexScore("F"), 0.03908, 0.0001);
+        assertEquals(pr.getVertexScore("1"), 0.01616, 0.0001);
+        assertEquals(pr.getVertexScore("5"), 0.01616, 0.0001);
+
+        ConcurrencyUtil.shutdownExecutionService(executor);
+    }
+
+    @Test
+    public void testParallelRandomGraphs()
+        throws InterruptedException
+    {
+        ThreadPoolExecutor executor = ConcurrencyUtil.createThreadPoolExecutor(4);
+        Random rng = new Random(17);
+
+        for (int i = 0; i < 10; i++) {
+            Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultWeightedEdgeSupplier());
+            new GnpRandomGraphGenerator<Integer, DefaultWeightedEdge>(200, 0.02, rng, true)
+                .generateGraph(g);
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                g.setEdgeWeight(e, 1d + rng.nextInt(10));
+            }
+
+            assertSameScores(
+                new PageRank<>(g, 0.85, 100, 1e-9),
+                new PageRank<>(g, 0.85, 100, 1e-9, executor), g.vertexSet());
+
+            Graph<Integer, DefaultEdge> ug = new DirectedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_EDGE_SUPPLIER, false);
+            new GnpRandomGraphGenerator<Integer, DefaultEdge>(200, 0.02, rng, true)
+                .generateGraph(ug);
+
+            assertSameScores(
+                new PageRank<>(ug, 0.85, 100, 1e-9),
+                new PageRank<>(ug, 0.85, 100, 1e-9, executor), ug.vertexSet());
+        }
+
+        ConcurrencyUtil.shutdownExecutionService(executor);
+    }
+
+    private static <V> void assertSameScores(
+        VertexScoringAlgorithm<V, Double> expected, VertexScoringAlgorithm<V, Double> actual,
+        Set<V> vertices)
+    {
+        for (V v : vertices) {
+            assertEquals(expected.getVertexScore(v), actual.getVertexScore(v), 1e-9);
+        }
+    }
+
 }
@@ -27,6 +27,7 @@ import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.*;
 
 import static org.junit.Assert.assertEquals;
@@ -154,4 +155,35 @@ public class ALTAdmissibleHeuristicTest
 
     }
 
+    @Test
+    public void testParallelPrecomputation()
+        throws InterruptedException
+    {
+        Random rng = new Random(19);
+        Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GnpRandomGraphGenerator<Integer, DefaultWeightedEdge>(40, 0.1, rng, true)
+            .generateGraph(g);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rng.nextDouble());
+        }
+        Set<Integer> landmarks = new HashSet<>(Arrays.asList(1, 7, 21, 33));
+
+        ThreadPoolExecutor executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+        try {
+            AStarAdmissibleHeuristic<Integer> sequential =
+                new ALTAdmissibleHeuristic<>(g, landmarks);
+            AStarAdmissibleHeuristic<Integer> parallel =
+                new ALTAdmissibleHeuristic<>(g, landmarks, executor);
+            for (Integer v : g.vertexSet()) {
+                for (Integer u : g.vertexSet()) {
+                    assertEquals(
+                        sequential.getCostEstimate(v, u), parallel.getCostEstimate(v, u), 0d);
+                }
+            }
+        } finally {
+            ConcurrencyUtil.shutdownExecutionService(executor);
+        }
+    }
+
 }
@@ -0,0 +1,133 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.drawing.model.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ALTLandmarkSelection}.
+ */
+public class ALTLandmarkSelectionTest
+{
+    private static ThreadPoolExecutor executor;
+
+    @BeforeClass
+    public static void createExecutor()
+    {
+        executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor()
+        throws InterruptedException
+    {
+        ConcurrencyUtil.shutdownExecutionService(executor);
+    }
+
+    @Test
+    public void testFarthestOnPath()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new WeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new LinearGraphGenerator<Integer, DefaultWeightedEdge>(20).generateGraph(g);
+
+        Set<Integer> landmarks = ALTLandmarkSelection.farthest(g, 2, new Random(5));
+        assertEquals(new HashSet<>(Arrays.asList(0, 19)), landmarks);
+        assertEquals(20, ALTLandmarkSelection.farthest(g, 50, new Random(5)).size());
+    }
+
+    @Test
+    public void testPlanarOnGrid()
+    {
+        Graph<Integer, DefaultWeightedEdge> g = new WeightedPseudograph<>(
+            SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+        new GridGraphGenerator<Integer, DefaultWeightedEdge>(11, 11).generateGraph(g);
+
+        // vertex i is at row i / 11 and column i % 11
+        Set<Integer> landmarks =
+            ALTLandmarkSelection.planar(g, 8, v -> Point2D.of(v % 11, v / 11));
+        assertEquals(8, landmarks.size());
+        for (int v : landmarks) {
+            int row = v / 11;
+            int column = v % 11;
+            assertTrue(row == 0 || row == 10 || column == 0 || column == 10);
+        }
+    }
+
+    @Test
+    public void testStrategiesGiveCorrectShortestPaths()
+    {
+        Random rng = new Random(29);
+        List<Graph<Integer, DefaultWeightedEdge>> graphs = Arrays
+            .asList(
+                new DirectedWeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER),
+                new WeightedPseudograph<>(
+                    SupplierUtil.createIntegerSupplier(),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER));
+        for (Graph<Integer, DefaultWeightedEdge> g : graphs) {
+            new GnpRandomGraphGenerator<Integer, DefaultWeightedEdge>(40, 0.3, rng, true)
+                .generateGraph(g);
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                g.setEdgeWeight(e, rng.nextDouble());
+            }
+
+            List<Set<Integer>> selections = Arrays
+                .asList(
+                    ALTLandmarkSelection.farthest(g, 4, rng),
+                    ALTLandmarkSelection.avoid(g, 4, rng), ALTLandmarkSelection
+                        .planar(g, 4, v -> Point2D.of(Math.cos(v), Math.sin(v * 0.7))));
+            for (Set<Integer> landmarks : selections) {
+                assertFalse(landmarks.isEmpty());
+                assertTrue(landmarks.size() <= 4);
+                assertTrue(g.vertexSet().containsAll(landmarks));
+
+                ShortestPathAlgorithm<Integer, DefaultWeightedEdge> dijkstra =
+                    new DijkstraShortestPath<>(g);
+                ShortestPathAlgorithm<Integer, DefaultWeightedEdge> astar = new AStarShortestPath<>(
+                    g, new ALTAdmissibleHeuristic<>(g, landmarks, executor));
+                for (Integer v : g.vertexSet()) {
+                    for (Integer u : g.vertexSet()) {
+                        assertEquals(
+                            dijkstra.getPathWeight(v, u), astar.getPathWeight(v, u), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveCount()
+    {
+        ALTLandmarkSelection.avoid(
+            new WeightedPseudograph<Integer, DefaultWeightedEdge>(DefaultWeightedEdge.class), 0,
+            new Random());
+    }
+}
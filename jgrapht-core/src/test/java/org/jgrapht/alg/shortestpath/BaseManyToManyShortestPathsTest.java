@@ -24,6 +24,7 @@ import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
@@ -53,6 +54,19 @@ public abstract class BaseManyToManyShortestPathsTest
     protected abstract ManyToManyShortestPathsAlgorithm<Integer, DefaultWeightedEdge> getAlgorithm(
         Graph<Integer, DefaultWeightedEdge> graph);
 
+    /**
+     * Provides implementation of
+     * {@link org.jgrapht.alg.interfaces.ManyToManyShortestPathsAlgorithm.ManyToManyShortestPaths}
+     * which uses {@code executor} to perform its computations.
+     *
+     * @param graph a graph
+     * @param executor an executor
+     * @return algorithm implementation
+     */
+    protected abstract ManyToManyShortestPathsAlgorithm<Integer,
+        DefaultWeightedEdge> getParallelAlgorithm(
+            Graph<Integer, DefaultWeightedEdge> graph, ThreadPoolExecutor executor);
+
     /**
      * Tests provided algorithm on an empty graph to ensure no exception is thrown.
      */
@@ -302,6 +316,59 @@ public abstract class BaseManyToManyShortestPathsTest
         assertCorrectPaths(graph, sourcesToSourcesPaths, sources, sources);
     }
 
+    /**
+     * Tests the weights matrix as well as the parallel version of the provided algorithm on
+     * randomly generated graphs. Every graph additionally contains an isolated vertex which is
+     * used both as a source and as a target.
+     *
+     * @param numOfVertices number of vertices in random graphs
+     * @param vertexDegree vertex degree in random graphs
+     * @param numOfSourcesAndTargets number of source and target vertices
+     * @param numOfIterations number of test iterations for each random graph
+     */
+    protected void testWeightsOnRandomGraphs(
+        int numOfVertices, int vertexDegree, int[][] numOfSourcesAndTargets, int numOfIterations)
+        throws InterruptedException
+    {
+        Random random = new Random(SEED);
+        ThreadPoolExecutor executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+        try {
+            for (int[] randomVertices : numOfSourcesAndTargets) {
+                for (int i = 0; i < numOfIterations; i++) {
+                    Graph<Integer, DefaultWeightedEdge> graph =
+                        generateRandomGraph(numOfVertices, vertexDegree * numOfVertices, random);
+                    List<Integer> sources =
+                        new ArrayList<>(getRandomVertices(graph, randomVertices[0], random));
+                    List<Integer> targets =
+                        new ArrayList<>(getRandomVertices(graph, randomVertices[1], random));
+                    Integer isolated = graph.addVertex();
+                    sources.add(isolated);
+                    targets.add(isolated);
+
+                    assertCorrectWeights(
+                        graph, getAlgorithm(graph).getManyToManyWeights(sources, targets),
+                        sources, targets);
+
+                    ManyToManyShortestPathsAlgorithm<Integer, DefaultWeightedEdge> algorithm =
+                        getParallelAlgorithm(graph, executor);
+                    assertCorrectWeights(
+                        graph, algorithm.getManyToManyWeights(sources, targets), sources,
+                        targets);
+
+                    sources.remove(isolated);
+                    targets.remove(isolated);
+                    Set<Integer> sourceSet = new HashSet<>(sources);
+                    Set<Integer> targetSet = new HashSet<>(targets);
+                    assertCorrectPaths(
+                        graph, algorithm.getManyToManyPaths(sourceSet, targetSet), sourceSet,
+                        targetSet);
+                }
+            }
+        } finally {
+            ConcurrencyUtil.shutdownExecutionService(executor);
+        }
+    }
+
     /**
      * Generates a graph instance from the $G(n,M)$ random graphs model with {@code numOfVertices}
      * vertices and {@code numOfEdges} edges.
@@ -383,6 +450,33 @@ public abstract class BaseManyToManyShortestPathsTest
         }
     }
 
+    /**
+     * Asserts that the matrix {@code weights} contains the weights of the shortest paths between
+     * {@code sources} and {@code targets}. {@link DijkstraShortestPath} algorithm is used a
+     * certificate of correctness.
+     *
+     * @param graph a graph
+     * @param weights matrix of path weights
+     * @param sources source vertices
+     * @param targets target vertices
+     */
+    protected void assertCorrectWeights(
+        Graph<Integer, DefaultWeightedEdge> graph, double[][] weights, List<Integer> sources,
+        List<Integer> targets)
+    {
+        ShortestPathAlgorithm<Integer, DefaultWeightedEdge> dijkstra =
+            new DijkstraShortestPath<>(graph);
+        assertEquals(sources.size(), weights.length);
+        for (int i = 0; i < sources.size(); i++) {
+            ShortestPathAlgorithm.SingleSourcePaths<Integer, DefaultWeightedEdge> expectedPaths =
+                dijkstra.getPaths(sources.get(i));
+            assertEquals(targets.size(), weights[i].length);
+            for (int j = 0; j < targets.size(); j++) {
+                assertEquals(expectedPaths.getWeight(targets.get(j)), weights[i][j], 1e-9);
+            }
+        }
+    }
+
     /**
      * Generates list of randomly selected vertices from the given {@code graph}.
      *
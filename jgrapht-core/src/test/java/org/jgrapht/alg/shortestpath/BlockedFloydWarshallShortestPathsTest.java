@@ -0,0 +1,173 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.builder.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BlockedFloydWarshallShortestPaths}.
+ */
+public class BlockedFloydWarshallShortestPathsTest
+{
+    private static final double EPSILON = 1e-9;
+
+    private static ThreadPoolExecutor executor;
+
+    @BeforeClass
+    public static void createExecutor()
+    {
+        executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor()
+        throws InterruptedException
+    {
+        ConcurrencyUtil.shutdownExecutionService(executor);
+    }
+
+    @Test
+    public void testCompareWithFloydWarshall()
+    {
+        Random rng = new Random(7);
+        for (boolean directed : new boolean[] { true, false }) {
+            for (int minWeight = 0; minWeight < 2; minWeight++) {
+                Graph<Integer, DefaultWeightedEdge> graph = GraphTypeBuilder
+                    .<Integer, DefaultWeightedEdge> forGraphType(
+                        directed ? DefaultGraphType.directedPseudograph()
+                            : DefaultGraphType.pseudograph())
+                    .weighted(true).edgeClass(DefaultWeightedEdge.class)
+                    .vertexSupplier(SupplierUtil.createIntegerSupplier()).buildGraph();
+                new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                    50, 150, rng, true, true).generateGraph(graph);
+                for (DefaultWeightedEdge e : graph.edgeSet()) {
+                    graph.setEdgeWeight(e, minWeight + rng.nextInt(20));
+                }
+
+                FloydWarshallShortestPaths<Integer, DefaultWeightedEdge> expected =
+                    new FloydWarshallShortestPaths<>(graph);
+                for (int blockSize : new int[] { 1, 7, 16, 64 }) {
+                    assertSamePaths(
+                        graph, expected,
+                        new BlockedFloydWarshallShortestPaths<>(graph, blockSize, null));
+                    assertSamePaths(
+                        graph, expected,
+                        new BlockedFloydWarshallShortestPaths<>(graph, blockSize, executor));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNegativeWeights()
+    {
+        Graph<String, DefaultWeightedEdge> graph =
+            new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(graph, "a", "b", 4);
+        Graphs.addEdgeWithVertices(graph, "a", "c", 2);
+        Graphs.addEdgeWithVertices(graph, "c", "b", -3);
+        Graphs.addEdgeWithVertices(graph, "b", "d", 2);
+        Graphs.addEdgeWithVertices(graph, "b", "d", 1);
+        graph.addVertex("e");
+
+        BlockedFloydWarshallShortestPaths<String, DefaultWeightedEdge> fw =
+            new BlockedFloydWarshallShortestPaths<>(graph, 2, executor);
+
+        GraphPath<String, DefaultWeightedEdge> path = fw.getPath("a", "d");
+        assertEquals(Arrays.asList("a", "c", "b", "d"), path.getVertexList());
+        assertEquals(0d, path.getWeight(), EPSILON);
+        assertEquals("c", fw.getFirstHop("a", "d"));
+        assertEquals("b", fw.getLastHop("a", "d"));
+        assertEquals(-2d, fw.getPaths("c").getWeight("d"), EPSILON);
+
+        assertNull(fw.getPath("d", "a"));
+        assertNull(fw.getFirstHop("d", "a"));
+        assertNull(fw.getLastHop("d", "a"));
+        assertEquals(Double.POSITIVE_INFINITY, fw.getPathWeight("a", "e"), 0d);
+        assertEquals(Collections.singletonList("e"), fw.getPath("e", "e").getVertexList());
+        assertEquals(6, fw.getShortestPathsCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveBlockSize()
+    {
+        new BlockedFloydWarshallShortestPaths<>(
+            new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class), 0, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingSource()
+    {
+        Graph<String, DefaultWeightedEdge> graph =
+            new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+        graph.addVertex("a");
+        new BlockedFloydWarshallShortestPaths<>(graph).getPath("b", "a");
+    }
+
+    private static <V, E> void assertSamePaths(
+        Graph<V, E> graph, FloydWarshallShortestPaths<V, E> expected,
+        BlockedFloydWarshallShortestPaths<V, E> actual)
+    {
+        assertEquals(expected.getShortestPathsCount(), actual.getShortestPathsCount());
+        for (V source : graph.vertexSet()) {
+            for (V sink : graph.vertexSet()) {
+                double weight = expected.getPathWeight(source, sink);
+                assertEquals(weight, actual.getPathWeight(source, sink), EPSILON);
+
+                GraphPath<V, E> path = actual.getPath(source, sink);
+                if (weight == Double.POSITIVE_INFINITY) {
+                    assertNull(path);
+                    assertNull(actual.getFirstHop(source, sink));
+                    continue;
+                }
+                assertEquals(source, path.getStartVertex());
+                assertEquals(sink, path.getEndVertex());
+                assertEquals(weight, path.getWeight(), EPSILON);
+
+                List<V> vertexList = path.getVertexList();
+                List<E> edgeList = path.getEdgeList();
+                assertEquals(vertexList.size(), edgeList.size() + 1);
+                double sum = 0d;
+                for (int i = 0; i < edgeList.size(); i++) {
+                    E e = edgeList.get(i);
+                    assertEquals(
+                        vertexList.get(i + 1),
+                        Graphs.getOppositeVertex(graph, e, vertexList.get(i)));
+                    sum += graph.getEdgeWeight(e);
+                }
+                assertEquals(weight, sum, EPSILON);
+
+                if (!edgeList.isEmpty()) {
+                    assertEquals(vertexList.get(1), actual.getFirstHop(source, sink));
+                    assertEquals(
+                        vertexList.get(vertexList.size() - 2), actual.getLastHop(source, sink));
+                }
+            }
+        }
+    }
+}
@@ -166,6 +166,14 @@ public class CHManyToManyShortestPathsTest
         super.testOnRandomGraphs(40, 5, new int[][] { { 10, 15 }, { 10, 10 }, { 15, 10 } }, 10);
     }
 
+    @Test
+    public void testWeightsOnRandomGraphs()
+        throws InterruptedException
+    {
+        super.testWeightsOnRandomGraphs(
+            40, 5, new int[][] { { 10, 15 }, { 10, 10 }, { 15, 10 } }, 5);
+    }
+
     @Override
     protected ManyToManyShortestPathsAlgorithm<Integer, DefaultWeightedEdge> getAlgorithm(
         Graph<Integer, DefaultWeightedEdge> graph)
@@ -175,4 +183,15 @@ public class CHManyToManyShortestPathsTest
                 .computeContractionHierarchy();
         return new CHManyToManyShortestPaths<>(hierarchy);
     }
+
+    @Override
+    protected ManyToManyShortestPathsAlgorithm<Integer,
+        DefaultWeightedEdge> getParallelAlgorithm(
+            Graph<Integer, DefaultWeightedEdge> graph, ThreadPoolExecutor executor)
+    {
+        ContractionHierarchy<Integer, DefaultWeightedEdge> hierarchy =
+            new ContractionHierarchyPrecomputation<>(graph, () -> new Random(SEED), executor)
+                .computeContractionHierarchy();
+        return new CHManyToManyShortestPaths<>(hierarchy, executor);
+    }
 }
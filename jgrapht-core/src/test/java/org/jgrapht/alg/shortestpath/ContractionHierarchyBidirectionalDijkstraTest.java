@@ -25,6 +25,8 @@ import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 import org.junit.*;
 
+import java.io.*;
+import java.nio.*;
 import java.util.*;
 import java.util.concurrent.*;
 
@@ -166,6 +168,88 @@ public class ContractionHierarchyBidirectionalDijkstraTest
         }
     }
 
+    @Test
+    public void testWriteAndRead()
+        throws IOException
+    {
+        Random random = new Random(SEED);
+        Graph<Integer, DefaultWeightedEdge> graph = generateRandomGraph(100, 500, random);
+        ContractionHierarchy<Integer, DefaultWeightedEdge> hierarchy =
+            new ContractionHierarchyPrecomputation<>(graph, () -> new Random(SEED), executor)
+                .computeContractionHierarchy();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[] { 1, 2, 3 });
+        hierarchy.write(out);
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+        buffer.position(3);
+
+        ContractionHierarchy<Integer, DefaultWeightedEdge> loaded =
+            ContractionHierarchy.read(graph, buffer);
+        assertEquals(3, buffer.position());
+        assertEquals(
+            hierarchy.getContractionGraph().edgeSet().size(),
+            loaded.getContractionGraph().edgeSet().size());
+        for (Integer v : graph.vertexSet()) {
+            assertEquals(
+                hierarchy.getContractionMapping().get(v).contractionLevel,
+                loaded.getContractionMapping().get(v).contractionLevel);
+        }
+
+        ContractionHierarchyBidirectionalDijkstra<Integer, DefaultWeightedEdge> expected =
+            new ContractionHierarchyBidirectionalDijkstra<>(hierarchy);
+        ContractionHierarchyBidirectionalDijkstra<Integer, DefaultWeightedEdge> actual =
+            new ContractionHierarchyBidirectionalDijkstra<>(loaded);
+        for (Integer source : graph.vertexSet()) {
+            assertEqualPaths(
+                expected.getPaths(source), actual.getPaths(source), graph.vertexSet());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadForDifferentGraph()
+        throws IOException
+    {
+        Random random = new Random(SEED);
+        Graph<Integer, DefaultWeightedEdge> graph = generateRandomGraph(30, 100, random);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ContractionHierarchyPrecomputation<>(graph, executor)
+            .computeContractionHierarchy().write(out);
+
+        graph.addVertex(graph.vertexSet().size());
+        ContractionHierarchy.read(graph, ByteBuffer.wrap(out.toByteArray()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadTruncated()
+        throws IOException
+    {
+        Random random = new Random(SEED);
+        Graph<Integer, DefaultWeightedEdge> graph = generateRandomGraph(30, 100, random);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ContractionHierarchyPrecomputation<>(graph, executor)
+            .computeContractionHierarchy().write(out);
+
+        byte[] bytes = out.toByteArray();
+        ContractionHierarchy.read(graph, ByteBuffer.wrap(bytes, 0, bytes.length - 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadCorruptSize()
+        throws IOException
+    {
+        Random random = new Random(SEED);
+        Graph<Integer, DefaultWeightedEdge> graph = generateRandomGraph(30, 100, random);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ContractionHierarchyPrecomputation<>(graph, executor)
+            .computeContractionHierarchy().write(out);
+
+        // the number of contraction edges follows the header and the graph sizes
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+        buffer.putInt(4 * Integer.BYTES, Integer.MAX_VALUE);
+        ContractionHierarchy.read(graph, buffer);
+    }
+
     /**
      * Creates a connected graph with {@code size} vertices in which every vertex is connected to
      * only $2$ other vertices.
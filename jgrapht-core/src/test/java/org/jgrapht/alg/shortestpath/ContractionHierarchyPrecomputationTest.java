@@ -22,6 +22,7 @@ import org.jgrapht.alg.util.*;
 import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
+import org.jheaps.tree.*;
 import org.junit.*;
 
 import java.util.*;
@@ -442,6 +443,54 @@ public class ContractionHierarchyPrecomputationTest
         }
     }
 
+    @Test
+    public void testWitnessSearchSettledLimit()
+    {
+        int numOfVertices = 50;
+        double probability = 0.1;
+
+        for (boolean directed : new boolean[] { true, false }) {
+            AbstractBaseGraph<Integer, DefaultWeightedEdge> graph =
+                directed ? new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class)
+                    : new WeightedPseudograph<>(DefaultWeightedEdge.class);
+            graph.setVertexSupplier(SupplierUtil.createIntegerSupplier());
+            generateRandomGraph(graph, numOfVertices, probability);
+
+            DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra =
+                new DijkstraShortestPath<>(graph);
+            for (int limit : new int[] { 1, 3, DEFAULT_WITNESS_SEARCH_SETTLED_LIMIT }) {
+                ContractionHierarchy<Integer, DefaultWeightedEdge> hierarchy =
+                    new ContractionHierarchyPrecomputation<>(
+                        graph, () -> new Random(SEED), PairingHeap::new, limit, executor)
+                            .computeContractionHierarchy();
+
+                assertCorrectMapping(graph, hierarchy);
+                assertNoEdgesRemoved(graph, hierarchy);
+                assertCorrectEdgeWeights(graph, hierarchy);
+                assertCorrectContractionEdges(graph, hierarchy);
+
+                ContractionHierarchyBidirectionalDijkstra<Integer, DefaultWeightedEdge> query =
+                    new ContractionHierarchyBidirectionalDijkstra<>(hierarchy);
+                for (Integer source : graph.vertexSet()) {
+                    for (Integer target : graph.vertexSet()) {
+                        assertEquals(
+                            dijkstra.getPathWeight(source, target),
+                            query.getPathWeight(source, target), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveWitnessSearchSettledLimit()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        new ContractionHierarchyPrecomputation<>(
+            graph, Random::new, PairingHeap::new, 0, executor);
+    }
+
     /**
      * Asserts that {@code mapping} includes all vertices in {@code graph} as keys, all vertices in
      * {@code contractionGraph} as values and the values in {@code mapping} are unique.
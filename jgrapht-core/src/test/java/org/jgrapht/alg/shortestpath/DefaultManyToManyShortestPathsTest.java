@@ -22,6 +22,8 @@ import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.graph.*;
 import org.junit.*;
 
+import java.util.concurrent.*;
+
 /**
  * Tests for {@link DefaultManyToManyShortestPaths}.
  *
@@ -85,10 +87,26 @@ public class DefaultManyToManyShortestPathsTest
         super.testOnRandomGraphs(30, 5, new int[][] { { 5, 10 }, { 5, 5 }, { 10, 5 } }, 10);
     }
 
+    @Test
+    public void testWeightsOnRandomGraphs()
+        throws InterruptedException
+    {
+        super.testWeightsOnRandomGraphs(30, 5, new int[][] { { 5, 10 }, { 5, 5 }, { 10, 5 } }, 5);
+    }
+
     @Override
     protected ManyToManyShortestPathsAlgorithm<Integer, DefaultWeightedEdge> getAlgorithm(
         Graph<Integer, DefaultWeightedEdge> graph)
     {
         return new DefaultManyToManyShortestPaths<>(graph);
     }
+
+    @Override
+    protected ManyToManyShortestPathsAlgorithm<Integer,
+        DefaultWeightedEdge> getParallelAlgorithm(
+            Graph<Integer, DefaultWeightedEdge> graph, ThreadPoolExecutor executor)
+    {
+        return new DefaultManyToManyShortestPaths<>(
+            graph, g -> new BidirectionalDijkstraShortestPath<>(g), executor);
+    }
 }
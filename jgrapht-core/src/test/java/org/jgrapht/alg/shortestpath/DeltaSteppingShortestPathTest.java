@@ -249,6 +249,65 @@ public class DeltaSteppingShortestPathTest
         }
     }
 
+    @Test
+    public void testMultipleThreads()
+        throws InterruptedException
+    {
+        ThreadPoolExecutor executor = ConcurrencyUtil.createThreadPoolExecutor(4);
+        try {
+            Random random = new Random(SEED);
+            for (int i = 0; i < 10; i++) {
+                Graph<Integer, DefaultWeightedEdge> graph =
+                    generateRandomGraph(200, 1000, random);
+                for (double delta : new double[] { 0.0, 1e-7, 0.1, 2.0 }) {
+                    assertEqualPaths(
+                        new DijkstraShortestPath<>(graph).getPaths(0),
+                        new DeltaSteppingShortestPath<>(graph, delta, executor).getPaths(0),
+                        graph.vertexSet());
+                }
+            }
+        } finally {
+            ConcurrencyUtil.shutdownExecutionService(executor);
+        }
+    }
+
+    @Test
+    public void testUndirectedWithZeroWeightsAndUnreachableVertices()
+        throws InterruptedException
+    {
+        ThreadPoolExecutor executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+        try {
+            Random random = new Random(SEED);
+            Graph<Integer, DefaultWeightedEdge> graph = new WeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultWeightedEdgeSupplier());
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(300, 600, random, true, true)
+                .generateGraph(graph);
+            for (DefaultWeightedEdge edge : graph.edgeSet()) {
+                graph.setEdgeWeight(edge, random.nextInt(3));
+            }
+            for (int source = 0; source < 300; source += 37) {
+                ShortestPathAlgorithm.SingleSourcePaths<Integer,
+                    DefaultWeightedEdge> expected =
+                        new DijkstraShortestPath<>(graph).getPaths(source);
+                ShortestPathAlgorithm.SingleSourcePaths<Integer,
+                    DefaultWeightedEdge> actual =
+                        new DeltaSteppingShortestPath<>(graph, executor).getPaths(source);
+                assertEqualPaths(expected, actual, graph.vertexSet());
+                for (Integer sink : graph.vertexSet()) {
+                    GraphPath<Integer, DefaultWeightedEdge> path = actual.getPath(sink);
+                    if (path != null) {
+                        assertEquals(source, path.getStartVertex().intValue());
+                        assertEquals(sink, path.getEndVertex());
+                        assertEquals(path.getWeight(), actual.getWeight(sink), 1e-9);
+                    }
+                }
+            }
+        } finally {
+            ConcurrencyUtil.shutdownExecutionService(executor);
+        }
+    }
+
     private void test(Graph<Integer, DefaultWeightedEdge> graph, Integer source)
     {
         ShortestPathAlgorithm.SingleSourcePaths<Integer,
@@ -22,6 +22,8 @@ import org.jgrapht.alg.interfaces.*;
 import org.jgrapht.graph.*;
 import org.junit.*;
 
+import java.util.concurrent.*;
+
 /**
  * Tests for {@link DijkstraManyToManyShortestPaths}.
  *
@@ -92,10 +94,26 @@ public class DijkstraManyToManyShortestPathsTest
         super.testOnRandomGraphs(100, 20, new int[][] { { 50, 30 }, { 40, 40 }, { 30, 50 } }, 50);
     }
 
+    @Test
+    public void testWeightsOnRandomGraphs()
+        throws InterruptedException
+    {
+        super.testWeightsOnRandomGraphs(
+            100, 20, new int[][] { { 50, 30 }, { 40, 40 }, { 30, 50 } }, 5);
+    }
+
     @Override
     protected ManyToManyShortestPathsAlgorithm<Integer, DefaultWeightedEdge> getAlgorithm(
         Graph<Integer, DefaultWeightedEdge> graph)
     {
         return new DijkstraManyToManyShortestPaths<>(graph);
     }
+
+    @Override
+    protected ManyToManyShortestPathsAlgorithm<Integer,
+        DefaultWeightedEdge> getParallelAlgorithm(
+            Graph<Integer, DefaultWeightedEdge> graph, ThreadPoolExecutor executor)
+    {
+        return new DijkstraManyToManyShortestPaths<>(graph, executor);
+    }
 }
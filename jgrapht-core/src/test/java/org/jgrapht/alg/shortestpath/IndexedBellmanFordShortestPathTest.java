@@ -0,0 +1,214 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IndexedBellmanFordShortestPath}.
+ */
+public class IndexedBellmanFordShortestPathTest
+{
+    private static final double EPSILON = 1e-9;
+
+    private static ThreadPoolExecutor executor;
+
+    @BeforeClass
+    public static void createExecutor()
+    {
+        executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor()
+        throws InterruptedException
+    {
+        ConcurrencyUtil.shutdownExecutionService(executor);
+    }
+
+    @Test
+    public void testCompareWithBellmanFord()
+    {
+        Random rng = new Random(13);
+        for (int iteration = 0; iteration < 5; iteration++) {
+            Graph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(200, 1000, rng, true, true)
+                .generateGraph(g);
+
+            // negative weights, but no negative cycles
+            int[] potential = new int[200];
+            for (int v = 0; v < potential.length; v++) {
+                potential[v] = rng.nextInt(50);
+            }
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                g.setEdgeWeight(
+                    e, rng.nextInt(10) + potential[g.getEdgeSource(e)]
+                        - potential[g.getEdgeTarget(e)]);
+            }
+
+            BellmanFordShortestPath<Integer, DefaultWeightedEdge> expected =
+                new BellmanFordShortestPath<>(g);
+            for (ThreadPoolExecutor e : Arrays.asList(null, executor)) {
+                IndexedBellmanFordShortestPath<Integer, DefaultWeightedEdge> actual =
+                    new IndexedBellmanFordShortestPath<>(
+                        g, ToleranceDoubleComparator.DEFAULT_EPSILON, e);
+                for (Integer source : Arrays.asList(0, 17, 42)) {
+                    ShortestPathAlgorithm.SingleSourcePaths<Integer, DefaultWeightedEdge> paths =
+                        actual.getPaths(source);
+                    for (Integer target : g.vertexSet()) {
+                        double weight = expected.getPathWeight(source, target);
+                        assertEquals(weight, paths.getWeight(target), EPSILON);
+                        GraphPath<Integer, DefaultWeightedEdge> path = paths.getPath(target);
+                        if (weight == Double.POSITIVE_INFINITY) {
+                            assertNull(path);
+                        } else {
+                            assertEquals(source, path.getStartVertex());
+                            assertEquals(target, path.getEndVertex());
+                            assertEquals(weight, pathWeight(g, path), EPSILON);
+                        }
+                    }
+                }
+
+                Map<Integer, Double> potentials = actual.getVertexPotentials();
+                for (Integer v : g.vertexSet()) {
+                    assertTrue(potentials.get(v) <= 0d);
+                }
+                for (DefaultWeightedEdge edge : g.edgeSet()) {
+                    assertTrue(
+                        potentials.get(g.getEdgeTarget(edge)) <= potentials
+                            .get(g.getEdgeSource(edge)) + g.getEdgeWeight(edge) + EPSILON);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNegativeCycle()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        for (int i = 1; i < 9; i++) {
+            Graphs.addEdgeWithVertices(g, String.valueOf(i), String.valueOf(i + 1), 1);
+        }
+        Graphs.addEdgeWithVertices(g, "7", "x", -3);
+        Graphs.addEdgeWithVertices(g, "x", "4", -3);
+
+        for (ThreadPoolExecutor e : Arrays.asList(null, executor)) {
+            try {
+                new IndexedBellmanFordShortestPath<>(g, 1e-9, e).getPaths("1");
+                fail("Negative-weight cycle not detected");
+            } catch (NegativeCycleDetectedException ex) {
+                assertEquals("Graph contains a negative-weight cycle", ex.getMessage());
+                @SuppressWarnings("unchecked") GraphPath<String, DefaultWeightedEdge> cycle =
+                    (GraphPath<String, DefaultWeightedEdge>) ex.getCycle();
+                assertEquals(cycle.getStartVertex(), cycle.getEndVertex());
+                assertEquals(-3d, cycle.getWeight(), EPSILON);
+                assertEquals(5, cycle.getLength());
+            }
+        }
+    }
+
+    @Test
+    public void testNegativeEdgeUndirectedGraph()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, "w", "y", 1);
+        Graphs.addEdgeWithVertices(g, "y", "x", 1);
+        g.setEdgeWeight(g.addEdge("y", "x"), -1);
+
+        for (ThreadPoolExecutor e : Arrays.asList(null, executor)) {
+            try {
+                new IndexedBellmanFordShortestPath<>(g, 1e-9, e).getPaths("w");
+                fail("Negative-weight cycle not detected");
+            } catch (NegativeCycleDetectedException ex) {
+                @SuppressWarnings("unchecked") GraphPath<String, DefaultWeightedEdge> cycle =
+                    (GraphPath<String, DefaultWeightedEdge>) ex.getCycle();
+                assertEquals(-2d, cycle.getWeight(), EPSILON);
+                assertEquals(2, cycle.getLength());
+            }
+        }
+    }
+
+    @Test
+    public void testDoNotDetectNonReachableNegativeCycle()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, "1", "2", 1);
+        Graphs.addEdgeWithVertices(g, "2", "3", 1);
+        Graphs.addEdgeWithVertices(g, "5", "3", 1);
+        Graphs.addEdgeWithVertices(g, "5", "6", -1);
+        Graphs.addEdgeWithVertices(g, "6", "7", -1);
+        Graphs.addEdgeWithVertices(g, "7", "5", -1);
+
+        for (ThreadPoolExecutor e : Arrays.asList(null, executor)) {
+            ShortestPathAlgorithm.SingleSourcePaths<String, DefaultWeightedEdge> paths =
+                new IndexedBellmanFordShortestPath<>(g, 1e-9, e).getPaths("1");
+            assertEquals(2d, paths.getWeight("3"), EPSILON);
+            assertEquals(Arrays.asList("1", "2", "3"), paths.getPath("3").getVertexList());
+            assertNull(paths.getPath("5"));
+        }
+    }
+
+    @Test(expected = NegativeCycleDetectedException.class)
+    public void testNegativeCyclePotentials()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, "1", "2", 1);
+        Graphs.addEdgeWithVertices(g, "5", "6", -1);
+        Graphs.addEdgeWithVertices(g, "6", "5", -1);
+        new IndexedBellmanFordShortestPath<>(g, 1e-9, executor).getVertexPotentials();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingSource()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex("a");
+        new IndexedBellmanFordShortestPath<>(g).getPaths("b");
+    }
+
+    private static <V, E> double pathWeight(Graph<V, E> g, GraphPath<V, E> path)
+    {
+        List<V> vertexList = path.getVertexList();
+        List<E> edgeList = path.getEdgeList();
+        assertEquals(vertexList.size(), edgeList.size() + 1);
+        double sum = 0d;
+        for (int i = 0; i < edgeList.size(); i++) {
+            E e = edgeList.get(i);
+            assertEquals(vertexList.get(i + 1), Graphs.getOppositeVertex(g, e, vertexList.get(i)));
+            sum += g.getEdgeWeight(e);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.builder.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IndexedDijkstraShortestPath}.
+ */
+public class IndexedDijkstraShortestPathTest
+{
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    public void testSimpleGraph()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, "a", "b", 1d);
+        Graphs.addEdgeWithVertices(g, "b", "c", 2d);
+        Graphs.addEdgeWithVertices(g, "a", "c", 4d);
+        Graphs.addEdgeWithVertices(g, "c", "d", 1d);
+        g.addVertex("e");
+
+        IndexedDijkstraShortestPath<String, DefaultWeightedEdge> sp =
+            new IndexedDijkstraShortestPath<>(g);
+
+        GraphPath<String, DefaultWeightedEdge> path = sp.getPath("a", "d");
+        assertEquals(Arrays.asList("a", "b", "c", "d"), path.getVertexList());
+        assertEquals(4d, path.getWeight(), EPSILON);
+        assertEquals(3, path.getEdgeList().size());
+
+        assertNull(sp.getPath("d", "a"));
+        assertEquals(Double.POSITIVE_INFINITY, sp.getPathWeight("a", "e"), 0d);
+        assertEquals(0d, sp.getPathWeight("e", "e"), 0d);
+        assertEquals(Collections.singletonList("e"), sp.getPath("e", "e").getVertexList());
+
+        ShortestPathAlgorithm.SingleSourcePaths<String, DefaultWeightedEdge> paths =
+            sp.getPaths("b");
+        assertEquals(Double.POSITIVE_INFINITY, paths.getWeight("a"), 0d);
+        assertNull(paths.getPath("a"));
+        assertEquals(3d, paths.getWeight("d"), EPSILON);
+        assertEquals(Arrays.asList("b", "c", "d"), paths.getPath("d").getVertexList());
+
+        // earlier queries must not leak into later ones
+        assertEquals(3d, sp.getPathWeight("a", "c"), EPSILON);
+        assertEquals(Double.POSITIVE_INFINITY, sp.getPathWeight("c", "b"), 0d);
+    }
+
+    @Test
+    public void testAgainstDijkstra()
+    {
+        for (boolean directed : new boolean[] { true, false }) {
+            Random rng = new Random(17);
+            Graph<Integer, DefaultWeightedEdge> g = GraphTypeBuilder
+                .<Integer, DefaultWeightedEdge> forGraphType(
+                    directed ? DefaultGraphType.directedPseudograph()
+                        : DefaultGraphType.pseudograph())
+                .weighted(true).edgeClass(DefaultWeightedEdge.class)
+                .vertexSupplier(SupplierUtil.createIntegerSupplier()).buildGraph();
+            new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(150, 600, rng, true, true)
+                .generateGraph(g);
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                g.setEdgeWeight(e, rng.nextInt(10));
+            }
+
+            DijkstraShortestPath<Integer, DefaultWeightedEdge> expected =
+                new DijkstraShortestPath<>(g);
+            IndexedDijkstraShortestPath<Integer, DefaultWeightedEdge> actual =
+                new IndexedDijkstraShortestPath<>(g, 2);
+
+            for (Integer source : g.vertexSet()) {
+                ShortestPathAlgorithm.SingleSourcePaths<Integer, DefaultWeightedEdge> paths =
+                    actual.getPaths(source);
+                for (Integer target : g.vertexSet()) {
+                    double weight = expected.getPathWeight(source, target);
+                    assertEquals(weight, actual.getPathWeight(source, target), EPSILON);
+                    assertEquals(weight, paths.getWeight(target), EPSILON);
+
+                    GraphPath<Integer, DefaultWeightedEdge> path = actual.getPath(source, target);
+                    if (weight == Double.POSITIVE_INFINITY) {
+                        assertNull(path);
+                        assertNull(paths.getPath(target));
+                    } else {
+                        assertValidPath(g, path, source, target, weight);
+                        assertValidPath(g, paths.getPath(target), source, target, weight);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(g, "a", "b", -1d);
+        new IndexedDijkstraShortestPath<>(g);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingSource()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        g.addVertex("a");
+        new IndexedDijkstraShortestPath<>(g).getPath("b", "a");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingSink()
+    {
+        Graph<String, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        g.addVertex("a");
+        new IndexedDijkstraShortestPath<>(g).getPathWeight("a", "b");
+    }
+
+    private static <V, E> void assertValidPath(
+        Graph<V, E> g, GraphPath<V, E> path, V source, V target, double weight)
+    {
+        assertEquals(source, path.getStartVertex());
+        assertEquals(target, path.getEndVertex());
+        assertEquals(weight, path.getWeight(), EPSILON);
+
+        List<V> vertexList = path.getVertexList();
+        List<E> edgeList = path.getEdgeList();
+        assertEquals(vertexList.size(), edgeList.size() + 1);
+        double sum = 0d;
+        for (int i = 0; i < edgeList.size(); i++) {
+            E e = edgeList.get(i);
+            assertEquals(vertexList.get(i + 1), Graphs.getOppositeVertex(g, e, vertexList.get(i)));
+            sum += g.getEdgeWeight(e);
+        }
+        assertEquals(weight, sum, EPSILON);
+    }
+
+}
@@ -25,9 +25,11 @@ import org.jgrapht.util.*;
 import org.junit.*;
 
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -157,4 +159,68 @@ public class JohnsonShortestPathsTest
 
     }
 
+    @Test
+    public void testParallelAndPathWeightsCompareWithFloydWarshall()
+        throws InterruptedException
+    {
+        final int n = 40;
+        Random rng = new Random(17);
+        ThreadPoolExecutor executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+        try {
+            for (boolean directed : new boolean[] { true, false }) {
+                for (int i = 0; i < 5; i++) {
+                    Graph<Integer, DefaultWeightedEdge> g = GraphTypeBuilder
+                        .<Integer, DefaultWeightedEdge> forGraphType(
+                            directed ? DefaultGraphType.directedPseudograph()
+                                : DefaultGraphType.pseudograph())
+                        .vertexSupplier(SupplierUtil.createIntegerSupplier())
+                        .edgeClass(DefaultWeightedEdge.class).weighted(true).buildGraph();
+                    new GnpRandomGraphGenerator<Integer, DefaultWeightedEdge>(n, 0.1, rng, false)
+                        .generateGraph(g);
+
+                    // negative weights only on edges which cannot close a cycle
+                    for (DefaultWeightedEdge e : g.edgeSet()) {
+                        boolean negative = directed && i % 2 == 0
+                            && g.getEdgeSource(e) < g.getEdgeTarget(e) && rng.nextBoolean();
+                        double weight = negative ? -rng.nextDouble() : 2 * n + rng.nextDouble();
+                        g.setEdgeWeight(e, weight);
+                    }
+
+                    FloydWarshallShortestPaths<Integer, DefaultWeightedEdge> expected =
+                        new FloydWarshallShortestPaths<>(g);
+                    double[][] weights = new JohnsonShortestPaths<>(g, executor).getPathWeights();
+                    JohnsonShortestPaths<Integer, DefaultWeightedEdge> johnson =
+                        new JohnsonShortestPaths<>(g, executor);
+
+                    int vi = 0;
+                    for (Integer v : g.vertexSet()) {
+                        int ui = 0;
+                        for (Integer u : g.vertexSet()) {
+                            double weight = expected.getPathWeight(v, u);
+                            assertEquals(weight, weights[vi][ui], 1e-9);
+                            assertEquals(weight, johnson.getPathWeight(v, u), 1e-9);
+
+                            GraphPath<Integer, DefaultWeightedEdge> path = johnson.getPath(v, u);
+                            if (weight == Double.POSITIVE_INFINITY) {
+                                assertNull(path);
+                            } else {
+                                assertEquals(weight, path.getWeight(), 1e-9);
+                                double sum = 0d;
+                                for (DefaultWeightedEdge e : path.getEdgeList()) {
+                                    sum += g.getEdgeWeight(e);
+                                }
+                                assertEquals(weight, sum, 1e-9);
+                            }
+                            ui++;
+                        }
+                        vi++;
+                    }
+                    assertEquals(g.vertexSet().size(), johnson.getPathWeights().length);
+                }
+            }
+        } finally {
+            ConcurrencyUtil.shutdownExecutionService(executor);
+        }
+    }
+
 }
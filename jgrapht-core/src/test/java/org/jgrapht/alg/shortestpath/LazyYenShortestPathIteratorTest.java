@@ -0,0 +1,215 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.alg.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.graph.builder.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the {@link LazyYenShortestPathIterator}.
+ */
+public class LazyYenShortestPathIteratorTest
+    extends
+    BaseKShortestPathTest
+{
+    private static final double EPSILON = 1e-9;
+
+    private static ThreadPoolExecutor executor;
+
+    @BeforeClass
+    public static void createExecutor()
+    {
+        executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor()
+        throws InterruptedException
+    {
+        ConcurrencyUtil.shutdownExecutionService(executor);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoSourceGraph()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        graph.addVertex(2);
+        new LazyYenShortestPathIterator<>(graph, 1, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(graph, 1, 2, -1d);
+        new LazyYenShortestPathIterator<>(graph, 1, 2);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNoPathLeft()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        graph.addVertex(1);
+        graph.addVertex(2);
+        LazyYenShortestPathIterator<Integer, DefaultWeightedEdge> it =
+            new LazyYenShortestPathIterator<>(graph, 1, 2);
+        assertFalse(it.hasNext());
+        it.next();
+    }
+
+    @Test
+    public void testSourceEqualsTarget()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new DefaultUndirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        readGraph(graph, cyclicGraph2);
+        LazyYenShortestPathIterator<Integer, DefaultWeightedEdge> it =
+            new LazyYenShortestPathIterator<>(graph, 1, 1);
+        GraphPath<Integer, DefaultWeightedEdge> path = it.next();
+        assertEquals(Collections.singletonList(1), path.getVertexList());
+        assertEquals(0d, path.getWeight(), 0d);
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testPseudoGraph()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        readGraph(graph, pseudograph3);
+        LazyYenShortestPathIterator<Integer, DefaultWeightedEdge> it =
+            new LazyYenShortestPathIterator<>(graph, 1, 3);
+        double[] expectedWeights = { 5, 6, 6, 7, 7, 8 };
+        for (double weight : expectedWeights) {
+            assertEquals(weight, it.next().getWeight(), EPSILON);
+        }
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testMaximumPaths()
+    {
+        Graph<Integer, DefaultWeightedEdge> graph =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        readGraph(graph, pseudograph3);
+        LazyYenShortestPathIterator<Integer, DefaultWeightedEdge> it =
+            new LazyYenShortestPathIterator<>(graph, 1, 3, 4, executor);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(it.hasNext());
+            it.next();
+        }
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testCompareWithAllPaths()
+    {
+        Random rng = new Random(31);
+        for (boolean directed : new boolean[] { true, false }) {
+            for (int minWeight = 0; minWeight < 2; minWeight++) {
+                Graph<Integer, DefaultWeightedEdge> graph = GraphTypeBuilder
+                    .<Integer, DefaultWeightedEdge> forGraphType(
+                        directed ? DefaultGraphType.directedPseudograph()
+                            : DefaultGraphType.pseudograph())
+                    .weighted(true).edgeClass(DefaultWeightedEdge.class)
+                    .vertexSupplier(SupplierUtil.createIntegerSupplier()).buildGraph();
+                new GnmRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                    12, directed ? 36 : 20, rng, true, true).generateGraph(graph);
+                for (DefaultWeightedEdge e : graph.edgeSet()) {
+                    graph.setEdgeWeight(e, minWeight + rng.nextInt(10));
+                }
+
+                for (int i = 0; i < 5; i++) {
+                    Integer source = rng.nextInt(12);
+                    Integer sink = rng.nextInt(12);
+                    List<Double> expected = new ArrayList<>();
+                    Set<Integer> visited = new HashSet<>();
+                    visited.add(source);
+                    collectSimplePathWeights(graph, source, sink, visited, 0d, expected);
+                    Collections.sort(expected);
+
+                    assertPaths(
+                        graph, source, sink, expected,
+                        new LazyYenShortestPathIterator<>(graph, source, sink));
+                    int k = Math.max(1, expected.size() / 2);
+                    assertPaths(
+                        graph, source, sink, expected.subList(0, Math.min(k, expected.size())),
+                        new LazyYenShortestPathIterator<>(graph, source, sink, k, executor));
+                }
+            }
+        }
+    }
+
+    private static <V, E> void collectSimplePathWeights(
+        Graph<V, E> graph, V v, V sink, Set<V> visited, double weight, List<Double> weights)
+    {
+        if (v.equals(sink)) {
+            weights.add(weight);
+            return;
+        }
+        for (E e : graph.outgoingEdgesOf(v)) {
+            V u = Graphs.getOppositeVertex(graph, e, v);
+            if (visited.add(u)) {
+                collectSimplePathWeights(
+                    graph, u, sink, visited, weight + graph.getEdgeWeight(e), weights);
+                visited.remove(u);
+            }
+        }
+    }
+
+    private static <V, E> void assertPaths(
+        Graph<V, E> graph, V source, V sink, List<Double> expectedWeights,
+        Iterator<GraphPath<V, E>> it)
+    {
+        Set<List<E>> seen = new HashSet<>();
+        for (double weight : expectedWeights) {
+            assertTrue(it.hasNext());
+            GraphPath<V, E> path = it.next();
+            assertEquals(weight, path.getWeight(), EPSILON);
+            assertEquals(source, path.getStartVertex());
+            assertEquals(sink, path.getEndVertex());
+
+            List<V> vertexList = path.getVertexList();
+            List<E> edgeList = path.getEdgeList();
+            assertEquals(vertexList.size(), edgeList.size() + 1);
+            assertEquals(vertexList.size(), new HashSet<>(vertexList).size());
+            double sum = 0d;
+            for (int i = 0; i < edgeList.size(); i++) {
+                E e = edgeList.get(i);
+                assertEquals(
+                    vertexList.get(i + 1), Graphs.getOppositeVertex(graph, e, vertexList.get(i)));
+                sum += graph.getEdgeWeight(e);
+            }
+            assertEquals(weight, sum, EPSILON);
+            assertTrue(seen.add(edgeList));
+        }
+        assertFalse(it.hasNext());
+    }
+}
@@ -26,6 +26,8 @@ import org.jgrapht.graph.*;
 import org.jgrapht.util.*;
 import org.junit.*;
 
+import java.io.*;
+import java.nio.*;
 import java.util.*;
 import java.util.concurrent.*;
 
@@ -168,6 +170,38 @@ public class TransitNodeRoutingShortestPathTest
         }
     }
 
+    @Test
+    public void testWriteAndRead()
+        throws IOException
+    {
+        Random random = new Random(SEED);
+        Graph<Integer, DefaultWeightedEdge> graph = generateRandomGraph(100, 500, random);
+        TransitNodeRoutingShortestPath<Integer, DefaultWeightedEdge> expected =
+            new TransitNodeRoutingShortestPath<>(graph, executor);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        expected.write(out);
+        TransitNodeRoutingShortestPath<Integer, DefaultWeightedEdge> actual =
+            TransitNodeRoutingShortestPath.read(graph, ByteBuffer.wrap(out.toByteArray()));
+
+        for (Integer source : graph.vertexSet()) {
+            assertEqualPaths(expected.getPaths(source), actual.getPaths(source), graph.vertexSet());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReadContractionHierarchyAsTransitNodeRouting()
+        throws IOException
+    {
+        Random random = new Random(SEED);
+        Graph<Integer, DefaultWeightedEdge> graph = generateRandomGraph(30, 100, random);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ContractionHierarchyPrecomputation<>(graph, executor)
+            .computeContractionHierarchy().write(out);
+
+        TransitNodeRoutingShortestPath.read(graph, ByteBuffer.wrap(out.toByteArray()));
+    }
+
     /**
      * Test correctness of {@link TransitNodeRoutingShortestPath} on {@code graph} starting at
      * {@code source}.
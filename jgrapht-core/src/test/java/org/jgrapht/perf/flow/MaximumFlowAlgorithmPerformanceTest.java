@@ -102,6 +102,46 @@ public class MaximumFlowAlgorithmPerformanceTest
         }
     }
 
+    public static class HighestLabelPushRelabelMaximumFlowRandomGraphBenchmark
+        extends
+        RandomGraphBenchmarkBase
+    {
+        @Override
+        MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+            Graph<Integer, DefaultWeightedEdge> network)
+        {
+            return new HighestLabelPushRelabelMFImpl<>(network);
+        }
+    }
+
+    public static class ParallelPushRelabelMaximumFlowRandomGraphBenchmark
+        extends
+        RandomGraphBenchmarkBase
+    {
+        private ThreadPoolExecutor executor;
+
+        @Setup
+        public void createExecutor()
+        {
+            executor = ConcurrencyUtil
+                .createThreadPoolExecutor(Runtime.getRuntime().availableProcessors());
+        }
+
+        @TearDown
+        public void shutdownExecutor()
+            throws InterruptedException
+        {
+            ConcurrencyUtil.shutdownExecutionService(executor);
+        }
+
+        @Override
+        MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+            Graph<Integer, DefaultWeightedEdge> network)
+        {
+            return new ParallelPushRelabelMFImpl<>(network, executor);
+        }
+    }
+
     public static class DinicMaximumFlowRandomGraphBenchmark
         extends
         RandomGraphBenchmarkBase
@@ -122,6 +162,12 @@ public class MaximumFlowAlgorithmPerformanceTest
         Options opt = new OptionsBuilder()
             .include(".*" + EdmondsKarpMaximumFlowRandomGraphBenchmark.class.getSimpleName() + ".*")
             .include(".*" + PushRelabelMaximumFlowRandomGraphBenchmark.class.getSimpleName() + ".*")
+            .include(
+                ".*" + HighestLabelPushRelabelMaximumFlowRandomGraphBenchmark.class.getSimpleName()
+                    + ".*")
+            .include(
+                ".*" + ParallelPushRelabelMaximumFlowRandomGraphBenchmark.class.getSimpleName()
+                    + ".*")
             .include(".*" + DinicMaximumFlowRandomGraphBenchmark.class.getSimpleName() + ".*")
 
             .mode(Mode.AverageTime).timeUnit(TimeUnit.NANOSECONDS).warmupTime(TimeValue.seconds(1))
@@ -0,0 +1,128 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.perf.flow;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.flow.mincost.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.generate.netgen.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.junit.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Compares the minimum cost flow algorithms on networks generated by the NETGEN generator.
+ */
+public class MinimumCostFlowAlgorithmPerformanceTest
+{
+
+    public static final int NUMBER_OF_PROBLEMS = 10;
+    public static final int PERF_BENCHMARK_NODES_COUNT = 2000;
+    public static final int PERF_BENCHMARK_ARCS_COUNT = 20000;
+
+    @State(Scope.Benchmark)
+    private static abstract class NetgenBenchmarkBase
+    {
+
+        public static final long SEED = 1446523573696201013L;
+
+        private List<MinimumCostFlowProblem<Integer, DefaultWeightedEdge>> problems;
+
+        abstract MinimumCostFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver();
+
+        @Setup
+        public void setup()
+        {
+            problems = new ArrayList<>();
+
+            NetworkGeneratorConfig config = new NetworkGeneratorConfigBuilder()
+                .setParams(
+                    PERF_BENCHMARK_NODES_COUNT, PERF_BENCHMARK_ARCS_COUNT, 50, 50, 10, 10, 100000,
+                    1, 1000, 1, 100, 80, 0)
+                .build();
+            for (int i = 0; i < NUMBER_OF_PROBLEMS; i++) {
+                Graph<Integer, DefaultWeightedEdge> network = new DefaultDirectedWeightedGraph<>(
+                    SupplierUtil.createIntegerSupplier(0),
+                    SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+                MinimumCostFlowProblem<Integer, DefaultWeightedEdge> problem =
+                    new NetworkGenerator<Integer, DefaultWeightedEdge>(config, SEED + i)
+                        .generateMinimumCostFlowProblem(network);
+                // the capacity scaling algorithm uses the edge weights as costs
+                for (DefaultWeightedEdge edge : network.edgeSet()) {
+                    network.setEdgeWeight(edge, problem.getArcCosts().apply(edge));
+                }
+                problems.add(
+                    new MinimumCostFlowProblem.MinimumCostFlowProblemImpl<>(
+                        network, problem.getNodeSupply(), problem.getArcCapacityUpperBounds()));
+            }
+        }
+
+        @Benchmark
+        public void run()
+        {
+            for (MinimumCostFlowProblem<Integer, DefaultWeightedEdge> problem : problems) {
+                createSolver().getMinimumCostFlow(problem);
+            }
+        }
+    }
+
+    public static class CapacityScalingMinimumCostFlowNetgenBenchmark
+        extends
+        NetgenBenchmarkBase
+    {
+        @Override
+        MinimumCostFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver()
+        {
+            return new CapacityScalingMinimumCostFlow<>();
+        }
+    }
+
+    public static class NetworkSimplexMinimumCostFlowNetgenBenchmark
+        extends
+        NetgenBenchmarkBase
+    {
+        @Override
+        MinimumCostFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver()
+        {
+            return new NetworkSimplexMinimumCostFlow<>();
+        }
+    }
+
+    @Test
+    public void testNetgenBenchmark()
+        throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+            .include(
+                ".*" + CapacityScalingMinimumCostFlowNetgenBenchmark.class.getSimpleName() + ".*")
+            .include(
+                ".*" + NetworkSimplexMinimumCostFlowNetgenBenchmark.class.getSimpleName() + ".*")
+
+            .mode(Mode.AverageTime).timeUnit(TimeUnit.NANOSECONDS).warmupTime(TimeValue.seconds(1))
+            .warmupIterations(3).measurementTime(TimeValue.seconds(1)).measurementIterations(5)
+            .forks(1).shouldFailOnError(true).shouldDoGC(true).build();
+
+        new Runner(opt).run();
+    }
+}
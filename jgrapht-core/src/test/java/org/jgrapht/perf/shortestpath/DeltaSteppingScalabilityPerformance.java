@@ -0,0 +1,105 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.perf.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A benchmark measuring the speedup of {@link DeltaSteppingShortestPath} over
+ * {@link DijkstraShortestPath} for an increasing number of threads. The graphs are grids with
+ * random integer edge weights, which resemble road networks: small degrees, large diameter and
+ * many shortest paths of similar length. The bucket width is left to the algorithm.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1, warmups = 0)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 8, time = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DeltaSteppingScalabilityPerformance
+{
+
+    @Benchmark
+    public ShortestPathAlgorithm.SingleSourcePaths<Integer,
+        DefaultWeightedEdge> testDeltaStepping(DeltaSteppingState data)
+    {
+        return new DeltaSteppingShortestPath<>(data.graph, data.executor).getPaths(0);
+    }
+
+    @Benchmark
+    public ShortestPathAlgorithm.SingleSourcePaths<Integer, DefaultWeightedEdge> testDijkstra(
+        GridState data)
+    {
+        return new DijkstraShortestPath<>(data.graph).getPaths(0);
+    }
+
+    @State(Scope.Benchmark)
+    public static class GridState
+    {
+        @Param({ "300", "1000" })
+        int size;
+
+        Graph<Integer, DefaultWeightedEdge> graph;
+
+        @Setup(Level.Trial)
+        public void generateGraph()
+        {
+            graph = new DefaultDirectedWeightedGraph<>(
+                SupplierUtil.createIntegerSupplier(),
+                SupplierUtil.createDefaultWeightedEdgeSupplier());
+            new GridGraphGenerator<Integer, DefaultWeightedEdge>(size, size).generateGraph(graph);
+
+            Random random = new Random(17);
+            for (DefaultWeightedEdge edge : graph.edgeSet()) {
+                graph.setEdgeWeight(edge, 1 + random.nextInt(1000));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class DeltaSteppingState
+        extends
+        GridState
+    {
+        @Param({ "1", "2", "4", "8", "16", "32" })
+        int numOfThreads;
+
+        ThreadPoolExecutor executor;
+
+        @Setup(Level.Trial)
+        public void createExecutor()
+        {
+            executor = ConcurrencyUtil.createThreadPoolExecutor(numOfThreads);
+        }
+
+        @TearDown(Level.Trial)
+        public void shutdownExecutor()
+            throws InterruptedException
+        {
+            ConcurrencyUtil.shutdownExecutionService(executor);
+        }
+    }
+}
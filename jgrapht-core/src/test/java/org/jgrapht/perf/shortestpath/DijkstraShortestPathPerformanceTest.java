@@ -103,6 +103,24 @@ public class DijkstraShortestPathPerformanceTest
         }
     }
 
+    public static class IndexedDijkstraBenchmark
+        extends
+        BenchmarkBase
+    {
+        @Override
+        ShortestPathAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+            Graph<Integer, DefaultWeightedEdge> graph)
+        {
+            return new IndexedDijkstraShortestPath<>(graph);
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Indexed Dijkstra";
+        }
+    }
+
     public static class BFSShortestPathBenchmark
         extends
         BenchmarkBase
@@ -243,6 +261,32 @@ public class DijkstraShortestPathPerformanceTest
         }
     }
 
+    public static class AStarALTAvoidBenchmark
+        extends
+        BenchmarkBase
+    {
+        private int totalLandmarks;
+
+        AStarALTAvoidBenchmark(int totalLandmarks)
+        {
+            this.totalLandmarks = totalLandmarks;
+        }
+
+        @Override
+        ShortestPathAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+            Graph<Integer, DefaultWeightedEdge> graph)
+        {
+            Set<Integer> landmarks = ALTLandmarkSelection.avoid(graph, totalLandmarks, rng);
+            return new AStarShortestPath<>(graph, new ALTAdmissibleHeuristic<>(graph, landmarks));
+        }
+
+        @Override
+        public String toString()
+        {
+            return "A* with ALT heuristic (" + totalLandmarks + " avoid landmarks)";
+        }
+    }
+
     public static class BidirectionalAStarNoHeuristicBenchmark
         extends
         BenchmarkBase
@@ -308,9 +352,11 @@ public class DijkstraShortestPathPerformanceTest
         List<Supplier<BenchmarkBase>> algFactory = new ArrayList<>();
         algFactory.add(() -> new ClosestFirstIteratorBenchmark());
         algFactory.add(() -> new DijkstraBenchmark());
+        algFactory.add(() -> new IndexedDijkstraBenchmark());
         algFactory.add(() -> new AStarNoHeuristicBenchmark());
         algFactory.add(() -> new AStarALTBenchmark(1));
         algFactory.add(() -> new AStarALTBenchmark(5));
+        algFactory.add(() -> new AStarALTAvoidBenchmark(5));
         algFactory.add(() -> new BidirectionalDijkstraBenchmark());
         algFactory.add(() -> new BFSShortestPathBenchmark());
         algFactory.add(() -> new BidirectionalAStarALTBenchmark(1));
@@ -0,0 +1,94 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.perf.shortestpath;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.shortestpath.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A benchmark comparing {@link FloydWarshallShortestPaths} to the sequential and the parallel
+ * version of {@link BlockedFloydWarshallShortestPaths} on dense random graphs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(value = 1, warmups = 0)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FloydWarshallPerformance
+{
+    @Benchmark
+    public double testFloydWarshall(GnpState data)
+    {
+        return new FloydWarshallShortestPaths<>(data.graph).getPathWeight(0, 1);
+    }
+
+    @Benchmark
+    public double testBlockedFloydWarshall(GnpState data)
+    {
+        return new BlockedFloydWarshallShortestPaths<>(data.graph).getPathWeight(0, 1);
+    }
+
+    @Benchmark
+    public double testParallelBlockedFloydWarshall(GnpState data)
+    {
+        return new BlockedFloydWarshallShortestPaths<>(data.graph, data.executor)
+            .getPathWeight(0, 1);
+    }
+
+    @State(Scope.Benchmark)
+    public static class GnpState
+    {
+        @Param({ "500", "2000" })
+        int numOfVertices;
+        @Param({ "0.1", "0.5" })
+        double p;
+
+        Graph<Integer, DefaultWeightedEdge> graph;
+        ThreadPoolExecutor executor;
+
+        @Setup
+        public void setup()
+        {
+            executor = ConcurrencyUtil
+                .createThreadPoolExecutor(Runtime.getRuntime().availableProcessors());
+
+            Random random = new Random(17);
+            graph = new DirectedWeightedPseudograph<>(
+                SupplierUtil.createIntegerSupplier(), SupplierUtil.DEFAULT_WEIGHTED_EDGE_SUPPLIER);
+            new GnpRandomGraphGenerator<Integer, DefaultWeightedEdge>(
+                numOfVertices, p, random, false).generateGraph(graph);
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                graph.setEdgeWeight(e, 1d + random.nextDouble());
+            }
+        }
+
+        @TearDown
+        public void shutdownExecutor()
+            throws InterruptedException
+        {
+            ConcurrencyUtil.shutdownExecutionService(executor);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.util;
+
+import org.junit.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link ConcurrencyUtil}.
+ */
+public class ConcurrencyUtilTest
+{
+    private static ThreadPoolExecutor executor;
+
+    @BeforeClass
+    public static void createExecutor()
+    {
+        executor = ConcurrencyUtil.createThreadPoolExecutor(3);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor()
+        throws InterruptedException
+    {
+        ConcurrencyUtil.shutdownExecutionService(executor);
+    }
+
+    @Test
+    public void testInvokeAll()
+    {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int value = i;
+            tasks.add(() -> value * value);
+        }
+        List<Integer> results = ConcurrencyUtil.invokeAll(executor, tasks);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(i * i), results.get(i));
+        }
+    }
+
+    @Test
+    public void testInvokeAllExceptions()
+    {
+        IllegalStateException unchecked = new IllegalStateException();
+        try {
+            ConcurrencyUtil.invokeAll(executor, List.<Callable<Void>> of(() -> {
+                throw unchecked;
+            }));
+            fail();
+        } catch (IllegalStateException e) {
+            assertSame(unchecked, e);
+        }
+
+        IOException checked = new IOException();
+        try {
+            ConcurrencyUtil.invokeAll(executor, List.<Callable<Void>> of(() -> {
+                throw checked;
+            }));
+            fail();
+        } catch (RuntimeException e) {
+            assertSame(checked, e.getCause());
+        }
+    }
+
+    @Test
+    public void testForEachIndex()
+    {
+        for (ThreadPoolExecutor e : Arrays.asList(null, executor)) {
+            for (int count : new int[] { 0, 1, 2, 1000 }) {
+                AtomicIntegerArray visits = new AtomicIntegerArray(count);
+                Set<Object> workers = ConcurrentHashMap.newKeySet();
+                ConcurrencyUtil.forEachIndex(e, count, () -> {
+                    Object worker = new Object();
+                    workers.add(worker);
+                    return i -> visits.incrementAndGet(i);
+                });
+                for (int i = 0; i < count; i++) {
+                    assertEquals(1, visits.get(i));
+                }
+                assertTrue(workers.size() >= 1);
+                assertTrue(workers.size() <= (e == null || count <= 1 ? 1 : 3));
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * (C) Copyright 2021-2021, by JGraphT Contributors.
+ *
+ * JGraphT : a free Java graph-theory library
+ *
+ * See the CONTRIBUTORS.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0, or the
+ * GNU Lesser General Public License v2.1 or later
+ * which is available at
+ * http://www.gnu.org/licenses/old-licenses/lgpl-2.1-standalone.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR LGPL-2.1-or-later
+ */
+package org.jgrapht.util;
+
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link IndexedDaryHeap}.
+ */
+public class IndexedDaryHeapTest
+{
+
+    @Test
+    public void testInsertDeleteMin()
+    {
+        for (int d = 2; d <= 5; d++) {
+            IndexedDaryHeap heap = new IndexedDaryHeap(100, d);
+            Random rng = new Random(d);
+            double[] keys = new double[100];
+            for (int i = 0; i < 100; i++) {
+                keys[i] = rng.nextDouble();
+                heap.insert(i, keys[i]);
+            }
+            assertEquals(100, heap.size());
+
+            double last = Double.NEGATIVE_INFINITY;
+            while (!heap.isEmpty()) {
+                double minKey = heap.findMinKey();
+                int min = heap.deleteMin();
+                assertEquals(keys[min], minKey, 0d);
+                assertTrue(minKey >= last);
+                assertFalse(heap.contains(min));
+                last = minKey;
+            }
+        }
+    }
+
+    @Test
+    public void testDecreaseKey()
+    {
+        IndexedDaryHeap heap = new IndexedDaryHeap(10);
+        for (int i = 0; i < 10; i++) {
+            heap.insert(i, 10 + i);
+        }
+        heap.decreaseKey(9, 1);
+        heap.decreaseKey(5, 2);
+        assertFalse(heap.insertOrDecreaseKey(3, 20));
+        assertTrue(heap.insertOrDecreaseKey(3, 3));
+        assertEquals(3d, heap.getKey(3), 0d);
+
+        assertEquals(9, heap.deleteMin());
+        assertEquals(5, heap.deleteMin());
+        assertEquals(3, heap.deleteMin());
+        assertEquals(0, heap.deleteMin());
+        assertTrue(heap.insertOrDecreaseKey(9, 0));
+        assertEquals(9, heap.findMin());
+    }
+
+    @Test
+    public void testClear()
+    {
+        IndexedDaryHeap heap = new IndexedDaryHeap(10);
+        heap.insert(3, 1);
+        heap.insert(7, 2);
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(3));
+        assertFalse(heap.contains(7));
+        heap.insert(3, 5);
+        assertEquals(3, heap.deleteMin());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateInsert()
+    {
+        IndexedDaryHeap heap = new IndexedDaryHeap(10);
+        heap.insert(3, 1);
+        heap.insert(3, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncreaseKey()
+    {
+        IndexedDaryHeap heap = new IndexedDaryHeap(10);
+        heap.insert(3, 1);
+        heap.decreaseKey(3, 2);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testDeleteMinEmpty()
+    {
+        new IndexedDaryHeap(10).deleteMin();
+    }
+
+}